@@ -0,0 +1,444 @@
+package com.example.travelbuddybackend.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.example.travelbuddybackend.models.*;
+import com.example.travelbuddybackend.monitoring.RequestQueryTracker;
+import com.example.travelbuddybackend.repository.*;
+import com.example.travelbuddybackend.service.*;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Timetable Fixtures for benchmarks
+ *
+ * Generates a deterministic in-memory timetable (airports, stations and
+ * flight/train/bus trips split evenly) and wires the real detail and search
+ * services on top of repositories that serve it from memory.
+ *
+ * Strings that repeat in real data (dates, times, prices, airlines, lines)
+ * come from small pools so that even 10M trips fit in a few GB of heap.
+ */
+public final class TimetableFixtures {
+
+    public static final String[] CITIES = {
+            "London", "Paris", "Berlin", "Madrid", "Rome", "Vienna", "Prague", "Warsaw", "Lisbon", "Dublin",
+            "Amsterdam", "Brussels", "Zurich", "Munich", "Milan", "Barcelona", "Oslo", "Stockholm", "Helsinki", "Copenhagen",
+            "New York", "Boston", "Chicago", "Denver", "Seattle", "Austin", "Miami", "Atlanta", "Dallas", "Phoenix",
+            "Toronto", "Montreal", "Vancouver", "Tokyo", "Osaka", "Seoul", "Singapore", "Sydney", "Melbourne", "Auckland"
+    };
+
+    private static final String[] AIRLINES = {
+            "Delta", "United", "American", "Lufthansa", "Air France", "KLM", "Iberia", "Emirates",
+            "Qantas", "Ryanair", "easyJet", "Alaska"
+    };
+
+    private static final int STATIONS_PER_MODE = 200;
+    private static final int NUMBER_POOL = 100_000;
+    private static final int PRICE_POOL = 5_000;
+    private static final List<String> TRIP_ROW_COLUMNS = List.of(TripRows.TRIP_ID, TripRows.ORIGIN_ID,
+            TripRows.DESTINATION_ID, TripRows.DEPARTURE_DATE, TripRows.DEPARTURE_TIME, TripRows.ARRIVAL_DATE,
+            TripRows.ARRIVAL_TIME, TripRows.CARRIER, TripRows.PRICE);
+
+    private final List<Airport> airports = new ArrayList<>();
+    private final List<TrainStation> trainStations = new ArrayList<>();
+    private final List<BusStation> busStations = new ArrayList<>();
+    private final List<FlightDetails> flights = new ArrayList<>();
+    private final List<TrainDetails> trains = new ArrayList<>();
+    private final List<BusDetails> buses = new ArrayList<>();
+
+    private TimetableFixtures() {}
+
+    /**
+     * Generate a timetable with the given number of trips across all three modes
+     * @param tripCount Total trips (flights + trains + buses)
+     * @param seed Random seed - the same seed always yields the same timetable
+     * @return The generated fixtures
+     */
+    public static TimetableFixtures generate(int tripCount, long seed) {
+        TimetableFixtures fixtures = new TimetableFixtures();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int i = 1; i <= STATIONS_PER_MODE; i++) {
+            String city = CITIES[(i - 1) % CITIES.length];
+            fixtures.airports.add(new Airport(i, city + " Airport " + i, airportCode(i), city, "Country", "UTC"));
+            fixtures.trainStations.add(new TrainStation(i, city + " Central " + i, "TR" + i, city));
+            fixtures.busStations.add(new BusStation(i, city + " Coach Station " + i, "BS" + i, city));
+        }
+
+        String[] dates = new String[366];
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int d = 0; d < dates.length; d++) {
+            dates[d] = start.plusDays(d).toString();
+        }
+
+        String[] times = new String[96];
+        for (int t = 0; t < times.length; t++) {
+            times[t] = String.format("%02d:%02d", t / 4, (t % 4) * 15);
+        }
+
+        String[] prices = new String[PRICE_POOL];
+        for (int p = 0; p < prices.length; p++) {
+            prices[p] = String.format("%d.%02d", 20 + p * 1480 / PRICE_POOL, p % 100);
+        }
+
+        String[] durations = new String[12];
+        for (int h = 0; h < durations.length; h++) {
+            durations[h] = (h + 1) + "h 30m";
+        }
+
+        String[] flightNumbers = numberPool("FL");
+        String[] trainNumbers = numberPool("TR");
+        String[] busNumbers = numberPool("BS");
+
+        int perMode = tripCount / 3;
+        for (int i = 0; i < tripCount; i++) {
+            int origin = random.nextInt(STATIONS_PER_MODE);
+            int destination = (origin + 1 + random.nextInt(STATIONS_PER_MODE - 1)) % STATIONS_PER_MODE;
+            int day = random.nextInt(dates.length - 1);
+            int departureSlot = random.nextInt(times.length);
+            int durationHours = 1 + random.nextInt(durations.length);
+            int arrivalSlot = departureSlot + durationHours * 4 + 2;
+            String departureDate = dates[day];
+            String arrivalDate = dates[day + arrivalSlot / times.length];
+            String departureTime = times[departureSlot];
+            String arrivalTime = times[arrivalSlot % times.length];
+            String price = prices[random.nextInt(PRICE_POOL)];
+            String duration = durations[durationHours - 1];
+            int id = i + 1;
+
+            if (i < perMode) {
+                fixtures.flights.add(new FlightDetails(id, flightNumbers[i % NUMBER_POOL], AIRLINES[random.nextInt(AIRLINES.length)],
+                        fixtures.airports.get(origin), fixtures.airports.get(destination),
+                        departureDate, arrivalDate, departureTime, arrivalTime, duration, price));
+            } else if (i < 2 * perMode) {
+                fixtures.trains.add(new TrainDetails(id, trainNumbers[i % NUMBER_POOL], "Line " + (1 + origin % 20),
+                        fixtures.trainStations.get(origin), fixtures.trainStations.get(destination),
+                        departureDate, departureTime, arrivalDate, arrivalTime, duration, price));
+            } else {
+                fixtures.buses.add(new BusDetails(id, busNumbers[i % NUMBER_POOL], "Coach " + (1 + origin % 20),
+                        fixtures.busStations.get(origin), fixtures.busStations.get(destination),
+                        departureDate, departureTime, arrivalDate, arrivalTime, duration, price));
+            }
+        }
+
+        return fixtures;
+    }
+
+    /**
+     * Build a BookingSearchService whose detail services read this timetable from memory
+     * @return Fully wired search service (no database, no Spring context)
+     */
+    public BookingSearchService bookingSearchService() {
+        return bookingSearchService(false);
+    }
+
+    /**
+     * Build a BookingSearchService whose detail services read this timetable from memory
+     * @param fanOut Run the per-mode searches of an all-modes search concurrently
+     * @return Fully wired search service (no database, no Spring context)
+     */
+    public BookingSearchService bookingSearchService(boolean fanOut) {
+        return bookingSearchService(fanOut, false);
+    }
+
+    /**
+     * Build a BookingSearchService whose detail services read this timetable from memory
+     * @param fanOut Run the per-mode searches of an all-modes search concurrently
+     * @param searchIndex Build the search bitmap indexes up front and let location and filtered searches use them
+     * @return Fully wired search service (no database, no Spring context)
+     */
+    public BookingSearchService bookingSearchService(boolean fanOut, boolean searchIndex) {
+        return bookingSearchService(fanOut, searchIndex ? "bitmap" : null);
+    }
+
+    /**
+     * Build a BookingSearchService whose detail services read this timetable from memory
+     * @param fanOut Run the per-mode searches of an all-modes search concurrently
+     * @param searchEngine Search index engine to build up front and let location and filtered searches use,
+     *                     bitmap or columnar; null for none
+     * @return Fully wired search service (no database, no Spring context)
+     */
+    public BookingSearchService bookingSearchService(boolean fanOut, String searchEngine) {
+        return bookingSearchService(fanOut, searchEngine, false);
+    }
+
+    /**
+     * Build a BookingSearchService whose detail services read this timetable from memory
+     * @param fanOut Run the per-mode searches of an all-modes search concurrently
+     * @param searchEngine Search index engine to build up front and let location and filtered searches use,
+     *                     bitmap or columnar; null for none
+     * @param coalescing Let identical concurrent searches share one run
+     * @return Fully wired search service (no database, no Spring context)
+     */
+    public BookingSearchService bookingSearchService(boolean fanOut, String searchEngine, boolean coalescing) {
+        ValidatorService validatorService = new ValidatorService();
+
+        AirportRepository airportRepository = new AirportRepository(null) {
+            @Override
+            public List<Airport> findAll() { return airports; }
+            @Override
+            public Optional<Airport> findById(Integer id) {
+                return airports.stream().filter(a -> a.getId().equals(id)).findFirst();
+            }
+            @Override
+            public Optional<Airport> findByAirportCode(String code) {
+                return airports.stream().filter(a -> a.getAirportCode().equals(code)).findFirst();
+            }
+        };
+        TrainStationRepository trainStationRepository = new TrainStationRepository(null) {
+            @Override
+            public List<TrainStation> findAll() { return trainStations; }
+            @Override
+            public Optional<TrainStation> findById(int id) {
+                return trainStations.stream().filter(s -> s.getId() == id).findFirst();
+            }
+            @Override
+            public Optional<TrainStation> findByStationCode(String code) {
+                return trainStations.stream().filter(s -> s.getTrainStationCode().equals(code)).findFirst();
+            }
+        };
+        BusStationRepository busStationRepository = new BusStationRepository(null) {
+            @Override
+            public List<BusStation> findAll() { return busStations; }
+            @Override
+            public Optional<BusStation> findById(int id) {
+                return busStations.stream().filter(s -> s.getId() == id).findFirst();
+            }
+            @Override
+            public Optional<BusStation> findByStationCode(String code) {
+                return busStations.stream().filter(s -> s.getBusStationCode().equals(code)).findFirst();
+            }
+        };
+
+        FlightDetailsRepository flightRepository = new FlightDetailsRepository(null, airportRepository) {
+            @Override
+            public List<FlightDetails> findAll() { return flights; }
+            @Override
+            public Map<Integer, String> findPricesById() { return pricesById(flights, FlightDetails::getId, FlightDetails::getFlightPrice); }
+            @Override
+            public List<FlightDetails> findByIds(int[] ids) { return byIds(flights, ids); }
+            @Override
+            public boolean streamAll(RowCallbackHandler handler) {
+                return streamRows(flights, f -> new Object[]{f.getId(), f.getFlightOrigin().getId(), f.getFlightDestination().getId(),
+                        f.getFlightDepartureDate(), f.getFlightDepartureTime(), f.getFlightArrivalDate(), f.getFlightArrivalTime(),
+                        f.getFlightAirline(), f.getFlightPrice()}, handler);
+            }
+        };
+        TrainDetailsRepository trainRepository = new TrainDetailsRepository(null, trainStationRepository) {
+            @Override
+            public List<TrainDetails> findAll() { return trains; }
+            @Override
+            public Map<Integer, String> findPricesById() { return pricesById(trains, TrainDetails::getId, TrainDetails::getTrainRidePrice); }
+            @Override
+            public List<TrainDetails> findByIds(int[] ids) { return byIds(trains, ids); }
+            @Override
+            public boolean streamAll(RowCallbackHandler handler) {
+                return streamRows(trains, t -> new Object[]{t.getId(), t.getTrainDepartureStation().getId(), t.getTrainArrivalStation().getId(),
+                        t.getTrainDepartureDate(), t.getTrainDepartureTime(), t.getTrainArrivalDate(), t.getTrainArrivalTime(),
+                        t.getTrainLine(), t.getTrainRidePrice()}, handler);
+            }
+        };
+        BusDetailsRepository busRepository = new BusDetailsRepository(null, busStationRepository) {
+            @Override
+            public List<BusDetails> findAll() { return buses; }
+            @Override
+            public Map<Integer, String> findPricesById() { return pricesById(buses, BusDetails::getId, BusDetails::getBusRidePrice); }
+            @Override
+            public List<BusDetails> findByIds(int[] ids) { return byIds(buses, ids); }
+            @Override
+            public boolean streamAll(RowCallbackHandler handler) {
+                return streamRows(buses, b -> new Object[]{b.getId(), b.getBusDepartureStation().getId(), b.getBusArrivalStation().getId(),
+                        b.getBusDepartureDate(), b.getBusDepartureTime(), b.getBusArrivalDate(), b.getBusArrivalTime(),
+                        b.getBusLine(), b.getBusRidePrice()}, handler);
+            }
+            @Override
+            public List<BusDetails> findByRouteStationCodes(String departureCode, String arrivalCode) {
+                return buses.stream()
+                        .filter(b -> b.getBusDepartureStation().getBusStationCode().equals(departureCode)
+                                && b.getBusArrivalStation().getBusStationCode().equals(arrivalCode))
+                        .collect(Collectors.toList());
+            }
+        };
+
+        SearchIndexService searchIndexService = new SearchIndexService(flightRepository, trainRepository, busRepository,
+                airportRepository, trainStationRepository, busStationRepository, searchEngine != null,
+                searchEngine != null ? searchEngine : "bitmap", Duration.ZERO);
+        if (searchEngine != null) {
+            List.of("flight", "train", "bus").forEach(searchIndexService::rebuild);
+        }
+
+        return new BookingSearchService(
+                new BookingService(null),
+                new FlightDetailsService(flightRepository, airportRepository, validatorService, event -> { }, Duration.ZERO),
+                new TrainDetailsService(trainRepository, trainStationRepository, validatorService, event -> { }, Duration.ZERO),
+                new BusDetailsService(busRepository, busStationRepository, validatorService, event -> { }, Duration.ZERO),
+                new SearchFanOut(new RequestQueryTracker(), fanOut, 16, 100, Duration.ofSeconds(30), false),
+                searchIndexService,
+                new SearchSessionService(false, 0, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new SearchCoalescer(coalescing, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * Typical criteria shapes sent by the Angular booking components
+     * @param shape One of EMPTY, ROUTE_BY_ID, ROUTE_ON_DAY, CITY_TEXT, PRICE_BAND, FLIGHT_AIRLINE,
+     *              AIRLINE_CITY_PRICE, DAY_PRICE
+     * @return Criteria for that shape
+     */
+    public static BookingSearchCriteria criteria(String shape) {
+        BookingSearchCriteria criteria = new BookingSearchCriteria();
+        switch (shape) {
+            case "EMPTY" -> { }
+            case "ROUTE_BY_ID" -> {
+                // The station-search component sends selected stations as numeric IDs
+                criteria.setDepartureStation("7");
+                criteria.setArrivalStation("42");
+            }
+            case "ROUTE_ON_DAY" -> {
+                criteria.setDepartureStation("7");
+                criteria.setArrivalStation("42");
+                criteria.setDepartureTime(LocalDate.of(2025, 3, 1).atStartOfDay());
+            }
+            case "CITY_TEXT" -> criteria.setDepartureStation("Vienna");
+            case "PRICE_BAND" -> {
+                criteria.setMinPrice(100.0);
+                criteria.setMaxPrice(250.0);
+            }
+            case "FLIGHT_AIRLINE" -> {
+                criteria.setTransportType("flight");
+                criteria.setAirline("Lufthansa");
+            }
+            case "AIRLINE_CITY_PRICE" -> {
+                // Each criterion alone matches thousands of flights
+                criteria.setTransportType("flight");
+                criteria.setAirline("Lufthansa");
+                criteria.setDepartureCity("Paris");
+                criteria.setMinPrice(100.0);
+                criteria.setMaxPrice(800.0);
+            }
+            case "DAY_PRICE" -> {
+                criteria.setDepartureTime(LocalDate.of(2025, 3, 1).atStartOfDay());
+                criteria.setMinPrice(100.0);
+                criteria.setMaxPrice(400.0);
+            }
+            default -> throw new IllegalArgumentException("Unknown criteria shape: " + shape);
+        }
+        return criteria;
+    }
+
+    /**
+     * Replace System.out with a discarding stream so console I/O doesn't dominate
+     * measurements. Formatting and the PrintStream lock are still paid.
+     * @return The original stream, to be restored in the benchmark's tear-down
+     */
+    public static PrintStream discardStdout() {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return original;
+    }
+
+    /**
+     * Set the log level of the application packages. Benchmarks run without
+     * logback-spring.xml, so logback would otherwise default to DEBUG.
+     * @param level Logback level name, e.g. INFO or DEBUG
+     */
+    public static void setApplicationLogLevel(String level) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getLogger("com.example.travelbuddybackend").setLevel(Level.toLevel(level));
+    }
+
+    public List<Airport> getAirports() { return airports; }
+    public List<TrainStation> getTrainStations() { return trainStations; }
+    public List<BusStation> getBusStations() { return busStations; }
+    public List<FlightDetails> getFlights() { return flights; }
+    public List<TrainDetails> getTrains() { return trains; }
+    public List<BusDetails> getBuses() { return buses; }
+
+    private static <T> Map<Integer, String> pricesById(List<T> trips, Function<T, Integer> id, Function<T, String> price) {
+        Map<Integer, String> prices = new LinkedHashMap<>();
+        for (T trip : trips) {
+            prices.put(id.apply(trip), price.apply(trip));
+        }
+        return prices;
+    }
+
+    /**
+     * Feed trips to a streamAll handler as the repositories' query would: through a
+     * ResultSet whose current row holds the TripRows columns, in TRIP_ROW_COLUMNS order
+     */
+    private static <T> boolean streamRows(List<T> trips, Function<T, Object[]> columns, RowCallbackHandler handler) {
+        Object[][] current = new Object[1][];
+        ResultSet row = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (args == null || args.length != 1 || !(args[0] instanceof String label)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object value = current[0][TRIP_ROW_COLUMNS.indexOf(label)];
+                    return switch (method.getName()) {
+                        case "getInt" -> value != null ? value : 0;
+                        case "getString" -> value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+        try {
+            for (T trip : trips) {
+                current[0] = columns.apply(trip);
+                handler.processRow(row);
+            }
+            return true;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Ids of one mode are consecutive, so the position is the id minus the first id
+    private static <T> List<T> byIds(List<T> trips, int[] ids) {
+        List<T> found = new ArrayList<>(ids.length);
+        if (trips.isEmpty()) {
+            return found;
+        }
+        int firstId = idOf(trips.get(0));
+        for (int id : ids) {
+            found.add(trips.get(id - firstId));
+        }
+        return found;
+    }
+
+    private static int idOf(Object trip) {
+        if (trip instanceof FlightDetails flight) return flight.getId();
+        if (trip instanceof TrainDetails train) return train.getId();
+        return ((BusDetails) trip).getId();
+    }
+
+    private static String airportCode(int index) {
+        int n = index - 1;
+        return "" + (char) ('A' + n / 676 % 26) + (char) ('A' + n / 26 % 26) + (char) ('A' + n % 26);
+    }
+
+    private static String[] numberPool(String prefix) {
+        String[] numbers = new String[NUMBER_POOL];
+        for (int i = 0; i < NUMBER_POOL; i++) {
+            numbers[i] = prefix + String.format("%05d", i);
+        }
+        return numbers;
+    }
+}
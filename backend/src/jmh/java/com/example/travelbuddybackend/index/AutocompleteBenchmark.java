@@ -0,0 +1,118 @@
+package com.example.travelbuddybackend.index;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Station search box: autocomplete index vs. lowercasing and scanning every station
+ *
+ * Stations get generated multi-word names, cities and 3-letter codes (the
+ * real airports table has about 10k rows). Each invocation runs the next
+ * query of a fixed mix typed against random stations: exact codes, 1 to 4
+ * letter prefixes, whole names, city names, and names with one typo. The
+ * scan is what the station services did before: three contains() over
+ * lowercased fields per station, without ranking or a limit.
+ *
+ * Sample time mode reports percentiles; compare p0.99 (see README.md).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AutocompleteBenchmark {
+
+    private static final String[] SYLLABLES = {"ber", "lin", "frank", "furt", "par", "is", "lon", "don", "new",
+            "york", "san", "fran", "cis", "co", "mün", "chen", "zü", "rich", "ham", "burg", "wien", "ost", "west",
+            "haupt", "bahn", "hof", "air", "port", "cen", "tral", "nord", "süd", "ville", "ton", "ing", "el", "la",
+            "ma", "dri", "d"};
+    private static final int LIMIT = 20;
+    private static final int QUERIES = 4096;
+
+    @Param({"1000", "10000"})
+    public int stationCount;
+
+    private Station[] stations;
+    private AutocompleteIndex<Station> index;
+    private String[] queries;
+    private int next;
+
+    private record Station(String code, String name, String city) {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        stations = new Station[stationCount];
+        AutocompleteIndex.Builder<Station> builder = AutocompleteIndex.builder();
+        for (int i = 0; i < stationCount; i++) {
+            String code = "" + (char) ('A' + random.nextInt(26)) + (char) ('A' + random.nextInt(26)) + (char) ('A' + random.nextInt(26));
+            String name = word(random) + " " + word(random) + (random.nextInt(3) == 0 ? " " + word(random) : "");
+            stations[i] = new Station(code, name, word(random));
+            builder.add(stations[i], code, name, stations[i].city());
+        }
+        index = builder.build();
+
+        queries = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            Station station = stations[random.nextInt(stationCount)];
+            String name = station.name();
+            queries[q] = switch (q % 6) {
+                case 0 -> station.code();
+                case 1 -> name.substring(0, Math.min(name.length(), 1 + q % 4));
+                case 2 -> name;
+                case 3 -> station.city();
+                case 4 -> typo(name.substring(0, name.indexOf(' ')), random);
+                default -> name.substring(0, Math.min(name.length(), 6));
+            };
+        }
+    }
+
+    @Benchmark
+    public List<Station> autocomplete() {
+        return index.search(nextQuery(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Station> scanStations() {
+        String lowerSearchTerm = nextQuery().toLowerCase();
+        List<Station> matches = new ArrayList<>();
+        for (Station station : stations) {
+            if (station.name().toLowerCase().contains(lowerSearchTerm)
+                    || station.code().toLowerCase().contains(lowerSearchTerm)
+                    || station.city().toLowerCase().contains(lowerSearchTerm)) {
+                matches.add(station);
+            }
+        }
+        return matches;
+    }
+
+    private String nextQuery() {
+        String query = queries[next];
+        next = (next + 1) % QUERIES;
+        return query;
+    }
+
+    private static String word(SplittableRandom random) {
+        StringBuilder word = new StringBuilder();
+        for (int s = 1 + random.nextInt(3); s > 0; s--) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1);
+    }
+
+    /** Swap two adjacent letters, or replace one if the word is short */
+    private static String typo(String word, SplittableRandom random) {
+        if (word.length() < 4) {
+            return word;
+        }
+        int at = 1 + random.nextInt(word.length() - 2);
+        return word.substring(0, at) + word.charAt(at + 1) + word.charAt(at) + word.substring(at + 2);
+    }
+}
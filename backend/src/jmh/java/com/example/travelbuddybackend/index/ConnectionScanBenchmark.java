@@ -0,0 +1,139 @@
+package com.example.travelbuddybackend.index;
+
+import com.example.travelbuddybackend.benchmark.TimetableFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-leg connection search over a timetable of flights, trains and buses
+ *
+ * The timetable has the shape of TimetableFixtures (200 airports and 200
+ * train and bus stations spread over its 40 cities, a year of dates,
+ * 15-minute departure slots, 1-12 hour trips) but is generated straight into
+ * the builder, so 10M connections fit in a small heap.
+ *
+ * The searches go from every stop in one city to every stop in another,
+ * leaving on one day, with a 24 hour departure window and 48 hours to
+ * arrive, like the defaults of connection-search.*. buildTimetable is a
+ * single shot per iteration; the footprint is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConnectionScanBenchmark {
+
+    private static final int STATIONS_PER_MODE = 200;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final int ALL_MODES = 0b111;
+    private static final ConnectionScan.TransferTimes TRANSFER_TIMES = new ConnectionScan.TransferTimes(60, 10, 10, 90);
+
+    @Param({"100000", "1000000", "10000000"})
+    public int connectionCount;
+
+    private int[] modes;
+    private int[] origins;
+    private int[] destinations;
+    private int[] days;
+    private int[] slots;
+    private int[] hours;
+    private int[] priceOf;
+    private String[] dates;
+    private String[] times;
+    private String[] prices;
+
+    private ConnectionTimetable timetable;
+    private BitSet origin;
+    private BitSet destination;
+    private int departure;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        dates = new String[367];
+        for (int d = 0; d < dates.length; d++) {
+            dates[d] = FIRST_DAY.plusDays(d).toString();
+        }
+        times = new String[96];
+        for (int t = 0; t < times.length; t++) {
+            times[t] = String.format("%02d:%02d", t / 4, (t % 4) * 15);
+        }
+        prices = new String[5000];
+        for (int p = 0; p < prices.length; p++) {
+            prices[p] = String.format("%d.%02d", 20 + p * 1480 / prices.length, p % 100);
+        }
+
+        modes = new int[connectionCount];
+        origins = new int[connectionCount];
+        destinations = new int[connectionCount];
+        days = new int[connectionCount];
+        slots = new int[connectionCount];
+        hours = new int[connectionCount];
+        priceOf = new int[connectionCount];
+        for (int i = 0; i < connectionCount; i++) {
+            modes[i] = i % 3;
+            origins[i] = 1 + random.nextInt(STATIONS_PER_MODE);
+            destinations[i] = 1 + (origins[i] + random.nextInt(STATIONS_PER_MODE - 1)) % STATIONS_PER_MODE;
+            days[i] = random.nextInt(dates.length - 2);
+            slots[i] = random.nextInt(times.length);
+            hours[i] = 1 + random.nextInt(12);
+            priceOf[i] = random.nextInt(prices.length);
+        }
+
+        timetable = buildTimetable();
+        System.err.printf("Connection timetable: %d connections, %d stops, %d cities, %.1f MB%n", timetable.size(),
+                timetable.stopCount(), timetable.cityCount(), timetable.footprintBytes() / 1024.0 / 1024.0);
+
+        origin = timetable.stopsAt("Paris", ALL_MODES);
+        destination = timetable.stopsAt("Tokyo", ALL_MODES);
+        departure = ConnectionTimetable.minuteOf(LocalDateTime.of(2025, 3, 1, 0, 0));
+    }
+
+    @Benchmark
+    public List<ConnectionScan.Journey> direct() {
+        return ConnectionScan.search(timetable, query(0));
+    }
+
+    @Benchmark
+    public List<ConnectionScan.Journey> upToOneTransfer() {
+        return ConnectionScan.search(timetable, query(1));
+    }
+
+    @Benchmark
+    public List<ConnectionScan.Journey> upToThreeTransfers() {
+        return ConnectionScan.search(timetable, query(3));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public ConnectionTimetable buildTimetable() {
+        ConnectionTimetable.Builder builder = ConnectionTimetable.builder(connectionCount);
+        for (int mode = 0; mode < 3; mode++) {
+            for (int s = 1; s <= STATIONS_PER_MODE; s++) {
+                builder.addStop(mode, s, mode + "-" + s, TimetableFixtures.CITIES[(s - 1) % TimetableFixtures.CITIES.length]);
+            }
+        }
+        for (int i = 0; i < connectionCount; i++) {
+            int arrivalSlot = slots[i] + hours[i] * 4 + 2;
+            builder.addConnection(modes[i], i + 1, origins[i], destinations[i], dates[days[i]], times[slots[i]],
+                    dates[days[i] + arrivalSlot / times.length], times[arrivalSlot % times.length], prices[priceOf[i]]);
+        }
+        return builder.build();
+    }
+
+    private ConnectionScan.Query query(int maxTransfers) {
+        return new ConnectionScan.Query(origin, destination, departure, departure + 24 * 60, departure + 48 * 60,
+                maxTransfers, ALL_MODES, TRANSFER_TIMES);
+    }
+}
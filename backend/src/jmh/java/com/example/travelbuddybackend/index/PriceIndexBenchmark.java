@@ -0,0 +1,82 @@
+package com.example.travelbuddybackend.index;
+
+import com.example.travelbuddybackend.benchmark.TimetableFixtures;
+import com.example.travelbuddybackend.models.FlightDetails;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price-range lookups: sorted price index vs. parsing every price string
+ *
+ * scanAndParse is what findFlightsByPriceRange did before the index: read every
+ * flight and parse its price. The index answers the same range with two binary
+ * searches, and a 20-bucket histogram with two per bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PriceIndexBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int tripCount;
+
+    private List<FlightDetails> flights;
+    private PriceIndex priceIndex;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TimetableFixtures.setApplicationLogLevel("WARN");
+        flights = TimetableFixtures.generate(tripCount * 3, 42L).getFlights();
+        Map<Integer, String> prices = new LinkedHashMap<>();
+        for (FlightDetails flight : flights) {
+            prices.put(flight.getId(), flight.getFlightPrice());
+        }
+        priceIndex = new PriceIndex("flight", () -> prices, Duration.ZERO);
+        priceIndex.size(); // load outside the measurement
+        nextId = tripCount * 10;
+    }
+
+    @Benchmark
+    public int scanAndParse() {
+        int matches = 0;
+        for (FlightDetails flight : flights) {
+            double price = Double.parseDouble(flight.getFlightPrice());
+            if (price >= 100.0 && price <= 250.0) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int[] indexRange() {
+        return priceIndex.idsBetween(100.0, 250.0);
+    }
+
+    @Benchmark
+    public int indexCount() {
+        return priceIndex.countBetween(100.0, 250.0);
+    }
+
+    @Benchmark
+    public PriceHistogram indexHistogram() {
+        return priceIndex.histogram(null, null, 20);
+    }
+
+    /** One add and one delete, as done by the detail services on writes */
+    @Benchmark
+    public void indexPutRemove() {
+        int id = nextId++;
+        priceIndex.put(id, "175.50");
+        priceIndex.remove(id);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.travelbuddybackend.index;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-criteria queries: bitmap search index vs. columnar off-heap store
+ *
+ * The trips have the shape of TimetableFixtures (200 locations, a year of
+ * dates, 15-minute departure slots, 10 airlines, prices 20-2000) but are
+ * held in primitive arrays only, so 10M trips fit in a small heap. Only the
+ * engine under test is built, and the query runs without a match limit so
+ * both engines always return the full answer.
+ *
+ * buildEngine is a single shot per iteration. The heap and off-heap size of
+ * the built engine are printed once per trial (see README.md).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SearchEngineBenchmark {
+
+    private static final int LOCATIONS = 200;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final String[] AIRLINES = {"Lufthansa", "Air France", "British Airways", "KLM", "Delta",
+            "United", "Emirates", "Qatar Airways", "Iberia", "Swiss"};
+
+    @Param({"1000000", "10000000"})
+    public int tripCount;
+
+    @Param({"bitmap", "columnar"})
+    public String engine;
+
+    private int[] origins;
+    private int[] destinations;
+    private int[] dateOf;
+    private int[] timeOf;
+    private int[] airlineOf;
+    private int[] priceOf;
+    private String[] dates;
+    private String[] times;
+    private String[] prices;
+    private TripSearchEngine searchEngine;
+
+    private TripSearchEngine.Query airlineCityPrice;
+    private TripSearchEngine.Query dayPrice;
+    private TripSearchEngine.Query routeAnyDay;
+    private TripSearchEngine.Query routeDay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        dates = new String[366];
+        for (int d = 0; d < dates.length; d++) {
+            dates[d] = FIRST_DAY.plusDays(d).toString();
+        }
+        times = new String[96];
+        for (int t = 0; t < times.length; t++) {
+            times[t] = String.format("%02d:%02d", t / 4, (t % 4) * 15);
+        }
+        prices = new String[198_000];
+        for (int p = 0; p < prices.length; p++) {
+            prices[p] = String.format("%d.%02d", 20 + p / 100, p % 100);
+        }
+
+        origins = new int[tripCount];
+        destinations = new int[tripCount];
+        dateOf = new int[tripCount];
+        timeOf = new int[tripCount];
+        airlineOf = new int[tripCount];
+        priceOf = new int[tripCount];
+        for (int i = 0; i < tripCount; i++) {
+            origins[i] = 1 + random.nextInt(LOCATIONS);
+            destinations[i] = 1 + (origins[i] + random.nextInt(LOCATIONS - 1)) % LOCATIONS;
+            dateOf[i] = random.nextInt(dates.length);
+            timeOf[i] = random.nextInt(times.length);
+            airlineOf[i] = random.nextInt(AIRLINES.length);
+            priceOf[i] = random.nextInt(prices.length);
+        }
+
+        searchEngine = buildEngine();
+        System.err.printf("%s engine: %d trips, %.1f MB heap, %.1f MB off-heap%n", engine, searchEngine.size(),
+                searchEngine.footprintBytes() / 1024.0 / 1024.0, searchEngine.offHeapBytes() / 1024.0 / 1024.0);
+
+        // One city's three airports, as a city text search resolves them
+        BitSet city = new BitSet();
+        city.set(7);
+        city.set(8);
+        city.set(9);
+        BitSet destination = new BitSet();
+        destination.set(42);
+        airlineCityPrice = new TripSearchEngine.Query(city, null, TripSearchEngine.ANY_DAY, "Lufthansa", 100.0, 800.0);
+        dayPrice = new TripSearchEngine.Query(null, null, TripSearchEngine.day(FIRST_DAY.plusDays(59)), null, 100.0, 400.0);
+        routeAnyDay = new TripSearchEngine.Query(city, destination, TripSearchEngine.ANY_DAY, null, null, null);
+        // The common search: one location to another on one day
+        BitSet origin = new BitSet();
+        origin.set(7);
+        routeDay = new TripSearchEngine.Query(origin, destination, TripSearchEngine.day(FIRST_DAY.plusDays(59)),
+                null, null, null);
+    }
+
+    @Benchmark
+    public int[] airlineCityPrice() {
+        return searchEngine.tripIds(airlineCityPrice, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int[] dayPrice() {
+        return searchEngine.tripIds(dayPrice, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int[] routeAnyDay() {
+        return searchEngine.tripIds(routeAnyDay, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int[] routeDay() {
+        return searchEngine.tripIds(routeDay, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public TripSearchEngine buildEngine() {
+        if (engine.equals("columnar")) {
+            ColumnarTripStore.Builder builder = ColumnarTripStore.builder(tripCount);
+            for (int i = 0; i < tripCount; i++) {
+                String date = dates[dateOf[i]];
+                String time = times[timeOf[i]];
+                builder.add(i + 1, origins[i], destinations[i], date, time, date, time,
+                        AIRLINES[airlineOf[i]], prices[priceOf[i]]);
+            }
+            return builder.build();
+        }
+        TripSearchIndex.Builder builder = TripSearchIndex.builder(tripCount);
+        for (int i = 0; i < tripCount; i++) {
+            builder.add(i + 1, origins[i], destinations[i], dates[dateOf[i]], AIRLINES[airlineOf[i]], prices[priceOf[i]]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.travelbuddybackend.repository;
+
+import com.example.travelbuddybackend.models.BusDetails;
+import com.example.travelbuddybackend.models.FlightDetails;
+import com.example.travelbuddybackend.models.TrainDetails;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping for the trip detail queries
+ *
+ * Maps a synthetic in-memory result set with the same column labels as the
+ * JOIN queries in the detail repositories, so only the mapper cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final String[] FLIGHT_COLUMNS = {
+            "fd_id", "fd_flightNumber", "fd_flightAirline", "fd_flightDepartureDate", "fd_flightArrivalDate",
+            "fd_flightDepartureTime", "fd_flightArrivalTime", "fd_flightTravelTime", "fd_flightPrice",
+            "origin_id", "origin_full_name", "origin_code", "origin_city", "origin_country", "origin_timezone",
+            "destination_id", "destination_full_name", "destination_code", "destination_city", "destination_country", "destination_timezone"
+    };
+
+    private static final String[] TRAIN_COLUMNS = {
+            "td_id", "td_trainNumber", "td_trainLine", "td_trainDepartureDate", "td_trainDepartureTime",
+            "td_trainArrivalDate", "td_trainArrivalTime", "td_trainRideDuration", "td_trainRidePrice",
+            "dep_id", "dep_full_name", "dep_code", "dep_city", "arr_id", "arr_full_name", "arr_code", "arr_city"
+    };
+
+    private static final String[] BUS_COLUMNS = {
+            "bd_id", "bd_busNumber", "bd_busLine", "bd_busDepartureDate", "bd_busDepartureTime",
+            "bd_busArrivalDate", "bd_busArrivalTime", "bd_busRideDuration", "bd_busRidePrice",
+            "dep_id", "dep_full_name", "dep_code", "dep_city", "arr_id", "arr_full_name", "arr_code", "arr_city"
+    };
+
+    @Param({"1000"})
+    public int rowCount;
+
+    private CachedRowSet flightRows;
+    private CachedRowSet trainRows;
+    private CachedRowSet busRows;
+
+    private final FlightDetailsRepository.FlightDetailsRowMapper flightMapper = new FlightDetailsRepository.FlightDetailsRowMapper();
+    private final TrainDetailsRepository.TrainDetailsRowMapper trainMapper = new TrainDetailsRepository.TrainDetailsRowMapper();
+    private final BusDetailsRepository.BusDetailsRowMapper busMapper = new BusDetailsRepository.BusDetailsRowMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        flightRows = rowSet(FLIGHT_COLUMNS);
+        trainRows = rowSet(TRAIN_COLUMNS);
+        busRows = rowSet(BUS_COLUMNS);
+    }
+
+    @Benchmark
+    public List<FlightDetails> mapFlights() throws SQLException {
+        flightRows.beforeFirst();
+        List<FlightDetails> result = new ArrayList<>(rowCount);
+        int row = 0;
+        while (flightRows.next()) {
+            result.add(flightMapper.mapRow(flightRows, row++));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<TrainDetails> mapTrains() throws SQLException {
+        trainRows.beforeFirst();
+        List<TrainDetails> result = new ArrayList<>(rowCount);
+        int row = 0;
+        while (trainRows.next()) {
+            result.add(trainMapper.mapRow(trainRows, row++));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BusDetails> mapBuses() throws SQLException {
+        busRows.beforeFirst();
+        List<BusDetails> result = new ArrayList<>(rowCount);
+        int row = 0;
+        while (busRows.next()) {
+            result.add(busMapper.mapRow(busRows, row++));
+        }
+        return result;
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    private CachedRowSet rowSet(String[] columns) throws SQLException {
+        RowSetMetaData metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            boolean isId = columns[i].endsWith("_id");
+            metaData.setColumnName(i + 1, columns[i]);
+            metaData.setColumnLabel(i + 1, columns[i]);
+            metaData.setColumnType(i + 1, isId ? Types.INTEGER : Types.VARCHAR);
+        }
+
+        CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+        rowSet.setMetaData(metaData);
+        for (int row = 0; row < rowCount; row++) {
+            rowSet.moveToInsertRow();
+            for (int i = 0; i < columns.length; i++) {
+                String column = columns[i];
+                if (column.endsWith("_id")) {
+                    rowSet.updateInt(i + 1, 1 + (row + i) % 200);
+                } else if (column.endsWith("Date")) {
+                    rowSet.updateString(i + 1, "2025-06-" + String.format("%02d", 1 + row % 28));
+                } else if (column.endsWith("Time")) {
+                    rowSet.updateString(i + 1, String.format("%02d:%02d", row % 24, row % 60));
+                } else if (column.endsWith("Price")) {
+                    rowSet.updateString(i + 1, (50 + row % 400) + ".99");
+                } else {
+                    rowSet.updateString(i + 1, column + "-" + row % 50);
+                }
+            }
+            rowSet.insertRow();
+            rowSet.moveToCurrentRow();
+        }
+        rowSet.beforeFirst();
+        return rowSet;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.travelbuddybackend.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking ID generation
+ *
+ * Each call builds a date formatter and a Random, which shows up when many
+ * bookings are created concurrently; run with -Djmh.args="-t 8" to compare.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingIdBenchmark {
+
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookingService = new BookingService(null);
+    }
+
+    @Benchmark
+    public String generateBookingId() {
+        return bookingService.generateBookingId("FL");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.benchmark.TimetableFixtures;
+import com.example.travelbuddybackend.models.AvailableTicket;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end search over an in-memory timetable
+ *
+ * Measures BookingSearchService.searchAvailableTickets for the criteria shapes
+ * the frontend sends, from 10k up to 10M trips. The repositories are replaced by
+ * in-memory lists so only the service-side filtering and ticket building is timed.
+ *
+ * The largest size needs roughly 6 GB of heap; run it on its own with
+ * -Djmh.args="-p tripCount=10000000".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class BookingSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int tripCount;
+
+    @Param({"EMPTY", "ROUTE_BY_ID", "CITY_TEXT", "PRICE_BAND", "FLIGHT_AIRLINE"})
+    public String criteriaShape;
+
+    /** Run the three mode searches concurrently (SearchFanOut) or one after another */
+    @Param({"false", "true"})
+    public boolean fanOut;
+
+    private BookingSearchService bookingSearchService;
+    private BookingSearchCriteria criteria;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TimetableFixtures.setApplicationLogLevel("INFO");
+        TimetableFixtures fixtures = TimetableFixtures.generate(tripCount, 42L);
+        bookingSearchService = fixtures.bookingSearchService(fanOut);
+        criteria = TimetableFixtures.criteria(criteriaShape);
+        originalOut = TimetableFixtures.discardStdout();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public List<AvailableTicket> searchAvailableTickets() {
+        return bookingSearchService.searchAvailableTickets(criteria);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.benchmark.TimetableFixtures;
+import com.example.travelbuddybackend.models.AvailableTicket;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Location and multi-criteria searches with and without the search bitmap index
+ *
+ * Same in-memory timetable and service wiring as BookingSearchBenchmark.
+ * ROUTE_BY_ID and ROUTE_ON_DAY search one route; CITY_TEXT matches many
+ * stations and shows the fallback to the scan once the candidates exceed the
+ * id-lookup limit. AIRLINE_CITY_PRICE combines three criteria that each match
+ * thousands of flights; DAY_PRICE a day and a price band over all modes.
+ * Without the search index every search filters the airline / price-range
+ * reads or the full table reads; with it they are bitmap ANDs and an id
+ * lookup of the matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FilterSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tripCount;
+
+    @Param({"ROUTE_BY_ID", "ROUTE_ON_DAY", "CITY_TEXT", "AIRLINE_CITY_PRICE", "DAY_PRICE"})
+    public String criteriaShape;
+
+    @Param({"false", "true"})
+    public boolean searchIndex;
+
+    private BookingSearchService bookingSearchService;
+    private BookingSearchCriteria criteria;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TimetableFixtures.setApplicationLogLevel("INFO");
+        bookingSearchService = TimetableFixtures.generate(tripCount, 42L).bookingSearchService(false, searchIndex);
+        criteria = TimetableFixtures.criteria(criteriaShape);
+        originalOut = TimetableFixtures.discardStdout();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public List<AvailableTicket> searchAvailableTickets() {
+        return bookingSearchService.searchAvailableTickets(criteria);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.models.Client;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT signing and verification
+ *
+ * Every authenticated request verifies a token (and the rate limiter parses one
+ * to key the caller), so verification sits on the hot path of search and booking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private Client client;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKey", "benchmark-secret-key-that-is-at-least-256-bits-long!!");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+
+        client = new Client("benchmark", "benchmark@example.com", "password", "Bench", "Mark", "5550100");
+        client.setId(42);
+        token = jwtService.generateToken(client);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(client);
+    }
+
+    @Benchmark
+    public JWTClaimsSet extractAllClaims() {
+        return jwtService.extractAllClaims(token);
+    }
+}
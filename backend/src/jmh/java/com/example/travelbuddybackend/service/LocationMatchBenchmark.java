@@ -0,0 +1,101 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.benchmark.TimetableFixtures;
+import com.example.travelbuddybackend.models.Airport;
+import com.example.travelbuddybackend.models.TrainStation;
+import com.example.travelbuddybackend.service.CriteriaMatcher.LocationNeedle;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-trip location matching
+ *
+ * These predicates run once per trip and per criteria field during a search,
+ * so their cost is multiplied by the timetable size. Needles cover the three
+ * cases seen in practice: a selected station's numeric ID, free city text and a miss.
+ *
+ * The compiled benchmarks match with a CriteriaMatcher needle compiled once, as
+ * a search does; the perCall ones repeat what the matching did per trip before:
+ * trim and lowercase the needle, try it as a Long, lowercase the station fields.
+ * Run with -prof gc to compare allocation per match (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationMatchBenchmark {
+
+    @Param({"42", "Vienna", "Nowhere"})
+    public String needle;
+
+    private LocationNeedle compiledNeedle;
+    private Airport[] airports;
+    private TrainStation[] trainStations;
+    private int cursor;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TimetableFixtures.setApplicationLogLevel("INFO");
+        TimetableFixtures fixtures = TimetableFixtures.generate(0, 42L);
+        compiledNeedle = LocationNeedle.of(needle);
+        airports = fixtures.getAirports().toArray(new Airport[0]);
+        trainStations = fixtures.getTrainStations().toArray(new TrainStation[0]);
+        originalOut = TimetableFixtures.discardStdout();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public boolean compiledAirport() {
+        cursor = (cursor + 1) % airports.length;
+        return compiledNeedle.matches(airports[cursor]);
+    }
+
+    @Benchmark
+    public boolean compiledStation() {
+        cursor = (cursor + 1) % trainStations.length;
+        return compiledNeedle.matches(trainStations[cursor]);
+    }
+
+    @Benchmark
+    public boolean perCallAirport() {
+        cursor = (cursor + 1) % airports.length;
+        Airport airport = airports[cursor];
+        String search = needle.toLowerCase().trim();
+        try {
+            Long searchId = Long.parseLong(search);
+            if (airport.getId() != null && airport.getId().equals(searchId.intValue())) {
+                return true;
+            }
+        } catch (NumberFormatException e) {
+        }
+        return (airport.getAirportFullName() != null && airport.getAirportFullName().toLowerCase().contains(search))
+                || (airport.getAirportCode() != null && airport.getAirportCode().toUpperCase().contains(search))
+                || (airport.getAirportCityLocation() != null && airport.getAirportCityLocation().toLowerCase().contains(search));
+    }
+
+    @Benchmark
+    public boolean perCallStation() {
+        cursor = (cursor + 1) % trainStations.length;
+        TrainStation station = trainStations[cursor];
+        String search = needle.toLowerCase().trim();
+        try {
+            Long searchId = Long.parseLong(search);
+            if (station.getId() != null && station.getId().equals(searchId.intValue())) {
+                return true;
+            }
+        } catch (NumberFormatException e) {
+        }
+        return (station.getTrainStationFullName() != null && station.getTrainStationFullName().toLowerCase().contains(search))
+                || (station.getTrainStationCode() != null && station.getTrainStationCode().toLowerCase().contains(search))
+                || (station.getTrainStationCityLocation() != null && station.getTrainStationCityLocation().toLowerCase().contains(search));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.benchmark.TimetableFixtures;
+import com.example.travelbuddybackend.models.AvailableTicket;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A popular route searched by many users at once, with and without coalescing
+ *
+ * Eight threads send the same route search (no indexes, so each one scans the
+ * timetable) back to back. Without coalescing every request runs its own
+ * scan; with it, requests arriving while a scan is running wait for that
+ * scan and share its trips. Throughput is completed requests per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class SearchCoalescingBenchmark {
+
+    @Param({"100000"})
+    public int tripCount;
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    private BookingSearchService bookingSearchService;
+    private BookingSearchCriteria criteria;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TimetableFixtures.setApplicationLogLevel("INFO");
+        bookingSearchService = TimetableFixtures.generate(tripCount, 42L).bookingSearchService(false, null, coalescing);
+        criteria = TimetableFixtures.criteria("ROUTE_BY_ID");
+        originalOut = TimetableFixtures.discardStdout();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public List<AvailableTicket> searchAvailableTickets() {
+        return bookingSearchService.searchAvailableTickets(criteria);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.benchmark.TimetableFixtures;
+import com.example.travelbuddybackend.models.AvailableTicket;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search throughput under concurrent load, with and without per-row tracing
+ *
+ * Eight threads search the same timetable at once. At INFO the per-row
+ * messages are gated off and the threads don't share anything. At DEBUG every
+ * trip writes through one synchronous console appender, which is how the
+ * search behaved when it wrote to System.out. Comparing the two shows how much
+ * throughput the per-row output costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class SearchLoggingBenchmark {
+
+    @Param({"10000", "100000"})
+    public int tripCount;
+
+    @Param({"INFO", "DEBUG"})
+    public String logLevel;
+
+    private BookingSearchService bookingSearchService;
+    private BookingSearchCriteria criteria;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TimetableFixtures.setApplicationLogLevel(logLevel);
+        bookingSearchService = TimetableFixtures.generate(tripCount, 42L).bookingSearchService();
+        criteria = TimetableFixtures.criteria("ROUTE_BY_ID");
+        originalOut = TimetableFixtures.discardStdout();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public List<AvailableTicket> searchAvailableTickets() {
+        return bookingSearchService.searchAvailableTickets(criteria);
+    }
+}
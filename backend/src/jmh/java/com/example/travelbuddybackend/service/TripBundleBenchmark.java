@@ -0,0 +1,118 @@
+package com.example.travelbuddybackend.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Top-10 trip bundles: best-first join vs. scoring the full cross product
+ *
+ * Each segment has optionsPerSegment itineraries with random prices and
+ * durations, departing over a day; segment i + 1's day starts where segment
+ * i's ends, so about half the bundles are infeasible (the next segment leaves
+ * before the previous arrives). crossProduct is what joining the two result
+ * lists on the client costs: score every feasible bundle, keep the best ten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripBundleBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"2", "3"})
+    public int segments;
+
+    @Param({"30", "300"})
+    public int optionsPerSegment;
+
+    private long[][] scores;
+    private int[][] departures;
+    private int[][] arrivals;
+    private Predicate<int[]> feasible;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        scores = new long[segments][];
+        departures = new int[segments][];
+        arrivals = new int[segments][];
+        for (int s = 0; s < segments; s++) {
+            long[] options = new long[optionsPerSegment];
+            departures[s] = new int[optionsPerSegment];
+            arrivals[s] = new int[optionsPerSegment];
+            for (int o = 0; o < optionsPerSegment; o++) {
+                options[o] = (long) (2_000 + random.nextInt(100_000)) << 21 | random.nextInt(1_440);
+            }
+            Arrays.sort(options);
+            for (int o = 0; o < optionsPerSegment; o++) {
+                departures[s][o] = s * 1_440 + random.nextInt(1_440);
+                arrivals[s][o] = departures[s][o] + (int) (options[o] & 0x1FFFFF);
+            }
+            scores[s] = options;
+        }
+        feasible = choice -> {
+            for (int s = 1; s < choice.length; s++) {
+                if (departures[s][choice[s]] < arrivals[s - 1][choice[s - 1]] + 120) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    @Benchmark
+    public List<int[]> bestFirstJoin() {
+        return BundleJoin.best(scores, feasible, LIMIT, 10_000);
+    }
+
+    @Benchmark
+    public List<int[]> crossProduct() {
+        PriorityQueue<long[]> best = new PriorityQueue<>((a, b) -> Long.compare(b[0], a[0]));
+        int[] choice = new int[segments];
+        while (true) {
+            if (feasible.test(choice)) {
+                long score = 0;
+                for (int s = 0; s < segments; s++) {
+                    score += scores[s][choice[s]];
+                }
+                if (best.size() < LIMIT || score < best.peek()[0]) {
+                    long[] entry = new long[segments + 1];
+                    entry[0] = score;
+                    for (int s = 0; s < segments; s++) {
+                        entry[s + 1] = choice[s];
+                    }
+                    best.add(entry);
+                    if (best.size() > LIMIT) {
+                        best.poll();
+                    }
+                }
+            }
+            int s = 0;
+            while (s < segments && ++choice[s] == optionsPerSegment) {
+                choice[s++] = 0;
+            }
+            if (s == segments) {
+                break;
+            }
+        }
+        List<int[]> bundles = new ArrayList<>(best.size());
+        for (long[] entry : best) {
+            int[] bundle = new int[segments];
+            for (int i = 0; i < segments; i++) {
+                bundle[i] = (int) entry[i + 1];
+            }
+            bundles.add(bundle);
+        }
+        return bundles;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.travelbuddybackend.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date and time validation
+ *
+ * The detail services validate the varchar date/time columns of every trip
+ * they return, so these checks run once per row on each search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class DateInput {
+        @Param({"2025-06-15", "2025-02-30", "not-a-date"})
+        public String date;
+    }
+
+    @State(Scope.Benchmark)
+    public static class TimeInput {
+        @Param({"08:45", "25:00"})
+        public String time;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Validator {
+        private final ValidatorService validatorService = new ValidatorService();
+    }
+
+    @Benchmark
+    public boolean isValidDate(Validator validator, DateInput input) {
+        return validator.validatorService.isValidDate(input.date);
+    }
+
+    @Benchmark
+    public boolean isValidTime(Validator validator, TimeInput input) {
+        return validator.validatorService.isValidTime(input.time);
+    }
+}
@@ -1,5 +1,11 @@
 package com.example.travelbuddybackend.config; //
 
+import com.example.travelbuddybackend.monitoring.InstrumentedJdbcTemplate;
+import com.example.travelbuddybackend.monitoring.StatementListener;
+import com.example.travelbuddybackend.monitoring.TimedPasswordEncoder;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,6 +18,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
 import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -29,8 +37,38 @@ public class DatabaseConfig {
     @Value("${spring.datasource.driver-class-name}")
     private String driverClassName;
 
+    @Value("${datasource.pool.max-size:0}")
+    private int poolMaxSize;
+
+    @Value("${datasource.pool.connection-timeout:30s}")
+    private Duration poolConnectionTimeout;
+
+    /**
+     * DataSource Bean
+     *
+     * By default every statement opens its own connection. With
+     * datasource.pool.max-size set, connections come from a bounded HikariCP
+     * pool instead. The virtual-threads profile needs this: thousands of
+     * virtual threads would otherwise open thousands of MySQL connections
+     * at once, far past max_connections.
+     */
     @Bean
     public DataSource dataSource() {
+        if (poolMaxSize > 0) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("travel-buddy");
+            config.setDriverClassName(driverClassName);
+            config.setJdbcUrl(url);
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolMaxSize);
+            config.setConnectionTimeout(poolConnectionTimeout.toMillis());
+            // Start without connections so the application still boots while MySQL is down
+            config.setMinimumIdle(0);
+            config.setInitializationFailTimeout(-1);
+            return new HikariDataSource(config);
+        }
+
         DriverManagerDataSource dataSource = new DriverManagerDataSource();
         dataSource.setDriverClassName(driverClassName);
         dataSource.setUrl(url);
@@ -47,10 +85,12 @@ public class DatabaseConfig {
      * - Each password gets a unique salt
      * - Computationally expensive to crack
      * - Industry standard used by banks and major companies
+     *
+     * Wrapped in a timer so hashing cost shows up in the metrics
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     /**
@@ -72,8 +112,14 @@ public class DatabaseConfig {
         return http.build();
     }
 
+    /**
+     * JdbcTemplate Bean
+     *
+     * Reports every statement to the registered StatementListeners
+     * (query metrics, slow-query log) before repositories swallow any exception
+     */
     @Bean
-    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
-        return new JdbcTemplate(dataSource);
+    public JdbcTemplate jdbcTemplate(DataSource dataSource, List<StatementListener> statementListeners) {
+        return new InstrumentedJdbcTemplate(dataSource, statementListeners);
     }
 }
@@ -0,0 +1,164 @@
+package com.example.travelbuddybackend.config;
+
+import com.example.travelbuddybackend.monitoring.RequestQueryTracker;
+import com.example.travelbuddybackend.monitoring.RequestQueryTracker.RepeatedStatement;
+import com.example.travelbuddybackend.monitoring.RequestQueryTracker.RequestQueryStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Query Budget Filter
+ *
+ * Counts the SQL statements and database time of every HTTP request and:
+ * - logs a warning when one statement repeats query-budget.n-plus-one-threshold
+ *   times in a request (N+1) or the request exceeds query-budget.max-queries
+ * - with query-budget.headers-enabled (dev profile), adds X-DB-Query-Count and
+ *   X-DB-Time-Ms response headers
+ *
+ * Headers are written just before the body, so they cover the statements the
+ * controller ran; anything issued while the body streams isn't included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    public static final String QUERY_COUNT_HEADER = "X-DB-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-DB-Time-Ms";
+
+    private final RequestQueryTracker tracker;
+    private final boolean enabled;
+    private final boolean headersEnabled;
+    private final int nPlusOneThreshold;
+    private final int maxQueries;
+
+    public QueryBudgetFilter(RequestQueryTracker tracker,
+                             @Value("${query-budget.enabled:true}") boolean enabled,
+                             @Value("${query-budget.headers-enabled:false}") boolean headersEnabled,
+                             @Value("${query-budget.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                             @Value("${query-budget.max-queries:20}") int maxQueries) {
+        this.tracker = tracker;
+        this.enabled = enabled;
+        this.headersEnabled = headersEnabled;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.maxQueries = maxQueries;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        tracker.begin();
+        HttpServletResponse target = headersEnabled ? new QueryHeaderResponse(response) : response;
+        try {
+            filterChain.doFilter(request, target);
+            if (target instanceof QueryHeaderResponse wrapper) {
+                // Bodiless responses (204, empty 200) never ask for a stream
+                wrapper.writeHeaders();
+            }
+        } finally {
+            RequestQueryStats stats = tracker.end();
+            if (stats != null) {
+                checkBudget(request, stats);
+            }
+        }
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    private void checkBudget(HttpServletRequest request, RequestQueryStats stats) {
+        String endpoint = request.getMethod() + " " + request.getRequestURI();
+
+        for (RepeatedStatement repeated : stats.repeatedStatements(nPlusOneThreshold)) {
+            log.warn("Possible N+1: {} ran the same statement {} times from {}.{}: {}",
+                    endpoint, repeated.getCount(), repeated.getRepository(), repeated.getMethod(),
+                    repeated.getSql().strip().replaceAll("\\s+", " "));
+        }
+        if (stats.getQueryCount() > maxQueries) {
+            log.warn("Query budget exceeded: {} issued {} statements ({} ms)", endpoint,
+                    stats.getQueryCount(), formatMillis(stats));
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} issued {} statements ({} ms)", endpoint, stats.getQueryCount(), formatMillis(stats));
+        }
+    }
+
+    private static String formatMillis(RequestQueryStats stats) {
+        return String.format(Locale.ROOT, "%.1f", stats.getTotalMillis());
+    }
+
+    /**
+     * Adds the query headers the first time the body is about to be written,
+     * while the response is still uncommitted
+     */
+    private final class QueryHeaderResponse extends HttpServletResponseWrapper {
+        private boolean headersWritten;
+
+        QueryHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            RequestQueryStats stats = tracker.current();
+            if (stats != null) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(stats.getQueryCount()));
+                setHeader(QUERY_TIME_HEADER, formatMillis(stats));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+    }
+}
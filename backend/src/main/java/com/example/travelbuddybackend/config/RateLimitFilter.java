@@ -0,0 +1,137 @@
+package com.example.travelbuddybackend.config;
+
+import com.example.travelbuddybackend.service.JwtService;
+import com.example.travelbuddybackend.service.RateLimiterService;
+import com.example.travelbuddybackend.service.RateLimiterService.Decision;
+import com.example.travelbuddybackend.service.RateLimiterService.Quota;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate Limit Filter
+ *
+ * Sits in front of the search, booking and login endpoints and rejects
+ * callers that exceed their route quota with 429 Too Many Requests and a
+ * Retry-After header. Authenticated callers are keyed by client ID so that
+ * users behind one NAT don't share a bucket; everybody else is keyed by IP.
+ *
+ * Routes without a configured quota pass straight through.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiterService rateLimiterService;
+    private final RateLimitProperties properties;
+    private final JwtService jwtService;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<LimitedRoute> routes = new ArrayList<>();
+
+    public RateLimitFilter(RateLimiterService rateLimiterService,
+                           RateLimitProperties properties,
+                           JwtService jwtService) {
+        this.rateLimiterService = rateLimiterService;
+        this.properties = properties;
+        this.jwtService = jwtService;
+
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            routes.add(new LimitedRoute(route, Quota.of(route)));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflight requests never reach a controller
+        return !properties.isEnabled() || routes.isEmpty() || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        LimitedRoute route = findRoute(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Decision decision = rateLimiterService.tryConsume(route.config().getName(), resolveClientKey(request, route), route.quota());
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+
+        if (!decision.allowed()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Too many requests - retry after " + decision.retryAfterSeconds() + " seconds");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    private LimitedRoute findRoute(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        for (LimitedRoute route : routes) {
+            List<String> methods = route.config().getMethods();
+            if (!methods.isEmpty() && methods.stream().noneMatch(method::equalsIgnoreCase)) {
+                continue;
+            }
+            for (String pattern : route.config().getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Build the bucket key for a caller
+     *
+     * A valid Bearer token yields "client:{type}:{id}"; anything else
+     * (no token, forged token, IP-keyed routes) falls back to "ip:{address}".
+     */
+    private String resolveClientKey(HttpServletRequest request, LimitedRoute route) {
+        if (route.config().getKeyBy() == RateLimitProperties.KeyType.CLIENT) {
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                JwtService.UserInfo userInfo = jwtService.extractUserInfo(authHeader.substring(7));
+                if (userInfo != null) {
+                    return "client:" + userInfo.userType() + ":" + userInfo.id();
+                }
+            }
+        }
+        return "ip:" + resolveClientIp(request);
+    }
+
+    private String resolveClientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private record LimitedRoute(RateLimitProperties.Route config, Quota quota) {
+    }
+}
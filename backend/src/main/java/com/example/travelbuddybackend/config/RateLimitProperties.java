@@ -0,0 +1,90 @@
+package com.example.travelbuddybackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate Limit Properties
+ *
+ * Binds the "rate-limit.*" settings from application.properties:
+ * - enabled: master switch for the whole rate-limiting layer
+ * - max-tracked-keys: upper bound on buckets kept in memory (per node)
+ * - stripes: number of independent bucket maps (must be a power of two)
+ * - trust-forwarded-for: use X-Forwarded-For as the client IP (only behind a trusted proxy)
+ * - routes: per-route quotas, matched in declaration order
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxTrackedKeys = 100_000;
+    private int stripes = 16;
+    private boolean trustForwardedFor = false;
+    private List<Route> routes = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getMaxTrackedKeys() { return maxTrackedKeys; }
+    public void setMaxTrackedKeys(int maxTrackedKeys) { this.maxTrackedKeys = maxTrackedKeys; }
+
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+
+    public boolean isTrustForwardedFor() { return trustForwardedFor; }
+    public void setTrustForwardedFor(boolean trustForwardedFor) { this.trustForwardedFor = trustForwardedFor; }
+
+    public List<Route> getRoutes() { return routes; }
+    public void setRoutes(List<Route> routes) { this.routes = routes; }
+
+    /**
+     * Quota for one group of endpoints
+     *
+     * A client may burst up to "capacity" requests, after which it gets
+     * "refill-tokens" new requests every "refill-period".
+     */
+    public static class Route {
+        private String name;
+        private List<String> patterns = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();   // empty = any method
+        private KeyType keyBy = KeyType.CLIENT;
+        private long capacity = 60;
+        private long refillTokens = 60;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public List<String> getPatterns() { return patterns; }
+        public void setPatterns(List<String> patterns) { this.patterns = patterns; }
+
+        public List<String> getMethods() { return methods; }
+        public void setMethods(List<String> methods) { this.methods = methods; }
+
+        public KeyType getKeyBy() { return keyBy; }
+        public void setKeyBy(KeyType keyBy) { this.keyBy = keyBy; }
+
+        public long getCapacity() { return capacity; }
+        public void setCapacity(long capacity) { this.capacity = capacity; }
+
+        public long getRefillTokens() { return refillTokens; }
+        public void setRefillTokens(long refillTokens) { this.refillTokens = refillTokens; }
+
+        public Duration getRefillPeriod() { return refillPeriod; }
+        public void setRefillPeriod(Duration refillPeriod) { this.refillPeriod = refillPeriod; }
+    }
+
+    /**
+     * CLIENT keys authenticated callers by their client ID and falls back to IP;
+     * IP always keys by address (used for login, where nobody is authenticated yet).
+     */
+    public enum KeyType {
+        CLIENT,
+        IP
+    }
+}
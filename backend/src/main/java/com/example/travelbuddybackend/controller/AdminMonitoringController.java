@@ -0,0 +1,263 @@
+package com.example.travelbuddybackend.controller;
+
+import com.example.travelbuddybackend.monitoring.SlowQueryLog;
+import com.example.travelbuddybackend.monitoring.SlowQueryLog.SlowQueryReport;
+import com.example.travelbuddybackend.monitoring.jfr.JfrRecordingService;
+import com.example.travelbuddybackend.monitoring.jfr.JfrRecordingService.JfrRecordingStatus;
+import com.example.travelbuddybackend.service.JwtService;
+import com.example.travelbuddybackend.service.ConnectionSearchService;
+import com.example.travelbuddybackend.service.SearchCoalescer;
+import com.example.travelbuddybackend.service.SearchIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Admin Monitoring Controller
+ *
+ * Diagnostics for tuning the database layer. Every endpoint requires an
+ * admin JWT in the Authorization header (Bearer format); client tokens
+ * get 403.
+ *
+ * - GET    /api/admin/monitoring/slow-queries?limit=20  top statements by time spent over the threshold
+ * - DELETE /api/admin/monitoring/slow-queries           reset the statistics, e.g. after adding an index
+ * - POST   /api/admin/monitoring/jfr/start?settings=profile  start a Flight Recorder recording
+ * - GET    /api/admin/monitoring/jfr                     status of the active recording
+ * - POST   /api/admin/monitoring/jfr/stop                stop it and download the .jfr file
+ * - GET    /api/admin/monitoring/search-index            trips, carriers, days and heap footprint of the search bitmap indexes
+ * - POST   /api/admin/monitoring/search-index/{transportType}/rebuild  rebuild one mode's search index now
+ * - GET    /api/admin/monitoring/connection-timetable    connections, stops and heap footprint of the connection search timetable
+ * - POST   /api/admin/monitoring/connection-timetable/rebuild  rebuild it now
+ * - GET    /api/admin/monitoring/search-coalescing       searches run vs. joined while an identical one was running
+ */
+@RestController
+@RequestMapping("/api/admin/monitoring")
+@CrossOrigin(origins = "http://localhost:4200")
+public class AdminMonitoringController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminMonitoringController.class);
+
+    private final SlowQueryLog slowQueryLog;
+    private final JfrRecordingService jfrRecordingService;
+    private final JwtService jwtService;
+    private final SearchIndexService searchIndexService;
+    private final ConnectionSearchService connectionSearchService;
+    private final SearchCoalescer searchCoalescer;
+
+    @Autowired
+    public AdminMonitoringController(SlowQueryLog slowQueryLog, JfrRecordingService jfrRecordingService,
+                                     JwtService jwtService,
+                                     SearchIndexService searchIndexService,
+                                     ConnectionSearchService connectionSearchService,
+                                     SearchCoalescer searchCoalescer) {
+        this.slowQueryLog = slowQueryLog;
+        this.jfrRecordingService = jfrRecordingService;
+        this.jwtService = jwtService;
+        this.searchIndexService = searchIndexService;
+        this.connectionSearchService = connectionSearchService;
+        this.searchCoalescer = searchCoalescer;
+    }
+
+    @GetMapping("/slow-queries")
+    public ResponseEntity<?> getSlowQueries(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(defaultValue = "20") int limit) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        SlowQueryReport report = slowQueryLog.report(limit);
+        return ResponseEntity.ok(report);
+    }
+
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<?> resetSlowQueries(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        slowQueryLog.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    // ============================================================================
+    // FLIGHT RECORDER
+    // ============================================================================
+
+    @PostMapping("/jfr/start")
+    public ResponseEntity<?> startRecording(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(defaultValue = "default") String settings) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            JfrRecordingStatus status = jfrRecordingService.start(settings);
+            return ResponseEntity.status(HttpStatus.CREATED).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/jfr")
+    public ResponseEntity<?> getRecordingStatus(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        Optional<JfrRecordingStatus> status = jfrRecordingService.status();
+        if (status.isPresent()) {
+            return ResponseEntity.ok(status.get());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Stop the active recording and stream it back. Open the file in JDK
+     * Mission Control or summarize it with "jfr print --events travelbuddy.*".
+     */
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<?> stopRecording(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        Optional<Path> dump = jfrRecordingService.stop();
+        if (dump.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No active recording");
+        }
+
+        Path file = dump.get();
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(file, outputStream);
+            } finally {
+                deleteQuietly(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(body);
+    }
+
+    // ============================================================================
+    // SEARCH INDEXES
+    // ============================================================================
+
+    @GetMapping("/search-index")
+    public ResponseEntity<?> getSearchIndexStats(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(searchIndexService.getStats());
+    }
+
+    @PostMapping("/search-index/{transportType}/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @PathVariable String transportType) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            if (!searchIndexService.rebuild(transportType)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Search index could not be loaded");
+            }
+            return ResponseEntity.ok(searchIndexService.getStats());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/connection-timetable")
+    public ResponseEntity<?> getConnectionTimetableStats(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(connectionSearchService.getStats());
+    }
+
+    @PostMapping("/connection-timetable/rebuild")
+    public ResponseEntity<?> rebuildConnectionTimetable(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        if (!connectionSearchService.rebuild()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Connection timetable could not be loaded");
+        }
+        return ResponseEntity.ok(connectionSearchService.getStats());
+    }
+
+    // ============================================================================
+    // SEARCH COALESCING
+    // ============================================================================
+
+    @GetMapping("/search-coalescing")
+    public ResponseEntity<?> getSearchCoalescingStats(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        ResponseEntity<?> denied = checkAdmin(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(searchCoalescer.getStats());
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    /**
+     * Check the Authorization header carries a valid admin token
+     * @param authHeader The Authorization header value
+     * @return An error response, or null if the caller is an admin
+     */
+    private ResponseEntity<?> checkAdmin(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid authorization header");
+        }
+        String token = authHeader.substring(7);
+        if (!jwtService.isTokenValid(token)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token");
+        }
+        JwtService.UserInfo userInfo = jwtService.extractUserInfo(token);
+        if (userInfo == null || !userInfo.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Admin access required");
+        }
+        return null;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete JFR dump {}: {}", file, e.getMessage());
+        }
+    }
+}
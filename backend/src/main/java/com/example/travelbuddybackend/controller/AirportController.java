@@ -2,6 +2,9 @@ package com.example.travelbuddybackend.controller;
 
 import com.example.travelbuddybackend.models.Airport;
 import com.example.travelbuddybackend.service.AirportService;
+import com.example.travelbuddybackend.service.SearchSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +17,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200") // Allow Angular frontend to connect
 public class AirportController {
 
+    private static final Logger log = LoggerFactory.getLogger(AirportController.class);
+
     private final AirportService airportService;
 
     @Autowired
@@ -31,7 +36,7 @@ public class AirportController {
             List<Airport> airports = airportService.getAllAirports();
             return ResponseEntity.ok(airports);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -46,7 +51,7 @@ public class AirportController {
             Optional<Airport> airport = airportService.getAirportById(id);
             return airport.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -61,7 +66,7 @@ public class AirportController {
             Optional<Airport> airport = airportService.getAirportByCode(airportCode);
             return airport.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -76,7 +81,7 @@ public class AirportController {
             int count = airportService.getAirportCount();
             return ResponseEntity.ok(count);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -91,7 +96,7 @@ public class AirportController {
             boolean exists = airportService.airportExists(id);
             return ResponseEntity.ok(exists);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -110,7 +115,7 @@ public class AirportController {
                 return ResponseEntity.badRequest().body("Failed to add airport");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error");
         }
     }
@@ -129,7 +134,7 @@ public class AirportController {
                 return ResponseEntity.badRequest().body("Failed to update airport");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error");
         }
     }
@@ -148,7 +153,7 @@ public class AirportController {
                 return ResponseEntity.badRequest().body("Failed to delete airport");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error");
         }
     }
@@ -157,17 +162,19 @@ public class AirportController {
 
     /**
      * GET /api/airports/search?searchTerm={searchTerm}
-     * Search airports by name, code, city, or country using existing getAllAirports() method
+     * Autocomplete airports by name, code, city, or country: ranked, typo-tolerant, at most autocomplete.limit results
+     * With an X-Search-Session header, each keystroke narrows down the previous one's candidates
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Airport>> searchAirports(@RequestParam String searchTerm) {
+    public ResponseEntity<List<Airport>> searchAirports(@RequestParam String searchTerm,
+                                                        @RequestHeader(value = SearchSessionService.SESSION_HEADER, required = false) String sessionId) {
         try {
-            var searchResults = airportService.searchAirports(searchTerm);
+            var searchResults = airportService.searchAirports(searchTerm, sessionId);
 
-            System.out.println("✓ Controller: Airport search for '" + searchTerm + "' returned " + searchResults.size() + " results");
+            log.info("✓ Controller: Airport search for '{}' returned {} results", searchTerm, searchResults.size());
             return ResponseEntity.ok(searchResults);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
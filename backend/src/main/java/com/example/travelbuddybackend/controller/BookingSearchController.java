@@ -1,55 +1,190 @@
 // BookingSearchController.java - Works with your existing services
 package com.example.travelbuddybackend.controller;
 
+import com.example.travelbuddybackend.index.PriceHistogram;
 import com.example.travelbuddybackend.models.AvailableTicket;
 import com.example.travelbuddybackend.models.Booking;
 import com.example.travelbuddybackend.service.BookingSearchService;
 import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import com.example.travelbuddybackend.service.BookingSearchService.SearchResult;
 import com.example.travelbuddybackend.service.BookingService;
+import com.example.travelbuddybackend.service.ConnectionSearchService;
+import com.example.travelbuddybackend.service.ConnectionSearchService.Itinerary;
+import com.example.travelbuddybackend.service.FareCalendarService;
+import com.example.travelbuddybackend.service.FareCalendarService.FareCalendar;
+import com.example.travelbuddybackend.service.ProgressiveSearch;
+import com.example.travelbuddybackend.service.SearchSessionService;
+import com.example.travelbuddybackend.service.TicketPager;
+import com.example.travelbuddybackend.service.TripBundleService;
+import com.example.travelbuddybackend.service.TripBundleService.MultiCityRequest;
+import com.example.travelbuddybackend.service.TripBundleService.TripBundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/search")
-@CrossOrigin(origins = "http://localhost:4200") // Allow Angular frontend
+@CrossOrigin(origins = "http://localhost:4200", exposedHeaders = {
+        BookingSearchController.DEGRADED_MODES_HEADER, BookingSearchController.TOTAL_COUNT_HEADER}) // Allow Angular frontend
 public class BookingSearchController {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingSearchController.class);
+
+    /**
+     * Comma-separated transport modes that timed out or failed; their tickets
+     * are missing from the response. Absent when every mode answered.
+     */
+    public static final String DEGRADED_MODES_HEADER = "X-Search-Degraded-Modes";
+
+    /**
+     * Number of matching tickets across all pages
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    // Shared by all open ticket streams; sending a comment is cheap and never blocks for long
+    private static final ScheduledExecutorService HEARTBEATS = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${search.page.max-limit:500}")
+    private int maxPageLimit;
+
+    @Value("${search.stream.timeout:60s}")
+    private Duration streamTimeout;
+
+    @Value("${search.stream.heartbeat:2s}")
+    private Duration streamHeartbeat;
+
     @Autowired
     private BookingSearchService bookingSearchService;
 
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private FareCalendarService fareCalendarService;
+
+    @Autowired
+    private ConnectionSearchService connectionSearchService;
+
+    @Autowired
+    private TripBundleService tripBundleService;
+
     /**
      * Search for AVAILABLE tickets to book using your detail services
-     * POST /api/search/available-tickets
+     * POST /api/search/available-tickets?sort=price&limit=20&offset=40
+     *
+     * sort is price, departure or duration; without it tickets come in search order.
+     * Without limit every match is returned (capped at search.page.max-limit when given).
+     * With an X-Search-Session header, criteria that narrow the session's previous ones
+     * (more text typed, a filter added) only re-check the trips that search found.
      */
     @PostMapping("/available-tickets")
-    public ResponseEntity<List<AvailableTicket>> searchAvailableTickets(@RequestBody BookingSearchCriteria criteria) {
+    public ResponseEntity<List<AvailableTicket>> searchAvailableTickets(@RequestBody BookingSearchCriteria criteria,
+                                                                        @RequestParam(required = false) String sort,
+                                                                        @RequestParam(required = false) Integer limit,
+                                                                        @RequestParam(defaultValue = "0") int offset,
+                                                                        @RequestHeader(value = SearchSessionService.SESSION_HEADER, required = false) String sessionId) {
         try {
-            System.out.println("🔍 Searching available tickets:");
-            System.out.println("Transport Type: " + criteria.getTransportType());
+            log.info("🔍 Searching available tickets:");
+            log.info("Transport Type: {}", criteria.getTransportType());
 
             // Fix these to show the actual fields being sent:
-            System.out.println("Departure Station: " + criteria.getDepartureStation());
-            System.out.println("Arrival Station: " + criteria.getArrivalStation());
-            System.out.println("Airline/Line: " + criteria.getAirline() + "/" + criteria.getLine());
-            System.out.println("Price between " + criteria.getMinPrice() + " and " + criteria.getMaxPrice());
+            log.info("Departure Station: {}", criteria.getDepartureStation());
+            log.info("Arrival Station: {}", criteria.getArrivalStation());
+            log.info("Airline/Line: {}/{}", criteria.getAirline(), criteria.getLine());
+            log.info("Price between {} and {}", criteria.getMinPrice(), criteria.getMaxPrice());
 
-            List<AvailableTicket> results = bookingSearchService.searchAvailableTickets(criteria);
+            SearchResult result = bookingSearchService.search(criteria, sessionId);
 
-            System.out.println("✅ Found " + results.size() + " available tickets");
-            return ResponseEntity.ok(results);
+            log.info("✅ Found {} available tickets", result.tickets().size());
+            return toResponse(result, sort, limit, offset);
 
         } catch (Exception e) {
-            System.out.println("❌ Error searching available tickets: " + e.getMessage());
+            log.error("❌ Error searching available tickets: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Stream AVAILABLE tickets as Server-Sent Events, one batch per transport mode
+     * GET /api/search/available-tickets/stream?departureStation=LHR&arrivalStation=CDG
+     *
+     * Criteria are the query-parameter form of the POST body. Events:
+     * - tickets: {"mode":"flight","tickets":[...],"degraded":false}, as soon as each mode finishes
+     * - summary: {"total":42,"degradedModes":[],"elapsedMillis":180}, last event before the stream closes
+     * Closing the connection cancels the modes still running, including their SQL
+     * statements. A disconnect is noticed on the next write, at most one heartbeat later.
+     */
+    @GetMapping(value = "/available-tickets/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailableTickets(BookingSearchCriteria criteria) {
+        log.info("🔍 Streaming available tickets: type={}, {} → {}",
+                criteria.getTransportType(), criteria.getDepartureStation(), criteria.getArrivalStation());
+
+        long start = System.nanoTime();
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+
+        ProgressiveSearch search = bookingSearchService.searchProgressively(criteria, outcome ->
+                send(emitter, SseEmitter.event().name("tickets")
+                        .data(new TicketBatch(outcome.mode(), outcome.value(), outcome.degraded()))));
+
+        ScheduledFuture<?> heartbeat = HEARTBEATS.scheduleAtFixedRate(() -> {
+            try {
+                send(emitter, SseEmitter.event().comment("heartbeat"));
+            } catch (RuntimeException e) {
+                search.cancel();
+                throw e; // stops the heartbeat
+            }
+        }, streamHeartbeat.toMillis(), streamHeartbeat.toMillis(), TimeUnit.MILLISECONDS);
+
+        Runnable cleanup = () -> {
+            heartbeat.cancel(false);
+            search.cancel();
+        };
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+
+        search.getResult().thenAccept(result -> {
+            if (search.isCancelled()) {
+                log.info("🚫 Ticket stream cancelled by client");
+                return;
+            }
+            if (!result.degradedModes().isEmpty()) {
+                log.warn("⚠️ Search degraded, missing modes: {}", result.degradedModes());
+            }
+            try {
+                send(emitter, SseEmitter.event().name("summary").data(new SearchSummary(result.tickets().size(),
+                        result.degradedModes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))));
+                emitter.complete();
+                log.info("✅ Streamed {} available tickets", result.tickets().size());
+            } catch (RuntimeException e) {
+                log.debug("Client went away before the summary: {}", e.getMessage());
+            }
+        });
+        return emitter;
+    }
+
     /**
      * Search for EXISTING bookings using your BookingService
      * POST /api/search/existing-bookings
@@ -58,25 +193,28 @@ public class BookingSearchController {
     public ResponseEntity<List<Booking>> searchExistingBookings(@RequestBody BookingSearchCriteria criteria) {
 
         try {
-            System.out.println("🔍 Searching existing bookings:");
+            log.info("🔍 Searching existing bookings:");
 
             List<Booking> results = bookingSearchService.searchExistingBookings(criteria);
 
-            System.out.println("✅ Found " + results.size() + " existing bookings");
+            log.info("✅ Found {} existing bookings", results.size());
             return ResponseEntity.ok(results);
 
         } catch (Exception e) {
-            System.out.println("❌ Error searching existing bookings: " + e.getMessage());
+            log.error("❌ Error searching existing bookings: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
 
     /**
      * Quick search for available flights by airline
-     * GET /api/search/flights?airline=Delta
+     * GET /api/search/flights?airline=Delta&sort=departure&limit=20
      */
     @GetMapping("/flights")
-    public ResponseEntity<List<AvailableTicket>> searchFlights(@RequestParam(required = false) String airline) {
+    public ResponseEntity<List<AvailableTicket>> searchFlights(@RequestParam(required = false) String airline,
+                                                  @RequestParam(required = false) String sort,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(defaultValue = "0") int offset) {
 
         try {
             BookingSearchCriteria criteria = new BookingSearchCriteria();
@@ -85,11 +223,10 @@ public class BookingSearchController {
                 criteria.setAirline(airline);
             }
 
-            List<AvailableTicket> results = bookingSearchService.searchAvailableTickets(criteria);
-            return ResponseEntity.ok(results);
+            return toResponse(bookingSearchService.search(criteria), sort, limit, offset);
 
         } catch (Exception e) {
-            System.out.println("❌ Error searching flights: " + e.getMessage());
+            log.error("❌ Error searching flights: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -99,7 +236,10 @@ public class BookingSearchController {
      * GET /api/search/trains?line=Amtrak
      */
     @GetMapping("/trains")
-    public ResponseEntity<List<AvailableTicket>> searchTrains(@RequestParam(required = false) String line) {
+    public ResponseEntity<List<AvailableTicket>> searchTrains(@RequestParam(required = false) String line,
+                                                  @RequestParam(required = false) String sort,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(defaultValue = "0") int offset) {
 
         try {
             BookingSearchCriteria criteria = new BookingSearchCriteria();
@@ -108,11 +248,10 @@ public class BookingSearchController {
                 criteria.setLine(line);
             }
 
-            List<AvailableTicket> results = bookingSearchService.searchAvailableTickets(criteria);
-            return ResponseEntity.ok(results);
+            return toResponse(bookingSearchService.search(criteria), sort, limit, offset);
 
         } catch (Exception e) {
-            System.out.println("❌ Error searching trains: " + e.getMessage());
+            log.error("❌ Error searching trains: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -122,7 +261,10 @@ public class BookingSearchController {
      * GET /api/search/buses?line=Greyhound
      */
     @GetMapping("/buses")
-    public ResponseEntity<List<AvailableTicket>> searchBuses(@RequestParam(required = false) String line) {
+    public ResponseEntity<List<AvailableTicket>> searchBuses(@RequestParam(required = false) String line,
+                                                  @RequestParam(required = false) String sort,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(defaultValue = "0") int offset) {
 
         try {
             BookingSearchCriteria criteria = new BookingSearchCriteria();
@@ -131,11 +273,126 @@ public class BookingSearchController {
                 criteria.setLine(line);
             }
 
-            List<AvailableTicket> results = bookingSearchService.searchAvailableTickets(criteria);
-            return ResponseEntity.ok(results);
+            return toResponse(bookingSearchService.search(criteria), sort, limit, offset);
+
+        } catch (Exception e) {
+            log.error("❌ Error searching buses: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Ticket counts per price bucket, for the price slider
+     * GET /api/search/price-histogram?transportType=flight&buckets=20 (at most PriceIndex.MAX_HISTOGRAM_BUCKETS)
+     */
+    @GetMapping("/price-histogram")
+    public ResponseEntity<PriceHistogram> getPriceHistogram(@RequestParam(required = false) String transportType,
+                                                            @RequestParam(required = false) Double minPrice,
+                                                            @RequestParam(required = false) Double maxPrice,
+                                                            @RequestParam(defaultValue = "20") int buckets) {
+        try {
+            return ResponseEntity.ok(bookingSearchService.priceHistogram(transportType, minPrice, maxPrice, buckets));
 
         } catch (Exception e) {
-            System.out.println("❌ Error searching buses: " + e.getMessage());
+            log.error("❌ Error building price histogram: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Lowest price and trip count per day around a date, per transport mode
+     * GET /api/search/fare-calendar?from=JFK&to=LAX&date=2025-08-25&days=15
+     */
+    @GetMapping("/fare-calendar")
+    public ResponseEntity<FareCalendar> getFareCalendar(@RequestParam String from,
+                                                        @RequestParam String to,
+                                                        @RequestParam String date,
+                                                        @RequestParam(defaultValue = "15") int days,
+                                                        @RequestParam(required = false) String transportType) {
+        try {
+            FareCalendar calendar = fareCalendarService.getFareCalendar(from, to, LocalDate.parse(date), days, transportType);
+            log.info("✅ Fare calendar {} → {}: {} days", calendar.from(), calendar.to(), calendar.days().size());
+            return ResponseEntity.ok(calendar);
+
+        } catch (Exception e) {
+            log.error("❌ Error building fare calendar: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Itineraries with transfers between flights, trains and buses, Pareto-optimal
+     * by arrival time, price and number of transfers, earliest arrival first
+     * GET /api/search/connections?from=LHR&to=Lyon&departure=2025-08-25T08:00&transfers=2&transportTypes=flight,train
+     *
+     * from and to are airport/station codes or city names; departure is a date or a date-time.
+     * 503 while the connection timetable is still loading.
+     */
+    @GetMapping("/connections")
+    public ResponseEntity<List<Itinerary>> searchConnections(@RequestParam String from,
+                                                             @RequestParam String to,
+                                                             @RequestParam String departure,
+                                                             @RequestParam(required = false) Integer transfers,
+                                                             @RequestParam(required = false) String transportTypes,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        try {
+            Optional<List<Itinerary>> itineraries = connectionSearchService.search(from, to,
+                    ConnectionSearchService.parseDeparture(departure), transfers,
+                    transportTypes, Math.min(limit, maxPageLimit));
+            if (itineraries.isEmpty()) {
+                log.warn("⚠️ Connection search {} → {}: timetable not loaded", from, to);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+            log.info("✅ Connection search {} → {}: {} itineraries", from, to, itineraries.get().size());
+            return ResponseEntity.ok(itineraries.get());
+
+        } catch (Exception e) {
+            log.error("❌ Error searching connections: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Round trips: outbound and return itineraries joined into bundles, cheapest first
+     * GET /api/search/round-trip?from=LHR&to=Lyon&departure=2025-08-25&return=2025-09-01&sort=price&limit=10
+     *
+     * sort is price (then travel time) or duration (then price). 503 while the
+     * connection timetable is still loading.
+     */
+    @GetMapping("/round-trip")
+    public ResponseEntity<List<TripBundle>> searchRoundTrip(@RequestParam String from,
+                                                            @RequestParam String to,
+                                                            @RequestParam String departure,
+                                                            @RequestParam("return") String returnDeparture,
+                                                            @RequestParam(required = false) Integer transfers,
+                                                            @RequestParam(required = false) String transportTypes,
+                                                            @RequestParam(required = false) String sort,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return toBundleResponse(tripBundleService.searchRoundTrip(from, to, departure, returnDeparture, transfers,
+                    transportTypes, sort, Math.min(limit, maxPageLimit)));
+
+        } catch (Exception e) {
+            log.error("❌ Error searching round trips: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Multi-city trips: one itinerary per segment, each leaving after the previous arrives
+     * POST /api/search/multi-city
+     * {"segments":[{"from":"LHR","to":"Paris","departure":"2025-08-25"},{"from":"Paris","to":"Rome","departure":"2025-08-28"}],
+     *  "transfers":1,"transportTypes":"flight,train","sort":"price","limit":10}
+     */
+    @PostMapping("/multi-city")
+    public ResponseEntity<List<TripBundle>> searchMultiCity(@RequestBody MultiCityRequest request) {
+        try {
+            Integer limit = request.limit() != null ? Math.min(request.limit(), maxPageLimit) : null;
+            return toBundleResponse(tripBundleService.search(new MultiCityRequest(request.segments(), request.transfers(),
+                    request.transportTypes(), request.sort(), limit)));
+
+        } catch (Exception e) {
+            log.error("❌ Error searching multi-city trips: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -149,12 +406,69 @@ public class BookingSearchController {
 
         try {
             List<Booking> results = bookingService.getBookingsByClientEmail(email);
-            System.out.println("✅ Found " + results.size() + " bookings for " + email);
+            log.info("✅ Found {} bookings for {}", results.size(), email);
             return ResponseEntity.ok(results);
 
         } catch (Exception e) {
-            System.out.println("❌ Error getting bookings by email: " + e.getMessage());
+            log.error("❌ Error getting bookings by email: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Send one event; the emitter is shared by the search threads and the heartbeat
+     * @throws UncheckedIOException if the client has gone away
+     * @throws IllegalStateException if the emitter already completed or timed out
+     */
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 200 with the bundles, or 503 if the connection timetable isn't loaded yet
+     */
+    private ResponseEntity<List<TripBundle>> toBundleResponse(Optional<List<TripBundle>> bundles) {
+        if (bundles.isEmpty()) {
+            log.warn("⚠️ Trip bundle search: timetable not loaded");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        log.info("✅ Found {} trip bundles", bundles.get().size());
+        return ResponseEntity.ok(bundles.get());
+    }
+
+    /**
+     * 200 with the requested page of tickets, the total count header, and the
+     * degraded-modes header if any mode was cut short
+     */
+    private ResponseEntity<List<AvailableTicket>> toResponse(SearchResult result, String sort, Integer limit, int offset) {
+        TicketPager.SortKey sortKey = sort != null && !sort.isBlank() ? TicketPager.SortKey.parse(sort) : null;
+        int pageLimit = limit != null ? Math.min(limit, maxPageLimit) : Integer.MAX_VALUE;
+        List<AvailableTicket> page = sortKey == null && limit == null && offset == 0
+                ? result.tickets()
+                : TicketPager.page(result.tickets(), sortKey, offset, pageLimit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.tickets().size()));
+        if (!result.degradedModes().isEmpty()) {
+            log.warn("⚠️ Search degraded, missing modes: {}", result.degradedModes());
+            response.header(DEGRADED_MODES_HEADER, String.join(",", result.degradedModes()));
+        }
+        return response.body(page);
+    }
+
+    /**
+     * "tickets" event: one transport mode's results. A degraded mode timed out or failed and has no tickets.
+     */
+    public record TicketBatch(String mode, List<AvailableTicket> tickets, boolean degraded) {
+    }
+
+    /**
+     * "summary" event: sent after the last batch
+     */
+    public record SearchSummary(int total, Set<String> degradedModes, long elapsedMillis) {
+    }
+}
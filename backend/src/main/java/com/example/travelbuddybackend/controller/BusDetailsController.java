@@ -2,6 +2,8 @@ package com.example.travelbuddybackend.controller;
 
 import com.example.travelbuddybackend.models.BusDetails;
 import com.example.travelbuddybackend.service.BusDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +16,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200") // Allow Angular frontend to connect
 public class BusDetailsController {
 
+    private static final Logger log = LoggerFactory.getLogger(BusDetailsController.class);
+
     private final BusDetailsService busDetailsService;
 
     @Autowired
@@ -31,7 +35,7 @@ public class BusDetailsController {
             List<BusDetails> busDetailsList = busDetailsService.getAllBusDetails();
             return ResponseEntity.ok(busDetailsList);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -46,7 +50,7 @@ public class BusDetailsController {
             Optional<BusDetails> busDetails = busDetailsService.getBusDetailsById(id);
             return busDetails.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -65,7 +69,7 @@ public class BusDetailsController {
                 return ResponseEntity.badRequest().body("Failed to add bus details");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
@@ -84,7 +88,7 @@ public class BusDetailsController {
                 return ResponseEntity.badRequest().body("Failed to update bus details");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
@@ -103,7 +107,7 @@ public class BusDetailsController {
                 return ResponseEntity.badRequest().body("Failed to delete bus details");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
@@ -2,6 +2,9 @@ package com.example.travelbuddybackend.controller;
 
 import com.example.travelbuddybackend.models.BusStation;
 import com.example.travelbuddybackend.service.BusStationService;
+import com.example.travelbuddybackend.service.SearchSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +17,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200") // Allow Angular frontend to connect
 public class BusStationController {
 
+    private static final Logger log = LoggerFactory.getLogger(BusStationController.class);
+
     private final BusStationService busStationService;
 
     @Autowired
@@ -31,7 +36,7 @@ public class BusStationController {
             List<BusStation> busStations = busStationService.getAllBusStations();
             return ResponseEntity.ok(busStations);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -46,7 +51,7 @@ public class BusStationController {
             Optional<BusStation> busStation = busStationService.getBusStationById(id);
             return busStation.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -61,7 +66,7 @@ public class BusStationController {
             Optional<BusStation> busStation = busStationService.getBusStationByCode(stationCode);
             return busStation.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -76,7 +81,7 @@ public class BusStationController {
             int count = busStationService.getBusStationCount();
             return ResponseEntity.ok(count);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -91,7 +96,7 @@ public class BusStationController {
             boolean exists = busStationService.busStationExists(id);
             return ResponseEntity.ok(exists);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -110,7 +115,7 @@ public class BusStationController {
                 return ResponseEntity.badRequest().body("Failed to add bus station");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error");
         }
     }
@@ -129,7 +134,7 @@ public class BusStationController {
                 return ResponseEntity.badRequest().body("Failed to update bus station");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error");
         }
     }
@@ -148,7 +153,7 @@ public class BusStationController {
                 return ResponseEntity.badRequest().body("Failed to delete bus station");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error");
         }
     }
@@ -157,17 +162,19 @@ public class BusStationController {
 
     /**
      * GET /api/bus-stations/search?searchTerm={searchTerm}
-     * Search bus stations by name, code, or city using existing getAllBusStations() method
+     * Autocomplete bus stations by name, code, or city: ranked, typo-tolerant, at most autocomplete.limit results
+     * With an X-Search-Session header, each keystroke narrows down the previous one's candidates
      */
     @GetMapping("/search")
-    public ResponseEntity<List<BusStation>> searchBusStations(@RequestParam String searchTerm) {
+    public ResponseEntity<List<BusStation>> searchBusStations(@RequestParam String searchTerm,
+                                                              @RequestHeader(value = SearchSessionService.SESSION_HEADER, required = false) String sessionId) {
         try {
-            var searchResults = busStationService.searchBusStations(searchTerm);
+            var searchResults = busStationService.searchBusStations(searchTerm, sessionId);
 
-            System.out.println("✓ Controller: Bus station search for '" + searchTerm + "' returned " + searchResults.size() + " results");
+            log.info("✓ Controller: Bus station search for '{}' returned {} results", searchTerm, searchResults.size());
             return ResponseEntity.ok(searchResults);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -6,6 +6,8 @@ import com.example.travelbuddybackend.service.ClientService.LoginRequest;
 import com.example.travelbuddybackend.service.ClientService.LoginResponse;
 import com.example.travelbuddybackend.service.ClientService.RegistrationRequest;
 import com.example.travelbuddybackend.service.ClientService.RegistrationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -35,6 +37,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200")  // Allow requests from your Angular app
 public class ClientController {
 
+    private static final Logger log = LoggerFactory.getLogger(ClientController.class);
+
     private final ClientService clientService;
 
     @Autowired
@@ -64,7 +68,7 @@ public class ClientController {
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<RegistrationResult>> registerClient(@RequestBody RegistrationRequest registrationRequest) {
 
-        System.out.println("Registration request received for username: " + registrationRequest.getUsername());
+        log.info("Registration request received for username: {}", registrationRequest.getUsername());
 
         try {
             // Process the registration through the service layer
@@ -87,7 +91,7 @@ public class ClientController {
             }
 
         } catch (Exception e) {
-            System.err.println("Registration error: " + e.getMessage());
+            log.error("Registration error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse<>(false, "Registration failed due to server error", null));
         }
@@ -112,7 +116,7 @@ public class ClientController {
     public ResponseEntity<ApiResponse<LoginResult>> loginClient(
             @RequestBody LoginRequest loginRequest) {
 
-        System.out.println("Login request received for: " + loginRequest.getUsernameOrEmail());
+        log.info("Login request received for: {}", loginRequest.getUsernameOrEmail());
 
         try {
             // Process the login attempt through the service layer
@@ -135,7 +139,7 @@ public class ClientController {
             }
 
         } catch (Exception e) {
-            System.err.println("Login error: " + e.getMessage());
+            log.error("Login error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse<>(false, "Login failed due to server error", null));
         }
@@ -178,7 +182,7 @@ public class ClientController {
             }
 
         } catch (Exception e) {
-            System.err.println("Profile retrieval error: " + e.getMessage());
+            log.error("Profile retrieval error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse<>(false, "Failed to retrieve profile", null));
         }
@@ -234,7 +238,7 @@ public class ClientController {
             }
 
         } catch (Exception e) {
-            System.err.println("Profile update error: " + e.getMessage());
+            log.error("Profile update error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse<>(false, "Profile update failed due to server error", null));
         }
@@ -294,7 +298,7 @@ public class ClientController {
             }
 
         } catch (Exception e) {
-            System.err.println("Password change error: " + e.getMessage());
+            log.error("Password change error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse<>(false, "Password change failed due to server error", null));
         }
@@ -333,7 +337,7 @@ public class ClientController {
             }
 
         } catch (Exception e) {
-            System.err.println("Token refresh error: " + e.getMessage());
+            log.error("Token refresh error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse<>(false, "Token refresh failed due to server error", null));
         }
@@ -374,7 +378,7 @@ public class ClientController {
             }
 
         } catch (Exception e) {
-            System.err.println("Token validation error: " + e.getMessage());
+            log.error("Token validation error: {}", e.getMessage());
             TokenValidationResult result = new TokenValidationResult(false, null);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse<>(false, "Token validation failed due to server error", result));
@@ -2,6 +2,8 @@ package com.example.travelbuddybackend.controller;
 
 import com.example.travelbuddybackend.models.FlightDetails;
 import com.example.travelbuddybackend.service.FlightDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +16,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200") // Allow Angular frontend to connect
 public class FlightDetailsController {
 
+    private static final Logger log = LoggerFactory.getLogger(FlightDetailsController.class);
+
     private final FlightDetailsService flightDetailsService;
 
     @Autowired
@@ -31,7 +35,7 @@ public class FlightDetailsController {
             List<FlightDetails> flightDetailsList = flightDetailsService.getAllFlightDetails();
             return ResponseEntity.ok(flightDetailsList);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -46,7 +50,7 @@ public class FlightDetailsController {
             Optional<FlightDetails> flightDetails = flightDetailsService.getFlightDetailsById(id);
             return flightDetails.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -65,7 +69,7 @@ public class FlightDetailsController {
                 return ResponseEntity.badRequest().body("Failed to add flight details");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
@@ -84,7 +88,7 @@ public class FlightDetailsController {
                 return ResponseEntity.badRequest().body("Failed to update flight details");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
@@ -103,7 +107,7 @@ public class FlightDetailsController {
                 return ResponseEntity.badRequest().body("Failed to delete flight details");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
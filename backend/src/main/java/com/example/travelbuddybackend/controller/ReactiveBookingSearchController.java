@@ -0,0 +1,92 @@
+package com.example.travelbuddybackend.controller;
+
+import com.example.travelbuddybackend.models.AvailableTicket;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import com.example.travelbuddybackend.service.ReactiveBookingSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive Booking Search Controller
+ *
+ * Non-blocking variant of the ticket search endpoints in
+ * BookingSearchController, backed by R2DBC. The servlet thread is released
+ * as soon as the handler returns the Flux, so a node can hold many more
+ * concurrent slow searches than it has request threads.
+ *
+ * Response format follows the Accept header (no produces condition here, so
+ * Spring MVC picks streaming or a collected array from Accept alone):
+ * - application/json (default): the same JSON array as /api/search, written once all modes finish
+ * - application/x-ndjson: one ticket per line, written as rows arrive, with backpressure
+ *   from the client connection back to the MySQL read
+ *
+ * - POST /api/reactive/search/available-tickets
+ * - GET  /api/reactive/search/flights?airline=Delta
+ * - GET  /api/reactive/search/trains?line=Amtrak
+ * - GET  /api/reactive/search/buses?line=Greyhound
+ */
+@RestController
+@RequestMapping("/api/reactive/search")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ReactiveBookingSearchController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveBookingSearchController.class);
+
+    private final ReactiveBookingSearchService reactiveBookingSearchService;
+
+    @Autowired
+    public ReactiveBookingSearchController(ReactiveBookingSearchService reactiveBookingSearchService) {
+        this.reactiveBookingSearchService = reactiveBookingSearchService;
+    }
+
+    @PostMapping("/available-tickets")
+    public Flux<AvailableTicket> searchAvailableTickets(@RequestBody BookingSearchCriteria criteria) {
+        log.info("🔍 Reactive search: type={}, {} → {}",
+                criteria.getTransportType(), criteria.getDepartureStation(), criteria.getArrivalStation());
+        return search(criteria);
+    }
+
+    @GetMapping("/flights")
+    public Flux<AvailableTicket> searchFlights(@RequestParam(required = false) String airline) {
+        BookingSearchCriteria criteria = new BookingSearchCriteria();
+        criteria.setTransportType("flight");
+        criteria.setAirline(airline);
+        return search(criteria);
+    }
+
+    @GetMapping("/trains")
+    public Flux<AvailableTicket> searchTrains(@RequestParam(required = false) String line) {
+        BookingSearchCriteria criteria = new BookingSearchCriteria();
+        criteria.setTransportType("train");
+        criteria.setLine(line);
+        return search(criteria);
+    }
+
+    @GetMapping("/buses")
+    public Flux<AvailableTicket> searchBuses(@RequestParam(required = false) String line) {
+        BookingSearchCriteria criteria = new BookingSearchCriteria();
+        criteria.setTransportType("bus");
+        criteria.setLine(line);
+        return search(criteria);
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    /**
+     * Run the search, turning failures into 400 like the blocking controller.
+     * Once streaming has started the status is already sent, so a late
+     * failure just ends the stream early.
+     */
+    private Flux<AvailableTicket> search(BookingSearchCriteria criteria) {
+        return reactiveBookingSearchService.searchAvailableTickets(criteria)
+                .onErrorMap(e -> !(e instanceof ResponseStatusException),
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search failed", e));
+    }
+}
@@ -2,6 +2,8 @@ package com.example.travelbuddybackend.controller;
 
 import com.example.travelbuddybackend.models.TrainDetails;
 import com.example.travelbuddybackend.service.TrainDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +16,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200") // Allow Angular frontend to connect
 public class TrainDetailsController {
 
+    private static final Logger log = LoggerFactory.getLogger(TrainDetailsController.class);
+
     private final TrainDetailsService trainDetailsService;
 
     @Autowired
@@ -31,7 +35,7 @@ public class TrainDetailsController {
             List<TrainDetails> trainDetailsList = trainDetailsService.getAllTrainDetails();
             return ResponseEntity.ok(trainDetailsList);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -46,7 +50,7 @@ public class TrainDetailsController {
             Optional<TrainDetails> trainDetails = trainDetailsService.getTrainDetailsById(id);
             return trainDetails.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -65,7 +69,7 @@ public class TrainDetailsController {
                 return ResponseEntity.badRequest().body("Failed to add train details");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
@@ -84,7 +88,7 @@ public class TrainDetailsController {
                 return ResponseEntity.badRequest().body("Failed to update train details");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
@@ -103,7 +107,7 @@ public class TrainDetailsController {
                 return ResponseEntity.badRequest().body("Failed to delete train details");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
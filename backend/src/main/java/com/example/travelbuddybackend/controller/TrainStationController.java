@@ -2,6 +2,9 @@ package com.example.travelbuddybackend.controller;
 
 import com.example.travelbuddybackend.models.TrainStation;
 import com.example.travelbuddybackend.service.TrainStationService;
+import com.example.travelbuddybackend.service.SearchSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +17,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200") // Allow Angular frontend to connect
 public class TrainStationController {
 
+    private static final Logger log = LoggerFactory.getLogger(TrainStationController.class);
+
     private final TrainStationService trainStationService;
 
     @Autowired
@@ -31,7 +36,7 @@ public class TrainStationController {
             List<TrainStation> trainStations = trainStationService.getAllTrainStations();
             return ResponseEntity.ok(trainStations);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -46,7 +51,7 @@ public class TrainStationController {
             Optional<TrainStation> trainStation = trainStationService.getTrainStationById(id);
             return trainStation.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -61,7 +66,7 @@ public class TrainStationController {
             Optional<TrainStation> trainStation = trainStationService.getTrainStationByCode(stationCode);
             return trainStation.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -76,7 +81,7 @@ public class TrainStationController {
             int count = trainStationService.getTrainStationCount();
             return ResponseEntity.ok(count);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -91,7 +96,7 @@ public class TrainStationController {
             boolean exists = trainStationService.trainStationExists(id);
             return ResponseEntity.ok(exists);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -110,7 +115,7 @@ public class TrainStationController {
                 return ResponseEntity.badRequest().body("Failed to add train station");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error");
         }
     }
@@ -129,7 +134,7 @@ public class TrainStationController {
                 return ResponseEntity.badRequest().body("Failed to update train station");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error");
         }
     }
@@ -148,7 +153,7 @@ public class TrainStationController {
                 return ResponseEntity.badRequest().body("Failed to delete train station");
             }
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error");
         }
     }
@@ -157,17 +162,19 @@ public class TrainStationController {
 
     /**
      * GET /api/train-stations/search?searchTerm={searchTerm}
-     * Search train stations by name, code, or city
+     * Autocomplete train stations by name, code, or city: ranked, typo-tolerant, at most autocomplete.limit results
+     * With an X-Search-Session header, each keystroke narrows down the previous one's candidates
      */
     @GetMapping("/search")
-    public ResponseEntity<List<TrainStation>> searchTrainStations(@RequestParam String searchTerm) {
+    public ResponseEntity<List<TrainStation>> searchTrainStations(@RequestParam String searchTerm,
+                                                                  @RequestHeader(value = SearchSessionService.SESSION_HEADER, required = false) String sessionId) {
         try {
-            var searchResults = trainStationService.searchTrainStations(searchTerm);
+            var searchResults = trainStationService.searchTrainStations(searchTerm, sessionId);
 
-            System.out.println("✓ Controller: Train station search for '" + searchTerm + "' returned " + searchResults.size() + " results");
+            log.info("✓ Controller: Train station search for '{}' returned {} results", searchTerm, searchResults.size());
             return ResponseEntity.ok(searchResults);
         } catch (Exception e) {
-            System.out.println("✗ Controller Error: " + e.getMessage());
+            log.error("✗ Controller Error: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -0,0 +1,707 @@
+package com.example.travelbuddybackend.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Autocomplete Index
+ *
+ * Typo-tolerant search-as-you-type over airports or stations by code, name
+ * and city. All text is folded (lowercase, accents removed, whitespace
+ * collapsed) and split into words, and three structures answer a query:
+ *
+ *   words       every distinct word, sorted, so the words starting with a
+ *               prefix are one binary-searched range (a flattened prefix trie)
+ *   wordGrams   bigrams of every word by position, to find the words within
+ *               one or two edits of a misspelt query word without comparing
+ *               it to all
+ *   entryGrams  trigrams of every entry's full text, for substring matches
+ *
+ * Matches are ranked exact code, then a name or code prefix, then a city
+ * prefix, then a substring, then a fuzzy match; within a rank by name. A
+ * query word matches fuzzily if it is within one edit (two from 8 letters
+ * on, transpositions counting as one) of the start of a word. Entries are
+ * numbered in name order, so each rank is read off in order and the search
+ * stops as soon as the limit is filled.
+ *
+ * Search-as-you-type sends every keystroke, and each extends the query
+ * before. complete() also returns the candidates of a query: the entries
+ * that can match it or any query extending it in a rank above fuzzy. Passed
+ * back with the next keystroke they are ranked directly, without the word
+ * and gram lookups; only the fuzzy rank, which a longer query can widen,
+ * is looked up again.
+ *
+ * Instances never change; a change to the stations means building a new
+ * index and swapping it in. Build one with builder().
+ */
+public final class AutocompleteIndex<T> {
+
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int TWO_EDITS_MIN_LENGTH = 8;
+    // Marks the start of a word in wordGrams, so the first letter counts as a bigram of its own
+    private static final char WORD_START = '\u0002';
+    // Bigrams from this position on share one key
+    private static final int LAST_POSITION = 255;
+    // Separates the fields of an entry's text, so a substring never spans two fields
+    private static final char FIELD_SEPARATOR = '\u0001';
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Entry ids follow name order, so ascending ids are results in name order
+    private final List<T> items;
+    private final String[] codes;
+    private final String[] texts;
+    // Ids of each entry's code and name words, and of its city words
+    private final int[][] nameWordIds;
+    private final int[][] cityWordIds;
+    private final Map<String, int[]> codeEntries;
+
+    private final String[] words;
+    // Entries with the word in their name or code, and in their name, code or city
+    private final int[][] nameEntries;
+    private final int[][] wordEntries;
+    private final Map<Long, int[]> wordGrams;
+    private final Map<Long, int[]> entryGrams;
+
+    private AutocompleteIndex(List<Entry<T>> entries) {
+        entries.sort(Comparator.comparing((Entry<T> entry) -> entry.name()).thenComparing(Entry::code));
+        int n = entries.size();
+        List<T> entryItems = new ArrayList<>(n);
+        codes = new String[n];
+        texts = new String[n];
+        codeEntries = new HashMap<>();
+
+        TreeMap<String, List<Integer>> nameWordMap = new TreeMap<>();
+        TreeMap<String, List<Integer>> wordMap = new TreeMap<>();
+        Map<Long, List<Integer>> entryGramMap = new HashMap<>();
+        for (int e = 0; e < n; e++) {
+            Entry<T> entry = entries.get(e);
+            entryItems.add(entry.item());
+            codes[e] = entry.code();
+            texts[e] = entry.text();
+            if (!entry.code().isEmpty()) {
+                int[] previous = codeEntries.get(entry.code());
+                codeEntries.put(entry.code(), previous == null ? new int[]{e} : append(previous, e));
+            }
+            for (String word : words(entry.name() + " " + entry.code())) {
+                addPosting(nameWordMap.computeIfAbsent(word, w -> new ArrayList<>()), e);
+                addPosting(wordMap.computeIfAbsent(word, w -> new ArrayList<>()), e);
+            }
+            for (String word : words(entry.city())) {
+                addPosting(wordMap.computeIfAbsent(word, w -> new ArrayList<>()), e);
+            }
+            for (int i = 0; i + 3 <= texts[e].length(); i++) {
+                addPosting(entryGramMap.computeIfAbsent(trigram(texts[e], i), g -> new ArrayList<>()), e);
+            }
+        }
+        items = List.copyOf(entryItems);
+
+        words = wordMap.keySet().toArray(new String[0]);
+        nameEntries = new int[words.length][];
+        wordEntries = new int[words.length][];
+        Map<Long, List<Integer>> wordGramMap = new HashMap<>();
+        for (int w = 0; w < words.length; w++) {
+            List<Integer> inName = nameWordMap.get(words[w]);
+            nameEntries[w] = inName == null ? new int[0] : toArray(inName);
+            wordEntries[w] = toArray(wordMap.get(words[w]));
+            String padded = WORD_START + words[w];
+            for (int i = 0; i + 2 <= padded.length(); i++) {
+                addPosting(wordGramMap.computeIfAbsent(bigram(padded, i, i), g -> new ArrayList<>()), w);
+            }
+        }
+        wordGrams = toArrays(wordGramMap);
+        entryGrams = toArrays(entryGramMap);
+
+        nameWordIds = new int[n][];
+        cityWordIds = new int[n][];
+        for (int e = 0; e < n; e++) {
+            Entry<T> entry = entries.get(e);
+            nameWordIds[e] = wordIds(words(entry.name() + " " + entry.code()));
+            cityWordIds[e] = wordIds(words(entry.city()));
+        }
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    // ============================================================================
+    // QUERIES
+    // ============================================================================
+
+    /**
+     * Best matches of a search-as-you-type query
+     * @param query Text typed so far; case, accents and extra whitespace are ignored
+     * @param limit Most matches returned
+     * @return The matches, best first; empty for a blank query
+     */
+    public List<T> search(String query, int limit) {
+        String text = query == null ? "" : fold(query);
+        if (text.isEmpty() || limit <= 0 || items.isEmpty()) {
+            return List.of();
+        }
+        String[] queryWords = words(text);
+        Matches matches = new Matches(Math.min(limit, items.size()));
+        addRankedMatches(text, queryWords, matches);
+        if (!matches.full() && queryWords.length > 0) {
+            matches.addAll(fuzzyMatches(queryWords));
+        }
+        return matches.items();
+    }
+
+    /**
+     * Best matches of a search-as-you-type query, narrowing down the candidates of the query typed before
+     * @param previous Candidates of the query before, or null; only used if this query extends it
+     *                 and they came from this index
+     * @param maxCandidates Most candidates returned for the next query
+     * @return The same matches as search(query, limit), and this query's candidates
+     *         (null if there are more than maxCandidates)
+     */
+    public Completion<T> complete(String query, int limit, Candidates previous, int maxCandidates) {
+        String text = query == null ? "" : fold(query);
+        if (text.isEmpty() || limit <= 0 || items.isEmpty()) {
+            return new Completion<>(List.of(), null, false);
+        }
+        String[] queryWords = words(text);
+        Matches matches = new Matches(Math.min(limit, items.size()));
+        boolean refined = previous != null && previous.index == this && text.startsWith(previous.text);
+        int[] candidates;
+        if (refined) {
+            candidates = rankCandidates(text, queryWords, previous.entries, matches);
+        } else {
+            addRankedMatches(text, queryWords, matches);
+            candidates = candidates(text, queryWords, maxCandidates);
+        }
+        if (!matches.full() && queryWords.length > 0) {
+            matches.addAll(fuzzyMatches(queryWords));
+        }
+        boolean keep = candidates != null && candidates.length <= maxCandidates;
+        return new Completion<>(matches.items(), keep ? new Candidates(this, text, candidates) : null, refined);
+    }
+
+    /**
+     * @return Number of airports or stations indexed
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * @return Number of distinct words in codes, names and cities
+     */
+    public int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * Fold text the way the index does: lowercase, accents removed, whitespace collapsed and trimmed
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String folded = MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return SPACES.matcher(folded).replaceAll(" ").trim();
+    }
+
+    // ============================================================================
+    // INTERNALS
+    // ============================================================================
+
+    /**
+     * Entries with, for every query word, a word starting with it in the given postings
+     */
+    private BitSet prefixMatches(String[] queryWords, int[][] postings) {
+        BitSet result = null;
+        for (String queryWord : queryWords) {
+            BitSet entries = new BitSet(items.size());
+            for (int w = firstWordFrom(queryWord); w < words.length && words[w].startsWith(queryWord); w++) {
+                for (int e : postings[w]) {
+                    entries.set(e);
+                }
+            }
+            result = and(result, entries);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add the exact code, prefix, city and substring matches, in rank and then name order
+     */
+    private void addRankedMatches(String text, String[] queryWords, Matches matches) {
+        int[] exact = codeEntries.get(text);
+        if (exact != null) {
+            for (int e : exact) {
+                matches.add(e);
+            }
+        }
+        if (!matches.full() && queryWords.length > 0) {
+            matches.addAll(prefixMatches(queryWords, nameEntries));
+        }
+        if (!matches.full() && queryWords.length > 0) {
+            matches.addAll(prefixMatches(queryWords, wordEntries));
+        }
+        if (!matches.full()) {
+            forEachSubstringMatch(text, e -> {
+                matches.add(e);
+                return !matches.full();
+            });
+        }
+    }
+
+    /**
+     * Add the previous candidates that match the query, in rank and then name order, as addRankedMatches would
+     * @return The candidates that still match, for the next query
+     */
+    private int[] rankCandidates(String text, String[] queryWords, int[] previous, Matches matches) {
+        // The query words' prefix ranges in words
+        int[] from = new int[queryWords.length];
+        int[] to = new int[queryWords.length];
+        for (int q = 0; q < queryWords.length; q++) {
+            from[q] = firstWordFrom(queryWords[q]);
+            to[q] = from[q];
+            while (to[q] < words.length && words[to[q]].startsWith(queryWords[q])) {
+                to[q]++;
+            }
+        }
+
+        byte[] ranks = new byte[previous.length];
+        int kept = 0;
+        for (int c = 0; c < previous.length; c++) {
+            int e = previous[c];
+            byte rank;
+            if (codes[e].equals(text)) {
+                rank = 0;
+            } else if (queryWords.length > 0 && allPrefixed(from, to, nameWordIds[e], null)) {
+                rank = 1;
+            } else if (queryWords.length > 0 && allPrefixed(from, to, nameWordIds[e], cityWordIds[e])) {
+                rank = 2;
+            } else if (texts[e].contains(text)) {
+                rank = 3;
+            } else {
+                rank = -1;
+            }
+            ranks[c] = rank;
+            if (rank >= 0) {
+                kept++;
+            }
+        }
+
+        for (byte rank = 0; rank <= 3 && !matches.full(); rank++) {
+            for (int c = 0; c < previous.length && !matches.full(); c++) {
+                if (ranks[c] == rank) {
+                    matches.add(previous[c]);
+                }
+            }
+        }
+        int[] candidates = new int[kept];
+        for (int c = 0, k = 0; c < previous.length; c++) {
+            if (ranks[c] >= 0) {
+                candidates[k++] = previous[c];
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Entries that can match the query, or a query extending it, in a rank above fuzzy:
+     * its city (which includes prefix) and substring matches, in name order
+     * @return The entries, or null once there are more than max
+     */
+    private int[] candidates(String text, String[] queryWords, int max) {
+        BitSet entries = queryWords.length > 0 ? prefixMatches(queryWords, wordEntries) : new BitSet();
+        int[] count = {entries.cardinality()};
+        if (count[0] > max) {
+            return null;
+        }
+        forEachSubstringMatch(text, e -> {
+            if (!entries.get(e)) {
+                entries.set(e);
+                count[0]++;
+            }
+            return count[0] <= max;
+        });
+        return count[0] > max ? null : entries.stream().toArray();
+    }
+
+    /**
+     * Pass the entries whose code, name, city or other text contains the query to action,
+     * in name order, while it returns true
+     */
+    private void forEachSubstringMatch(String text, IntPredicate action) {
+        if (text.length() < 3) {
+            for (int e = 0; e < texts.length; e++) {
+                if (texts[e].contains(text) && !action.test(e)) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        // Every trigram of the query must occur in the entry; walk the rarest and probe the others
+        int[][] postings = new int[text.length() - 2][];
+        for (int i = 0; i < postings.length; i++) {
+            postings[i] = entryGrams.get(trigram(text, i));
+            if (postings[i] == null) {
+                return;
+            }
+        }
+        Arrays.sort(postings, (a, b) -> Integer.compare(a.length, b.length));
+        for (int e : postings[0]) {
+            if (containsAll(postings, e) && texts[e].contains(text) && !action.test(e)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Entries with, for every query word, a code, name or city word starting within
+     * a few edits of it; words shorter than FUZZY_MIN_LENGTH must match exactly
+     */
+    private BitSet fuzzyMatches(String[] queryWords) {
+        BitSet result = null;
+        for (String queryWord : queryWords) {
+            BitSet entries = new BitSet(items.size());
+            if (queryWord.length() < FUZZY_MIN_LENGTH) {
+                for (int w = firstWordFrom(queryWord); w < words.length && words[w].startsWith(queryWord); w++) {
+                    for (int e : wordEntries[w]) {
+                        entries.set(e);
+                    }
+                }
+            } else {
+                int maxEdits = queryWord.length() >= TWO_EDITS_MIN_LENGTH ? 2 : 1;
+                for (int w : wordsNear(queryWord, maxEdits)) {
+                    for (int e : wordEntries[w]) {
+                        entries.set(e);
+                    }
+                }
+            }
+            result = and(result, entries);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Words with a prefix within maxEdits of the query word
+     */
+    private int[] wordsNear(String queryWord, int maxEdits) {
+        // An edit loses at most 3 of the query's bigrams (a transposition) and shifts the others by
+        // at most one position, so a near word shares all but 3 per edit within maxEdits positions;
+        // FUZZY_MIN_LENGTH and TWO_EDITS_MIN_LENGTH keep that at one or more
+        String padded = WORD_START + queryWord;
+        int needed = queryWord.length() - 3 * maxEdits;
+        int[] shared = new int[words.length];
+        int[] candidates = new int[16];
+        int count = 0;
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            int last = Math.min(i + maxEdits, LAST_POSITION);
+            for (int position = Math.max(0, Math.min(i - maxEdits, LAST_POSITION)); position <= last; position++) {
+                int[] posting = wordGrams.get(bigram(padded, i, position));
+                if (posting == null) {
+                    continue;
+                }
+                for (int w : posting) {
+                    if (++shared[w] == needed) {
+                        if (count == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, count * 2);
+                        }
+                        candidates[count++] = w;
+                    }
+                }
+            }
+        }
+
+        int near = 0;
+        for (int c = 0; c < count; c++) {
+            if (prefixDistance(queryWord, words[candidates[c]], maxEdits) <= maxEdits) {
+                candidates[near++] = candidates[c];
+            }
+        }
+        return Arrays.copyOf(candidates, near);
+    }
+
+    private int firstWordFrom(String prefix) {
+        int index = Arrays.binarySearch(words, prefix);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private int[] wordIds(String[] entryWords) {
+        int[] ids = new int[entryWords.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = Arrays.binarySearch(words, entryWords[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * The matches of one search so far, best first, each entry once
+     */
+    private final class Matches {
+
+        private final int[] entries;
+        private final BitSet taken = new BitSet(items.size());
+        private int count;
+
+        private Matches(int limit) {
+            entries = new int[limit];
+        }
+
+        private boolean full() {
+            return count == entries.length;
+        }
+
+        private void add(int e) {
+            if (!full() && !taken.get(e)) {
+                taken.set(e);
+                entries[count++] = e;
+            }
+        }
+
+        private void addAll(BitSet candidates) {
+            for (int e = candidates.nextSetBit(0); e >= 0 && !full(); e = candidates.nextSetBit(e + 1)) {
+                add(e);
+            }
+        }
+
+        private List<T> items() {
+            List<T> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(AutocompleteIndex.this.items.get(entries[i]));
+            }
+            return result;
+        }
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    /**
+     * Smallest edit distance between the query and a prefix of the word, counting an
+     * adjacent transposition as one edit; anything above max is returned as max + 1
+     */
+    static int prefixDistance(String query, String word, int max) {
+        // Only cells within max of the diagonal can stay within max; the others hold max + 1
+        int n = query.length();
+        int far = max + 1;
+        int[] before = new int[n + 2];
+        int[] previous = new int[n + 2];
+        int[] current = new int[n + 2];
+        for (int i = 0; i <= n + 1; i++) {
+            previous[i] = Math.min(i, far);
+        }
+        int best = previous[n];
+        int previousMin = 0;
+        for (int j = 1; j <= word.length() && j - max <= n; j++) {
+            char c = word.charAt(j - 1);
+            int from = Math.max(1, j - max);
+            int to = Math.min(n, j + max);
+            current[0] = Math.min(j, far);
+            current[from - 1] = from == 1 ? current[0] : far;
+            current[to + 1] = far;
+            int rowMin = current[0];
+            for (int i = from; i <= to; i++) {
+                int cost = query.charAt(i - 1) == c ? 0 : 1;
+                int distance = Math.min(previous[i - 1] + cost, Math.min(previous[i], current[i - 1]) + 1);
+                if (i > 1 && j > 1 && query.charAt(i - 1) == word.charAt(j - 2) && query.charAt(i - 2) == c) {
+                    distance = Math.min(distance, before[i - 2] + 1);
+                }
+                current[i] = Math.min(distance, far);
+                rowMin = Math.min(rowMin, current[i]);
+            }
+            if (to == n) {
+                best = Math.min(best, current[n]);
+            }
+            if (rowMin > max && previousMin > max) {
+                break; // every longer prefix is further away
+            }
+            previousMin = rowMin;
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(best, far);
+    }
+
+    /**
+     * Whether every query word, given as its range of word ids, starts one of the
+     * entry's words, or of its extra words if given
+     */
+    private static boolean allPrefixed(int[] from, int[] to, int[] wordIds, int[] extraWordIds) {
+        for (int q = 0; q < from.length; q++) {
+            if (!anyInRange(wordIds, from[q], to[q]) && (extraWordIds == null || !anyInRange(extraWordIds, from[q], to[q]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean anyInRange(int[] wordIds, int from, int to) {
+        for (int id : wordIds) {
+            if (id >= from && id < to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsAll(int[][] postings, int e) {
+        for (int p = 1; p < postings.length; p++) {
+            if (Arrays.binarySearch(postings[p], e) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BitSet and(BitSet result, BitSet entries) {
+        if (result == null) {
+            return entries;
+        }
+        result.and(entries);
+        return result;
+    }
+
+    private static String[] words(String folded) {
+        return Arrays.stream(NON_WORD.split(folded)).filter(word -> !word.isEmpty()).distinct().toArray(String[]::new);
+    }
+
+    private static long bigram(String text, int at, int position) {
+        return spread((long) text.charAt(at) << 40 | (long) text.charAt(at + 1) << 24 | Math.min(position, LAST_POSITION));
+    }
+
+    private static long trigram(String text, int at) {
+        return spread((long) text.charAt(at) << 32 | (long) text.charAt(at + 1) << 16 | text.charAt(at + 2));
+    }
+
+    /**
+     * Scramble a packed gram key: multiplying by an odd constant keeps keys distinct, but stops
+     * characters from cancelling out in the few low bits a HashMap bucket is picked by
+     */
+    private static long spread(long key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Append to a posting list built in ascending order, skipping a repeat of the last id
+     */
+    private static void addPosting(List<Integer> posting, int id) {
+        if (posting.isEmpty() || posting.get(posting.size() - 1) != id) {
+            posting.add(id);
+        }
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] appended = Arrays.copyOf(values, values.length + 1);
+        appended[values.length] = value;
+        return appended;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> postings) {
+        Map<K, int[]> arrays = new HashMap<>(postings.size() * 2);
+        postings.forEach((key, values) -> arrays.put(key, toArray(values)));
+        return arrays;
+    }
+
+    // ============================================================================
+    // DATA CLASSES
+    // ============================================================================
+
+    /**
+     * Matches of one search-as-you-type query
+     * @param candidates To pass to complete() with the next keystroke; null if there were too many
+     * @param refined Whether the previous query's candidates were narrowed down
+     */
+    public record Completion<T>(List<T> matches, Candidates candidates, boolean refined) {
+    }
+
+    /**
+     * The entries that can match a query, or any query extending it, above the fuzzy rank
+     */
+    public static final class Candidates {
+
+        private final AutocompleteIndex<?> index;
+        private final String text;
+        private final int[] entries;
+
+        private Candidates(AutocompleteIndex<?> index, String text, int[] entries) {
+            this.index = index;
+            this.text = text;
+            this.entries = entries;
+        }
+
+        public int size() {
+            return entries.length;
+        }
+    }
+
+    // ============================================================================
+    // BUILDER
+    // ============================================================================
+
+    /**
+     * One airport or station, folded
+     * @param text Code, name, city and other text, separated by FIELD_SEPARATOR
+     */
+    private record Entry<T>(T item, String code, String name, String city, String text) {
+    }
+
+    /**
+     * Collects airports or stations. Not thread-safe.
+     */
+    public static final class Builder<T> {
+
+        private final List<Entry<T>> entries = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add one airport or station; null fields count as empty
+         * @param others Further text matched by substring only, e.g. the country
+         */
+        public Builder<T> add(T item, String code, String name, String city, String... others) {
+            String foldedCode = code == null ? "" : fold(code);
+            String foldedName = name == null ? "" : fold(name);
+            String foldedCity = city == null ? "" : fold(city);
+            StringBuilder text = new StringBuilder(foldedCode).append(FIELD_SEPARATOR).append(foldedName)
+                    .append(FIELD_SEPARATOR).append(foldedCity);
+            for (String other : others) {
+                if (other != null) {
+                    text.append(FIELD_SEPARATOR).append(fold(other));
+                }
+            }
+            entries.add(new Entry<>(item, foldedCode, foldedName, foldedCity, text.toString()));
+            return this;
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        public AutocompleteIndex<T> build() {
+            return new AutocompleteIndex<>(new ArrayList<>(entries));
+        }
+    }
+}
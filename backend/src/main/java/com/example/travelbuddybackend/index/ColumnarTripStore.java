@@ -0,0 +1,373 @@
+package com.example.travelbuddybackend.index;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Columnar Trip Store
+ *
+ * Columnar snapshot of one transport mode's trips held outside the heap, for
+ * timetables too large to keep as objects or bitmaps without GC cost. Every
+ * column is a direct ByteBuffer of native-order ints, one value per trip:
+ *
+ *   tripIds       trip id
+ *   origins       origin location id
+ *   destinations  destination location id
+ *   departures    departure in minutes since 1970-01-01 (local time), -1 if the date can't be parsed
+ *   arrivals      arrival, same encoding; kept for time-window filters
+ *   prices        price in cents, -1 if it isn't valid
+ *   carriers      airline or line as dictionary code + 1, 0 if none
+ *
+ * That is 28 bytes per trip off-heap. The heap only holds the carrier names,
+ * so the collector never traces or copies the columns, and a query allocates
+ * a selection vector and its result, whatever the number of trips.
+ *
+ * Rows are sorted by departure, so a departure day is a binary search and
+ * only that slice is read. The slice is scanned BLOCK rows at a time: the
+ * price range, or else the origins, writes the rows that pass into a
+ * selection vector, and each further criterion compacts it with one lookup
+ * per surviving row. The loops are column-at-a-time without per-row calls
+ * or branches on the data, which keeps them bound by memory bandwidth.
+ *
+ * Instances never change; a rebuild creates a new store that callers swap in
+ * atomically. Build one with builder(). This is the columnar TripSearchEngine.
+ */
+public final class ColumnarTripStore implements TripSearchEngine {
+
+    private static final int BLOCK = 1024;
+    private static final int COLUMNS = 7;
+    private static final int MINUTES_PER_DAY = 1440;
+
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long OBJECT_BYTES = 32;
+
+    private final int size;
+    private final ByteBuffer tripIds;
+    private final ByteBuffer origins;
+    private final ByteBuffer destinations;
+    private final ByteBuffer departures;
+    private final ByteBuffer arrivals;
+    private final ByteBuffer prices;
+    private final ByteBuffer carriers;
+    // Lowercase carrier names; carriers holds index + 1
+    private final String[] carrierNames;
+    private final int maxLocationId;
+
+    private ColumnarTripStore(int size, ByteBuffer tripIds, ByteBuffer origins, ByteBuffer destinations,
+                              ByteBuffer departures, ByteBuffer arrivals, ByteBuffer prices, ByteBuffer carriers,
+                              String[] carrierNames, int maxLocationId) {
+        this.size = size;
+        this.tripIds = tripIds;
+        this.origins = origins;
+        this.destinations = destinations;
+        this.departures = departures;
+        this.arrivals = arrivals;
+        this.prices = prices;
+        this.carriers = carriers;
+        this.carrierNames = carrierNames;
+        this.maxLocationId = maxLocationId;
+    }
+
+    public static Builder builder() {
+        return new Builder(1024);
+    }
+
+    /**
+     * @param expectedTrips Initial capacity, e.g. the size of the previous build
+     */
+    public static Builder builder(int expectedTrips) {
+        return new Builder(Math.max(16, expectedTrips));
+    }
+
+    // ============================================================================
+    // QUERIES
+    // ============================================================================
+
+    @Override
+    public int[] tripIds(Query query, int limit) {
+        int from = 0;
+        int to = size;
+        if (query.day() != ANY_DAY) {
+            long start = (long) query.day() * MINUTES_PER_DAY;
+            from = firstDepartingAt(start);
+            to = firstDepartingAt(start + MINUTES_PER_DAY);
+        }
+        boolean byPrice = query.minPrice() != null || query.maxPrice() != null;
+        long minCents = TimetableParsing.lowestCents(query.minPrice());
+        long maxCents = TimetableParsing.highestCents(query.maxPrice());
+        if (byPrice && maxCents < minCents) {
+            return new int[0];
+        }
+        boolean[] originMask = query.origins() != null ? locationMask(query.origins()) : null;
+        boolean[] destinationMask = query.destinations() != null ? locationMask(query.destinations()) : null;
+        boolean[] carrierMask = query.carrier() != null ? carrierMask(query.carrier().trim().toLowerCase(Locale.ROOT)) : null;
+
+        int[] selection = new int[BLOCK];
+        int[] ids = new int[Math.min(limit, BLOCK) + 1];
+        int found = 0;
+        for (int start = from; start < to; start += BLOCK) {
+            int end = Math.min(to, start + BLOCK);
+            int count;
+            if (byPrice) {
+                count = selectBetween(prices, start, end, (int) minCents, (int) maxCents, selection);
+                if (originMask != null) {
+                    count = refine(origins, originMask, selection, count);
+                }
+            } else if (originMask != null) {
+                count = selectIn(origins, originMask, start, end, selection);
+            } else {
+                count = selectAll(start, end, selection);
+            }
+            if (destinationMask != null) {
+                count = refine(destinations, destinationMask, selection, count);
+            }
+            if (carrierMask != null) {
+                count = refine(carriers, carrierMask, selection, count);
+            }
+            if (found + count > limit) {
+                return null;
+            }
+            if (found + count > ids.length) {
+                ids = Arrays.copyOf(ids, Math.min(limit, Math.max(found + count, ids.length * 2)));
+            }
+            for (int k = 0; k < count; k++) {
+                ids[found++] = tripIds.getInt(selection[k] << 2);
+            }
+        }
+        int[] result = Arrays.copyOf(ids, found);
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of distinct airlines or lines
+     */
+    public int carrierCount() {
+        return carrierNames.length;
+    }
+
+    @Override
+    public long footprintBytes() {
+        long bytes = OBJECT_BYTES + COLUMNS * OBJECT_BYTES + ARRAY_HEADER_BYTES;
+        for (String name : carrierNames) {
+            bytes += OBJECT_BYTES + 2L * name.length();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return (long) COLUMNS * 4 * size;
+    }
+
+    // ============================================================================
+    // SCAN KERNELS
+    // ============================================================================
+
+    private static int selectAll(int start, int end, int[] selection) {
+        for (int row = start; row < end; row++) {
+            selection[row - start] = row;
+        }
+        return end - start;
+    }
+
+    /**
+     * Rows in [start, end) whose column value is in [low, high], without a branch per row
+     */
+    private static int selectBetween(ByteBuffer column, int start, int end, int low, int high, int[] selection) {
+        int span = high - low;
+        int count = 0;
+        for (int row = start; row < end; row++) {
+            selection[count] = row;
+            // -1 (invalid) and anything below low wrap around to a large unsigned value
+            count += Integer.compareUnsigned(column.getInt(row << 2) - low, span) <= 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Rows in [start, end) whose column value is set in the mask
+     */
+    private static int selectIn(ByteBuffer column, boolean[] mask, int start, int end, int[] selection) {
+        int count = 0;
+        for (int row = start; row < end; row++) {
+            selection[count] = row;
+            count += mask[column.getInt(row << 2)] ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Keep the selected rows whose column value is set in the mask
+     */
+    private static int refine(ByteBuffer column, boolean[] mask, int[] selection, int count) {
+        int kept = 0;
+        for (int k = 0; k < count; k++) {
+            int row = selection[k];
+            selection[kept] = row;
+            kept += mask[column.getInt(row << 2)] ? 1 : 0;
+        }
+        return kept;
+    }
+
+    /**
+     * First row departing at or after the minute
+     */
+    private int firstDepartingAt(long minute) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departures.getInt(mid << 2) < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean[] locationMask(BitSet locations) {
+        boolean[] mask = new boolean[maxLocationId + 1];
+        for (int id = locations.nextSetBit(0); id >= 0 && id <= maxLocationId; id = locations.nextSetBit(id + 1)) {
+            mask[id] = true;
+        }
+        return mask;
+    }
+
+    private boolean[] carrierMask(String text) {
+        boolean[] mask = new boolean[carrierNames.length + 1];
+        for (int c = 0; c < carrierNames.length; c++) {
+            mask[c + 1] = carrierNames[c].contains(text);
+        }
+        return mask;
+    }
+
+    // ============================================================================
+    // BUILDER
+    // ============================================================================
+
+    /**
+     * Collects trips on the heap, e.g. from a streamed table read, and copies
+     * them into off-heap columns sorted by departure. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private int size;
+        private int[] tripIds;
+        private int[] origins;
+        private int[] destinations;
+        private int[] departures;
+        private int[] arrivals;
+        private int[] prices;
+        private int[] carriers;
+        private final Map<String, Integer> carrierCodes = new HashMap<>();
+
+        private Builder(int capacity) {
+            tripIds = new int[capacity];
+            origins = new int[capacity];
+            destinations = new int[capacity];
+            departures = new int[capacity];
+            arrivals = new int[capacity];
+            prices = new int[capacity];
+            carriers = new int[capacity];
+        }
+
+        /**
+         * Add one trip. Negative location ids are rejected, as they can't be keyed;
+         * a trip whose station is missing from the stations table should use 0.
+         * @param departureDate YYYY-MM-DD; a trip with an unparseable date only matches ANY_DAY
+         * @param departureTime HH:mm or HH:mm:ss; an unparseable time counts as midnight
+         * @param carrier Airline or line; null matches no carrier criterion
+         * @param price Decimal price; a trip with an unparseable price matches no price criterion
+         */
+        public Builder add(int tripId, int originId, int destinationId, String departureDate, String departureTime,
+                           String arrivalDate, String arrivalTime, String carrier, String price) {
+            if (originId < 0 || destinationId < 0) {
+                throw new IllegalArgumentException("Location ids must not be negative");
+            }
+            if (size == tripIds.length) {
+                int capacity = size + (size >> 1) + 1;
+                tripIds = Arrays.copyOf(tripIds, capacity);
+                origins = Arrays.copyOf(origins, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+                departures = Arrays.copyOf(departures, capacity);
+                arrivals = Arrays.copyOf(arrivals, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                carriers = Arrays.copyOf(carriers, capacity);
+            }
+            tripIds[size] = tripId;
+            origins[size] = originId;
+            destinations[size] = destinationId;
+            departures[size] = minute(departureDate, departureTime);
+            arrivals[size] = minute(arrivalDate, arrivalTime);
+            prices[size] = TimetableParsing.cents(price);
+            carriers[size] = carrier == null ? 0
+                    : carrierCodes.computeIfAbsent(carrier.toLowerCase(Locale.ROOT), name -> carrierCodes.size()) + 1;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Sort the collected trips by departure and copy them off-heap. The builder must not be used afterwards.
+         */
+        public ColumnarTripStore build() {
+            int n = size;
+            if (n > Integer.MAX_VALUE / 4) {
+                throw new IllegalStateException("Too many trips for a columnar store: " + n);
+            }
+
+            long[] order = new long[n];
+            int maxLocationId = 0;
+            for (int i = 0; i < n; i++) {
+                order[i] = (long) departures[i] << 32 | i;
+                maxLocationId = Math.max(maxLocationId, Math.max(origins[i], destinations[i]));
+            }
+            Arrays.sort(order);
+            int[] rows = new int[n];
+            for (int r = 0; r < n; r++) {
+                rows[r] = (int) order[r];
+            }
+            order = null;
+
+            String[] carrierNames = new String[carrierCodes.size()];
+            carrierCodes.forEach((name, code) -> carrierNames[code] = name);
+            return new ColumnarTripStore(n, column(tripIds, rows), column(origins, rows), column(destinations, rows),
+                    column(departures, rows), column(arrivals, rows), column(prices, rows), column(carriers, rows),
+                    carrierNames, maxLocationId);
+        }
+
+        private static ByteBuffer column(int[] values, int[] rows) {
+            ByteBuffer column = ByteBuffer.allocateDirect(Math.max(4, rows.length * 4)).order(ByteOrder.nativeOrder());
+            for (int r = 0; r < rows.length; r++) {
+                column.putInt(r << 2, values[rows[r]]);
+            }
+            return column;
+        }
+
+        /**
+         * @return Minutes since 1970-01-01, or -1 if the date can't be parsed
+         */
+        private static int minute(String date, String time) {
+            int day = TimetableParsing.epochDay(date);
+            if (day == TimetableParsing.INVALID || day > Integer.MAX_VALUE / MINUTES_PER_DAY - 1) {
+                return -1;
+            }
+            return day * MINUTES_PER_DAY + Math.max(0, TimetableParsing.minuteOfDay(time));
+        }
+    }
+}
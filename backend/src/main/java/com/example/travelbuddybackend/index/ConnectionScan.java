@@ -0,0 +1,359 @@
+package com.example.travelbuddybackend.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Connection Scan
+ *
+ * Multi-criteria connection scan over a ConnectionTimetable: itineraries of
+ * up to maxTransfers + 1 trips from any origin stop to any destination stop,
+ * Pareto-optimal by arrival time, price and number of transfers.
+ *
+ * The scan runs in rounds. Round k reads the connections in departure order
+ * once and boards every connection that can be reached from an itinerary of
+ * k trips, which gives the itineraries of k + 1 trips. What round k needs of
+ * the previous one is, per stop, the cheapest itinerary ready to leave by a
+ * given minute: a staircase of (ready minute, lowest price so far) built by
+ * sorting that round's arrivals, answered with a binary search.
+ *
+ * Every change of trip is a transfer, as each timetable row is a separate
+ * trip. An itinerary is ready to leave
+ *   - its arrival stop after the mode's minimum connection time, and
+ *   - every other stop in the same city (any mode) after the city transfer time;
+ * the city staircases hold the latter, one per city.
+ *
+ * Branches already dominated by a found itinerary (it arrives no later and
+ * costs no more) are dropped, as extending them only adds time, price and
+ * transfers. Only connections departing between the query's earliest
+ * departure and latest arrival are read, so a search touches the connections
+ * of a few days however large the timetable is.
+ */
+public final class ConnectionScan {
+
+    private static final int NO_LABEL = -1;
+
+    private ConnectionScan() {
+    }
+
+    /**
+     * Minimum minutes between arriving and the next departure
+     * @param flightMinutes At the same airport
+     * @param trainMinutes At the same train station
+     * @param busMinutes At the same bus station
+     * @param cityMinutes To another airport or station in the same city
+     */
+    public record TransferTimes(int flightMinutes, int trainMinutes, int busMinutes, int cityMinutes) {
+
+        int sameStop(int mode) {
+            return switch (mode) {
+                case ConnectionTimetable.FLIGHT -> flightMinutes;
+                case ConnectionTimetable.TRAIN -> trainMinutes;
+                default -> busMinutes;
+            };
+        }
+    }
+
+    /**
+     * @param origins Stop indexes the itinerary may start from
+     * @param destinations Stop indexes the itinerary may end at
+     * @param earliestDeparture First trip leaves at or after this timetable minute
+     * @param latestDeparture First trip leaves at or before this minute
+     * @param latestArrival Last trip arrives at or before this minute
+     * @param modeMask Bit (1 << mode) set for each transport mode to use
+     */
+    public record Query(BitSet origins, BitSet destinations, int earliestDeparture, int latestDeparture,
+                        int latestArrival, int maxTransfers, int modeMask, TransferTimes transferTimes) {
+    }
+
+    /**
+     * One Pareto-optimal itinerary
+     * @param connections Timetable connection indexes, in travel order
+     * @param price Total price in cents
+     */
+    public record Journey(int[] connections, int departure, int arrival, int price, int transfers) {
+    }
+
+    /**
+     * @return The Pareto-optimal itineraries ordered by arrival, then price
+     */
+    public static List<Journey> search(ConnectionTimetable timetable, Query query) {
+        BitSet origins = query.origins();
+        BitSet destinations = query.destinations();
+        if (origins.isEmpty() || destinations.isEmpty() || query.maxTransfers() < 0
+                || query.latestDeparture() < query.earliestDeparture()) {
+            return List.of();
+        }
+
+        int stops = timetable.stopCount();
+        int nodes = stops + timetable.cityCount();
+        int start = timetable.firstDepartingAt(query.earliestDeparture());
+        int end = timetable.firstDepartingAt(query.latestArrival() + 1);
+        int firstTripEnd = Math.min(end, timetable.firstDepartingAt(query.latestDeparture() + 1));
+
+        List<Labels> rounds = new ArrayList<>();
+        Front front = new Front();
+        Staircases reachable = Staircases.ofOrigins(origins, nodes, query.earliestDeparture());
+        for (int round = 0; round <= query.maxTransfers(); round++) {
+            Labels labels = new Labels();
+            int roundEnd = round == 0 ? firstTripEnd : end;
+            for (int c = start; c < roundEnd; c++) {
+                int arrival = timetable.arrival(c);
+                if (arrival > query.latestArrival() || (query.modeMask() & 1 << timetable.mode(c)) == 0) {
+                    continue;
+                }
+                int departure = timetable.departure(c);
+                int from = timetable.fromStop(c);
+                int best = reachable.boardable(from, departure);
+                int city = timetable.stopCity(from);
+                if (city != ConnectionTimetable.NO_CITY) {
+                    int viaCity = reachable.boardable(stops + city, departure);
+                    if (viaCity >= 0 && (best < 0 || reachable.prices[viaCity] < reachable.prices[best])) {
+                        best = viaCity;
+                    }
+                }
+                if (best < 0) {
+                    continue;
+                }
+
+                int to = timetable.toStop(c);
+                int price = reachable.prices[best] + timetable.price(c);
+                if (origins.get(to) || front.dominates(arrival, price)) {
+                    continue;
+                }
+                int label = labels.add(c, reachable.labels[best], price);
+                if (destinations.get(to)) {
+                    front.add(round, label, arrival, price);
+                }
+            }
+            rounds.add(labels);
+            if (labels.size == 0 || round == query.maxTransfers()) {
+                break;
+            }
+            reachable = Staircases.ofArrivals(timetable, labels, destinations, nodes, query.transferTimes());
+        }
+        return front.journeys(timetable, rounds);
+    }
+
+    // ============================================================================
+    // INTERNALS
+    // ============================================================================
+
+    /**
+     * Itineraries found in one round: the last connection, the previous round's
+     * label it continues (NO_LABEL in the first round) and the total price
+     */
+    private static final class Labels {
+
+        int size;
+        int[] connections = new int[256];
+        int[] parents = new int[256];
+        int[] prices = new int[256];
+
+        int add(int connection, int parent, int price) {
+            if (size == connections.length) {
+                connections = Arrays.copyOf(connections, size * 2);
+                parents = Arrays.copyOf(parents, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+            }
+            connections[size] = connection;
+            parents[size] = parent;
+            prices[size] = price;
+            return size++;
+        }
+    }
+
+    /**
+     * Per node (stop, then city), entries ordered by ready minute with the lowest
+     * price of any entry ready by then and the label that has it
+     */
+    private static final class Staircases {
+
+        final int[] nodeStart;
+        final int[] ready;
+        final int[] prices;
+        final int[] labels;
+
+        private Staircases(int[] nodeStart, int[] ready, int[] prices, int[] labels) {
+            this.nodeStart = nodeStart;
+            this.ready = ready;
+            this.prices = prices;
+            this.labels = labels;
+        }
+
+        static Staircases ofOrigins(BitSet origins, int nodes, int departure) {
+            int[] nodeStart = new int[nodes + 1];
+            for (int stop = origins.nextSetBit(0); stop >= 0 && stop < nodes; stop = origins.nextSetBit(stop + 1)) {
+                nodeStart[stop + 1] = 1;
+            }
+            for (int node = 0; node < nodes; node++) {
+                nodeStart[node + 1] += nodeStart[node];
+            }
+            int entries = nodeStart[nodes];
+            int[] ready = new int[entries];
+            Arrays.fill(ready, departure);
+            int[] labels = new int[entries];
+            Arrays.fill(labels, NO_LABEL);
+            return new Staircases(nodeStart, ready, new int[entries], labels);
+        }
+
+        static Staircases ofArrivals(ConnectionTimetable timetable, Labels arrivals, BitSet destinations,
+                                     int nodes, TransferTimes transferTimes) {
+            int stops = timetable.stopCount();
+
+            // Bucket the entries by node (counting sort), then order each bucket by ready minute
+            int[] nodeStart = new int[nodes + 1];
+            for (int l = 0; l < arrivals.size; l++) {
+                int to = timetable.toStop(arrivals.connections[l]);
+                if (destinations.get(to)) {
+                    continue; // complete; going on from the destination can't be better
+                }
+                nodeStart[to + 1]++;
+                int city = timetable.stopCity(to);
+                if (city != ConnectionTimetable.NO_CITY) {
+                    nodeStart[stops + city + 1]++;
+                }
+            }
+            for (int node = 0; node < nodes; node++) {
+                nodeStart[node + 1] += nodeStart[node];
+            }
+            long[] entries = new long[nodeStart[nodes]];
+            int[] next = Arrays.copyOf(nodeStart, nodes);
+            for (int l = 0; l < arrivals.size; l++) {
+                int connection = arrivals.connections[l];
+                int to = timetable.toStop(connection);
+                if (destinations.get(to)) {
+                    continue;
+                }
+                int arrival = timetable.arrival(connection);
+                entries[next[to]++] = (long) (arrival + transferTimes.sameStop(timetable.stopMode(to))) << 32 | l;
+                int city = timetable.stopCity(to);
+                if (city != ConnectionTimetable.NO_CITY) {
+                    entries[next[stops + city]++] = (long) (arrival + transferTimes.cityMinutes()) << 32 | l;
+                }
+            }
+
+            int[] ready = new int[entries.length];
+            int[] prices = new int[entries.length];
+            int[] labels = new int[entries.length];
+            for (int node = 0; node < nodes; node++) {
+                int from = nodeStart[node];
+                int to = nodeStart[node + 1];
+                Arrays.sort(entries, from, to);
+                int bestPrice = Integer.MAX_VALUE;
+                int bestLabel = NO_LABEL;
+                for (int i = from; i < to; i++) {
+                    int label = (int) entries[i];
+                    if (arrivals.prices[label] < bestPrice) {
+                        bestPrice = arrivals.prices[label];
+                        bestLabel = label;
+                    }
+                    ready[i] = (int) (entries[i] >>> 32);
+                    prices[i] = bestPrice;
+                    labels[i] = bestLabel;
+                }
+            }
+            return new Staircases(nodeStart, ready, prices, labels);
+        }
+
+        /**
+         * @return The last entry of the node ready by the minute, or -1 if none is
+         */
+        int boardable(int node, int minute) {
+            int low = nodeStart[node];
+            int high = nodeStart[node + 1];
+            if (low == high || ready[low] > minute) {
+                return -1;
+            }
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ready[mid] <= minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+    }
+
+    /**
+     * Itineraries that reached a destination, as (round, label, arrival, price)
+     */
+    private static final class Front {
+
+        int size;
+        int[] rounds = new int[16];
+        int[] labels = new int[16];
+        int[] arrivals = new int[16];
+        int[] prices = new int[16];
+
+        /**
+         * True if a found itinerary arrives no later and costs no more. Found
+         * itineraries come from this or an earlier round, so have no more transfers.
+         */
+        boolean dominates(int arrival, int price) {
+            for (int i = 0; i < size; i++) {
+                if (arrivals[i] <= arrival && prices[i] <= price) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(int round, int label, int arrival, int price) {
+            if (size == rounds.length) {
+                rounds = Arrays.copyOf(rounds, size * 2);
+                labels = Arrays.copyOf(labels, size * 2);
+                arrivals = Arrays.copyOf(arrivals, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+            }
+            rounds[size] = round;
+            labels[size] = label;
+            arrivals[size] = arrival;
+            prices[size] = price;
+            size++;
+        }
+
+        List<Journey> journeys(ConnectionTimetable timetable, List<Labels> labelRounds) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> arrivals[a] != arrivals[b] ? Integer.compare(arrivals[a], arrivals[b])
+                    : prices[a] != prices[b] ? Integer.compare(prices[a], prices[b])
+                    : Integer.compare(rounds[a], rounds[b]));
+
+            // In that order an itinerary is dominated only by one kept before it
+            List<Integer> kept = new ArrayList<>();
+            for (int i : order) {
+                boolean dominated = false;
+                for (int k : kept) {
+                    if (prices[k] <= prices[i] && rounds[k] <= rounds[i]) {
+                        dominated = true;
+                        break;
+                    }
+                }
+                if (!dominated) {
+                    kept.add(i);
+                }
+            }
+
+            List<Journey> journeys = new ArrayList<>(kept.size());
+            for (int i : kept) {
+                int[] connections = new int[rounds[i] + 1];
+                int label = labels[i];
+                for (int round = rounds[i]; round >= 0; round--) {
+                    Labels roundLabels = labelRounds.get(round);
+                    connections[round] = roundLabels.connections[label];
+                    label = roundLabels.parents[label];
+                }
+                journeys.add(new Journey(connections, timetable.departure(connections[0]),
+                        arrivals[i], prices[i], rounds[i]));
+            }
+            return journeys;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.travelbuddybackend.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Connection Timetable
+ *
+ * Immutable snapshot of every flight, train and bus trip as elementary
+ * connections (one stop to the next, departure and arrival minute, price),
+ * sorted by departure for ConnectionScan. Stops are the airports and stations
+ * of all modes in one numbering, each tagged with its city so that transfers
+ * between modes within a city can be found.
+ *
+ * Everything is held in primitive arrays, 24 bytes per connection:
+ *
+ *   departures[c]   departure, minutes since 1970-01-01T00:00, sorted
+ *   arrivals[c]     arrival, same clock
+ *   fromStops[c]    stop index of the departure airport/station
+ *   toStops[c]      stop index of the arrival airport/station
+ *   prices[c]       price in cents
+ *   tripIds[c]      id of the FlightDetails/TrainDetails/BusDetails row
+ *
+ * Times are the stored local times, compared as they are across time zones,
+ * like everywhere else in search. Trips whose stations, times or price can't
+ * be read, or that arrive before they depart, are left out (see skipped()).
+ *
+ * Instances never change; a rebuild creates a new timetable that callers swap
+ * in atomically. Build one with builder().
+ */
+public final class ConnectionTimetable {
+
+    public static final int FLIGHT = 0;
+    public static final int TRAIN = 1;
+    public static final int BUS = 2;
+
+    /**
+     * Transport type names, indexed by FLIGHT, TRAIN and BUS
+     */
+    public static final List<String> MODES = List.of("flight", "train", "bus");
+
+    public static final int NO_CITY = -1;
+
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long OBJECT_BYTES = 40;
+
+    private final byte[] stopModes;
+    private final int[] stopStationIds;
+    private final String[] stopCodes;
+    private final int[] stopCities;
+    private final String[] cityNames;
+
+    private final int[] departures;
+    private final int[] arrivals;
+    private final int[] fromStops;
+    private final int[] toStops;
+    private final int[] prices;
+    private final int[] tripIds;
+    private final int skipped;
+
+    private ConnectionTimetable(byte[] stopModes, int[] stopStationIds, String[] stopCodes, int[] stopCities,
+                                String[] cityNames, int[] departures, int[] arrivals, int[] fromStops,
+                                int[] toStops, int[] prices, int[] tripIds, int skipped) {
+        this.stopModes = stopModes;
+        this.stopStationIds = stopStationIds;
+        this.stopCodes = stopCodes;
+        this.stopCities = stopCities;
+        this.cityNames = cityNames;
+        this.departures = departures;
+        this.arrivals = arrivals;
+        this.fromStops = fromStops;
+        this.toStops = toStops;
+        this.prices = prices;
+        this.tripIds = tripIds;
+        this.skipped = skipped;
+    }
+
+    public static Builder builder() {
+        return new Builder(1024);
+    }
+
+    /**
+     * @param expectedConnections Initial capacity, e.g. the size of the previous build
+     */
+    public static Builder builder(int expectedConnections) {
+        return new Builder(Math.max(16, expectedConnections));
+    }
+
+    /**
+     * @return Minutes since 1970-01-01T00:00 on the timetable clock
+     */
+    public static int minuteOf(LocalDateTime time) {
+        return (int) Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * @return The local date and time of a timetable minute
+     */
+    public static LocalDateTime timeOf(int minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Timetable minute of a stored date and time
+     * @return The minute, or -1 if either can't be parsed
+     */
+    public static int minuteOf(String date, String time) {
+        int day = TimetableParsing.epochDay(date);
+        int minute = TimetableParsing.minuteOfDay(time);
+        if (day == TimetableParsing.INVALID || minute == TimetableParsing.INVALID || day > Integer.MAX_VALUE / 1440 - 1) {
+            return -1;
+        }
+        return day * 1440 + minute;
+    }
+
+    // ============================================================================
+    // STOPS
+    // ============================================================================
+
+    public int stopCount() {
+        return stopModes.length;
+    }
+
+    public int cityCount() {
+        return cityNames.length;
+    }
+
+    /**
+     * @return FLIGHT, TRAIN or BUS
+     */
+    public int stopMode(int stop) {
+        return stopModes[stop];
+    }
+
+    public int stopStationId(int stop) {
+        return stopStationIds[stop];
+    }
+
+    public String stopCode(int stop) {
+        return stopCodes[stop];
+    }
+
+    /**
+     * @return Index of the stop's city, or NO_CITY
+     */
+    public int stopCity(int stop) {
+        return stopCities[stop];
+    }
+
+    /**
+     * @return The city name, trimmed and lower case
+     */
+    public String cityName(int city) {
+        return cityNames[city];
+    }
+
+    /**
+     * Stops whose code or city equals the location, ignoring case
+     * @param location Airport or station code, or city name
+     * @param modeMask Bit (1 << mode) set for each transport mode to include
+     */
+    public BitSet stopsAt(String location, int modeMask) {
+        BitSet stops = new BitSet(stopModes.length);
+        if (location == null || location.trim().isEmpty()) {
+            return stops;
+        }
+        String value = location.trim();
+        String city = value.toLowerCase(Locale.ROOT);
+        for (int s = 0; s < stopModes.length; s++) {
+            if ((modeMask & 1 << stopModes[s]) == 0) {
+                continue;
+            }
+            if (value.equalsIgnoreCase(stopCodes[s])
+                    || (stopCities[s] != NO_CITY && cityNames[stopCities[s]].equals(city))) {
+                stops.set(s);
+            }
+        }
+        return stops;
+    }
+
+    // ============================================================================
+    // CONNECTIONS
+    // ============================================================================
+
+    /**
+     * @return Number of connections
+     */
+    public int size() {
+        return departures.length;
+    }
+
+    public int departure(int connection) {
+        return departures[connection];
+    }
+
+    public int arrival(int connection) {
+        return arrivals[connection];
+    }
+
+    public int fromStop(int connection) {
+        return fromStops[connection];
+    }
+
+    public int toStop(int connection) {
+        return toStops[connection];
+    }
+
+    /**
+     * @return Price in cents
+     */
+    public int price(int connection) {
+        return prices[connection];
+    }
+
+    public int tripId(int connection) {
+        return tripIds[connection];
+    }
+
+    /**
+     * @return FLIGHT, TRAIN or BUS
+     */
+    public int mode(int connection) {
+        return stopModes[fromStops[connection]];
+    }
+
+    /**
+     * First connection departing at or after the minute
+     */
+    public int firstDepartingAt(int minute) {
+        int low = 0;
+        int high = departures.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departures[mid] < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return Number of trips left out of the timetable
+     */
+    public int skipped() {
+        return skipped;
+    }
+
+    /**
+     * @return Approximate retained heap size of the timetable, in bytes. Stop and
+     *         city name strings are shared with the station lists and not counted.
+     */
+    public long footprintBytes() {
+        return OBJECT_BYTES
+                + ARRAY_HEADER_BYTES * 11
+                + (1L + 4 + 4 + 4) * stopModes.length
+                + 4L * cityNames.length
+                + 24L * departures.length;
+    }
+
+    // ============================================================================
+    // BUILDER
+    // ============================================================================
+
+    /**
+     * Collects stops, then trips, e.g. from the station tables and a streamed
+     * table read, and sorts them into a ConnectionTimetable. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private final Map<Long, Integer> stopsByStation = new HashMap<>();
+        private final Map<String, Integer> citiesByName = new HashMap<>();
+        private byte[] stopModes = new byte[64];
+        private int[] stopStationIds = new int[64];
+        private String[] stopCodes = new String[64];
+        private int[] stopCities = new int[64];
+        private int stopCount;
+
+        private int size;
+        private int skipped;
+        private int[] departures;
+        private int[] arrivals;
+        private int[] fromStops;
+        private int[] toStops;
+        private int[] prices;
+        private int[] tripIds;
+
+        private Builder(int capacity) {
+            departures = new int[capacity];
+            arrivals = new int[capacity];
+            fromStops = new int[capacity];
+            toStops = new int[capacity];
+            prices = new int[capacity];
+            tripIds = new int[capacity];
+        }
+
+        /**
+         * Add an airport or station. Add every stop before the trips that use it.
+         * @param city City name; blank if the stop has no city and can't be a transfer point
+         */
+        public Builder addStop(int mode, int stationId, String code, String city) {
+            if (mode < FLIGHT || mode > BUS) {
+                throw new IllegalArgumentException("Unknown transport mode: " + mode);
+            }
+            Long key = stationKey(mode, stationId);
+            if (stopsByStation.containsKey(key)) {
+                return this;
+            }
+            if (stopCount == stopModes.length) {
+                int capacity = stopCount * 2;
+                stopModes = Arrays.copyOf(stopModes, capacity);
+                stopStationIds = Arrays.copyOf(stopStationIds, capacity);
+                stopCodes = Arrays.copyOf(stopCodes, capacity);
+                stopCities = Arrays.copyOf(stopCities, capacity);
+            }
+            int cityIndex = NO_CITY;
+            if (city != null && !city.trim().isEmpty()) {
+                cityIndex = citiesByName.computeIfAbsent(city.trim().toLowerCase(Locale.ROOT), name -> citiesByName.size());
+            }
+            stopModes[stopCount] = (byte) mode;
+            stopStationIds[stopCount] = stationId;
+            stopCodes[stopCount] = code != null ? code.trim() : "";
+            stopCities[stopCount] = cityIndex;
+            stopsByStation.put(key, stopCount);
+            stopCount++;
+            return this;
+        }
+
+        /**
+         * Add one trip between two stops added before
+         * @return true if the trip was added, false if it was skipped
+         */
+        public boolean addConnection(int mode, int tripId, int fromStationId, int toStationId,
+                                     String departureDate, String departureTime,
+                                     String arrivalDate, String arrivalTime, String price) {
+            Integer from = stopsByStation.get(stationKey(mode, fromStationId));
+            Integer to = stopsByStation.get(stationKey(mode, toStationId));
+            int departure = minuteOf(departureDate, departureTime);
+            int arrival = minuteOf(arrivalDate, arrivalTime);
+            int cents = TimetableParsing.cents(price);
+            if (from == null || to == null || from.equals(to) || departure < 0 || arrival < departure || cents < 0) {
+                skipped++;
+                return false;
+            }
+
+            if (size == departures.length) {
+                int capacity = size + (size >> 1) + 1;
+                departures = Arrays.copyOf(departures, capacity);
+                arrivals = Arrays.copyOf(arrivals, capacity);
+                fromStops = Arrays.copyOf(fromStops, capacity);
+                toStops = Arrays.copyOf(toStops, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                tripIds = Arrays.copyOf(tripIds, capacity);
+            }
+            departures[size] = departure;
+            arrivals[size] = arrival;
+            fromStops[size] = from;
+            toStops[size] = to;
+            prices[size] = cents;
+            tripIds[size] = tripId;
+            size++;
+            return true;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Sort the collected connections into a timetable. The builder must not be used afterwards.
+         */
+        public ConnectionTimetable build() {
+            int n = size;
+            long[] order = new long[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = (long) departures[i] << 32 | i;
+            }
+            Arrays.sort(order);
+
+            String[] cityNames = new String[citiesByName.size()];
+            citiesByName.forEach((name, index) -> cityNames[index] = name);
+            return new ConnectionTimetable(
+                    Arrays.copyOf(stopModes, stopCount), Arrays.copyOf(stopStationIds, stopCount),
+                    Arrays.copyOf(stopCodes, stopCount), Arrays.copyOf(stopCities, stopCount), cityNames,
+                    permute(departures, order), permute(arrivals, order), permute(fromStops, order),
+                    permute(toStops, order), permute(prices, order), permute(tripIds, order), skipped);
+        }
+
+        private static int[] permute(int[] values, long[] order) {
+            int[] sorted = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = values[(int) order[i]];
+            }
+            return sorted;
+        }
+
+        private static Long stationKey(int mode, int stationId) {
+            return (long) mode << 32 | (stationId & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.travelbuddybackend.index;
+
+/**
+ * Price Histogram
+ *
+ * Ticket counts per price bucket, e.g. for the price slider of the search
+ * form. Bucket i covers [min + i * bucketWidth, min + (i + 1) * bucketWidth);
+ * the last bucket also includes max.
+ *
+ * @param min Lower bound of the first bucket
+ * @param max Upper bound of the last bucket
+ * @param bucketWidth Width of every bucket
+ * @param counts Tickets per bucket
+ * @param total Sum of counts
+ */
+public record PriceHistogram(double min, double max, double bucketWidth, int[] counts, int total) {
+}
@@ -0,0 +1,395 @@
+package com.example.travelbuddybackend.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Price Index
+ *
+ * In-memory index of one transport mode's ticket prices: parallel primitive
+ * arrays of prices and ids sorted by (price, id). A price range is two binary
+ * searches and an array copy, a histogram is two binary searches per bucket,
+ * so neither reads the table nor parses price strings.
+ *
+ * The index loads lazily from the id/price pairs of the table and reloads
+ * after the refresh interval, which picks up rows written by other instances
+ * or directly in the database. Writes made through the detail services are
+ * applied immediately with put() and remove().
+ *
+ * Readers never lock: every change publishes new arrays (copy-on-write),
+ * which suits a timetable that is read far more often than it is edited.
+ */
+public class PriceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceIndex.class);
+
+    /**
+     * Ranges matching at most this many ids are fetched by primary key,
+     * larger ones with one table read filtered by id
+     */
+    public static final int MAX_ID_LOOKUP = 5000;
+    private static final int ID_LOOKUP_CHUNK = 1000;
+
+    /**
+     * Histograms are capped at this many buckets, whatever the caller asks for
+     */
+    public static final int MAX_HISTOGRAM_BUCKETS = 200;
+
+    private final String name;
+    private final Supplier<Map<Integer, String>> loader;
+    private final long refreshNanos;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Guarded by writeLock; the price each id is currently indexed under
+    private final Map<Integer, Double> priceById = new HashMap<>();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param name Transport mode, for logging
+     * @param loader Reads every id and its price string from the table
+     * @param refreshInterval Reload after this long; zero or negative never reloads
+     */
+    public PriceIndex(String name, Supplier<Map<Integer, String>> loader, Duration refreshInterval) {
+        this.name = name;
+        this.loader = loader;
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    // ============================================================================
+    // QUERIES
+    // ============================================================================
+
+    /**
+     * @return Ids of all tickets priced in [min, max], cheapest first
+     */
+    public int[] idsBetween(double min, double max) {
+        Snapshot current = current();
+        int from = lowerBound(current.prices, min);
+        int to = upperBound(current.prices, max);
+        if (from >= to) {
+            return new int[0];
+        }
+        int[] ids = new int[to - from];
+        System.arraycopy(current.ids, from, ids, 0, ids.length);
+        return ids;
+    }
+
+    /**
+     * @return Number of tickets priced in [min, max]
+     */
+    public int countBetween(double min, double max) {
+        Snapshot current = current();
+        return Math.max(0, upperBound(current.prices, max) - lowerBound(current.prices, min));
+    }
+
+    /**
+     * @return Number of indexed tickets
+     */
+    public int size() {
+        return current().prices.length;
+    }
+
+    /**
+     * Fetch the rows priced in [min, max]. Selective ranges are read by primary
+     * key; wide ones with a single full read, kept by id rather than by parsing prices.
+     * @param byIds Reads rows by id, at most ID_LOOKUP_CHUNK per call
+     * @param all Reads every row
+     * @param idOf Id of a row
+     * @return Matching rows
+     */
+    public <T> List<T> findBetween(double min, double max,
+                                   Function<int[], List<T>> byIds, Supplier<List<T>> all, ToIntFunction<T> idOf) {
+        int[] ids = idsBetween(min, max);
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        if (ids.length <= MAX_ID_LOOKUP) {
+            List<T> rows = new ArrayList<>(ids.length);
+            for (int from = 0; from < ids.length; from += ID_LOOKUP_CHUNK) {
+                int[] chunk = new int[Math.min(ID_LOOKUP_CHUNK, ids.length - from)];
+                System.arraycopy(ids, from, chunk, 0, chunk.length);
+                rows.addAll(byIds.apply(chunk));
+            }
+            return rows;
+        }
+
+        BitSet wanted = new BitSet();
+        for (int id : ids) {
+            wanted.set(id);
+        }
+        List<T> rows = new ArrayList<>(ids.length);
+        for (T row : all.get()) {
+            int id = idOf.applyAsInt(row);
+            if (id >= 0 && wanted.get(id)) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Count tickets per price bucket
+     * @param min Lower bound, or null for the cheapest indexed price
+     * @param max Upper bound, or null for the most expensive indexed price
+     * @param buckets Number of buckets, at least 1; more than MAX_HISTOGRAM_BUCKETS are capped
+     */
+    public PriceHistogram histogram(Double min, Double max, int buckets) {
+        return histogram(List.of(this), min, max, buckets);
+    }
+
+    /**
+     * Count tickets per price bucket across several indexes, with shared bucket bounds
+     * @see #histogram(Double, Double, int)
+     */
+    public static PriceHistogram histogram(List<PriceIndex> indexes, Double min, Double max, int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("buckets must be at least 1");
+        }
+        buckets = Math.min(buckets, MAX_HISTOGRAM_BUCKETS);
+
+        List<Snapshot> snapshots = indexes.stream().map(PriceIndex::current).toList();
+        double low = min != null ? min : snapshots.stream()
+                .filter(s -> s.prices.length > 0).mapToDouble(s -> s.prices[0]).min().orElse(0);
+        double high = max != null ? max : snapshots.stream()
+                .filter(s -> s.prices.length > 0).mapToDouble(s -> s.prices[s.prices.length - 1]).max().orElse(0);
+        if (high < low) {
+            throw new IllegalArgumentException("max must not be below min");
+        }
+
+        double width = (high - low) / buckets;
+        int[] counts = new int[buckets];
+        int total = 0;
+        for (Snapshot s : snapshots) {
+            int previous = lowerBound(s.prices, low);
+            for (int i = 0; i < buckets; i++) {
+                // Last bucket is closed so that max itself is counted
+                int next = i == buckets - 1 ? upperBound(s.prices, high) : lowerBound(s.prices, low + width * (i + 1));
+                counts[i] += Math.max(0, next - previous);
+                previous = Math.max(previous, next);
+            }
+            total += Math.max(0, upperBound(s.prices, high) - lowerBound(s.prices, low));
+        }
+        return new PriceHistogram(low, high, width, counts, total);
+    }
+
+    // ============================================================================
+    // INCREMENTAL UPDATES
+    // ============================================================================
+
+    /**
+     * Index a new ticket or move an existing one to its new price.
+     * An unparseable price removes the ticket, as the range filter never matched it.
+     */
+    public void put(int id, String price) {
+        Double parsed = parsePrice(price);
+        if (parsed == null) {
+            remove(id);
+            return;
+        }
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return; // not loaded yet, the first query will read it from the table
+            }
+            Double previous = priceById.put(id, parsed);
+            if (previous != null) {
+                current = without(current, id, previous);
+            }
+            snapshot = with(current, id, parsed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Drop a deleted ticket from the index
+     */
+    public void remove(int id) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            Double previous = priceById.remove(id);
+            if (previous != null) {
+                snapshot = without(current, id, previous);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Forget the index; the next query reloads it from the table
+     */
+    public void invalidate() {
+        writeLock.lock();
+        try {
+            snapshot = null;
+            priceById.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ============================================================================
+    // INTERNALS
+    // ============================================================================
+
+    private record Snapshot(double[] prices, int[] ids, long loadedAt) {
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && !isStale(current)) {
+            return current;
+        }
+        writeLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || isStale(current)) {
+                current = load();
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean isStale(Snapshot current) {
+        return refreshNanos > 0 && System.nanoTime() - current.loadedAt > refreshNanos;
+    }
+
+    // Caller holds writeLock
+    private Snapshot load() {
+        long start = System.nanoTime();
+        priceById.clear();
+        for (Map.Entry<Integer, String> row : loader.get().entrySet()) {
+            Double price = parsePrice(row.getValue());
+            if (row.getKey() != null && price != null) {
+                priceById.put(row.getKey(), price);
+            }
+        }
+
+        int[] order = priceById.keySet().stream()
+                .sorted(Comparator.<Integer>comparingDouble(priceById::get).thenComparingInt(id -> id))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        double[] prices = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            prices[i] = priceById.get(order[i]);
+        }
+
+        log.info("✓ Price index ({}): loaded {} prices in {} ms", name, order.length, (System.nanoTime() - start) / 1_000_000);
+        return new Snapshot(prices, order, System.nanoTime());
+    }
+
+    private static Snapshot with(Snapshot current, int id, double price) {
+        int at = position(current, id, price);
+        int n = current.prices.length;
+        double[] prices = new double[n + 1];
+        int[] ids = new int[n + 1];
+        System.arraycopy(current.prices, 0, prices, 0, at);
+        System.arraycopy(current.ids, 0, ids, 0, at);
+        prices[at] = price;
+        ids[at] = id;
+        System.arraycopy(current.prices, at, prices, at + 1, n - at);
+        System.arraycopy(current.ids, at, ids, at + 1, n - at);
+        return new Snapshot(prices, ids, current.loadedAt);
+    }
+
+    private static Snapshot without(Snapshot current, int id, double price) {
+        int at = position(current, id, price);
+        int n = current.prices.length;
+        if (at >= n || current.ids[at] != id) {
+            return current;
+        }
+        double[] prices = new double[n - 1];
+        int[] ids = new int[n - 1];
+        System.arraycopy(current.prices, 0, prices, 0, at);
+        System.arraycopy(current.ids, 0, ids, 0, at);
+        System.arraycopy(current.prices, at + 1, prices, at, n - at - 1);
+        System.arraycopy(current.ids, at + 1, ids, at, n - at - 1);
+        return new Snapshot(prices, ids, current.loadedAt);
+    }
+
+    /**
+     * First position whose (price, id) is not below the given one
+     */
+    private static int position(Snapshot current, int id, double price) {
+        int low = lowerBound(current.prices, price);
+        int high = upperBound(current.prices, price);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (current.ids[mid] < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index with prices[i] >= value
+     */
+    private static int lowerBound(double[] prices, double value) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index with prices[i] > value
+     */
+    private static int upperBound(double[] prices, double value) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Double parsePrice(String price) {
+        if (price == null) {
+            return null;
+        }
+        try {
+            double parsed = Double.parseDouble(price.trim());
+            return Double.isNaN(parsed) ? null : parsed;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
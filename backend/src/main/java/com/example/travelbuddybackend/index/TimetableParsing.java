@@ -0,0 +1,113 @@
+package com.example.travelbuddybackend.index;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Date, time and price parsing for the index builders, which parse every row
+ * of a table read. The stored YYYY-MM-DD and HH:mm forms take a digit fast
+ * path; anything else goes through java.time.
+ */
+final class TimetableParsing {
+
+    static final int INVALID = -1;
+
+    private TimetableParsing() {
+    }
+
+    /**
+     * @param date YYYY-MM-DD
+     * @return Days since 1970-01-01, or INVALID for null, unparseable or earlier dates
+     */
+    static int epochDay(String date) {
+        if (date == null) {
+            return INVALID;
+        }
+        String value = date.trim();
+        try {
+            long day;
+            if (value.length() == 10 && value.charAt(4) == '-' && value.charAt(7) == '-') {
+                day = LocalDate.of(digits(value, 0, 4), digits(value, 5, 7), digits(value, 8, 10)).toEpochDay();
+            } else {
+                day = LocalDate.parse(value).toEpochDay();
+            }
+            return day >= 0 && day < Integer.MAX_VALUE ? (int) day : INVALID;
+        } catch (DateTimeException | NumberFormatException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * @param time HH:mm or HH:mm:ss
+     * @return Minutes since midnight, or INVALID for null or unparseable times
+     */
+    static int minuteOfDay(String time) {
+        if (time == null) {
+            return INVALID;
+        }
+        String value = time.trim();
+        try {
+            if ((value.length() == 5 || value.length() == 8) && value.charAt(2) == ':') {
+                int hour = digits(value, 0, 2);
+                int minute = digits(value, 3, 5);
+                return hour < 24 && minute < 60 ? hour * 60 + minute : INVALID;
+            }
+            LocalTime parsed = LocalTime.parse(value);
+            return parsed.getHour() * 60 + parsed.getMinute();
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * @param price Decimal price
+     * @return The price in cents, or INVALID if it isn't a non-negative number
+     */
+    static int cents(String price) {
+        if (price == null) {
+            return INVALID;
+        }
+        try {
+            double value = Double.parseDouble(price.trim());
+            return value >= 0 && value < Integer.MAX_VALUE / 100.0 ? (int) Math.round(value * 100) : INVALID;
+        } catch (NumberFormatException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Lowest stored cents a price criterion can match: stored prices are rounded
+     * to the cent, so the bound is rounded down by half a cent
+     * @param minPrice Lowest price, or null
+     */
+    static long lowestCents(Double minPrice) {
+        return minPrice == null ? 0 : Math.max(0, centsBound(Math.ceil(minPrice * 100 - 0.5)));
+    }
+
+    /**
+     * Highest stored cents a price criterion can match
+     * @param maxPrice Highest price, or null
+     * @see #lowestCents(Double)
+     */
+    static long highestCents(Double maxPrice) {
+        return maxPrice == null ? Integer.MAX_VALUE : centsBound(Math.floor(maxPrice * 100 + 0.5));
+    }
+
+    private static long centsBound(double cents) {
+        return (long) Math.max(-1, Math.min(Integer.MAX_VALUE, cents));
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(value);
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
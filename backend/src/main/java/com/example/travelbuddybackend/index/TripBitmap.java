@@ -0,0 +1,512 @@
+package com.example.travelbuddybackend.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Trip Bitmap
+ *
+ * Immutable compressed set of non-negative ints (trip ordinals), laid out
+ * like a Roaring bitmap: values are split by their high 16 bits into
+ * containers of up to 65536 values, and each container is stored the
+ * cheaper way for its density:
+ *
+ *   array container   sorted char[] of the low 16 bits, up to 4096 values (2 bytes per value)
+ *   bitmap container  long[1024], one bit per possible value (8 KB, any count above 4096)
+ *
+ * and(), or() and andNot() work container by container on matching keys, so sparse
+ * sets cost their size and dense ones a few word operations per 64 values,
+ * whatever the total number of trips. Run containers are left out: trip
+ * ordinals are assigned by id, which doesn't produce the long runs that
+ * would pay for them.
+ *
+ * Build one from ascending values with builder(). Instances never change.
+ */
+public final class TripBitmap {
+
+    public static final TripBitmap EMPTY = new TripBitmap(new char[0], new char[0][], new long[0][], new int[0], 0);
+
+    // Containers with more values than this are stored as bitmaps
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long OBJECT_BYTES = 32;
+
+    private final char[] keys;
+    // Per container, one of the two is set
+    private final char[][] arrays;
+    private final long[][] words;
+    private final int[] counts;
+    private final int cardinality;
+
+    private TripBitmap(char[] keys, char[][] arrays, long[][] words, int[] counts, int cardinality) {
+        this.keys = keys;
+        this.arrays = arrays;
+        this.words = words;
+        this.counts = counts;
+        this.cardinality = cardinality;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param values Ascending, distinct, non-negative values
+     */
+    public static TripBitmap of(int... values) {
+        Builder builder = builder();
+        for (int value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return The values in [from, to)
+     */
+    public static TripBitmap range(int from, int to) {
+        Builder builder = builder();
+        for (int value = from; value < to; value++) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    // ============================================================================
+    // QUERIES
+    // ============================================================================
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public boolean contains(int value) {
+        int c = Arrays.binarySearch(keys, (char) (value >>> 16));
+        if (value < 0 || c < 0) {
+            return false;
+        }
+        char low = (char) value;
+        return arrays[c] != null ? Arrays.binarySearch(arrays[c], low) >= 0 : (words[c][low >>> 6] & 1L << low) != 0;
+    }
+
+    /**
+     * @return The values in ascending order
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int next = 0;
+        for (int c = 0; c < keys.length; c++) {
+            int high = keys[c] << 16;
+            if (arrays[c] != null) {
+                for (char low : arrays[c]) {
+                    values[next++] = high | low;
+                }
+            } else {
+                long[] bits = words[c];
+                for (int w = 0; w < WORDS; w++) {
+                    for (long word = bits[w]; word != 0; word &= word - 1) {
+                        values[next++] = high | w << 6 | Long.numberOfTrailingZeros(word);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return The values in both this and other
+     */
+    public TripBitmap and(TripBitmap other) {
+        Builder result = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                if (arrays[i] != null && other.arrays[j] != null) {
+                    result.append(keys[i], andArrays(arrays[i], other.arrays[j]));
+                } else if (arrays[i] != null) {
+                    result.append(keys[i], andArrayWords(arrays[i], other.words[j]));
+                } else if (other.arrays[j] != null) {
+                    result.append(keys[i], andArrayWords(other.arrays[j], words[i]));
+                } else {
+                    long[] bits = new long[WORDS];
+                    for (int w = 0; w < WORDS; w++) {
+                        bits[w] = words[i][w] & other.words[j][w];
+                    }
+                    result.append(keys[i], bits);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * @return The values in this or other
+     */
+    public TripBitmap or(TripBitmap other) {
+        Builder result = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                result.append(keys[i], arrays[i], words[i], counts[i]);
+                i++;
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.arrays[j], other.words[j], other.counts[j]);
+                j++;
+            } else if (arrays[i] != null && other.arrays[j] != null && counts[i] + other.counts[j] <= ARRAY_MAX) {
+                result.append(keys[i], orArrays(arrays[i], other.arrays[j]));
+                i++;
+                j++;
+            } else {
+                long[] bits = arrays[i] != null ? toWords(arrays[i]) : words[i].clone();
+                if (other.arrays[j] != null) {
+                    for (char low : other.arrays[j]) {
+                        bits[low >>> 6] |= 1L << low;
+                    }
+                } else {
+                    for (int w = 0; w < WORDS; w++) {
+                        bits[w] |= other.words[j][w];
+                    }
+                }
+                result.append(keys[i], bits);
+                i++;
+                j++;
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * @return The values in this but not in other
+     */
+    public TripBitmap andNot(TripBitmap other) {
+        Builder result = new Builder();
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j == other.keys.length || other.keys[j] > keys[i]) {
+                result.append(keys[i], arrays[i], words[i], counts[i]);
+            } else if (arrays[i] != null) {
+                result.append(keys[i], other.arrays[j] != null
+                        ? andNotArrays(arrays[i], other.arrays[j]) : andNotArrayWords(arrays[i], other.words[j]));
+            } else {
+                long[] bits = words[i].clone();
+                if (other.arrays[j] != null) {
+                    for (char low : other.arrays[j]) {
+                        bits[low >>> 6] &= ~(1L << low);
+                    }
+                } else {
+                    for (int w = 0; w < WORDS; w++) {
+                        bits[w] &= ~other.words[j][w];
+                    }
+                }
+                result.append(keys[i], bits);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Union of any number of bitmaps. With more than two, every container is
+     * ORed into one dense block per key and compressed again at the end, so
+     * each value is touched once however many bitmaps there are.
+     */
+    public static TripBitmap or(List<TripBitmap> bitmaps) {
+        if (bitmaps.isEmpty()) {
+            return EMPTY;
+        }
+        if (bitmaps.size() <= 2) {
+            return bitmaps.size() == 1 ? bitmaps.get(0) : bitmaps.get(0).or(bitmaps.get(1));
+        }
+        int keyCount = 0;
+        for (TripBitmap bitmap : bitmaps) {
+            keyCount += bitmap.keys.length;
+        }
+        char[] allKeys = new char[keyCount];
+        int next = 0;
+        for (TripBitmap bitmap : bitmaps) {
+            System.arraycopy(bitmap.keys, 0, allKeys, next, bitmap.keys.length);
+            next += bitmap.keys.length;
+        }
+        Arrays.sort(allKeys);
+        int distinct = 0;
+        for (int k = 0; k < keyCount; k++) {
+            if (distinct == 0 || allKeys[k] != allKeys[distinct - 1]) {
+                allKeys[distinct++] = allKeys[k];
+            }
+        }
+
+        long[][] blocks = new long[distinct][];
+        for (TripBitmap bitmap : bitmaps) {
+            for (int c = 0; c < bitmap.keys.length; c++) {
+                int k = Arrays.binarySearch(allKeys, 0, distinct, bitmap.keys[c]);
+                long[] block = blocks[k] != null ? blocks[k] : (blocks[k] = new long[WORDS]);
+                if (bitmap.arrays[c] != null) {
+                    for (char low : bitmap.arrays[c]) {
+                        block[low >>> 6] |= 1L << low;
+                    }
+                } else {
+                    long[] bits = bitmap.words[c];
+                    for (int w = 0; w < WORDS; w++) {
+                        block[w] |= bits[w];
+                    }
+                }
+            }
+        }
+        Builder result = new Builder();
+        for (int k = 0; k < distinct; k++) {
+            result.append(allKeys[k], blocks[k]);
+        }
+        return result.build();
+    }
+
+    /**
+     * @return Approximate retained heap size, in bytes
+     */
+    public long footprintBytes() {
+        long bytes = OBJECT_BYTES + ARRAY_HEADER_BYTES * 4 + 2L * keys.length + 12L * keys.length;
+        for (int c = 0; c < keys.length; c++) {
+            bytes += ARRAY_HEADER_BYTES + (arrays[c] != null ? 2L * arrays[c].length : 8L * WORDS);
+        }
+        return bytes;
+    }
+
+    // ============================================================================
+    // CONTAINER OPERATIONS
+    // ============================================================================
+
+    private static char[] andArrays(char[] a, char[] b) {
+        if (a.length > b.length) {
+            char[] swap = a;
+            a = b;
+            b = swap;
+        }
+        char[] out = new char[a.length];
+        int n = 0;
+        if (a.length * 32 < b.length) {
+            // Much smaller side: binary search each value in the larger one, narrowing the range as we go
+            int from = 0;
+            for (char value : a) {
+                int found = Arrays.binarySearch(b, from, b.length, value);
+                if (found >= 0) {
+                    out[n++] = value;
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+                if (from == b.length) {
+                    break;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static char[] orArrays(char[] a, char[] b) {
+        char[] out = new char[a.length + b.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                out[n++] = a[i++];
+            } else if (i == a.length || a[i] > b[j]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static char[] andArrayWords(char[] values, long[] bits) {
+        char[] out = new char[values.length];
+        int n = 0;
+        for (char value : values) {
+            if ((bits[value >>> 6] & 1L << value) != 0) {
+                out[n++] = value;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static char[] andNotArrays(char[] a, char[] b) {
+        char[] out = new char[a.length];
+        int n = 0;
+        int j = 0;
+        for (char value : a) {
+            while (j < b.length && b[j] < value) {
+                j++;
+            }
+            if (j == b.length || b[j] != value) {
+                out[n++] = value;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static char[] andNotArrayWords(char[] values, long[] bits) {
+        char[] out = new char[values.length];
+        int n = 0;
+        for (char value : values) {
+            if ((bits[value >>> 6] & 1L << value) == 0) {
+                out[n++] = value;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static long[] toWords(char[] values) {
+        long[] bits = new long[WORDS];
+        for (char value : values) {
+            bits[value >>> 6] |= 1L << value;
+        }
+        return bits;
+    }
+
+    private static char[] toArray(long[] bits, int count) {
+        char[] values = new char[count];
+        int n = 0;
+        for (int w = 0; w < WORDS; w++) {
+            for (long word = bits[w]; word != 0; word &= word - 1) {
+                values[n++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+            }
+        }
+        return values;
+    }
+
+    // ============================================================================
+    // BUILDER
+    // ============================================================================
+
+    /**
+     * Collects ascending values into a TripBitmap. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private char[] keys = new char[4];
+        private char[][] arrays = new char[4][];
+        private long[][] words = new long[4][];
+        private int[] counts = new int[4];
+        private int size;
+        private int cardinality;
+
+        // The container being filled by add()
+        private int pendingKey = -1;
+        private char[] pending = new char[16];
+        private int pendingCount;
+        private int last = -1;
+
+        private Builder() {
+        }
+
+        /**
+         * @param value Non-negative and greater than every value added before
+         */
+        public Builder add(int value) {
+            if (value <= last) {
+                throw new IllegalArgumentException("Values must be non-negative and ascending");
+            }
+            last = value;
+            int key = value >>> 16;
+            if (key != pendingKey) {
+                flush();
+                pendingKey = key;
+            }
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, Math.min(1 << 16, pendingCount * 2));
+            }
+            pending[pendingCount++] = (char) value;
+            return this;
+        }
+
+        public TripBitmap build() {
+            flush();
+            return new TripBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(arrays, size), Arrays.copyOf(words, size),
+                    Arrays.copyOf(counts, size), cardinality);
+        }
+
+        private void flush() {
+            if (pendingCount > 0) {
+                if (pendingCount <= ARRAY_MAX) {
+                    append((char) pendingKey, Arrays.copyOf(pending, pendingCount), null, pendingCount);
+                } else {
+                    long[] bits = new long[WORDS];
+                    for (int v = 0; v < pendingCount; v++) {
+                        bits[pending[v] >>> 6] |= 1L << pending[v];
+                    }
+                    append((char) pendingKey, null, bits, pendingCount);
+                }
+                pendingCount = 0;
+            }
+        }
+
+        private void append(char key, char[] values) {
+            if (values.length > 0) {
+                append(key, values, null, values.length);
+            }
+        }
+
+        /**
+         * Append a bitmap container, storing it as an array if it has become sparse
+         */
+        private void append(char key, long[] bits) {
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            if (count > ARRAY_MAX) {
+                append(key, null, bits, count);
+            } else if (count > 0) {
+                append(key, TripBitmap.toArray(bits, count), null, count);
+            }
+        }
+
+        private void append(char key, char[] values, long[] bits, int count) {
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                arrays = Arrays.copyOf(arrays, capacity);
+                words = Arrays.copyOf(words, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            keys[size] = key;
+            arrays[size] = values;
+            words[size] = bits;
+            counts[size] = count;
+            size++;
+            cardinality += count;
+        }
+    }
+}
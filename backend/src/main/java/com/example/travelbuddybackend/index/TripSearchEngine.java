@@ -0,0 +1,67 @@
+package com.example.travelbuddybackend.index;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * Trip Search Engine
+ *
+ * One transport mode's trips held in memory for multi-criteria search, built
+ * from a table read and never changed afterwards. Two implementations, picked
+ * with search-index.engine:
+ *
+ *   TripSearchIndex    bitmaps per attribute value, ANDed per query (bitmap, the default)
+ *   ColumnarTripStore  off-heap columns scanned per query (columnar)
+ */
+public interface TripSearchEngine {
+
+    /**
+     * Day of Query matching every departure day
+     */
+    int ANY_DAY = -1;
+
+    /**
+     * Search criteria; every one that is set must match
+     * @param origins Origin location ids, or null for any origin
+     * @param destinations Destination location ids, or null for any destination
+     * @param day day() of the departure date, or ANY_DAY
+     * @param carrier Text the airline or line must contain, ignoring case; null for any
+     * @param minPrice Lowest price, or null; trips without a valid price never match a price criterion
+     * @param maxPrice Highest price, or null
+     */
+    record Query(BitSet origins, BitSet destinations, int day, String carrier, Double minPrice, Double maxPrice) {
+    }
+
+    /**
+     * Day of a departure date, for Query
+     * @return Its epoch day, ANY_DAY for null, or a day matching no trips for a date before 1970
+     */
+    static int day(LocalDate date) {
+        if (date == null) {
+            return ANY_DAY;
+        }
+        return date.toEpochDay() >= 0 && date.toEpochDay() < Integer.MAX_VALUE ? (int) date.toEpochDay() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Ids of the trips matching every criterion of the query
+     * @param limit Most matches wanted
+     * @return The ids ascending, or null if more than limit trips match
+     */
+    int[] tripIds(Query query, int limit);
+
+    /**
+     * @return Number of trips held
+     */
+    int size();
+
+    /**
+     * @return Approximate retained heap size, in bytes
+     */
+    long footprintBytes();
+
+    /**
+     * @return Native memory held outside the heap, in bytes
+     */
+    long offHeapBytes();
+}
@@ -0,0 +1,487 @@
+package com.example.travelbuddybackend.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Trip Search Index
+ *
+ * Immutable bitmap index of one transport mode's trips for multi-criteria
+ * search. Trips are numbered 0..n-1 in id order (their ordinal) and every
+ * searchable attribute value keeps the TripBitmap of the ordinals having it:
+ *
+ *   origin location id       → trips departing there
+ *   destination location id  → trips arriving there
+ *   departure day            → trips leaving that day
+ *   carrier (airline / line) → trips run by it
+ *   price band               → trips in one of PRICE_BANDS equal-count price ranges
+ *
+ * A search ANDs one bitmap per criterion, smallest first, so a query with
+ * several unselective criteria (a busy airport, a whole month of days, an
+ * airline) still only touches compressed containers, and only the surviving
+ * ordinals are turned back into trip ids. A criterion matching several
+ * values (a city with three airports, "air" matching two airlines) is the
+ * OR of their bitmaps.
+ *
+ * Prices are also kept per ordinal and sorted by (price, ordinal). A price
+ * range that matches more trips than the other criteria is checked against
+ * the survivors of their AND instead of being turned into a bitmap; one that
+ * is the most selective criterion is the OR of the bands inside it plus the
+ * exactly cut trips of the bands at its edges.
+ *
+ * Instances never change; a rebuild creates a new index that callers swap in
+ * atomically. Build one with builder(). This is the bitmap TripSearchEngine.
+ */
+public final class TripSearchIndex implements TripSearchEngine {
+
+    private static final int PRICE_BANDS = 64;
+
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long OBJECT_BYTES = 32;
+
+    private final int[] tripIds;
+    private final Attribute origins;
+    private final Attribute destinations;
+    private final Attribute days;
+    // Carrier names, lowercase, by carrier code; carrierTrips[code] are its trips
+    private final String[] carriers;
+    private final TripBitmap[] carrierTrips;
+    // Price in cents per ordinal, -1 if it isn't valid; byPrice has the priced ordinals by (price, ordinal)
+    private final int[] cents;
+    private final int[] byPrice;
+    // Band b holds byPrice[bandStart(b), bandStart(b + 1))
+    private final TripBitmap[] priceBands;
+
+    private TripSearchIndex(int[] tripIds, Attribute origins, Attribute destinations, Attribute days,
+                            String[] carriers, TripBitmap[] carrierTrips,
+                            int[] cents, int[] byPrice, TripBitmap[] priceBands) {
+        this.tripIds = tripIds;
+        this.origins = origins;
+        this.destinations = destinations;
+        this.days = days;
+        this.carriers = carriers;
+        this.carrierTrips = carrierTrips;
+        this.cents = cents;
+        this.byPrice = byPrice;
+        this.priceBands = priceBands;
+    }
+
+    public static Builder builder() {
+        return new Builder(1024);
+    }
+
+    /**
+     * @param expectedTrips Initial capacity, e.g. the size of the previous build
+     */
+    public static Builder builder(int expectedTrips) {
+        return new Builder(Math.max(16, expectedTrips));
+    }
+
+    // ============================================================================
+    // QUERIES
+    // ============================================================================
+
+    /**
+     * Ordinals of the trips matching every criterion of the query
+     */
+    public TripBitmap select(Query query) {
+        List<TripBitmap> filters = new ArrayList<>(4);
+        if (query.origins() != null) {
+            filters.add(origins.union(query.origins()));
+        }
+        if (query.destinations() != null) {
+            filters.add(destinations.union(query.destinations()));
+        }
+        if (query.day() != ANY_DAY) {
+            filters.add(days.get(query.day()));
+        }
+        if (query.carrier() != null) {
+            filters.add(carrierTrips(query.carrier().trim().toLowerCase(Locale.ROOT)));
+        }
+        boolean byPriceRange = query.minPrice() != null || query.maxPrice() != null;
+        long minCents = TimetableParsing.lowestCents(query.minPrice());
+        long maxCents = TimetableParsing.highestCents(query.maxPrice());
+        int from = byPriceRange ? firstPricedAt(minCents) : 0;
+        int to = byPriceRange ? firstPricedAt(maxCents + 1) : 0;
+
+        // Smallest first: every AND costs at most the smaller side, and the result only shrinks
+        filters.sort(Comparator.comparingInt(TripBitmap::cardinality));
+        if (byPriceRange && (filters.isEmpty() || to - from < filters.get(0).cardinality())) {
+            filters.add(0, priced(from, to));
+            byPriceRange = false;
+        }
+        TripBitmap result = filters.isEmpty() ? TripBitmap.range(0, tripIds.length) : filters.get(0);
+        for (int f = 1; f < filters.size() && !result.isEmpty(); f++) {
+            result = result.and(filters.get(f));
+        }
+        return byPriceRange ? pricedBetween(result, minCents, maxCents) : result;
+    }
+
+    @Override
+    public int[] tripIds(Query query, int limit) {
+        TripBitmap hits = select(query);
+        return hits.cardinality() > limit ? null : tripIds(hits);
+    }
+
+    /**
+     * Ids of the given trips, ascending
+     * @param ordinals A result of select()
+     */
+    public int[] tripIds(TripBitmap ordinals) {
+        int[] ids = ordinals.toArray();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tripIds[ids[i]];
+        }
+        return ids;
+    }
+
+    @Override
+    public int size() {
+        return tripIds.length;
+    }
+
+    /**
+     * @return Number of distinct airlines or lines
+     */
+    public int carrierCount() {
+        return carriers.length;
+    }
+
+    /**
+     * @return Number of distinct departure days
+     */
+    public int dayCount() {
+        return days.keys.length;
+    }
+
+    @Override
+    public long footprintBytes() {
+        long bytes = OBJECT_BYTES
+                + ARRAY_HEADER_BYTES * 6
+                + 4L * tripIds.length
+                + origins.footprintBytes()
+                + destinations.footprintBytes()
+                + days.footprintBytes()
+                + 4L * cents.length
+                + 4L * byPrice.length;
+        for (int c = 0; c < carriers.length; c++) {
+            bytes += OBJECT_BYTES + 2L * carriers[c].length() + carrierTrips[c].footprintBytes();
+        }
+        for (TripBitmap band : priceBands) {
+            bytes += band.footprintBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return 0;
+    }
+
+    private TripBitmap carrierTrips(String text) {
+        List<TripBitmap> matching = new ArrayList<>();
+        for (int c = 0; c < carriers.length; c++) {
+            if (carriers[c].contains(text)) {
+                matching.add(carrierTrips[c]);
+            }
+        }
+        return TripBitmap.or(matching);
+    }
+
+    /**
+     * Trips at byPrice[from, to): the whole bands inside the range plus the
+     * exactly cut trips of the bands at its edges
+     */
+    private TripBitmap priced(int from, int to) {
+        if (from >= to) {
+            return TripBitmap.EMPTY;
+        }
+        int firstBand = 0;
+        while (bandStart(firstBand) < from) {
+            firstBand++;
+        }
+        int endBand = firstBand;
+        while (endBand < PRICE_BANDS && bandStart(endBand + 1) <= to) {
+            endBand++;
+        }
+        if (firstBand >= endBand) {
+            return ordinals(from, to);
+        }
+        List<TripBitmap> parts = new ArrayList<>(endBand - firstBand + 2);
+        parts.add(ordinals(from, bandStart(firstBand)));
+        parts.addAll(Arrays.asList(priceBands).subList(firstBand, endBand));
+        parts.add(ordinals(bandStart(endBand), to));
+        return TripBitmap.or(parts);
+    }
+
+    /**
+     * The given trips priced in [minCents, maxCents], read from the price column
+     */
+    private TripBitmap pricedBetween(TripBitmap ordinals, long minCents, long maxCents) {
+        TripBitmap.Builder kept = TripBitmap.builder();
+        for (int ordinal : ordinals.toArray()) {
+            if (cents[ordinal] >= minCents && cents[ordinal] <= maxCents) {
+                kept.add(ordinal);
+            }
+        }
+        return kept.build();
+    }
+
+    /**
+     * First position in byPrice priced at or above the given cents
+     */
+    private int firstPricedAt(long minCents) {
+        int low = 0;
+        int high = byPrice.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cents[byPrice[mid]] < minCents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int bandStart(int band) {
+        return (int) ((long) byPrice.length * band / PRICE_BANDS);
+    }
+
+    /**
+     * Bitmap of byPrice[from, to)
+     */
+    private TripBitmap ordinals(int from, int to) {
+        if (from >= to) {
+            return TripBitmap.EMPTY;
+        }
+        int[] ordinals = Arrays.copyOfRange(byPrice, from, to);
+        Arrays.sort(ordinals);
+        return TripBitmap.of(ordinals);
+    }
+
+    /**
+     * Bitmaps of one int attribute, keyed by its sorted distinct values
+     */
+    private static final class Attribute {
+
+        private final int[] keys;
+        private final TripBitmap[] bitmaps;
+
+        private Attribute(int[] keys, TripBitmap[] bitmaps) {
+            this.keys = keys;
+            this.bitmaps = bitmaps;
+        }
+
+        /**
+         * @param values Per ordinal, the attribute value; negative values are left out
+         */
+        static Attribute of(int[] values) {
+            int n = 0;
+            long[] pairs = new long[values.length];
+            for (int ordinal = 0; ordinal < values.length; ordinal++) {
+                if (values[ordinal] >= 0) {
+                    pairs[n++] = (long) values[ordinal] << 32 | ordinal;
+                }
+            }
+            Arrays.sort(pairs, 0, n);
+
+            List<Integer> keys = new ArrayList<>();
+            List<TripBitmap> bitmaps = new ArrayList<>();
+            TripBitmap.Builder builder = null;
+            for (int i = 0; i < n; i++) {
+                int key = (int) (pairs[i] >>> 32);
+                if (builder == null || key != keys.get(keys.size() - 1)) {
+                    if (builder != null) {
+                        bitmaps.add(builder.build());
+                    }
+                    keys.add(key);
+                    builder = TripBitmap.builder();
+                }
+                builder.add((int) pairs[i]);
+            }
+            if (builder != null) {
+                bitmaps.add(builder.build());
+            }
+            return new Attribute(keys.stream().mapToInt(Integer::intValue).toArray(), bitmaps.toArray(TripBitmap[]::new));
+        }
+
+        TripBitmap get(int key) {
+            int k = Arrays.binarySearch(keys, key);
+            return k >= 0 ? bitmaps[k] : TripBitmap.EMPTY;
+        }
+
+        TripBitmap union(BitSet wanted) {
+            List<TripBitmap> matching = new ArrayList<>();
+            if (wanted.cardinality() < keys.length) {
+                for (int key = wanted.nextSetBit(0); key >= 0; key = wanted.nextSetBit(key + 1)) {
+                    int k = Arrays.binarySearch(keys, key);
+                    if (k >= 0) {
+                        matching.add(bitmaps[k]);
+                    }
+                    if (key == Integer.MAX_VALUE) {
+                        break;
+                    }
+                }
+            } else {
+                for (int k = 0; k < keys.length; k++) {
+                    if (wanted.get(keys[k])) {
+                        matching.add(bitmaps[k]);
+                    }
+                }
+            }
+            return TripBitmap.or(matching);
+        }
+
+        long footprintBytes() {
+            long bytes = OBJECT_BYTES + ARRAY_HEADER_BYTES * 2 + 4L * keys.length + 4L * bitmaps.length;
+            for (TripBitmap bitmap : bitmaps) {
+                bytes += bitmap.footprintBytes();
+            }
+            return bytes;
+        }
+    }
+
+    // ============================================================================
+    // BUILDER
+    // ============================================================================
+
+    /**
+     * Collects trips, e.g. from a streamed table read, and builds a TripSearchIndex.
+     * Not thread-safe.
+     */
+    public static final class Builder {
+
+        private int size;
+        private int[] tripIds;
+        private int[] origins;
+        private int[] destinations;
+        private int[] days;
+        private int[] carriers;
+        private int[] prices;
+        private final Map<String, Integer> carrierCodes = new HashMap<>();
+
+        private Builder(int capacity) {
+            tripIds = new int[capacity];
+            origins = new int[capacity];
+            destinations = new int[capacity];
+            days = new int[capacity];
+            carriers = new int[capacity];
+            prices = new int[capacity];
+        }
+
+        /**
+         * Add one trip. Negative location ids are rejected, as they can't be keyed;
+         * a trip whose station is missing from the stations table should use 0.
+         * @param departureDate YYYY-MM-DD; a trip with an unparseable date only matches ANY_DAY
+         * @param carrier Airline or line; null matches no carrier criterion
+         * @param price Decimal price; a trip with an unparseable price matches no price criterion
+         */
+        public Builder add(int tripId, int originId, int destinationId, String departureDate, String carrier, String price) {
+            if (originId < 0 || destinationId < 0) {
+                throw new IllegalArgumentException("Location ids must not be negative");
+            }
+            if (size == tripIds.length) {
+                int capacity = size + (size >> 1) + 1;
+                tripIds = Arrays.copyOf(tripIds, capacity);
+                origins = Arrays.copyOf(origins, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+                days = Arrays.copyOf(days, capacity);
+                carriers = Arrays.copyOf(carriers, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+            }
+            tripIds[size] = tripId;
+            origins[size] = originId;
+            destinations[size] = destinationId;
+            days[size] = TimetableParsing.epochDay(departureDate);
+            carriers[size] = carrier == null ? -1
+                    : carrierCodes.computeIfAbsent(carrier.toLowerCase(Locale.ROOT), name -> carrierCodes.size());
+            prices[size] = TimetableParsing.cents(price);
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Number the trips by id and build the bitmaps. The builder must not be used afterwards.
+         */
+        public TripSearchIndex build() {
+            int n = size;
+
+            // Ordinals in id order
+            long[] order = new long[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = (long) tripIds[i] << 32 | i;
+            }
+            Arrays.sort(order);
+            int[] ids = new int[n];
+            int[] rows = new int[n];
+            for (int ordinal = 0; ordinal < n; ordinal++) {
+                ids[ordinal] = (int) (order[ordinal] >> 32);
+                rows[ordinal] = (int) order[ordinal];
+            }
+            order = null;
+
+            Attribute originIndex = Attribute.of(byOrdinal(origins, rows));
+            origins = null;
+            Attribute destinationIndex = Attribute.of(byOrdinal(destinations, rows));
+            destinations = null;
+            Attribute dayIndex = Attribute.of(byOrdinal(days, rows));
+            days = null;
+            Attribute carrierIndex = Attribute.of(byOrdinal(carriers, rows));
+            carriers = null;
+
+            String[] carrierNames = new String[carrierCodes.size()];
+            carrierCodes.forEach((name, code) -> carrierNames[code] = name);
+            TripBitmap[] carrierTrips = new TripBitmap[carrierNames.length];
+            for (int code = 0; code < carrierNames.length; code++) {
+                carrierTrips[code] = carrierIndex.get(code);
+            }
+
+            // Priced trips by (price, ordinal), cut into equal-count bands
+            int[] cents = byOrdinal(prices, rows);
+            prices = null;
+            rows = null;
+            long[] priced = new long[n];
+            int pricedCount = 0;
+            for (int ordinal = 0; ordinal < n; ordinal++) {
+                if (cents[ordinal] >= 0) {
+                    priced[pricedCount++] = (long) cents[ordinal] << 32 | ordinal;
+                }
+            }
+            Arrays.sort(priced, 0, pricedCount);
+            int[] byPrice = new int[pricedCount];
+            for (int p = 0; p < pricedCount; p++) {
+                byPrice[p] = (int) priced[p];
+            }
+            priced = null;
+            TripBitmap[] bands = new TripBitmap[PRICE_BANDS];
+            for (int band = 0; band < PRICE_BANDS; band++) {
+                int[] ordinals = Arrays.copyOfRange(byPrice, (int) ((long) pricedCount * band / PRICE_BANDS),
+                        (int) ((long) pricedCount * (band + 1) / PRICE_BANDS));
+                Arrays.sort(ordinals);
+                bands[band] = TripBitmap.of(ordinals);
+            }
+
+            return new TripSearchIndex(ids, originIndex, destinationIndex, dayIndex, carrierNames, carrierTrips,
+                    cents, byPrice, bands);
+        }
+
+        private static int[] byOrdinal(int[] values, int[] rows) {
+            int[] permuted = new int[rows.length];
+            for (int ordinal = 0; ordinal < rows.length; ordinal++) {
+                permuted[ordinal] = values[rows[ordinal]];
+            }
+            return permuted;
+        }
+    }
+}
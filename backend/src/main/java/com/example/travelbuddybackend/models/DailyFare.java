@@ -0,0 +1,21 @@
+package com.example.travelbuddybackend.models;
+
+/**
+ * Lowest price and number of trips on one route for one departure date
+ */
+public class DailyFare {
+    private final String departureDate;
+    private final double lowestPrice;
+    private final int trips;
+
+    public DailyFare(String departureDate, double lowestPrice, int trips) {
+        this.departureDate = departureDate;
+        this.lowestPrice = lowestPrice;
+        this.trips = trips;
+    }
+
+    // Getters
+    public String getDepartureDate() { return departureDate; }
+    public double getLowestPrice() { return lowestPrice; }
+    public int getTrips() { return trips; }
+}
@@ -0,0 +1,219 @@
+package com.example.travelbuddybackend.monitoring;
+
+import com.example.travelbuddybackend.monitoring.jfr.RepositoryStatementEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Instrumented JdbcTemplate
+ *
+ * A JdbcTemplate that reports every statement to a list of StatementListeners
+ * before any exception reaches the repository. The repositories catch
+ * DataAccessExceptions and return empty results, so this is the only place
+ * where failed queries can still be seen.
+ *
+ * All query/update overloads used by the repositories funnel into the
+ * methods overridden here, so each statement is reported exactly once.
+ * The calling repository and method are taken from the stack, and the
+ * bound arguments from the statement setter. Each statement is also
+ * recorded as a RepositoryStatementEvent when a JFR recording is running.
+ */
+public class InstrumentedJdbcTemplate extends JdbcTemplate {
+
+    private static final Logger log = LoggerFactory.getLogger(InstrumentedJdbcTemplate.class);
+
+    private static final String REPOSITORY_PACKAGE = "com.example.travelbuddybackend.repository.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final List<StatementListener> listeners;
+    private final ThreadLocal<int[]> nesting = ThreadLocal.withInitial(() -> new int[1]);
+
+    public InstrumentedJdbcTemplate(DataSource dataSource, List<StatementListener> listeners) {
+        super(dataSource);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    // ============================================================================
+    // INSTRUMENTED ENTRY POINTS
+    // ============================================================================
+
+    @Override
+    public <T> T query(String sql, ResultSetExtractor<T> rse) throws DataAccessException {
+        return instrument(sql, List.of(), () -> super.query(sql, rse));
+    }
+
+    @Override
+    public <T> T query(PreparedStatementCreator psc, PreparedStatementSetter pss, ResultSetExtractor<T> rse)
+            throws DataAccessException {
+        return instrument(sqlOf(psc), parametersOf(pss), () -> super.query(psc, pss, rse));
+    }
+
+    @Override
+    public int update(String sql) throws DataAccessException {
+        return instrument(sql, List.of(), () -> super.update(sql));
+    }
+
+    @Override
+    protected int update(PreparedStatementCreator psc, PreparedStatementSetter pss) throws DataAccessException {
+        return instrument(sqlOf(psc), parametersOf(pss), () -> super.update(psc, pss));
+    }
+
+    @Override
+    public int update(PreparedStatementCreator psc, KeyHolder generatedKeyHolder) throws DataAccessException {
+        return instrument(sqlOf(psc), List.of(), () -> super.update(psc, generatedKeyHolder));
+    }
+
+    @Override
+    public void execute(String sql) throws DataAccessException {
+        instrument(sql, List.of(), () -> {
+            super.execute(sql);
+            return null;
+        });
+    }
+
+    /**
+     * Called for every statement before it executes, so work running under
+     * a QueryCancellation can have its statement cancelled
+     */
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        QueryCancellation.register(stmt);
+    }
+
+    /**
+     * Used by every query/update overload that takes varargs, so the
+     * arguments can be handed to the listeners
+     */
+    @Override
+    protected PreparedStatementSetter newArgPreparedStatementSetter(Object[] args) {
+        return new CapturingArgumentSetter(args);
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    private <T> T instrument(String sql, List<Object> parameters, Supplier<T> statement) {
+        int[] depth = nesting.get();
+        if (depth[0] > 0) {
+            return statement.get();
+        }
+
+        RepositoryStatementEvent event = new RepositoryStatementEvent();
+        if (listeners.isEmpty() && !event.isEnabled()) {
+            return statement.get();
+        }
+
+        depth[0]++;
+        event.begin();
+        long start = System.nanoTime();
+        T result = null;
+        RuntimeException failure = null;
+        try {
+            result = statement.get();
+            return result;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            depth[0]--;
+            long duration = System.nanoTime() - start;
+            event.end();
+            StatementExecution execution = execution(sql, parameters, duration, rowCount(result), failure);
+            notifyListeners(execution);
+            if (event.shouldCommit()) {
+                event.setRepository(execution.repository());
+                event.setMethod(execution.method());
+                event.setSql(sql);
+                event.setRowCount(execution.rowCount());
+                event.setFailure(failure != null ? failure.getClass().getSimpleName() : null);
+                event.commit();
+            }
+        }
+    }
+
+    private StatementExecution execution(String sql, List<Object> parameters, long durationNanos, long rowCount,
+                                         RuntimeException failure) {
+        StackWalker.StackFrame caller = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(REPOSITORY_PACKAGE))
+                .findFirst()
+                .orElse(null));
+
+        return new StatementExecution(
+                caller != null ? repositoryName(caller.getClassName()) : "unknown",
+                caller != null ? methodName(caller.getMethodName()) : "unknown",
+                sql, parameters, durationNanos, rowCount, failure);
+    }
+
+    private void notifyListeners(StatementExecution execution) {
+        for (StatementListener listener : listeners) {
+            try {
+                listener.afterStatement(execution);
+            } catch (RuntimeException e) {
+                log.warn("Statement listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private static String sqlOf(PreparedStatementCreator psc) {
+        return psc instanceof SqlProvider provider ? provider.getSql() : null;
+    }
+
+    private static List<Object> parametersOf(PreparedStatementSetter pss) {
+        return pss instanceof CapturingArgumentSetter setter ? setter.parameters : List.of();
+    }
+
+    private static long rowCount(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof Integer updated) {
+            return updated;
+        }
+        return -1;
+    }
+
+    private static String repositoryName(String className) {
+        String simpleName = className.substring(REPOSITORY_PACKAGE.length());
+        int nested = simpleName.indexOf('$');
+        return nested < 0 ? simpleName : simpleName.substring(0, nested);
+    }
+
+    private static String methodName(String methodName) {
+        // Statements issued from a lambda report "lambda$findAll$0"
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', 7);
+            return end < 0 ? methodName.substring(7) : methodName.substring(7, end);
+        }
+        return methodName;
+    }
+
+    /**
+     * ArgumentPreparedStatementSetter that keeps its arguments readable
+     */
+    private static final class CapturingArgumentSetter extends ArgumentPreparedStatementSetter {
+        private final List<Object> parameters;
+
+        CapturingArgumentSetter(Object[] args) {
+            super(args);
+            this.parameters = args == null ? List.of() : Arrays.asList(args);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.travelbuddybackend.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Query Cancellation
+ *
+ * Lets a caller abort the SQL statements issued by a unit of work that runs
+ * on another thread, e.g. one mode of a streamed search whose client went
+ * away. Work run through call() has its statements registered by
+ * InstrumentedJdbcTemplate; cancel() then calls Statement.cancel() on the
+ * one currently executing (MySQL runs KILL QUERY) and makes any later
+ * statement of that work fail before it is sent.
+ *
+ * The repositories catch the resulting exception and return an empty
+ * result, so cancelled work finishes quickly with nothing.
+ */
+public final class QueryCancellation {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCancellation.class);
+
+    private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+    // Latest statement per thread; earlier ones are closed by the time a thread issues the next
+    private final Map<Thread, Statement> statements = new ConcurrentHashMap<>();
+    private volatile boolean cancelled;
+
+    /**
+     * Run work with this cancellation bound to the calling thread
+     * @param work The work whose statements can be cancelled
+     * @return The work's result
+     */
+    public <T> T call(Supplier<T> work) {
+        QueryCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            statements.remove(Thread.currentThread());
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Cancel the executing statement and refuse new ones. Safe to call more than once.
+     */
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        for (Statement statement : statements.values()) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // Usually the statement finished and was closed in the meantime
+                log.debug("Statement cancel failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // ============================================================================
+    // CALLED BY InstrumentedJdbcTemplate
+    // ============================================================================
+
+    /**
+     * Register a statement about to execute on the calling thread
+     * @throws SQLException if the bound cancellation was already cancelled
+     */
+    static void register(Statement statement) throws SQLException {
+        QueryCancellation cancellation = CURRENT.get();
+        if (cancellation == null) {
+            return;
+        }
+        if (cancellation.cancelled) {
+            throw new SQLException("Query cancelled");
+        }
+        cancellation.statements.put(Thread.currentThread(), statement);
+        // cancel() may have run between the check and the put
+        if (cancellation.cancelled) {
+            statement.cancel();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.travelbuddybackend.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query Metrics Listener
+ *
+ * Records every repository statement as Micrometer meters:
+ * - db.query (timer): latency and count, tagged repository, method, outcome, exception
+ * - db.query.rows (summary): rows returned or affected, tagged repository and method
+ *
+ * outcome=error counts the failures that repositories swallow and turn
+ * into empty lists or "false".
+ */
+@Component
+public class QueryMetricsListener implements StatementListener {
+
+    private final MeterProvider<Timer> queryTimer;
+    private final MeterProvider<DistributionSummary> rowSummary;
+
+    public QueryMetricsListener(MeterRegistry meterRegistry) {
+        this.queryTimer = Timer.builder("db.query")
+                .description("Repository SQL statements")
+                .withRegistry(meterRegistry);
+        this.rowSummary = DistributionSummary.builder("db.query.rows")
+                .description("Rows returned or affected by repository SQL statements")
+                .baseUnit("rows")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public void afterStatement(StatementExecution execution) {
+        Tags callSite = Tags.of("repository", execution.repository(), "method", execution.method());
+
+        queryTimer.withTags(callSite.and(
+                        "outcome", execution.isSuccess() ? "success" : "error",
+                        "exception", execution.isSuccess() ? "none" : execution.failure().getClass().getSimpleName()))
+                .record(execution.durationNanos(), TimeUnit.NANOSECONDS);
+
+        if (execution.rowCount() >= 0) {
+            rowSummary.withTags(callSite).record(execution.rowCount());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.travelbuddybackend.monitoring;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request Query Tracker
+ *
+ * Counts the statements and database time of the current HTTP request.
+ * QueryBudgetFilter opens a scope per request; statements outside a scope
+ * (start-up, scheduled work) are ignored. Scopes are per thread; work a
+ * request hands to another thread is only counted if the task is wrapped
+ * with propagate().
+ */
+@Component
+public class RequestQueryTracker implements StatementListener {
+
+    private final ThreadLocal<RequestQueryStats> current = new ThreadLocal<>();
+
+    /**
+     * Start counting for the calling thread
+     */
+    public void begin() {
+        current.set(new RequestQueryStats());
+    }
+
+    /**
+     * Stop counting for the calling thread
+     * @return What the scope recorded, or null if none was open
+     */
+    public RequestQueryStats end() {
+        RequestQueryStats stats = current.get();
+        current.remove();
+        return stats;
+    }
+
+    /**
+     * @return The open scope of the calling thread, or null
+     */
+    public RequestQueryStats current() {
+        return current.get();
+    }
+
+    /**
+     * Carry the calling thread's scope over to a task run on another thread.
+     * Usable as a TaskDecorator.
+     * @param task The task to wrap
+     * @return The wrapped task, or the task itself if no scope is open
+     */
+    public Runnable propagate(Runnable task) {
+        RequestQueryStats stats = current.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            RequestQueryStats previous = current.get();
+            current.set(stats);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    current.set(previous);
+                } else {
+                    current.remove();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void afterStatement(StatementExecution execution) {
+        RequestQueryStats stats = current.get();
+        if (stats != null) {
+            stats.record(execution);
+        }
+    }
+
+    // ============================================================================
+    // DATA CLASSES
+    // ============================================================================
+
+    /**
+     * Statement totals of one request. Synchronized because propagated
+     * tasks record into the same stats from other threads.
+     */
+    public static final class RequestQueryStats {
+        private int queryCount;
+        private long totalNanos;
+        private final Map<String, RepeatedStatement> bySql = new LinkedHashMap<>();
+
+        synchronized void record(StatementExecution execution) {
+            queryCount++;
+            totalNanos += execution.durationNanos();
+            if (execution.sql() != null) {
+                bySql.computeIfAbsent(execution.sql(),
+                        sql -> new RepeatedStatement(execution.repository(), execution.method(), sql)).count++;
+            }
+        }
+
+        public synchronized int getQueryCount() { return queryCount; }
+        public synchronized long getTotalNanos() { return totalNanos; }
+        public synchronized double getTotalMillis() { return totalNanos / 1_000_000.0; }
+
+        /**
+         * Statements issued at least the given number of times - the N+1 pattern
+         * @param threshold Minimum executions of the same SQL text
+         */
+        public synchronized List<RepeatedStatement> repeatedStatements(int threshold) {
+            List<RepeatedStatement> repeated = new ArrayList<>();
+            for (RepeatedStatement statement : bySql.values()) {
+                if (statement.count >= threshold) {
+                    repeated.add(statement);
+                }
+            }
+            return repeated;
+        }
+    }
+
+    /**
+     * One SQL text and how often the request issued it
+     */
+    public static final class RepeatedStatement {
+        private final String repository;
+        private final String method;
+        private final String sql;
+        private int count;
+
+        RepeatedStatement(String repository, String method, String sql) {
+            this.repository = repository;
+            this.method = method;
+            this.sql = sql;
+        }
+
+        public String getRepository() { return repository; }
+        public String getMethod() { return method; }
+        public String getSql() { return sql; }
+        public int getCount() { return count; }
+    }
+}
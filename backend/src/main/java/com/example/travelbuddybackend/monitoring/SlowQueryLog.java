@@ -0,0 +1,275 @@
+package com.example.travelbuddybackend.monitoring;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Slow Query Log
+ *
+ * Logs every repository statement slower than slow-query.threshold, with
+ * bound parameters redacted to their type (and length for strings), and
+ * keeps per-statement totals for the top-N table on the admin endpoint.
+ *
+ * The first time a statement is slow its MySQL EXPLAIN plan is captured
+ * in the background with the same parameters, so full table scans
+ * (type=ALL) can be spotted without reproducing the query by hand.
+ */
+@Component
+public class SlowQueryLog implements StatementListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final JdbcTemplate explainTemplate;
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final boolean explainEnabled;
+    private final int maxTrackedStatements;
+
+    private final Map<String, SlowStatement> statements = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+    private final ExecutorService explainExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "slow-query-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public SlowQueryLog(DataSource dataSource,
+                        @Value("${slow-query.enabled:true}") boolean enabled,
+                        @Value("${slow-query.threshold:200ms}") Duration threshold,
+                        @Value("${slow-query.explain:true}") boolean explainEnabled,
+                        @Value("${slow-query.max-tracked-statements:500}") int maxTrackedStatements) {
+        // Plain template: EXPLAIN statements must not be reported back to the listeners
+        this.explainTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.thresholdNanos = threshold.toNanos();
+        this.explainEnabled = explainEnabled;
+        this.maxTrackedStatements = maxTrackedStatements;
+    }
+
+    @Override
+    public void afterStatement(StatementExecution execution) {
+        if (!enabled || execution.durationNanos() < thresholdNanos || execution.sql() == null) {
+            return;
+        }
+
+        String sql = normalize(execution.sql());
+        SlowStatement statement = statements.get(sql);
+        boolean first = false;
+        if (statement == null) {
+            if (statements.size() >= maxTrackedStatements) {
+                untracked.increment();
+                logSlowStatement(execution, sql);
+                return;
+            }
+            SlowStatement created = new SlowStatement(sql, execution.repository(), execution.method());
+            statement = statements.putIfAbsent(sql, created);
+            if (statement == null) {
+                statement = created;
+                first = true;
+            }
+        }
+
+        statement.record(execution);
+        logSlowStatement(execution, sql);
+
+        if (first && explainEnabled && isExplainable(sql)) {
+            SlowStatement target = statement;
+            List<Object> parameters = execution.parameters();
+            explainExecutor.execute(() -> explain(target, parameters));
+        }
+    }
+
+    /**
+     * Slowest statements by total time spent
+     * @param limit Maximum number of statements to return
+     * @return Report with the threshold and the top statements
+     */
+    public SlowQueryReport report(int limit) {
+        List<SlowStatementSummary> top = statements.values().stream()
+                .sorted(Comparator.comparingLong((SlowStatement s) -> s.totalNanos.sum()).reversed())
+                .limit(Math.max(0, limit))
+                .map(SlowStatement::summary)
+                .toList();
+        return new SlowQueryReport(nanosToMillis(thresholdNanos), statements.size(), untracked.sum(), top);
+    }
+
+    /**
+     * Forget all statistics and captured plans (e.g. after adding an index)
+     */
+    public void reset() {
+        statements.clear();
+        untracked.reset();
+        log.info("Slow query statistics reset");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    private void logSlowStatement(StatementExecution execution, String sql) {
+        log.warn("Slow query ({} ms, {} rows) in {}.{}: {} parameters={}{}",
+                String.format(Locale.ROOT, "%.1f", nanosToMillis(execution.durationNanos())),
+                execution.rowCount(), execution.repository(), execution.method(), sql,
+                redact(execution.parameters()),
+                execution.isSuccess() ? "" : " failed: " + execution.failure().getClass().getSimpleName());
+    }
+
+    private void explain(SlowStatement statement, List<Object> parameters) {
+        try {
+            List<Map<String, Object>> plan = explainTemplate.queryForList("EXPLAIN " + statement.sql, parameters.toArray());
+            statement.plan = plan;
+
+            List<String> fullScans = fullScanTables(plan);
+            if (fullScans.isEmpty()) {
+                log.info("EXPLAIN for slow query in {}.{}: {}", statement.repository, statement.method, plan);
+            } else {
+                log.warn("EXPLAIN for slow query in {}.{} shows full table scan on {}: {}",
+                        statement.repository, statement.method, fullScans, plan);
+            }
+        } catch (Exception e) {
+            log.warn("EXPLAIN failed for slow query in {}.{}: {}", statement.repository, statement.method, e.getMessage());
+        }
+    }
+
+    private static List<String> fullScanTables(List<Map<String, Object>> plan) {
+        if (plan == null) {
+            return List.of();
+        }
+        List<String> tables = new ArrayList<>();
+        for (Map<String, Object> row : plan) {
+            if ("ALL".equals(String.valueOf(row.get("type")))) {
+                tables.add(String.valueOf(row.get("table")));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Describe parameters without revealing them: type, plus length for strings
+     */
+    static List<String> redact(List<Object> parameters) {
+        List<String> redacted = new ArrayList<>(parameters.size());
+        for (Object parameter : parameters) {
+            if (parameter == null) {
+                redacted.add("null");
+            } else if (parameter instanceof CharSequence text) {
+                redacted.add("String(" + text.length() + ")");
+            } else {
+                redacted.add(parameter.getClass().getSimpleName());
+            }
+        }
+        return redacted;
+    }
+
+    private static boolean isExplainable(String sql) {
+        String verb = sql.length() < 6 ? sql : sql.substring(0, 6);
+        return verb.equalsIgnoreCase("SELECT") || verb.equalsIgnoreCase("UPDATE") || verb.equalsIgnoreCase("DELETE");
+    }
+
+    private static String normalize(String sql) {
+        return sql.strip().replaceAll("\\s+", " ");
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // ============================================================================
+    // DATA CLASSES
+    // ============================================================================
+
+    /**
+     * Running totals for one distinct SQL text
+     */
+    private static final class SlowStatement {
+        private final String sql;
+        private final String repository;
+        private final String method;
+        private final Instant firstSeen = Instant.now();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile long lastRowCount;
+        private volatile Instant lastSeen;
+        private volatile List<String> sampleParameters = List.of();
+        private volatile List<Map<String, Object>> plan;
+
+        SlowStatement(String sql, String repository, String method) {
+            this.sql = sql;
+            this.repository = repository;
+            this.method = method;
+        }
+
+        void record(StatementExecution execution) {
+            count.increment();
+            totalNanos.add(execution.durationNanos());
+            maxNanos.accumulateAndGet(execution.durationNanos(), Math::max);
+            lastRowCount = execution.rowCount();
+            lastSeen = Instant.now();
+            sampleParameters = redact(execution.parameters());
+        }
+
+        SlowStatementSummary summary() {
+            long slowCount = count.sum();
+            long total = totalNanos.sum();
+            return new SlowStatementSummary(sql, repository, method, slowCount,
+                    nanosToMillis(total), slowCount == 0 ? 0 : nanosToMillis(total / slowCount),
+                    nanosToMillis(maxNanos.get()), lastRowCount, firstSeen, lastSeen,
+                    sampleParameters, plan, fullScanTables(plan));
+        }
+    }
+
+    /**
+     * Slow statements ordered by total time, as returned by the admin endpoint
+     */
+    public record SlowQueryReport(double thresholdMs,
+                                  int trackedStatements,
+                                  long untrackedOccurrences,
+                                  List<SlowStatementSummary> statements) {}
+
+    /**
+     * @param count           Executions over the threshold (faster executions are not counted)
+     * @param parameters      Redacted parameters of the last slow execution
+     * @param plan            EXPLAIN rows captured on the first slow execution, null if not (yet) available
+     * @param fullScanTables  Tables the plan reads with a full scan (type=ALL)
+     */
+    public record SlowStatementSummary(String sql,
+                                       String repository,
+                                       String method,
+                                       long count,
+                                       double totalMs,
+                                       double meanMs,
+                                       double maxMs,
+                                       long lastRowCount,
+                                       Instant firstSeen,
+                                       Instant lastSeen,
+                                       List<String> parameters,
+                                       List<Map<String, Object>> plan,
+                                       List<String> fullScanTables) {}
+}
@@ -0,0 +1,28 @@
+package com.example.travelbuddybackend.monitoring;
+
+import java.util.List;
+
+/**
+ * One finished SQL statement as seen by InstrumentedJdbcTemplate
+ *
+ * @param repository  Simple name of the repository class that issued the statement ("unknown" outside repositories)
+ * @param method      Repository method that issued the statement
+ * @param sql         The SQL text (may be null if the statement creator doesn't expose it)
+ * @param parameters  Bound parameter values in order, empty if none were captured.
+ *                    Raw values - redact before logging or exposing them
+ * @param durationNanos Wall-clock time spent in JdbcTemplate, including row mapping
+ * @param rowCount    Rows returned by a query or affected by an update, -1 if unknown
+ * @param failure     The exception thrown by JdbcTemplate, null on success
+ */
+public record StatementExecution(String repository,
+                                 String method,
+                                 String sql,
+                                 List<Object> parameters,
+                                 long durationNanos,
+                                 long rowCount,
+                                 RuntimeException failure) {
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.travelbuddybackend.monitoring;
+
+/**
+ * Statement Listener
+ *
+ * Callback invoked by InstrumentedJdbcTemplate after every SQL statement,
+ * whether it succeeded or threw. Listeners run on the request thread, so they
+ * must be cheap and must not throw.
+ */
+public interface StatementListener {
+
+    /**
+     * Called once a statement has finished
+     * @param execution Call site, SQL, timing and outcome of the statement
+     */
+    void afterStatement(StatementExecution execution);
+}
@@ -0,0 +1,35 @@
+package com.example.travelbuddybackend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Booking Event
+ *
+ * One booking creation in BookingService, including JSON serialization of
+ * the transport details and the INSERT
+ */
+@Name("travelbuddy.Booking")
+@Label("Booking Creation")
+@Category({"Travel Buddy", "Booking"})
+@Description("Creation of a flight, train or bus booking")
+@StackTrace(false)
+public class BookingEvent extends Event {
+
+    @Label("Transport Type")
+    private String transportType;
+
+    @Label("Booking ID")
+    private String bookingId;
+
+    @Label("Success")
+    private boolean success;
+
+    public void setTransportType(String transportType) { this.transportType = transportType; }
+    public void setBookingId(String bookingId) { this.bookingId = bookingId; }
+    public void setSuccess(boolean success) { this.success = success; }
+}
@@ -0,0 +1,201 @@
+package com.example.travelbuddybackend.monitoring.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JFR Recording Service
+ *
+ * Starts and stops one on-demand Flight Recorder recording at a time, so a
+ * production instance can be profiled without a restart or shell access.
+ *
+ * The recording uses one of the JDK's built-in settings ("default" is
+ * continuous-recording safe at around 1% overhead, "profile" samples more
+ * often and records more allocation detail) with the application's custom
+ * events added on top. Recordings are bounded by jfr.max-duration and
+ * jfr.max-size so a forgotten recording stops on its own.
+ */
+@Component
+public class JfrRecordingService {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingService.class);
+
+    public static final List<String> SETTINGS = List.of("default", "profile");
+
+    private static final List<Class<? extends Event>> CUSTOM_EVENTS = List.of(
+            SearchEvent.class, BookingEvent.class, JwtVerificationEvent.class, RepositoryStatementEvent.class);
+
+    private final boolean enabled;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Duration statementThreshold;
+
+    // A lock rather than synchronized: stop() writes the dump while holding it,
+    // which would pin the carrier thread in the virtual-threads profile
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    private String activeSettings;
+
+    @Autowired
+    public JfrRecordingService(@Value("${jfr.enabled:true}") boolean enabled,
+                               @Value("${jfr.max-duration:15m}") Duration maxDuration,
+                               @Value("${jfr.max-size:250MB}") DataSize maxSize,
+                               @Value("${jfr.statement-threshold:0ms}") Duration statementThreshold) {
+        this.enabled = enabled;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.statementThreshold = statementThreshold;
+    }
+
+    // ============================================================================
+    // RECORDING CONTROL
+    // ============================================================================
+
+    /**
+     * Start a recording
+     * @param settings "default" or "profile"
+     * @return Status of the new recording
+     * @throws IllegalArgumentException if the settings name is unknown
+     * @throws IllegalStateException if recording is disabled or one is already running
+     */
+    public JfrRecordingStatus start(String settings) {
+        lock.lock();
+        try {
+            if (!enabled) {
+                throw new IllegalStateException("JFR recording is disabled (jfr.enabled=false)");
+            }
+            if (!SETTINGS.contains(settings)) {
+                throw new IllegalArgumentException("Unknown settings '" + settings + "', expected one of " + SETTINGS);
+            }
+            if (recording != null) {
+                throw new IllegalStateException("A recording is already active: " + recording.getName());
+            }
+
+            Configuration configuration;
+            try {
+                configuration = Configuration.getConfiguration(settings);
+            } catch (IOException | ParseException e) {
+                throw new IllegalStateException("Could not load JFR settings '" + settings + "'", e);
+            }
+
+            Recording newRecording = new Recording(configuration);
+            newRecording.setName("travelbuddy-" + settings + "-" + Instant.now().getEpochSecond());
+            newRecording.setToDisk(true);
+            newRecording.setDuration(maxDuration);
+            newRecording.setMaxSize(maxSize.toBytes());
+            for (Class<? extends Event> event : CUSTOM_EVENTS) {
+                newRecording.enable(event).withoutStackTrace();
+            }
+            newRecording.enable(RepositoryStatementEvent.class).withThreshold(statementThreshold);
+            newRecording.start();
+
+            recording = newRecording;
+            activeSettings = settings;
+            log.info("Started JFR recording {} ({} settings, max {} / {})",
+                    recording.getName(), settings, maxDuration, maxSize);
+            return status(recording, settings);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop the active recording and write it to a temporary .jfr file.
+     * The caller owns the file and should delete it once it has been sent.
+     * @return Path of the dump, or empty if no recording was active or the dump failed
+     */
+    public Optional<Path> stop() {
+        lock.lock();
+        try {
+            if (recording == null) {
+                return Optional.empty();
+            }
+
+            Recording stopping = recording;
+            recording = null;
+            activeSettings = null;
+            try {
+                if (stopping.getState() == RecordingState.RUNNING) {
+                    stopping.stop();
+                }
+                Path file = Files.createTempFile(stopping.getName() + "-", ".jfr");
+                stopping.dump(file);
+                log.info("Stopped JFR recording {} ({} bytes)", stopping.getName(), Files.size(file));
+                return Optional.of(file);
+            } catch (IOException | IllegalStateException e) {
+                log.error("Failed to dump JFR recording {}: {}", stopping.getName(), e.getMessage());
+                return Optional.empty();
+            } finally {
+                stopping.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Status of the active recording
+     * @return The status, or empty if no recording is active
+     */
+    public Optional<JfrRecordingStatus> status() {
+        lock.lock();
+        try {
+            return recording == null ? Optional.empty() : Optional.of(status(recording, activeSettings));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+                recording = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    private static JfrRecordingStatus status(Recording recording, String settings) {
+        return new JfrRecordingStatus(recording.getName(), settings, recording.getState().name(),
+                recording.getStartTime(), recording.getDuration(), recording.getSize());
+    }
+
+    /**
+     * State of a recording as shown on the admin endpoint. A recording that
+     * reached jfr.max-duration shows STOPPED and can still be downloaded.
+     */
+    public record JfrRecordingStatus(String name,
+                                     String settings,
+                                     String state,
+                                     Instant startTime,
+                                     Duration maxDuration,
+                                     long sizeBytes) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.travelbuddybackend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JWT Verification Event
+ *
+ * One parse and HMAC verification of a token in JwtService
+ */
+@Name("travelbuddy.JwtVerification")
+@Label("JWT Verification")
+@Category({"Travel Buddy", "Security"})
+@Description("JWT parse and signature verification")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("valid, invalid_signature or malformed")
+    private String outcome;
+
+    public void setOutcome(String outcome) { this.outcome = outcome; }
+}
@@ -0,0 +1,45 @@
+package com.example.travelbuddybackend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Repository Statement Event
+ *
+ * One SQL statement issued through the instrumented JdbcTemplate, covering
+ * connection acquisition, execution and row mapping
+ */
+@Name("travelbuddy.RepositoryStatement")
+@Label("Repository Statement")
+@Category({"Travel Buddy", "Database"})
+@Description("SQL statement issued by a repository")
+@StackTrace(false)
+public class RepositoryStatementEvent extends Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("SQL")
+    private String sql;
+
+    @Label("Row Count")
+    @Description("Rows returned or affected, -1 if unknown")
+    private long rowCount;
+
+    @Label("Failure")
+    @Description("Exception class name, null on success")
+    private String failure;
+
+    public void setRepository(String repository) { this.repository = repository; }
+    public void setMethod(String method) { this.method = method; }
+    public void setSql(String sql) { this.sql = sql; }
+    public void setRowCount(long rowCount) { this.rowCount = rowCount; }
+    public void setFailure(String failure) { this.failure = failure; }
+}
@@ -0,0 +1,59 @@
+package com.example.travelbuddybackend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Search Event
+ *
+ * One call to BookingSearchService.searchAvailableTickets. Rows scanned is
+ * what the repositories returned before in-memory filtering, so a large
+ * scanned/returned ratio points at filtering that belongs in SQL. A search
+ * that shared an identical running fetch (SearchCoalescer) reports the rows
+ * that fetch scanned.
+ */
+@Name("travelbuddy.Search")
+@Label("Ticket Search")
+@Category({"Travel Buddy", "Search"})
+@Description("Available-ticket search with criteria shape, rows scanned and returned, and time per transport mode")
+@StackTrace(false)
+public class SearchEvent extends Event {
+
+    @Label("Criteria Shape")
+    @Description("Criteria fields that were set, e.g. departureStation=id,arrivalStation=id,price")
+    private String criteriaShape;
+
+    @Label("Transport Type")
+    private String transportType;
+
+    @Label("Rows Scanned")
+    private int rowsScanned;
+
+    @Label("Rows Returned")
+    private int rowsReturned;
+
+    @Label("Flight Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long flightTime;
+
+    @Label("Train Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long trainTime;
+
+    @Label("Bus Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long busTime;
+
+    public void setCriteriaShape(String criteriaShape) { this.criteriaShape = criteriaShape; }
+    public void setTransportType(String transportType) { this.transportType = transportType; }
+    public void addRowsScanned(int rows) { this.rowsScanned += rows; }
+    public void setRowsReturned(int rowsReturned) { this.rowsReturned = rowsReturned; }
+    public void setFlightTime(long nanos) { this.flightTime = nanos; }
+    public void setTrainTime(long nanos) { this.trainTime = nanos; }
+    public void setBusTime(long nanos) { this.busTime = nanos; }
+}
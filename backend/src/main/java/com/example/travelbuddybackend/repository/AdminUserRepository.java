@@ -1,6 +1,8 @@
 package com.example.travelbuddybackend.repository;
 
 import com.example.travelbuddybackend.models.AdminUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -15,6 +17,8 @@ import java.util.Optional;
 @Repository
 public class AdminUserRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminUserRepository.class);
+
     private final JdbcTemplate jdbcTemplate;
 
     public AdminUserRepository(JdbcTemplate jdbcTemplate) {
@@ -70,11 +74,11 @@ public class AdminUserRepository {
                 """;
 
             List<AdminUser> admins = jdbcTemplate.query(sql, new AdminRowMapper());
-            System.out.println("✓ Repository: Successfully retrieved " + admins.size() + " admin users");
+            log.debug("✓ Repository: Successfully retrieved {} admin users", admins.size());
             return admins;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error retrieving admin users: " + e.getMessage());
+            log.error("✗ Repository: Error retrieving admin users: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
@@ -86,7 +90,7 @@ public class AdminUserRepository {
      */
     public Optional<AdminUser> findById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid admin ID: " + id);
+            log.warn("✗ Repository: Invalid admin ID: {}", id);
             return Optional.empty();
         }
 
@@ -101,15 +105,15 @@ public class AdminUserRepository {
             List<AdminUser> admins = jdbcTemplate.query(sql, new AdminRowMapper(), id);
 
             if (admins.isEmpty()) {
-                System.out.println("✗ Repository: Admin with ID " + id + " not found");
+                log.debug("✗ Repository: Admin with ID {} not found", id);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found admin: " + admins.get(0).getAdminUsername());
+            log.debug("✓ Repository: Found admin: {}", admins.get(0).getAdminUsername());
             return Optional.of(admins.get(0));
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding admin by ID " + id + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding admin by ID {}: {}", id, e.getMessage());
             return Optional.empty();
         }
     }
@@ -121,7 +125,7 @@ public class AdminUserRepository {
      */
     public boolean createAdmin(AdminUser admin) {
         if (admin == null) {
-            System.out.println("✗ Repository: Cannot create null admin");
+            log.warn("✗ Repository: Cannot create null admin");
             return false;
         }
 
@@ -145,15 +149,15 @@ public class AdminUserRepository {
             );
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: New admin created: " + admin.getAdminUsername());
+                log.debug("✓ Repository: New admin created: {}", admin.getAdminUsername());
                 return true;
             } else {
-                System.out.println("✗ Repository: No rows affected when creating admin");
+                log.warn("✗ Repository: No rows affected when creating admin");
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error creating admin: " + e.getMessage());
+            log.error("✗ Repository: Error creating admin: {}", e.getMessage());
             return false;
         }
     }
@@ -165,12 +169,12 @@ public class AdminUserRepository {
      */
     public boolean updateAdmin(AdminUser admin) {
         if (admin == null) {
-            System.out.println("✗ Repository: Cannot update null admin");
+            log.warn("✗ Repository: Cannot update null admin");
             return false;
         }
 
         if (admin.getId() == null || admin.getId() <= 0) {
-            System.out.println("✗ Repository: Admin must have valid ID for update");
+            log.warn("✗ Repository: Admin must have valid ID for update");
             return false;
         }
 
@@ -189,15 +193,15 @@ public class AdminUserRepository {
             );
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Admin " + admin.getId() + " updated successfully");
+                log.debug("✓ Repository: Admin {} updated successfully", admin.getId());
                 return true;
             } else {
-                System.out.println("✗ Repository: Admin with ID " + admin.getId() + " not found for update");
+                log.debug("✗ Repository: Admin with ID {} not found for update", admin.getId());
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating admin: " + e.getMessage());
+            log.error("✗ Repository: Error updating admin: {}", e.getMessage());
             return false;
         }
     }
@@ -209,7 +213,7 @@ public class AdminUserRepository {
      */
     public boolean deleteAdmin(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid admin ID for deletion: " + id);
+            log.warn("✗ Repository: Invalid admin ID for deletion: {}", id);
             return false;
         }
 
@@ -218,15 +222,15 @@ public class AdminUserRepository {
             int rowsAffected = jdbcTemplate.update(sql, id);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Admin " + id + " deleted successfully");
+                log.debug("✓ Repository: Admin {} deleted successfully", id);
                 return true;
             } else {
-                System.out.println("✗ Repository: Admin with ID " + id + " not found for deletion");
+                log.debug("✗ Repository: Admin with ID {} not found for deletion", id);
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error deleting admin: " + e.getMessage());
+            log.error("✗ Repository: Error deleting admin: {}", e.getMessage());
             return false;
         }
     }
@@ -243,7 +247,7 @@ public class AdminUserRepository {
      */
     public Optional<AdminUser> findByAdminUsername(String adminUsername) {
         if (adminUsername == null || adminUsername.trim().isEmpty()) {
-            System.out.println("✗ Repository: Cannot search with empty admin username");
+            log.warn("✗ Repository: Cannot search with empty admin username");
             return Optional.empty();
         }
 
@@ -258,15 +262,15 @@ public class AdminUserRepository {
             List<AdminUser> admins = jdbcTemplate.query(sql, new AdminRowMapper(), adminUsername);
 
             if (admins.isEmpty()) {
-                System.out.println("✗ Repository: No admin found with username: " + adminUsername);
+                log.warn("✗ Repository: No admin found with username: {}", adminUsername);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found admin by username: " + adminUsername);
+            log.debug("✓ Repository: Found admin by username: {}", adminUsername);
             return Optional.of(admins.get(0));
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding admin by username: " + e.getMessage());
+            log.error("✗ Repository: Error finding admin by username: {}", e.getMessage());
             return Optional.empty();
         }
     }
@@ -287,12 +291,12 @@ public class AdminUserRepository {
 
             boolean exists = count != null && count > 0;
             if (exists) {
-                System.out.println("✓ Repository: Admin username '" + adminUsername + "' already exists");
+                log.debug("✓ Repository: Admin username '{}' already exists", adminUsername);
             }
             return exists;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error checking admin username existence: " + e.getMessage());
+            log.error("✗ Repository: Error checking admin username existence: {}", e.getMessage());
             return false; // Assume it doesn't exist if we can't check
         }
     }
@@ -312,14 +316,14 @@ public class AdminUserRepository {
             int rowsAffected = jdbcTemplate.update(sql, LocalDateTime.now(), adminId);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Updated last login for admin ID: " + adminId);
+                log.debug("✓ Repository: Updated last login for admin ID: {}", adminId);
                 return true;
             }
 
             return false;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating admin last login: " + e.getMessage());
+            log.error("✗ Repository: Error updating admin last login: {}", e.getMessage());
             return false;
         }
     }
@@ -332,7 +336,7 @@ public class AdminUserRepository {
      */
     public boolean updatePassword(Integer adminId, String newEncryptedPassword) {
         if (adminId == null || adminId <= 0 || newEncryptedPassword == null || newEncryptedPassword.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid parameters for admin password update");
+            log.warn("✗ Repository: Invalid parameters for admin password update");
             return false;
         }
 
@@ -341,15 +345,15 @@ public class AdminUserRepository {
             int rowsAffected = jdbcTemplate.update(sql, newEncryptedPassword, adminId);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Password updated for admin ID: " + adminId);
+                log.debug("✓ Repository: Password updated for admin ID: {}", adminId);
                 return true;
             } else {
-                System.out.println("✗ Repository: Admin ID " + adminId + " not found for password update");
+                log.debug("✗ Repository: Admin ID {} not found for password update", adminId);
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating admin password: " + e.getMessage());
+            log.error("✗ Repository: Error updating admin password: {}", e.getMessage());
             return false;
         }
     }
@@ -362,7 +366,7 @@ public class AdminUserRepository {
      */
     public boolean updateAccountStatus(Integer adminId, boolean enabled) {
         if (adminId == null || adminId <= 0) {
-            System.out.println("✗ Repository: Invalid admin ID for status update: " + adminId);
+            log.warn("✗ Repository: Invalid admin ID for status update: {}", adminId);
             return false;
         }
 
@@ -372,15 +376,15 @@ public class AdminUserRepository {
 
             if (rowsAffected > 0) {
                 String status = enabled ? "enabled" : "disabled";
-                System.out.println("✓ Repository: Admin ID " + adminId + " " + status + " successfully");
+                log.debug("✓ Repository: Admin ID {} {} successfully", adminId, status);
                 return true;
             } else {
-                System.out.println("✗ Repository: Admin ID " + adminId + " not found for status update");
+                log.debug("✗ Repository: Admin ID {} not found for status update", adminId);
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating admin account status: " + e.getMessage());
+            log.error("✗ Repository: Error updating admin account status: {}", e.getMessage());
             return false;
         }
     }
@@ -393,7 +397,7 @@ public class AdminUserRepository {
      */
     public boolean updateAccountLockStatus(Integer adminId, boolean locked) {
         if (adminId == null || adminId <= 0) {
-            System.out.println("✗ Repository: Invalid admin ID for lock status update: " + adminId);
+            log.warn("✗ Repository: Invalid admin ID for lock status update: {}", adminId);
             return false;
         }
 
@@ -403,15 +407,15 @@ public class AdminUserRepository {
 
             if (rowsAffected > 0) {
                 String status = locked ? "locked" : "unlocked";
-                System.out.println("✓ Repository: Admin ID " + adminId + " " + status + " successfully");
+                log.debug("✓ Repository: Admin ID {} {} successfully", adminId, status);
                 return true;
             } else {
-                System.out.println("✗ Repository: Admin ID " + adminId + " not found for lock status update");
+                log.debug("✗ Repository: Admin ID {} not found for lock status update", adminId);
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating admin lock status: " + e.getMessage());
+            log.error("✗ Repository: Error updating admin lock status: {}", e.getMessage());
             return false;
         }
     }
@@ -428,13 +432,13 @@ public class AdminUserRepository {
     private boolean isValidForCreation(AdminUser admin) {
         // Check username
         if (admin.getAdminUsername() == null || admin.getAdminUsername().trim().isEmpty()) {
-            System.out.println("✗ Repository: Admin username is required for admin creation");
+            log.warn("✗ Repository: Admin username is required for admin creation");
             return false;
         }
 
         // Check password
         if (admin.getAdminPassword() == null || admin.getAdminPassword().trim().isEmpty()) {
-            System.out.println("✗ Repository: Admin password is required for admin creation");
+            log.warn("✗ Repository: Admin password is required for admin creation");
             return false;
         }
 
@@ -1,6 +1,8 @@
 package com.example.travelbuddybackend.repository;
 
 import com.example.travelbuddybackend.models.Airport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -14,6 +16,8 @@ import java.util.Optional;
 @Repository
 public class AirportRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(AirportRepository.class);
+
     private final JdbcTemplate jdbcTemplate;
 
     public AirportRepository(JdbcTemplate jdbcTemplate) {
@@ -35,21 +39,29 @@ public class AirportRepository {
     }
 
     public List<Airport> findAll() {
+        return readAll().orElseGet(ArrayList::new);
+    }
+
+    /**
+     * All airports, telling a failed read from an empty table (findAll returns an empty list for both)
+     * @return The airports, or empty if the read failed
+     */
+    public Optional<List<Airport>> readAll() {
         try {
             List<Airport> airports = jdbcTemplate.query(
                     "SELECT id, airportFullName, airportCode, airportCityLocation, airportCountryLocation, airportTimezone FROM airports",
                     new AirportRowMapper());
-            System.out.println("✓ Repository: Successfully retrieved " + airports.size() + " airports");
-            return airports;
+            log.debug("✓ Repository: Successfully retrieved {} airports", airports.size());
+            return Optional.of(airports);
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error retrieving airports: " + e.getMessage());
-            return new ArrayList<>();
+            log.error("✗ Repository: Error retrieving airports: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
     public Optional<Airport> findById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid airport ID: " + id);
+            log.warn("✗ Repository: Invalid airport ID: {}", id);
             return Optional.empty();
         }
 
@@ -59,21 +71,21 @@ public class AirportRepository {
                     new AirportRowMapper(), id);
 
             if (airports.isEmpty()) {
-                System.out.println("✗ Repository: Airport with ID " + id + " not found");
+                log.debug("✗ Repository: Airport with ID {} not found", id);
                 return Optional.empty();
             } else {
-                System.out.println("✓ Repository: Found airport: " + airports.get(0).getAirportFullName() + " with ID " + id);
+                log.debug("✓ Repository: Found airport: {} with ID {}", airports.get(0).getAirportFullName(), id);
                 return Optional.of(airports.get(0));
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding airport with ID " + id + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding airport with ID {}: {}", id, e.getMessage());
             return Optional.empty();
         }
     }
 
     public Optional<Airport> findByAirportCode(String airportCode) {
         if (airportCode == null || airportCode.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid airport code: " + airportCode);
+            log.warn("✗ Repository: Invalid airport code: {}", airportCode);
             return Optional.empty();
         }
 
@@ -83,14 +95,14 @@ public class AirportRepository {
                     new AirportRowMapper(), airportCode.toUpperCase().trim());
 
             if (airports.isEmpty()) {
-                System.out.println("✗ Repository: Airport with code " + airportCode + " not found");
+                log.debug("✗ Repository: Airport with code {} not found", airportCode);
                 return Optional.empty();
             } else {
-                System.out.println("✓ Repository: Found airport: " + airports.get(0).getAirportFullName() + " with code " + airportCode);
+                log.debug("✓ Repository: Found airport: {} with code {}", airports.get(0).getAirportFullName(), airportCode);
                 return Optional.of(airports.get(0));
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding airport with code " + airportCode + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding airport with code {}: {}", airportCode, e.getMessage());
             return Optional.empty();
         }
     }
@@ -98,7 +110,7 @@ public class AirportRepository {
     // Added method for partial name search (used by service)
     public List<Airport> findByPartialName(String partialName) {
         if (partialName == null || partialName.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid partial name: " + partialName);
+            log.warn("✗ Repository: Invalid partial name: {}", partialName);
             return new ArrayList<>();
         }
 
@@ -109,10 +121,10 @@ public class AirportRepository {
                             "FROM airports WHERE LOWER(airportFullName) LIKE ?",
                     new AirportRowMapper(), searchTerm);
 
-            System.out.println("✓ Repository: Found " + airports.size() + " airports matching '" + partialName + "'");
+            log.debug("✓ Repository: Found {} airports matching '{}'", airports.size(), partialName);
             return airports;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error searching airports by name: " + e.getMessage());
+            log.error("✗ Repository: Error searching airports by name: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
@@ -120,7 +132,7 @@ public class AirportRepository {
     // Added method for city search (used by service)
     public List<Airport> findByCityLocation(String cityLocation) {
         if (cityLocation == null || cityLocation.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid city location: " + cityLocation);
+            log.warn("✗ Repository: Invalid city location: {}", cityLocation);
             return new ArrayList<>();
         }
 
@@ -131,10 +143,10 @@ public class AirportRepository {
                             "FROM airports WHERE LOWER(airportCityLocation) LIKE ?",
                     new AirportRowMapper(), searchTerm);
 
-            System.out.println("✓ Repository: Found " + airports.size() + " airports in city '" + cityLocation + "'");
+            log.debug("✓ Repository: Found {} airports in city '{}'", airports.size(), cityLocation);
             return airports;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error searching airports by city: " + e.getMessage());
+            log.error("✗ Repository: Error searching airports by city: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
@@ -142,7 +154,7 @@ public class AirportRepository {
     // Added method for country search (used by service)
     public List<Airport> findByCountryLocation(String countryLocation) {
         if (countryLocation == null || countryLocation.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid country location: " + countryLocation);
+            log.warn("✗ Repository: Invalid country location: {}", countryLocation);
             return new ArrayList<>();
         }
 
@@ -153,10 +165,10 @@ public class AirportRepository {
                             "FROM airports WHERE LOWER(airportCountryLocation) LIKE ?",
                     new AirportRowMapper(), searchTerm);
 
-            System.out.println("✓ Repository: Found " + airports.size() + " airports in country '" + countryLocation + "'");
+            log.debug("✓ Repository: Found {} airports in country '{}'", airports.size(), countryLocation);
             return airports;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error searching airports by country: " + e.getMessage());
+            log.error("✗ Repository: Error searching airports by country: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
@@ -177,14 +189,14 @@ public class AirportRepository {
                     airport.getAirportTimezone());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Airport created: " + airport.getAirportFullName() + " (" + airport.getAirportCode() + ")");
+                log.debug("✓ Repository: Airport created: {} ({})", airport.getAirportFullName(), airport.getAirportCode());
                 return true;
             } else {
-                System.out.println("✗ Repository: Failed to create airport");
+                log.warn("✗ Repository: Failed to create airport");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error creating airport: " + e.getMessage());
+            log.error("✗ Repository: Error creating airport: {}", e.getMessage());
             return false;
         }
     }
@@ -205,21 +217,21 @@ public class AirportRepository {
                     airport.getId());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Airport updated: " + airport.getAirportFullName() + " (" + airport.getAirportCode() + ")");
+                log.debug("✓ Repository: Airport updated: {} ({})", airport.getAirportFullName(), airport.getAirportCode());
                 return true;
             } else {
-                System.out.println("✗ Repository: Airport not found for update");
+                log.debug("✗ Repository: Airport not found for update");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating airport: " + e.getMessage());
+            log.error("✗ Repository: Error updating airport: {}", e.getMessage());
             return false;
         }
     }
 
     public boolean deleteAirport(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid airport ID for deletion: " + id);
+            log.warn("✗ Repository: Invalid airport ID for deletion: {}", id);
             return false;
         }
 
@@ -227,14 +239,14 @@ public class AirportRepository {
             int rowsAffected = jdbcTemplate.update("DELETE FROM airports WHERE id = ?", id);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Airport deleted successfully");
+                log.debug("✓ Repository: Airport deleted successfully");
                 return true;
             } else {
-                System.out.println("✗ Repository: Airport not found for deletion");
+                log.debug("✗ Repository: Airport not found for deletion");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error deleting airport: " + e.getMessage());
+            log.error("✗ Repository: Error deleting airport: {}", e.getMessage());
             return false;
         }
     }
@@ -242,32 +254,32 @@ public class AirportRepository {
     // Repository-level validation (data constraints only)
     private boolean isValidForRepository(Airport airport) {
         if (airport == null) {
-            System.out.println("✗ Repository: Airport cannot be null");
+            log.warn("✗ Repository: Airport cannot be null");
             return false;
         }
 
         if (airport.getAirportFullName() == null || airport.getAirportFullName().trim().isEmpty()) {
-            System.out.println("✗ Repository: Airport name is required");
+            log.warn("✗ Repository: Airport name is required");
             return false;
         }
 
         if (airport.getAirportCode() == null || airport.getAirportCode().trim().isEmpty()) {
-            System.out.println("✗ Repository: Airport code is required");
+            log.warn("✗ Repository: Airport code is required");
             return false;
         }
 
         if (airport.getAirportCityLocation() == null || airport.getAirportCityLocation().trim().isEmpty()) {
-            System.out.println("✗ Repository: Airport city location is required");
+            log.warn("✗ Repository: Airport city location is required");
             return false;
         }
 
         if (airport.getAirportCountryLocation() == null || airport.getAirportCountryLocation().trim().isEmpty()) {
-            System.out.println("✗ Repository: Airport country location is required");
+            log.warn("✗ Repository: Airport country location is required");
             return false;
         }
 
         if (airport.getAirportTimezone() == null || airport.getAirportTimezone().trim().isEmpty()) {
-            System.out.println("✗ Repository: Airport timezone is required");
+            log.warn("✗ Repository: Airport timezone is required");
             return false;
         }
 
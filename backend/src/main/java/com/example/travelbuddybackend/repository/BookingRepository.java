@@ -1,6 +1,8 @@
 package com.example.travelbuddybackend.repository;
 
 import com.example.travelbuddybackend.models.Booking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -15,6 +17,8 @@ import java.util.Optional;
 @Repository
 public class BookingRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingRepository.class);
+
     private final JdbcTemplate jdbcTemplate;
 
     public BookingRepository(JdbcTemplate jdbcTemplate) {
@@ -40,17 +44,17 @@ public class BookingRepository {
             List<Booking> bookings = jdbcTemplate.query(
                     "SELECT id, bookingId, transportDetailsJson, clientName, clientEmail, clientPhone FROM bookings",
                     new BookingRowMapper());
-            System.out.println("✓ Repository: Successfully retrieved " + bookings.size() + " bookings");
+            log.debug("✓ Repository: Successfully retrieved {} bookings", bookings.size());
             return bookings;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error retrieving bookings: " + e.getMessage());
+            log.error("✗ Repository: Error retrieving bookings: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
     public Optional<Booking> findById(int id) {
         if (id <= 0) {
-            System.out.println("✗ Repository: Error: Invalid booking ID: " + id);
+            log.warn("✗ Repository: Error: Invalid booking ID: {}", id);
             return Optional.empty();
         }
 
@@ -60,21 +64,21 @@ public class BookingRepository {
                     new BookingRowMapper(), id);
 
             if (bookings.isEmpty()) {
-                System.out.println("✗ Repository: Booking with ID " + id + " not found");
+                log.debug("✗ Repository: Booking with ID {} not found", id);
                 return Optional.empty();
             } else {
-                System.out.println("✓ Repository: Found booking with ID " + id);
+                log.debug("✓ Repository: Found booking with ID {}", id);
                 return Optional.of(bookings.get(0));
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding booking with ID: " + id + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding booking with ID: {}: {}", id, e.getMessage());
             return Optional.empty();
         }
     }
 
     public Optional<Booking> findByBookingId(String bookingId) {
         if (bookingId == null || bookingId.trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Invalid booking ID: " + bookingId);
+            log.warn("✗ Repository: Error: Invalid booking ID: {}", bookingId);
             return Optional.empty();
         }
 
@@ -84,21 +88,21 @@ public class BookingRepository {
                     new BookingRowMapper(), bookingId);
 
             if (bookings.isEmpty()) {
-                System.out.println("✗ Repository: Booking with booking ID " + bookingId + " not found");
+                log.debug("✗ Repository: Booking with booking ID {} not found", bookingId);
                 return Optional.empty();
             } else {
-                System.out.println("✓ Repository: Found booking: " + bookingId + " for client " + bookings.get(0).getClientName());
+                log.debug("✓ Repository: Found booking: {} for client {}", bookingId, bookings.get(0).getClientName());
                 return Optional.of(bookings.get(0));
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding booking with booking ID: " + bookingId + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding booking with booking ID: {}: {}", bookingId, e.getMessage());
             return Optional.empty();
         }
     }
 
     public List<Booking> findByClientEmail(String clientEmail) {
         if (clientEmail == null || clientEmail.trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Invalid client email: " + clientEmail);
+            log.warn("✗ Repository: Error: Invalid client email: {}", clientEmail);
             return new ArrayList<>();
         }
 
@@ -107,43 +111,43 @@ public class BookingRepository {
                     "SELECT id, bookingId, transportDetailsJson, clientName, clientEmail, clientPhone FROM bookings WHERE clientEmail = ?",
                     new BookingRowMapper(), clientEmail);
 
-            System.out.println("✓ Repository: Found " + bookings.size() + " bookings for email: " + clientEmail);
+            log.debug("✓ Repository: Found {} bookings for email: {}", bookings.size(), clientEmail);
             return bookings;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding bookings for email " + clientEmail + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding bookings for email {}: {}", clientEmail, e.getMessage());
             return new ArrayList<>();
         }
     }
 
     public boolean createBooking(Booking booking) {
         if (booking == null) {
-            System.out.println("✗ Repository: Error: Cannot create null booking");
+            log.warn("✗ Repository: Error: Cannot create null booking");
             return false;
         }
 
         // Comprehensive validation - all fields are required for a complete booking
         if (booking.getBookingId() == null || booking.getBookingId().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Booking ID is required");
+            log.warn("✗ Repository: Error: Booking ID is required");
             return false;
         }
 
         if (booking.getTransportDetailsJson() == null || booking.getTransportDetailsJson().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Transport details JSON is required");
+            log.warn("✗ Repository: Error: Transport details JSON is required");
             return false;
         }
 
         if (booking.getClientName() == null || booking.getClientName().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Client name is required");
+            log.warn("✗ Repository: Error: Client name is required");
             return false;
         }
 
         if (booking.getClientEmail() == null || booking.getClientEmail().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Client email is required");
+            log.warn("✗ Repository: Error: Client email is required");
             return false;
         }
 
         if (booking.getClientPhone() == null || booking.getClientPhone().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Client phone is required");
+            log.warn("✗ Repository: Error: Client phone is required");
             return false;
         }
 
@@ -154,52 +158,52 @@ public class BookingRepository {
                     booking.getClientEmail(), booking.getClientPhone());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: New booking created: " + booking.getBookingId() + " for " + booking.getClientName());
+                log.debug("✓ Repository: New booking created: {} for {}", booking.getBookingId(), booking.getClientName());
                 return true;
             } else {
-                System.out.println("✗ Repository: Failed to create booking");
+                log.warn("✗ Repository: Failed to create booking");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error creating booking: " + e.getMessage());
+            log.error("✗ Repository: Error creating booking: {}", e.getMessage());
             return false;
         }
     }
 
     public boolean updateBooking(Booking booking) {
         if (booking == null) {
-            System.out.println("✗ Repository: Error: Cannot update null booking");
+            log.warn("✗ Repository: Error: Cannot update null booking");
             return false;
         }
 
         if (booking.getId() <= 0) {
-            System.out.println("✗ Repository: Error: Invalid booking ID " + booking.getId());
+            log.warn("✗ Repository: Error: Invalid booking ID {}", booking.getId());
             return false;
         }
 
         // Same comprehensive validation for updates
         if (booking.getBookingId() == null || booking.getBookingId().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Booking ID is required");
+            log.warn("✗ Repository: Error: Booking ID is required");
             return false;
         }
 
         if (booking.getTransportDetailsJson() == null || booking.getTransportDetailsJson().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Transport details JSON is required");
+            log.warn("✗ Repository: Error: Transport details JSON is required");
             return false;
         }
 
         if (booking.getClientName() == null || booking.getClientName().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Client name is required");
+            log.warn("✗ Repository: Error: Client name is required");
             return false;
         }
 
         if (booking.getClientEmail() == null || booking.getClientEmail().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Client email is required");
+            log.warn("✗ Repository: Error: Client email is required");
             return false;
         }
 
         if (booking.getClientPhone() == null || booking.getClientPhone().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Client phone is required");
+            log.warn("✗ Repository: Error: Client phone is required");
             return false;
         }
 
@@ -210,21 +214,21 @@ public class BookingRepository {
                     booking.getClientEmail(), booking.getClientPhone(), booking.getId());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Booking updated successfully: " + booking.getBookingId());
+                log.debug("✓ Repository: Booking updated successfully: {}", booking.getBookingId());
                 return true;
             } else {
-                System.out.println("✗ Repository: Failed to update booking " + booking.getBookingId());
+                log.warn("✗ Repository: Failed to update booking {}", booking.getBookingId());
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating booking: " + e.getMessage());
+            log.error("✗ Repository: Error updating booking: {}", e.getMessage());
             return false;
         }
     }
 
     public boolean deleteBooking(int id) {
         if (id <= 0) {
-            System.out.println("✗ Repository: Error: Invalid booking ID: " + id);
+            log.warn("✗ Repository: Error: Invalid booking ID: {}", id);
             return false;
         }
 
@@ -232,14 +236,14 @@ public class BookingRepository {
             int rowsAffected = jdbcTemplate.update("DELETE FROM bookings WHERE id = ?", id);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Booking with ID " + id + " deleted successfully");
+                log.debug("✓ Repository: Booking with ID {} deleted successfully", id);
                 return true;
             } else {
-                System.out.println("✗ Repository: Booking with ID " + id + " not found");
+                log.debug("✗ Repository: Booking with ID {} not found", id);
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error deleting booking: " + e.getMessage());
+            log.error("✗ Repository: Error deleting booking: {}", e.getMessage());
             return false;
         }
     }
@@ -247,7 +251,7 @@ public class BookingRepository {
     // Additional method: Cancel booking by bookingId (soft delete approach)
     public boolean cancelBooking(String bookingId) {
         if (bookingId == null || bookingId.trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Invalid booking ID: " + bookingId);
+            log.warn("✗ Repository: Error: Invalid booking ID: {}", bookingId);
             return false;
         }
 
@@ -257,14 +261,14 @@ public class BookingRepository {
                     bookingId);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Booking " + bookingId + " cancelled successfully");
+                log.debug("✓ Repository: Booking {} cancelled successfully", bookingId);
                 return true;
             } else {
-                System.out.println("✗ Repository: Booking " + bookingId + " not found");
+                log.debug("✗ Repository: Booking {} not found", bookingId);
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error cancelling booking: " + e.getMessage());
+            log.error("✗ Repository: Error cancelling booking: {}", e.getMessage());
             return false;
         }
     }
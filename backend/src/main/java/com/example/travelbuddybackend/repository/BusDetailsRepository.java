@@ -2,19 +2,30 @@ package com.example.travelbuddybackend.repository;
 
 import com.example.travelbuddybackend.models.BusDetails;
 import com.example.travelbuddybackend.models.BusStation;
+import com.example.travelbuddybackend.models.DailyFare;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowCountCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
 public class BusDetailsRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(BusDetailsRepository.class);
+
     private final JdbcTemplate jdbcTemplate;
     private final BusStationRepository busStationRepository;
 
@@ -23,7 +34,7 @@ public class BusDetailsRepository {
         this.busStationRepository = busStationRepository;
     }
 
-    private static class BusDetailsRowMapper implements RowMapper<BusDetails> {
+    static class BusDetailsRowMapper implements RowMapper<BusDetails> {
         @Override
         public BusDetails mapRow(ResultSet rs, int rowNum) throws SQLException {
             BusDetails busDetails = new BusDetails();
@@ -83,17 +94,134 @@ public class BusDetailsRepository {
             """;
 
             List<BusDetails> buses = jdbcTemplate.query(sql, new BusDetailsRowMapper());
-            System.out.println("✓ Repository: Retrieved " + buses.size() + " bus details");
+            log.debug("✓ Repository: Retrieved {} bus details", buses.size());
             return buses;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error retrieving bus details: " + e.getMessage());
+            log.error("✗ Repository: Error retrieving bus details: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Lowest price and trip count per departure date on one route, in a single grouped query.
+     * Rows whose price is not a plain number are left out, as the price filters never match them.
+     */
+    public List<DailyFare> findDailyFares(String originCode, String destinationCode) {
+        try {
+            String sql = """
+                SELECT bd.busDepartureDate as departure_date,
+                    MIN(CAST(bd.busRidePrice AS DECIMAL(12, 2))) as lowest_price,
+                    COUNT(*) as trips
+                FROM bus_details bd
+                WHERE bd.busDepartureStation = ? AND bd.busArrivalStation = ?
+                    AND bd.busRidePrice REGEXP '^[0-9]+([.][0-9]+)?$'
+                GROUP BY bd.busDepartureDate
+                """;
+
+            List<DailyFare> fares = jdbcTemplate.query(sql, (rs, rowNum) -> new DailyFare(
+                    rs.getString("departure_date"), rs.getDouble("lowest_price"), rs.getInt("trips")),
+                    originCode, destinationCode);
+            log.debug("✓ Repository: Retrieved {} days of bus fares for {} → {}", fares.size(), originCode, destinationCode);
+            return fares;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error retrieving bus fares: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Every bus's id and raw price string, for the in-memory price index
+     */
+    public Map<Integer, String> findPricesById() {
+        try {
+            Map<Integer, String> prices = new LinkedHashMap<>();
+            jdbcTemplate.query("SELECT id, busRidePrice FROM bus_details",
+                    (RowCallbackHandler) rs -> prices.put(rs.getInt("id"), rs.getString("busRidePrice")));
+            log.debug("✓ Repository: Retrieved {} bus prices", prices.size());
+            return prices;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error retrieving bus prices: {}", e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * Stream every bus into handler as TripRows (line as the carrier), streamed like
+     * FlightDetailsRepository.streamAll. A location missing from bus_stations has id 0.
+     * @return false if the read failed; whatever the handler built is then incomplete and must be discarded
+     */
+    public boolean streamAll(RowCallbackHandler handler) {
+        try {
+            String sql = """
+                SELECT bd.id as trip_id, dep.id as origin_id, arr.id as destination_id,
+                    bd.busDepartureDate as departure_date, bd.busDepartureTime as departure_time,
+                    bd.busArrivalDate as arrival_date, bd.busArrivalTime as arrival_time,
+                    bd.busLine as carrier, bd.busRidePrice as price
+                FROM bus_details bd
+                LEFT JOIN bus_stations dep ON bd.busDepartureStation = dep.busStationCode
+                LEFT JOIN bus_stations arr ON bd.busArrivalStation = arr.busStationCode
+                """;
+
+            RowCountCallbackHandler counter = new RowCountCallbackHandler();
+            jdbcTemplate.query(sql, statement -> statement.setFetchSize(Integer.MIN_VALUE), (RowCallbackHandler) rs -> {
+                counter.processRow(rs);
+                handler.processRow(rs);
+            });
+            log.debug("✓ Repository: Streamed {} buses", counter.getRowCount());
+            return true;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error streaming buses: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Find buses by primary key with a single IN query; keep ids to a few thousand per call
+     */
+    public List<BusDetails> findByIds(int[] ids) {
+        if (ids == null || ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        try {
+            String sql = """
+            SELECT 
+                bd.id as bd_id, 
+                bd.busNumber as bd_busNumber, 
+                bd.busLine as bd_busLine,
+                bd.busDepartureDate as bd_busDepartureDate,
+                bd.busDepartureTime as bd_busDepartureTime,
+                bd.busArrivalDate as bd_busArrivalDate,
+                bd.busArrivalTime as bd_busArrivalTime,
+                bd.busRideDuration as bd_busRideDuration,
+                bd.busRidePrice as bd_busRidePrice,
+                dep.id as dep_id, 
+                dep.busStationFullName as dep_full_name,
+                dep.busStationCode as dep_code, 
+                dep.busStationCityLocation as dep_city,
+                arr.id as arr_id, 
+                arr.busStationFullName as arr_full_name,
+                arr.busStationCode as arr_code, 
+                arr.busStationCityLocation as arr_city
+            FROM bus_details bd
+            LEFT JOIN bus_stations dep ON bd.busDepartureStation = dep.busStationCode
+            LEFT JOIN bus_stations arr ON bd.busArrivalStation = arr.busStationCode
+            WHERE bd.id IN (%s)
+            """.formatted(String.join(",", Collections.nCopies(ids.length, "?")));
+
+            Object[] params = Arrays.stream(ids).boxed().toArray();
+            List<BusDetails> buses = jdbcTemplate.query(sql, new BusDetailsRowMapper(), params);
+            log.debug("✓ Repository: Retrieved {} bus details by id", buses.size());
+            return buses;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error retrieving bus details by id: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
     public Optional<BusDetails> findById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid bus ID: " + id);
+            log.warn("✗ Repository: Invalid bus ID: {}", id);
             return Optional.empty();
         }
 
@@ -126,21 +254,21 @@ public class BusDetailsRepository {
             List<BusDetails> buses = jdbcTemplate.query(sql, new BusDetailsRowMapper(), id);
 
             if (buses.isEmpty()) {
-                System.out.println("✗ Repository: Bus with ID " + id + " not found");
+                log.debug("✗ Repository: Bus with ID {} not found", id);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found bus with ID " + id);
+            log.debug("✓ Repository: Found bus with ID {}", id);
             return Optional.of(buses.get(0));
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding bus by ID: " + e.getMessage());
+            log.error("✗ Repository: Error finding bus by ID: {}", e.getMessage());
             return Optional.empty();
         }
     }
 
     public Optional<BusDetails> findByBusNumber(String busNumber) {
         if (busNumber == null || busNumber.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid bus number");
+            log.warn("✗ Repository: Invalid bus number");
             return Optional.empty();
         }
 
@@ -173,14 +301,14 @@ public class BusDetailsRepository {
             List<BusDetails> buses = jdbcTemplate.query(sql, new BusDetailsRowMapper(), busNumber);
 
             if (buses.isEmpty()) {
-                System.out.println("✗ Repository: Bus with number " + busNumber + " not found");
+                log.debug("✗ Repository: Bus with number {} not found", busNumber);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found bus with number " + busNumber);
+            log.debug("✓ Repository: Found bus with number {}", busNumber);
             return Optional.of(buses.get(0));
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding bus by number: " + e.getMessage());
+            log.error("✗ Repository: Error finding bus by number: {}", e.getMessage());
             return Optional.empty();
         }
     }
@@ -188,7 +316,7 @@ public class BusDetailsRepository {
     public List<BusDetails> findByRouteStationCodes(String departureStationCode, String arrivalStationCode) {
         if (departureStationCode == null || departureStationCode.trim().isEmpty() ||
                 arrivalStationCode == null || arrivalStationCode.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid station codes");
+            log.warn("✗ Repository: Invalid station codes");
             return new ArrayList<>();
         }
 
@@ -221,17 +349,17 @@ public class BusDetailsRepository {
             List<BusDetails> buses = jdbcTemplate.query(sql, new BusDetailsRowMapper(),
                     departureStationCode, arrivalStationCode);
 
-            System.out.println("✓ Repository: Found " + buses.size() + " buses for route");
+            log.debug("✓ Repository: Found {} buses for route", buses.size());
             return buses;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding buses by route: " + e.getMessage());
+            log.error("✗ Repository: Error finding buses by route: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
     public List<BusDetails> findByDepartureDate(String departureDate) {
         if (departureDate == null || departureDate.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid departure date");
+            log.warn("✗ Repository: Invalid departure date");
             return new ArrayList<>();
         }
 
@@ -262,22 +390,25 @@ public class BusDetailsRepository {
             """;
 
             List<BusDetails> buses = jdbcTemplate.query(sql, new BusDetailsRowMapper(), departureDate);
-            System.out.println("✓ Repository: Found " + buses.size() + " buses for date " + departureDate);
+            log.debug("✓ Repository: Found {} buses for date {}", buses.size(), departureDate);
             return buses;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding buses by date: " + e.getMessage());
+            log.error("✗ Repository: Error finding buses by date: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
-    public boolean createBusDetails(BusDetails busDetails) {
+    /**
+     * @return The generated id of the new bus, or empty if it wasn't created
+     */
+    public Optional<Integer> createBusDetails(BusDetails busDetails) {
         if (!isValidForRepository(busDetails)) {
-            return false;
+            return Optional.empty();
         }
 
         try {
             // Insert STATION CODES (not IDs) to match your database foreign key constraint
-            int rowsAffected = jdbcTemplate.update(
+            Optional<Integer> id = GeneratedKeyInsert.execute(jdbcTemplate,
                     "INSERT INTO bus_details (busNumber, busLine, busDepartureStation, busArrivalStation, " +
                             "busDepartureDate, busDepartureTime, busArrivalDate, busArrivalTime, " +
                             "busRideDuration, busRidePrice) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
@@ -293,16 +424,15 @@ public class BusDetailsRepository {
                     busDetails.getBusRideDuration(),
                     busDetails.getBusRidePrice());
 
-            if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Bus created: " + busDetails.getBusNumber());
-                return true;
+            if (id.isPresent()) {
+                log.debug("✓ Repository: Bus created: {} (id {})", busDetails.getBusNumber(), id.get());
             } else {
-                System.out.println("✗ Repository: Failed to create bus");
-                return false;
+                log.warn("✗ Repository: Failed to create bus");
             }
+            return id;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error creating bus: " + e.getMessage());
-            return false;
+            log.error("✗ Repository: Error creating bus: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
@@ -331,21 +461,21 @@ public class BusDetailsRepository {
                     busDetails.getId());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Bus details updated: " + busDetails.getBusNumber());
+                log.debug("✓ Repository: Bus details updated: {}", busDetails.getBusNumber());
                 return true;
             } else {
-                System.out.println("✗ Repository: Bus details not found for update");
+                log.debug("✗ Repository: Bus details not found for update");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating bus details: " + e.getMessage());
+            log.error("✗ Repository: Error updating bus details: {}", e.getMessage());
             return false;
         }
     }
 
     public boolean deleteBusDetails(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid bus ID for deletion: " + id);
+            log.warn("✗ Repository: Invalid bus ID for deletion: {}", id);
             return false;
         }
 
@@ -353,14 +483,14 @@ public class BusDetailsRepository {
             int rowsAffected = jdbcTemplate.update("DELETE FROM bus_details WHERE id = ?", id);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Bus deleted successfully");
+                log.debug("✓ Repository: Bus deleted successfully");
                 return true;
             } else {
-                System.out.println("✗ Repository: Bus not found for deletion");
+                log.debug("✗ Repository: Bus not found for deletion");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error deleting bus: " + e.getMessage());
+            log.error("✗ Repository: Error deleting bus: {}", e.getMessage());
             return false;
         }
     }
@@ -368,31 +498,31 @@ public class BusDetailsRepository {
     // Repository-level validation (data constraints only)
     private boolean isValidForRepository(BusDetails busDetails) {
         if (busDetails == null) {
-            System.out.println("✗ Repository: Bus details cannot be null");
+            log.warn("✗ Repository: Bus details cannot be null");
             return false;
         }
 
         if (busDetails.getBusNumber() == null || busDetails.getBusNumber().trim().isEmpty()) {
-            System.out.println("✗ Repository: Bus number is required");
+            log.warn("✗ Repository: Bus number is required");
             return false;
         }
 
         if (busDetails.getBusLine() == null || busDetails.getBusLine().trim().isEmpty()) {
-            System.out.println("✗ Repository: Bus line is required");
+            log.warn("✗ Repository: Bus line is required");
             return false;
         }
 
         if (busDetails.getBusDepartureStation() == null ||
                 busDetails.getBusDepartureStation().getBusStationCode() == null ||
                 busDetails.getBusDepartureStation().getBusStationCode().trim().isEmpty()) {
-            System.out.println("✗ Repository: Departure station code is required");
+            log.warn("✗ Repository: Departure station code is required");
             return false;
         }
 
         if (busDetails.getBusArrivalStation() == null ||
                 busDetails.getBusArrivalStation().getBusStationCode() == null ||
                 busDetails.getBusArrivalStation().getBusStationCode().trim().isEmpty()) {
-            System.out.println("✗ Repository: Arrival station code is required");
+            log.warn("✗ Repository: Arrival station code is required");
             return false;
         }
 
@@ -403,14 +533,12 @@ public class BusDetailsRepository {
                 busDetails.getBusArrivalStation().getBusStationCode());
 
         if (depStation.isEmpty()) {
-            System.out.println("✗ Repository: Departure station code not found in database: " +
-                    busDetails.getBusDepartureStation().getBusStationCode());
+            log.debug("✗ Repository: Departure station code not found in database: {}", busDetails.getBusDepartureStation().getBusStationCode());
             return false;
         }
 
         if (arrStation.isEmpty()) {
-            System.out.println("✗ Repository: Arrival station code not found in database: " +
-                    busDetails.getBusArrivalStation().getBusStationCode());
+            log.debug("✗ Repository: Arrival station code not found in database: {}", busDetails.getBusArrivalStation().getBusStationCode());
             return false;
         }
 
@@ -1,6 +1,8 @@
 package com.example.travelbuddybackend.repository;
 
 import com.example.travelbuddybackend.models.BusStation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -14,6 +16,8 @@ import java.util.Optional;
 @Repository
 public class BusStationRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(BusStationRepository.class);
+
     private final JdbcTemplate jdbcTemplate;
 
     public BusStationRepository(JdbcTemplate jdbcTemplate) {
@@ -33,21 +37,29 @@ public class BusStationRepository {
     }
 
     public List<BusStation> findAll() {
+        return readAll().orElseGet(ArrayList::new);
+    }
+
+    /**
+     * All bus stations, telling a failed read from an empty table (findAll returns an empty list for both)
+     * @return The bus stations, or empty if the read failed
+     */
+    public Optional<List<BusStation>> readAll() {
         try {
             List<BusStation> busStations = jdbcTemplate.query(
                     "SELECT id, busStationFullName, busStationCode, busStationCityLocation FROM bus_stations",
                     new BusStationRowMapper());
-            System.out.println("✓ Repository: Successfully retrieved " + busStations.size() + " bus stations");
-            return busStations;
+            log.debug("✓ Repository: Successfully retrieved {} bus stations", busStations.size());
+            return Optional.of(busStations);
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error retrieving bus stations: " + e.getMessage());
-            return new ArrayList<>();
+            log.error("✗ Repository: Error retrieving bus stations: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
     public Optional<BusStation> findById(int id) {
         if (id <= 0) {
-            System.out.println("✗ Repository: Error: Invalid bus station ID: " + id);
+            log.warn("✗ Repository: Error: Invalid bus station ID: {}", id);
             return Optional.empty();
         }
 
@@ -57,21 +69,21 @@ public class BusStationRepository {
                     new BusStationRowMapper(), id);
 
             if (busStations.isEmpty()) {
-                System.out.println("✗ Repository: Bus station with ID " + id + " not found");
+                log.debug("✗ Repository: Bus station with ID {} not found", id);
                 return Optional.empty();
             } else {
-                System.out.println("✓ Repository: Found bus station: " + busStations.get(0).getBusStationFullName() + " with ID " + id);
+                log.debug("✓ Repository: Found bus station: {} with ID {}", busStations.get(0).getBusStationFullName(), id);
                 return Optional.of(busStations.get(0));
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding bus station with ID: " + id + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding bus station with ID: {}: {}", id, e.getMessage());
             return Optional.empty();
         }
     }
 
     public Optional<BusStation> findByStationCode(String stationCode) {
         if (stationCode == null || stationCode.trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Invalid station code: " + stationCode);
+            log.warn("✗ Repository: Error: Invalid station code: {}", stationCode);
             return Optional.empty();
         }
 
@@ -81,14 +93,14 @@ public class BusStationRepository {
                     new BusStationRowMapper(), stationCode.toUpperCase());
 
             if (busStations.isEmpty()) {
-                System.out.println("✗ Repository: Bus station with code " + stationCode + " not found");
+                log.debug("✗ Repository: Bus station with code {} not found", stationCode);
                 return Optional.empty();
             } else {
-                System.out.println("✓ Repository: Found bus station: " + busStations.get(0).getBusStationFullName() + " with code " + stationCode);
+                log.debug("✓ Repository: Found bus station: {} with code {}", busStations.get(0).getBusStationFullName(), stationCode);
                 return Optional.of(busStations.get(0));
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding bus station with code: " + stationCode + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding bus station with code: {}: {}", stationCode, e.getMessage());
             return Optional.empty();
         }
     }
@@ -105,14 +117,14 @@ public class BusStationRepository {
                     busStation.getBusStationFullName(), busStation.getBusStationCode(), busStation.getBusStationCityLocation());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: New bus station created: " + busStation.getBusStationFullName() + " (" + busStation.getBusStationCode() + ")");
+                log.debug("✓ Repository: New bus station created: {} ({})", busStation.getBusStationFullName(), busStation.getBusStationCode());
                 return true;
             } else {
-                System.out.println("✗ Repository: Failed to create bus station");
+                log.warn("✗ Repository: Failed to create bus station");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error creating bus station: " + e.getMessage());
+            log.error("✗ Repository: Error creating bus station: {}", e.getMessage());
             return false;
         }
     }
@@ -132,22 +144,21 @@ public class BusStationRepository {
                     busStation.getId());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Bus station updated successfully: " +
-                        busStation.getBusStationFullName() + " (" + busStation.getBusStationCode() + ")");
+                log.debug("✓ Repository: Bus station updated successfully: {} ({})", busStation.getBusStationFullName(), busStation.getBusStationCode());
                 return true;
             } else {
-                System.out.println("✗ Repository: Failed to update bus station " + busStation.getBusStationFullName());
+                log.warn("✗ Repository: Failed to update bus station {}", busStation.getBusStationFullName());
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating bus station: " + e.getMessage());
+            log.error("✗ Repository: Error updating bus station: {}", e.getMessage());
             return false;
         }
     }
 
     public boolean deleteBusStation(int id) {
         if (id <= 0) {
-            System.out.println("✗ Repository: Error: Invalid bus station ID: " + id);
+            log.warn("✗ Repository: Error: Invalid bus station ID: {}", id);
             return false;
         }
 
@@ -155,14 +166,14 @@ public class BusStationRepository {
             int rowsAffected = jdbcTemplate.update("DELETE FROM bus_stations WHERE id = ?", id);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Bus station with ID " + id + " deleted successfully");
+                log.debug("✓ Repository: Bus station with ID {} deleted successfully", id);
                 return true;
             } else {
-                System.out.println("✗ Repository: Bus station with ID " + id + " not found");
+                log.debug("✗ Repository: Bus station with ID {} not found", id);
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error deleting bus station: " + e.getMessage());
+            log.error("✗ Repository: Error deleting bus station: {}", e.getMessage());
             return false;
         }
     }
@@ -172,27 +183,27 @@ public class BusStationRepository {
     public boolean isValidBusStation(BusStation busStation) {
         // Null check first
         if (busStation == null) {
-            System.out.println("✗ Repository: Error: Cannot validate null bus station");
+            log.warn("✗ Repository: Error: Cannot validate null bus station");
             return false;
         }
 
         if (busStation.getBusStationFullName() == null || busStation.getBusStationFullName().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Bus station full name is required");
+            log.warn("✗ Repository: Error: Bus station full name is required");
             return false;
         }
 
         if (busStation.getBusStationCode() == null || busStation.getBusStationCode().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Bus station code is required");
+            log.warn("✗ Repository: Error: Bus station code is required");
             return false;
         }
 
         if (busStation.getBusStationCityLocation() == null || busStation.getBusStationCityLocation().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Bus station city location is required");
+            log.warn("✗ Repository: Error: Bus station city location is required");
             return false;
         }
 
         // All validation passed
-        System.out.println("✓ Repository: Bus station validation successful for ID " + busStation.getId());
+        log.debug("✓ Repository: Bus station validation successful for ID {}", busStation.getId());
         return true;
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.example.travelbuddybackend.repository;
 
 import com.example.travelbuddybackend.models.Client;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -15,6 +17,8 @@ import java.util.Optional;
 @Repository
 public class ClientRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(ClientRepository.class);
+
     private final JdbcTemplate jdbcTemplate;
 
     public ClientRepository(JdbcTemplate jdbcTemplate) {
@@ -73,11 +77,11 @@ public class ClientRepository {
                 """;
 
             List<Client> clients = jdbcTemplate.query(sql, new ClientRowMapper());
-            System.out.println("✓ Repository: Successfully retrieved " + clients.size() + " clients");
+            log.debug("✓ Repository: Successfully retrieved {} clients", clients.size());
             return clients;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error retrieving clients: " + e.getMessage());
+            log.error("✗ Repository: Error retrieving clients: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
@@ -89,7 +93,7 @@ public class ClientRepository {
      */
     public Optional<Client> findById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid client ID: " + id);
+            log.warn("✗ Repository: Invalid client ID: {}", id);
             return Optional.empty();
         }
 
@@ -105,15 +109,15 @@ public class ClientRepository {
             List<Client> clients = jdbcTemplate.query(sql, new ClientRowMapper(), id);
 
             if (clients.isEmpty()) {
-                System.out.println("✗ Repository: Client with ID " + id + " not found");
+                log.debug("✗ Repository: Client with ID {} not found", id);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found client: " + clients.get(0).getUsername());
+            log.debug("✓ Repository: Found client: {}", clients.get(0).getUsername());
             return Optional.of(clients.get(0));
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding client by ID " + id + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding client by ID {}: {}", id, e.getMessage());
             return Optional.empty();
         }
     }
@@ -125,7 +129,7 @@ public class ClientRepository {
      */
     public boolean createClient(Client client) {
         if (client == null) {
-            System.out.println("✗ Repository: Cannot create null client");
+            log.warn("✗ Repository: Cannot create null client");
             return false;
         }
 
@@ -156,15 +160,15 @@ public class ClientRepository {
             );
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: New client created: " + client.getUsername() + " (" + client.getEmail() + ")");
+                log.debug("✓ Repository: New client created: {} ({})", client.getUsername(), client.getEmail());
                 return true;
             } else {
-                System.out.println("✗ Repository: No rows affected when creating client");
+                log.warn("✗ Repository: No rows affected when creating client");
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error creating client: " + e.getMessage());
+            log.error("✗ Repository: Error creating client: {}", e.getMessage());
             return false;
         }
     }
@@ -176,12 +180,12 @@ public class ClientRepository {
      */
     public boolean updateClient(Client client) {
         if (client == null) {
-            System.out.println("✗ Repository: Cannot update null client");
+            log.warn("✗ Repository: Cannot update null client");
             return false;
         }
 
         if (client.getId() == null || client.getId() <= 0) {
-            System.out.println("✗ Repository: Client must have valid ID for update");
+            log.warn("✗ Repository: Client must have valid ID for update");
             return false;
         }
 
@@ -207,15 +211,15 @@ public class ClientRepository {
             );
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Client " + client.getId() + " updated successfully");
+                log.debug("✓ Repository: Client {} updated successfully", client.getId());
                 return true;
             } else {
-                System.out.println("✗ Repository: Client with ID " + client.getId() + " not found for update");
+                log.debug("✗ Repository: Client with ID {} not found for update", client.getId());
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating client: " + e.getMessage());
+            log.error("✗ Repository: Error updating client: {}", e.getMessage());
             return false;
         }
     }
@@ -227,7 +231,7 @@ public class ClientRepository {
      */
     public boolean deleteClient(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid client ID for deletion: " + id);
+            log.warn("✗ Repository: Invalid client ID for deletion: {}", id);
             return false;
         }
 
@@ -236,15 +240,15 @@ public class ClientRepository {
             int rowsAffected = jdbcTemplate.update(sql, id);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Client " + id + " deleted successfully");
+                log.debug("✓ Repository: Client {} deleted successfully", id);
                 return true;
             } else {
-                System.out.println("✗ Repository: Client with ID " + id + " not found for deletion");
+                log.debug("✗ Repository: Client with ID {} not found for deletion", id);
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error deleting client: " + e.getMessage());
+            log.error("✗ Repository: Error deleting client: {}", e.getMessage());
             return false;
         }
     }
@@ -262,7 +266,7 @@ public class ClientRepository {
      */
     public Optional<Client> findByUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
-            System.out.println("✗ Repository: Cannot search with empty username");
+            log.warn("✗ Repository: Cannot search with empty username");
             return Optional.empty();
         }
 
@@ -278,15 +282,15 @@ public class ClientRepository {
             List<Client> clients = jdbcTemplate.query(sql, new ClientRowMapper(), username);
 
             if (clients.isEmpty()) {
-                System.out.println("✗ Repository: No client found with username: " + username);
+                log.warn("✗ Repository: No client found with username: {}", username);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found client by username: " + username);
+            log.debug("✓ Repository: Found client by username: {}", username);
             return Optional.of(clients.get(0));
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding client by username: " + e.getMessage());
+            log.error("✗ Repository: Error finding client by username: {}", e.getMessage());
             return Optional.empty();
         }
     }
@@ -298,7 +302,7 @@ public class ClientRepository {
      */
     public Optional<Client> findByEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
-            System.out.println("✗ Repository: Cannot search with empty email");
+            log.warn("✗ Repository: Cannot search with empty email");
             return Optional.empty();
         }
 
@@ -317,11 +321,11 @@ public class ClientRepository {
                 return Optional.empty(); // Don't log this as it's often used for existence checks
             }
 
-            System.out.println("✓ Repository: Found client by email: " + email);
+            log.debug("✓ Repository: Found client by email: {}", email);
             return Optional.of(clients.get(0));
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding client by email: " + e.getMessage());
+            log.error("✗ Repository: Error finding client by email: {}", e.getMessage());
             return Optional.empty();
         }
     }
@@ -342,12 +346,12 @@ public class ClientRepository {
 
             boolean exists = count != null && count > 0;
             if (exists) {
-                System.out.println("✓ Repository: Username '" + username + "' already exists");
+                log.debug("✓ Repository: Username '{}' already exists", username);
             }
             return exists;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error checking username existence: " + e.getMessage());
+            log.error("✗ Repository: Error checking username existence: {}", e.getMessage());
             return false; // Assume it doesn't exist if we can't check
         }
     }
@@ -368,12 +372,12 @@ public class ClientRepository {
 
             boolean exists = count != null && count > 0;
             if (exists) {
-                System.out.println("✓ Repository: Email '" + email + "' already exists");
+                log.debug("✓ Repository: Email '{}' already exists", email);
             }
             return exists;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error checking email existence: " + e.getMessage());
+            log.error("✗ Repository: Error checking email existence: {}", e.getMessage());
             return false; // Assume it doesn't exist if we can't check
         }
     }
@@ -393,14 +397,14 @@ public class ClientRepository {
             int rowsAffected = jdbcTemplate.update(sql, LocalDateTime.now(), clientId);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Updated last login for client ID: " + clientId);
+                log.debug("✓ Repository: Updated last login for client ID: {}", clientId);
                 return true;
             }
 
             return false;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating last login: " + e.getMessage());
+            log.error("✗ Repository: Error updating last login: {}", e.getMessage());
             return false;
         }
     }
@@ -413,7 +417,7 @@ public class ClientRepository {
      */
     public boolean updatePassword(Integer clientId, String newEncryptedPassword) {
         if (clientId == null || clientId <= 0 || newEncryptedPassword == null || newEncryptedPassword.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid parameters for password update");
+            log.warn("✗ Repository: Invalid parameters for password update");
             return false;
         }
 
@@ -422,15 +426,15 @@ public class ClientRepository {
             int rowsAffected = jdbcTemplate.update(sql, newEncryptedPassword, clientId);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Password updated for client ID: " + clientId);
+                log.debug("✓ Repository: Password updated for client ID: {}", clientId);
                 return true;
             } else {
-                System.out.println("✗ Repository: Client ID " + clientId + " not found for password update");
+                log.debug("✗ Repository: Client ID {} not found for password update", clientId);
                 return false;
             }
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating password: " + e.getMessage());
+            log.error("✗ Repository: Error updating password: {}", e.getMessage());
             return false;
         }
     }
@@ -452,14 +456,14 @@ public class ClientRepository {
 
             if (rowsAffected > 0) {
                 String status = enabled ? "enabled" : "disabled";
-                System.out.println("✓ Repository: Client ID " + clientId + " account " + status);
+                log.debug("✓ Repository: Client ID {} account {}", clientId, status);
                 return true;
             }
 
             return false;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating account status: " + e.getMessage());
+            log.error("✗ Repository: Error updating account status: {}", e.getMessage());
             return false;
         }
     }
@@ -481,14 +485,14 @@ public class ClientRepository {
 
             if (rowsAffected > 0) {
                 String status = locked ? "locked" : "unlocked";
-                System.out.println("✓ Repository: Client ID " + clientId + " account " + status);
+                log.debug("✓ Repository: Client ID {} account {}", clientId, status);
                 return true;
             }
 
             return false;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating account lock status: " + e.getMessage());
+            log.error("✗ Repository: Error updating account lock status: {}", e.getMessage());
             return false;
         }
     }
@@ -506,31 +510,31 @@ public class ClientRepository {
     private boolean isValidForCreation(Client client) {
         // Check username
         if (client.getUsername() == null || client.getUsername().trim().isEmpty()) {
-            System.out.println("✗ Repository: Username is required for client creation");
+            log.warn("✗ Repository: Username is required for client creation");
             return false;
         }
 
         // Check email
         if (client.getEmail() == null || client.getEmail().trim().isEmpty()) {
-            System.out.println("✗ Repository: Email is required for client creation");
+            log.warn("✗ Repository: Email is required for client creation");
             return false;
         }
 
         // Check password
         if (client.getPassword() == null || client.getPassword().trim().isEmpty()) {
-            System.out.println("✗ Repository: Password is required for client creation");
+            log.warn("✗ Repository: Password is required for client creation");
             return false;
         }
 
         // Check first name
         if (client.getFirstName() == null || client.getFirstName().trim().isEmpty()) {
-            System.out.println("✗ Repository: First name is required for client creation");
+            log.warn("✗ Repository: First name is required for client creation");
             return false;
         }
 
         // Check last name
         if (client.getLastName() == null || client.getLastName().trim().isEmpty()) {
-            System.out.println("✗ Repository: Last name is required for client creation");
+            log.warn("✗ Repository: Last name is required for client creation");
             return false;
         }
 
@@ -548,7 +552,7 @@ public class ClientRepository {
             return count != null ? count : 0;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error getting client count: " + e.getMessage());
+            log.error("✗ Repository: Error getting client count: {}", e.getMessage());
             return 0;
         }
     }
@@ -561,7 +565,7 @@ public class ClientRepository {
      */
     public List<Client> findClientsCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
         if (startDate == null || endDate == null) {
-            System.out.println("✗ Repository: Start and end dates are required");
+            log.warn("✗ Repository: Start and end dates are required");
             return new ArrayList<>();
         }
 
@@ -576,11 +580,11 @@ public class ClientRepository {
                 """;
 
             List<Client> clients = jdbcTemplate.query(sql, new ClientRowMapper(), startDate, endDate);
-            System.out.println("✓ Repository: Found " + clients.size() + " clients created between " + startDate + " and " + endDate);
+            log.debug("✓ Repository: Found {} clients created between {} and {}", clients.size(), startDate, endDate);
             return clients;
 
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding clients by creation date: " + e.getMessage());
+            log.error("✗ Repository: Error finding clients by creation date: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
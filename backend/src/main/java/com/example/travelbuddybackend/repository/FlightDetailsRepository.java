@@ -1,20 +1,31 @@
 package com.example.travelbuddybackend.repository;
 
 import com.example.travelbuddybackend.models.Airport;
+import com.example.travelbuddybackend.models.DailyFare;
 import com.example.travelbuddybackend.models.FlightDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowCountCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
 public class FlightDetailsRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(FlightDetailsRepository.class);
+
     private final JdbcTemplate jdbcTemplate;
     private final AirportRepository airportRepository;
 
@@ -23,7 +34,7 @@ public class FlightDetailsRepository {
         this.airportRepository = airportRepository;
     }
 
-    private static class FlightDetailsRowMapper implements RowMapper<FlightDetails> {
+    static class FlightDetailsRowMapper implements RowMapper<FlightDetails> {
         @Override
         public FlightDetails mapRow(ResultSet rs, int rowNum) throws SQLException {
             FlightDetails flightDetails = new FlightDetails();
@@ -91,17 +102,141 @@ public class FlightDetailsRepository {
                 """;
 
             List<FlightDetails> flights = jdbcTemplate.query(sql, new FlightDetailsRowMapper());
-            System.out.println("✓ Repository: Retrieved " + flights.size() + " flight details with airports");
+            log.debug("✓ Repository: Retrieved {} flight details with airports", flights.size());
+            return flights;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error retrieving flight details: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Lowest price and trip count per departure date on one route, in a single grouped query.
+     * Rows whose price is not a plain number are left out, as the price filters never match them.
+     */
+    public List<DailyFare> findDailyFares(String originCode, String destinationCode) {
+        try {
+            String sql = """
+                SELECT fd.flightDepartureDate as departure_date,
+                    MIN(CAST(fd.flightPrice AS DECIMAL(12, 2))) as lowest_price,
+                    COUNT(*) as trips
+                FROM flight_details fd
+                WHERE fd.flightOrigin = ? AND fd.flightDestination = ?
+                    AND fd.flightPrice REGEXP '^[0-9]+([.][0-9]+)?$'
+                GROUP BY fd.flightDepartureDate
+                """;
+
+            List<DailyFare> fares = jdbcTemplate.query(sql, (rs, rowNum) -> new DailyFare(
+                    rs.getString("departure_date"), rs.getDouble("lowest_price"), rs.getInt("trips")),
+                    originCode, destinationCode);
+            log.debug("✓ Repository: Retrieved {} days of flight fares for {} → {}", fares.size(), originCode, destinationCode);
+            return fares;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error retrieving flight fares: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Every flight's id and raw price string, for the in-memory price index
+     */
+    public Map<Integer, String> findPricesById() {
+        try {
+            Map<Integer, String> prices = new LinkedHashMap<>();
+            jdbcTemplate.query("SELECT id, flightPrice FROM flight_details",
+                    (RowCallbackHandler) rs -> prices.put(rs.getInt("id"), rs.getString("flightPrice")));
+            log.debug("✓ Repository: Retrieved {} flight prices", prices.size());
+            return prices;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error retrieving flight prices: {}", e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * Stream every flight into handler as TripRows: id, location ids, departure and arrival
+     * date and time, airline and price. The rows are streamed (MySQL fetch size
+     * Integer.MIN_VALUE) rather than buffered, so a multi-million row table doesn't need a
+     * result list in memory, and every index builder reads the same query (TripRows.into).
+     * A location missing from airports has id 0.
+     * @return false if the read failed; whatever the handler built is then incomplete and must be discarded
+     */
+    public boolean streamAll(RowCallbackHandler handler) {
+        try {
+            String sql = """
+                SELECT fd.id as trip_id, origin.id as origin_id, dest.id as destination_id,
+                    fd.flightDepartureDate as departure_date, fd.flightDepartureTime as departure_time,
+                    fd.flightArrivalDate as arrival_date, fd.flightArrivalTime as arrival_time,
+                    fd.flightAirline as carrier, fd.flightPrice as price
+                FROM flight_details fd
+                LEFT JOIN airports origin ON fd.flightOrigin = origin.airportCode
+                LEFT JOIN airports dest ON fd.flightDestination = dest.airportCode
+                """;
+
+            RowCountCallbackHandler counter = new RowCountCallbackHandler();
+            jdbcTemplate.query(sql, statement -> statement.setFetchSize(Integer.MIN_VALUE), (RowCallbackHandler) rs -> {
+                counter.processRow(rs);
+                handler.processRow(rs);
+            });
+            log.debug("✓ Repository: Streamed {} flights", counter.getRowCount());
+            return true;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error streaming flights: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Find flights by primary key with a single IN query; keep ids to a few thousand per call
+     */
+    public List<FlightDetails> findByIds(int[] ids) {
+        if (ids == null || ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        try {
+            String sql = """
+                SELECT 
+                    fd.id as fd_id, 
+                    fd.flightNumber as fd_flightNumber, 
+                    fd.flightAirline as fd_flightAirline,
+                    fd.flightDepartureDate as fd_flightDepartureDate, 
+                    fd.flightArrivalDate as fd_flightArrivalDate,
+                    fd.flightDepartureTime as fd_flightDepartureTime, 
+                    fd.flightArrivalTime as fd_flightArrivalTime,
+                    fd.flightTravelTime as fd_flightTravelTime, 
+                    fd.flightPrice as fd_flightPrice,
+                    origin.id as origin_id, 
+                    origin.airportFullName as origin_full_name, 
+                    origin.airportCode as origin_code,
+                    origin.airportCityLocation as origin_city, 
+                    origin.airportCountryLocation as origin_country, 
+                    origin.airportTimezone as origin_timezone,
+                    dest.id as destination_id, 
+                    dest.airportFullName as destination_full_name, 
+                    dest.airportCode as destination_code,
+                    dest.airportCityLocation as destination_city, 
+                    dest.airportCountryLocation as destination_country,
+                    dest.airportTimezone as destination_timezone
+                FROM flight_details fd
+                LEFT JOIN airports origin ON fd.flightOrigin = origin.airportCode
+                LEFT JOIN airports dest ON fd.flightDestination = dest.airportCode
+                WHERE fd.id IN (%s)
+                """.formatted(String.join(",", Collections.nCopies(ids.length, "?")));
+
+            Object[] params = Arrays.stream(ids).boxed().toArray();
+            List<FlightDetails> flights = jdbcTemplate.query(sql, new FlightDetailsRowMapper(), params);
+            log.debug("✓ Repository: Retrieved {} flight details by id", flights.size());
             return flights;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error retrieving flight details: " + e.getMessage());
+            log.error("✗ Repository: Error retrieving flight details by id: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
     public Optional<FlightDetails> findById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid flight ID: " + id);
+            log.warn("✗ Repository: Invalid flight ID: {}", id);
             return Optional.empty();
         }
 
@@ -138,21 +273,21 @@ public class FlightDetailsRepository {
             List<FlightDetails> flights = jdbcTemplate.query(sql, new FlightDetailsRowMapper(), id);
 
             if (flights.isEmpty()) {
-                System.out.println("✗ Repository: Flight with ID " + id + " not found");
+                log.debug("✗ Repository: Flight with ID {} not found", id);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found flight with ID " + id);
+            log.debug("✓ Repository: Found flight with ID {}", id);
             return Optional.of(flights.get(0));
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding flight by ID " + id + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding flight by ID {}: {}", id, e.getMessage());
             return Optional.empty();
         }
     }
 
     public Optional<FlightDetails> findByFlightNumber(String flightNumber) {
         if (flightNumber == null || flightNumber.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid flight number: " + flightNumber);
+            log.warn("✗ Repository: Invalid flight number: {}", flightNumber);
             return Optional.empty();
         }
 
@@ -189,14 +324,14 @@ public class FlightDetailsRepository {
             List<FlightDetails> flights = jdbcTemplate.query(sql, new FlightDetailsRowMapper(), flightNumber);
 
             if (flights.isEmpty()) {
-                System.out.println("✗ Repository: Flight with number " + flightNumber + " not found");
+                log.debug("✗ Repository: Flight with number {} not found", flightNumber);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found flight with number " + flightNumber);
+            log.debug("✓ Repository: Found flight with number {}", flightNumber);
             return Optional.of(flights.get(0));
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding flight by number: " + e.getMessage());
+            log.error("✗ Repository: Error finding flight by number: {}", e.getMessage());
             return Optional.empty();
         }
     }
@@ -204,7 +339,7 @@ public class FlightDetailsRepository {
     public List<FlightDetails> findByRoute(String originAirportCode, String destinationAirportCode) {
         if (originAirportCode == null || originAirportCode.trim().isEmpty() ||
                 destinationAirportCode == null || destinationAirportCode.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid airport IDs");
+            log.warn("✗ Repository: Invalid airport IDs");
             return new ArrayList<>();
         }
 
@@ -241,17 +376,17 @@ public class FlightDetailsRepository {
             List<FlightDetails> flights = jdbcTemplate.query(sql, new FlightDetailsRowMapper(),
                     originAirportCode, destinationAirportCode);
 
-            System.out.println("✓ Repository: Found " + flights.size() + " flights for route");
+            log.debug("✓ Repository: Found {} flights for route", flights.size());
             return flights;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding flights by route: " + e.getMessage());
+            log.error("✗ Repository: Error finding flights by route: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
     public List<FlightDetails> findByDepartureDate(String departureDate) {
         if (departureDate == null || departureDate.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid departure date");
+            log.warn("✗ Repository: Invalid departure date");
             return new ArrayList<>();
         }
 
@@ -286,23 +421,26 @@ public class FlightDetailsRepository {
             """;
 
             List<FlightDetails> Flightes = jdbcTemplate.query(sql, new FlightDetailsRepository.FlightDetailsRowMapper(), departureDate);
-            System.out.println("✓ Repository: Found " + Flightes.size() + " Flightes for date " + departureDate);
+            log.debug("✓ Repository: Found {} Flightes for date {}", Flightes.size(), departureDate);
             return Flightes;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding Flightes by date: " + e.getMessage());
+            log.error("✗ Repository: Error finding Flightes by date: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
 
-    public boolean createFlightDetails(FlightDetails flightDetails) {
+    /**
+     * @return The generated id of the new flight, or empty if it wasn't created
+     */
+    public Optional<Integer> createFlightDetails(FlightDetails flightDetails) {
         if (!isValidForRepository(flightDetails)) {
-            return false;
+            return Optional.empty();
         }
 
         try {
             // Using your exact database column names
-            int rowsAffected = jdbcTemplate.update(
+            Optional<Integer> id = GeneratedKeyInsert.execute(jdbcTemplate,
                     "INSERT INTO flight_details (flightNumber, flightAirline, flightOrigin, flightDestination, " +
                             "flightDepartureDate, flightArrivalDate, flightDepartureTime, flightArrivalTime, " +
                             "flightTravelTime, flightPrice) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
@@ -317,16 +455,15 @@ public class FlightDetailsRepository {
                     flightDetails.getFlightTravelTime(),
                     flightDetails.getFlightPrice());
 
-            if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Flight created: " + flightDetails.getFlightNumber());
-                return true;
+            if (id.isPresent()) {
+                log.debug("✓ Repository: Flight created: {} (id {})", flightDetails.getFlightNumber(), id.get());
             } else {
-                System.out.println("✗ Repository: Failed to create flight");
-                return false;
+                log.warn("✗ Repository: Failed to create flight");
             }
+            return id;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error creating flight: " + e.getMessage());
-            return false;
+            log.error("✗ Repository: Error creating flight: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
@@ -354,21 +491,21 @@ public class FlightDetailsRepository {
                     flightDetails.getId());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Flight updated: " + flightDetails.getFlightNumber());
+                log.debug("✓ Repository: Flight updated: {}", flightDetails.getFlightNumber());
                 return true;
             } else {
-                System.out.println("✗ Repository: Flight not found for update");
+                log.debug("✗ Repository: Flight not found for update");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating flight: " + e.getMessage());
+            log.error("✗ Repository: Error updating flight: {}", e.getMessage());
             return false;
         }
     }
 
     public boolean deleteFlightDetails(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid flight ID for deletion: " + id);
+            log.warn("✗ Repository: Invalid flight ID for deletion: {}", id);
             return false;
         }
 
@@ -376,41 +513,41 @@ public class FlightDetailsRepository {
             int rowsAffected = jdbcTemplate.update("DELETE FROM flight_details WHERE id = ?", id);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Flight deleted successfully");
+                log.debug("✓ Repository: Flight deleted successfully");
                 return true;
             } else {
-                System.out.println("✗ Repository: Flight not found for deletion");
+                log.debug("✗ Repository: Flight not found for deletion");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error deleting flight: " + e.getMessage());
+            log.error("✗ Repository: Error deleting flight: {}", e.getMessage());
             return false;
         }
     }
 
     private boolean isValidForRepository(FlightDetails flightDetails) {
         if (flightDetails == null) {
-            System.out.println("✗ Repository: Flight details cannot be null");
+            log.warn("✗ Repository: Flight details cannot be null");
             return false;
         }
 
         if (flightDetails.getFlightNumber() == null || flightDetails.getFlightNumber().trim().isEmpty()) {
-            System.out.println("✗ Repository: Flight number is required");
+            log.warn("✗ Repository: Flight number is required");
             return false;
         }
 
         if (flightDetails.getFlightAirline() == null || flightDetails.getFlightAirline().trim().isEmpty()) {
-            System.out.println("✗ Repository: Flight airline is required");
+            log.warn("✗ Repository: Flight airline is required");
             return false;
         }
 
         if (flightDetails.getFlightOrigin() == null || flightDetails.getFlightOrigin().getId() == null) {
-            System.out.println("✗ Repository: Origin airport is required");
+            log.warn("✗ Repository: Origin airport is required");
             return false;
         }
 
         if (flightDetails.getFlightDestination() == null || flightDetails.getFlightDestination().getId() == null) {
-            System.out.println("✗ Repository: Destination airport is required");
+            log.warn("✗ Repository: Destination airport is required");
             return false;
         }
 
@@ -419,12 +556,12 @@ public class FlightDetailsRepository {
         Optional<Airport> destination = airportRepository.findByAirportCode(flightDetails.getFlightDestination().getAirportCode());
 
         if (origin.isEmpty()) {
-            System.out.println("✗ Repository: Origin airport not found in database");
+            log.debug("✗ Repository: Origin airport not found in database");
             return false;
         }
 
         if (destination.isEmpty()) {
-            System.out.println("✗ Repository: Destination airport not found in database");
+            log.debug("✗ Repository: Destination airport not found in database");
             return false;
         }
 
@@ -0,0 +1,56 @@
+package com.example.travelbuddybackend.repository;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+/**
+ * Generated Key Insert
+ *
+ * An INSERT with positional arguments, bound like JdbcTemplate.update(sql, args),
+ * that also returns the AUTO_INCREMENT id of the new row, so callers don't
+ * have to look the row up again. Exposes its SQL (SqlProvider) so the
+ * statement is reported by InstrumentedJdbcTemplate like any other.
+ */
+final class GeneratedKeyInsert implements PreparedStatementCreator, SqlProvider {
+
+    private final String sql;
+    private final Object[] args;
+
+    private GeneratedKeyInsert(String sql, Object[] args) {
+        this.sql = sql;
+        this.args = args;
+    }
+
+    /**
+     * Run the insert
+     * @return The generated id, or empty if no row was inserted
+     */
+    static Optional<Integer> execute(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int rowsAffected = jdbcTemplate.update(new GeneratedKeyInsert(sql, args), keyHolder);
+        Number key = keyHolder.getKey();
+        return rowsAffected > 0 && key != null ? Optional.of(key.intValue()) : Optional.empty();
+    }
+
+    @Override
+    public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        new ArgumentPreparedStatementSetter(args).setValues(statement);
+        return statement;
+    }
+
+    @Override
+    public String getSql() {
+        return sql;
+    }
+}
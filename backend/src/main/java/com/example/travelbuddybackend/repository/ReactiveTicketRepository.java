@@ -0,0 +1,300 @@
+package com.example.travelbuddybackend.repository;
+
+import com.example.travelbuddybackend.models.*;
+import io.r2dbc.spi.Readable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive Ticket Repository
+ *
+ * Non-blocking counterparts of the findAll queries in the flight, train and
+ * bus repositories, issued over R2DBC. Rows are emitted as they are decoded
+ * and only as fast as the subscriber requests them, so a slow consumer
+ * holds back the MySQL read instead of buffering the whole table.
+ *
+ * The optional airline/line and route filters are pushed into the WHERE
+ * clause; everything else is matched by the caller. Like the blocking
+ * repositories, errors are logged and turned into an empty result.
+ */
+@Repository
+public class ReactiveTicketRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTicketRepository.class);
+
+    private static final String FLIGHT_SELECT = """
+            SELECT
+                fd.id as fd_id,
+                fd.flightNumber as fd_flightNumber,
+                fd.flightAirline as fd_flightAirline,
+                fd.flightDepartureDate as fd_flightDepartureDate,
+                fd.flightArrivalDate as fd_flightArrivalDate,
+                fd.flightDepartureTime as fd_flightDepartureTime,
+                fd.flightArrivalTime as fd_flightArrivalTime,
+                fd.flightTravelTime as fd_flightTravelTime,
+                fd.flightPrice as fd_flightPrice,
+                origin.id as origin_id,
+                origin.airportFullName as origin_full_name,
+                origin.airportCode as origin_code,
+                origin.airportCityLocation as origin_city,
+                origin.airportCountryLocation as origin_country,
+                origin.airportTimezone as origin_timezone,
+                dest.id as destination_id,
+                dest.airportFullName as destination_full_name,
+                dest.airportCode as destination_code,
+                dest.airportCityLocation as destination_city,
+                dest.airportCountryLocation as destination_country,
+                dest.airportTimezone as destination_timezone
+            FROM flight_details fd
+            LEFT JOIN airports origin ON fd.flightOrigin = origin.airportCode
+            LEFT JOIN airports dest ON fd.flightDestination = dest.airportCode
+            """;
+
+    private static final String TRAIN_SELECT = """
+            SELECT
+                td.id as td_id,
+                td.trainNumber as td_trainNumber,
+                td.trainLine as td_trainLine,
+                td.trainDepartureDate as td_trainDepartureDate,
+                td.trainDepartureTime as td_trainDepartureTime,
+                td.trainArrivalDate as td_trainArrivalDate,
+                td.trainArrivalTime as td_trainArrivalTime,
+                td.trainRideDuration as td_trainRideDuration,
+                td.trainRidePrice as td_trainRidePrice,
+                dep.id as dep_id,
+                dep.trainStationFullName as dep_full_name,
+                dep.trainStationCode as dep_code,
+                dep.trainStationCityLocation as dep_city,
+                arr.id as arr_id,
+                arr.trainStationFullName as arr_full_name,
+                arr.trainStationCode as arr_code,
+                arr.trainStationCityLocation as arr_city
+            FROM train_details td
+            LEFT JOIN train_stations dep ON td.trainDepartureStation = dep.trainStationCode
+            LEFT JOIN train_stations arr ON td.trainArrivalStation = arr.trainStationCode
+            """;
+
+    private static final String BUS_SELECT = """
+            SELECT
+                bd.id as bd_id,
+                bd.busNumber as bd_busNumber,
+                bd.busLine as bd_busLine,
+                bd.busDepartureDate as bd_busDepartureDate,
+                bd.busDepartureTime as bd_busDepartureTime,
+                bd.busArrivalDate as bd_busArrivalDate,
+                bd.busArrivalTime as bd_busArrivalTime,
+                bd.busRideDuration as bd_busRideDuration,
+                bd.busRidePrice as bd_busRidePrice,
+                dep.id as dep_id,
+                dep.busStationFullName as dep_full_name,
+                dep.busStationCode as dep_code,
+                dep.busStationCityLocation as dep_city,
+                arr.id as arr_id,
+                arr.busStationFullName as arr_full_name,
+                arr.busStationCode as arr_code,
+                arr.busStationCityLocation as arr_city
+            FROM bus_details bd
+            LEFT JOIN bus_stations dep ON bd.busDepartureStation = dep.busStationCode
+            LEFT JOIN bus_stations arr ON bd.busArrivalStation = arr.busStationCode
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTicketRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // ============================================================================
+    // QUERIES
+    // ============================================================================
+
+    /**
+     * Stream flights with their airports
+     * @param airline Optional airline filter (case-insensitive contains), null for all
+     * @return Flux of flights, empty on error
+     */
+    public Flux<FlightDetails> findFlights(String airline) {
+        DatabaseClient.GenericExecuteSpec spec = hasText(airline)
+                ? databaseClient.sql(FLIGHT_SELECT + "WHERE fd.flightAirline LIKE :airline").bind("airline", containsPattern(airline))
+                : databaseClient.sql(FLIGHT_SELECT);
+
+        return spec.map(ReactiveTicketRepository::mapFlight)
+                .all()
+                .onErrorResume(e -> {
+                    log.error("✗ Repository: Error streaming flight details: {}", e.getMessage());
+                    return Flux.empty();
+                });
+    }
+
+    /**
+     * Stream trains with their stations
+     * @param line Optional line filter (case-insensitive contains), null for all
+     * @return Flux of trains, empty on error
+     */
+    public Flux<TrainDetails> findTrains(String line) {
+        DatabaseClient.GenericExecuteSpec spec = hasText(line)
+                ? databaseClient.sql(TRAIN_SELECT + "WHERE td.trainLine LIKE :line").bind("line", containsPattern(line))
+                : databaseClient.sql(TRAIN_SELECT);
+
+        return spec.map(ReactiveTicketRepository::mapTrain)
+                .all()
+                .onErrorResume(e -> {
+                    log.error("✗ Repository: Error streaming train details: {}", e.getMessage());
+                    return Flux.empty();
+                });
+    }
+
+    /**
+     * Stream buses with their stations
+     * @param line Optional line filter (case-insensitive contains), null for all
+     * @param departureCode Optional departure station code; only applied together with arrivalCode
+     * @param arrivalCode Optional arrival station code
+     * @return Flux of buses, empty on error
+     */
+    public Flux<BusDetails> findBuses(String line, String departureCode, String arrivalCode) {
+        StringBuilder sql = new StringBuilder(BUS_SELECT).append("WHERE 1 = 1");
+        boolean byLine = hasText(line);
+        boolean byRoute = hasText(departureCode) && hasText(arrivalCode);
+        if (byLine) {
+            sql.append(" AND bd.busLine LIKE :line");
+        }
+        if (byRoute) {
+            sql.append(" AND bd.busDepartureStation = :departure AND bd.busArrivalStation = :arrival");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        if (byLine) {
+            spec = spec.bind("line", containsPattern(line));
+        }
+        if (byRoute) {
+            spec = spec.bind("departure", departureCode.toUpperCase().trim())
+                    .bind("arrival", arrivalCode.toUpperCase().trim());
+        }
+
+        return spec.map(ReactiveTicketRepository::mapBus)
+                .all()
+                .onErrorResume(e -> {
+                    log.error("✗ Repository: Error streaming bus details: {}", e.getMessage());
+                    return Flux.empty();
+                });
+    }
+
+    // ============================================================================
+    // ROW MAPPING - same columns as the JDBC row mappers
+    // ============================================================================
+
+    private static FlightDetails mapFlight(Readable row) {
+        FlightDetails flightDetails = new FlightDetails();
+        flightDetails.setId(intOrZero(row, "fd_id"));
+        flightDetails.setFlightNumber(row.get("fd_flightNumber", String.class));
+        flightDetails.setFlightAirline(row.get("fd_flightAirline", String.class));
+        flightDetails.setFlightDepartureDate(row.get("fd_flightDepartureDate", String.class));
+        flightDetails.setFlightArrivalDate(row.get("fd_flightArrivalDate", String.class));
+        flightDetails.setFlightDepartureTime(row.get("fd_flightDepartureTime", String.class));
+        flightDetails.setFlightArrivalTime(row.get("fd_flightArrivalTime", String.class));
+        flightDetails.setFlightTravelTime(row.get("fd_flightTravelTime", String.class));
+        flightDetails.setFlightPrice(row.get("fd_flightPrice", String.class));
+
+        Airport originAirport = new Airport();
+        originAirport.setId(intOrZero(row, "origin_id"));
+        originAirport.setAirportFullName(row.get("origin_full_name", String.class));
+        originAirport.setAirportCode(row.get("origin_code", String.class));
+        originAirport.setAirportCityLocation(row.get("origin_city", String.class));
+        originAirport.setAirportCountryLocation(row.get("origin_country", String.class));
+        originAirport.setAirportTimezone(row.get("origin_timezone", String.class));
+        flightDetails.setFlightOrigin(originAirport);
+
+        Airport destinationAirport = new Airport();
+        destinationAirport.setId(intOrZero(row, "destination_id"));
+        destinationAirport.setAirportFullName(row.get("destination_full_name", String.class));
+        destinationAirport.setAirportCode(row.get("destination_code", String.class));
+        destinationAirport.setAirportCityLocation(row.get("destination_city", String.class));
+        destinationAirport.setAirportCountryLocation(row.get("destination_country", String.class));
+        destinationAirport.setAirportTimezone(row.get("destination_timezone", String.class));
+        flightDetails.setFlightDestination(destinationAirport);
+
+        return flightDetails;
+    }
+
+    private static TrainDetails mapTrain(Readable row) {
+        TrainDetails trainDetails = new TrainDetails();
+        trainDetails.setId(intOrZero(row, "td_id"));
+        trainDetails.setTrainNumber(row.get("td_trainNumber", String.class));
+        trainDetails.setTrainLine(row.get("td_trainLine", String.class));
+        trainDetails.setTrainDepartureDate(row.get("td_trainDepartureDate", String.class));
+        trainDetails.setTrainDepartureTime(row.get("td_trainDepartureTime", String.class));
+        trainDetails.setTrainArrivalDate(row.get("td_trainArrivalDate", String.class));
+        trainDetails.setTrainArrivalTime(row.get("td_trainArrivalTime", String.class));
+        trainDetails.setTrainRideDuration(row.get("td_trainRideDuration", String.class));
+        trainDetails.setTrainRidePrice(row.get("td_trainRidePrice", String.class));
+
+        TrainStation departureStation = new TrainStation();
+        departureStation.setId(intOrZero(row, "dep_id"));
+        departureStation.setTrainStationFullName(row.get("dep_full_name", String.class));
+        departureStation.setTrainStationCode(row.get("dep_code", String.class));
+        departureStation.setTrainStationCityLocation(row.get("dep_city", String.class));
+        trainDetails.setTrainDepartureStation(departureStation);
+
+        TrainStation arrivalStation = new TrainStation();
+        arrivalStation.setId(intOrZero(row, "arr_id"));
+        arrivalStation.setTrainStationFullName(row.get("arr_full_name", String.class));
+        arrivalStation.setTrainStationCode(row.get("arr_code", String.class));
+        arrivalStation.setTrainStationCityLocation(row.get("arr_city", String.class));
+        trainDetails.setTrainArrivalStation(arrivalStation);
+
+        return trainDetails;
+    }
+
+    private static BusDetails mapBus(Readable row) {
+        BusDetails busDetails = new BusDetails();
+        busDetails.setId(intOrZero(row, "bd_id"));
+        busDetails.setBusNumber(row.get("bd_busNumber", String.class));
+        busDetails.setBusLine(row.get("bd_busLine", String.class));
+        busDetails.setBusDepartureDate(row.get("bd_busDepartureDate", String.class));
+        busDetails.setBusDepartureTime(row.get("bd_busDepartureTime", String.class));
+        busDetails.setBusArrivalDate(row.get("bd_busArrivalDate", String.class));
+        busDetails.setBusArrivalTime(row.get("bd_busArrivalTime", String.class));
+        busDetails.setBusRideDuration(row.get("bd_busRideDuration", String.class));
+        busDetails.setBusRidePrice(row.get("bd_busRidePrice", String.class));
+
+        BusStation departureStation = new BusStation();
+        departureStation.setId(intOrZero(row, "dep_id"));
+        departureStation.setBusStationFullName(row.get("dep_full_name", String.class));
+        departureStation.setBusStationCode(row.get("dep_code", String.class));
+        departureStation.setBusStationCityLocation(row.get("dep_city", String.class));
+        busDetails.setBusDepartureStation(departureStation);
+
+        BusStation arrivalStation = new BusStation();
+        arrivalStation.setId(intOrZero(row, "arr_id"));
+        arrivalStation.setBusStationFullName(row.get("arr_full_name", String.class));
+        arrivalStation.setBusStationCode(row.get("arr_code", String.class));
+        arrivalStation.setBusStationCityLocation(row.get("arr_city", String.class));
+        busDetails.setBusArrivalStation(arrivalStation);
+
+        return busDetails;
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    /**
+     * ResultSet.getInt returns 0 for NULL (unmatched LEFT JOIN); do the same here
+     */
+    private static int intOrZero(Readable row, String column) {
+        Integer value = row.get(column, Integer.class);
+        return value != null ? value : 0;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static String containsPattern(String term) {
+        String escaped = term.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.travelbuddybackend.repository;
 
+import com.example.travelbuddybackend.models.DailyFare;
 import com.example.travelbuddybackend.models.TrainDetails;
 import com.example.travelbuddybackend.models.TrainStation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowCountCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,6 +33,8 @@ import java.util.Optional;
 @Repository
 public class TrainDetailsRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(TrainDetailsRepository.class);
+
     private final JdbcTemplate jdbcTemplate;
     private final TrainStationRepository trainStationRepository;
 
@@ -32,7 +43,7 @@ public class TrainDetailsRepository {
         this.trainStationRepository = trainStationRepository;
     }
 
-    private static class TrainDetailsRowMapper implements RowMapper<TrainDetails> {
+    static class TrainDetailsRowMapper implements RowMapper<TrainDetails> {
         @Override
         public TrainDetails mapRow(ResultSet rs, int rowNum) throws SQLException {
             TrainDetails trainDetails = new TrainDetails();
@@ -126,17 +137,134 @@ public class TrainDetailsRepository {
                 """;
 
             List<TrainDetails> trains = jdbcTemplate.query(sql, new TrainDetailsRowMapper());
-            System.out.println("✓ Repository: Retrieved " + trains.size() + " train details");
+            log.debug("✓ Repository: Retrieved {} train details", trains.size());
             return trains;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error retrieving train details: " + e.getMessage());
+            log.error("✗ Repository: Error retrieving train details: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Lowest price and trip count per departure date on one route, in a single grouped query.
+     * Rows whose price is not a plain number are left out, as the price filters never match them.
+     */
+    public List<DailyFare> findDailyFares(String originCode, String destinationCode) {
+        try {
+            String sql = """
+                SELECT td.trainDepartureDate as departure_date,
+                    MIN(CAST(td.trainRidePrice AS DECIMAL(12, 2))) as lowest_price,
+                    COUNT(*) as trips
+                FROM train_details td
+                WHERE td.trainDepartureStation = ? AND td.trainArrivalStation = ?
+                    AND td.trainRidePrice REGEXP '^[0-9]+([.][0-9]+)?$'
+                GROUP BY td.trainDepartureDate
+                """;
+
+            List<DailyFare> fares = jdbcTemplate.query(sql, (rs, rowNum) -> new DailyFare(
+                    rs.getString("departure_date"), rs.getDouble("lowest_price"), rs.getInt("trips")),
+                    originCode, destinationCode);
+            log.debug("✓ Repository: Retrieved {} days of train fares for {} → {}", fares.size(), originCode, destinationCode);
+            return fares;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error retrieving train fares: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Every train's id and raw price string, for the in-memory price index
+     */
+    public Map<Integer, String> findPricesById() {
+        try {
+            Map<Integer, String> prices = new LinkedHashMap<>();
+            jdbcTemplate.query("SELECT id, trainRidePrice FROM train_details",
+                    (RowCallbackHandler) rs -> prices.put(rs.getInt("id"), rs.getString("trainRidePrice")));
+            log.debug("✓ Repository: Retrieved {} train prices", prices.size());
+            return prices;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error retrieving train prices: {}", e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * Stream every train into handler as TripRows (line as the carrier), streamed like
+     * FlightDetailsRepository.streamAll. A location missing from train_stations has id 0.
+     * @return false if the read failed; whatever the handler built is then incomplete and must be discarded
+     */
+    public boolean streamAll(RowCallbackHandler handler) {
+        try {
+            String sql = """
+                SELECT td.id as trip_id, dep.id as origin_id, arr.id as destination_id,
+                    td.trainDepartureDate as departure_date, td.trainDepartureTime as departure_time,
+                    td.trainArrivalDate as arrival_date, td.trainArrivalTime as arrival_time,
+                    td.trainLine as carrier, td.trainRidePrice as price
+                FROM train_details td
+                LEFT JOIN train_stations dep ON td.trainDepartureStation = dep.trainStationCode
+                LEFT JOIN train_stations arr ON td.trainArrivalStation = arr.trainStationCode
+                """;
+
+            RowCountCallbackHandler counter = new RowCountCallbackHandler();
+            jdbcTemplate.query(sql, statement -> statement.setFetchSize(Integer.MIN_VALUE), (RowCallbackHandler) rs -> {
+                counter.processRow(rs);
+                handler.processRow(rs);
+            });
+            log.debug("✓ Repository: Streamed {} trains", counter.getRowCount());
+            return true;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error streaming trains: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Find trains by primary key with a single IN query; keep ids to a few thousand per call
+     */
+    public List<TrainDetails> findByIds(int[] ids) {
+        if (ids == null || ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        try {
+            String sql = """
+                SELECT 
+                    td.id as td_id, 
+                    td.trainNumber as td_trainNumber, 
+                    td.trainLine as td_trainLine,
+                    td.trainDepartureDate as td_trainDepartureDate,
+                    td.trainDepartureTime as td_trainDepartureTime,
+                    td.trainArrivalDate as td_trainArrivalDate,
+                    td.trainArrivalTime as td_trainArrivalTime,
+                    td.trainRideDuration as td_trainRideDuration,
+                    td.trainRidePrice as td_trainRidePrice,
+                    dep.id as dep_id, 
+                    dep.trainStationFullName as dep_full_name,
+                    dep.trainStationCode as dep_code, 
+                    dep.trainStationCityLocation as dep_city,
+                    arr.id as arr_id, 
+                    arr.trainStationFullName as arr_full_name,
+                    arr.trainStationCode as arr_code, 
+                    arr.trainStationCityLocation as arr_city
+                FROM train_details td
+                LEFT JOIN train_stations dep ON td.trainDepartureStation = dep.trainStationCode
+                LEFT JOIN train_stations arr ON td.trainArrivalStation = arr.trainStationCode
+                WHERE td.id IN (%s)
+                """.formatted(String.join(",", Collections.nCopies(ids.length, "?")));
+
+            Object[] params = Arrays.stream(ids).boxed().toArray();
+            List<TrainDetails> trains = jdbcTemplate.query(sql, new TrainDetailsRowMapper(), params);
+            log.debug("✓ Repository: Retrieved {} train details by id", trains.size());
+            return trains;
+        } catch (Exception e) {
+            log.error("✗ Repository: Error retrieving train details by id: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
     public Optional<TrainDetails> findById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid train ID: " + id);
+            log.warn("✗ Repository: Invalid train ID: {}", id);
             return Optional.empty();
         }
 
@@ -169,21 +297,21 @@ public class TrainDetailsRepository {
             List<TrainDetails> trains = jdbcTemplate.query(sql, new TrainDetailsRowMapper(), id);
 
             if (trains.isEmpty()) {
-                System.out.println("✗ Repository: Train with ID " + id + " not found");
+                log.debug("✗ Repository: Train with ID {} not found", id);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found train with ID " + id);
+            log.debug("✓ Repository: Found train with ID {}", id);
             return Optional.of(trains.get(0));
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding train by ID: " + e.getMessage());
+            log.error("✗ Repository: Error finding train by ID: {}", e.getMessage());
             return Optional.empty();
         }
     }
 
     public Optional<TrainDetails> findByTrainNumber(String trainNumber) {
         if (trainNumber == null || trainNumber.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid train number");
+            log.warn("✗ Repository: Invalid train number");
             return Optional.empty();
         }
 
@@ -216,14 +344,14 @@ public class TrainDetailsRepository {
             List<TrainDetails> trains = jdbcTemplate.query(sql, new TrainDetailsRowMapper(), trainNumber);
 
             if (trains.isEmpty()) {
-                System.out.println("✗ Repository: Train with number " + trainNumber + " not found");
+                log.debug("✗ Repository: Train with number {} not found", trainNumber);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Repository: Found train with number " + trainNumber);
+            log.debug("✓ Repository: Found train with number {}", trainNumber);
             return Optional.of(trains.get(0));
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding train by number: " + e.getMessage());
+            log.error("✗ Repository: Error finding train by number: {}", e.getMessage());
             return Optional.empty();
         }
     }
@@ -231,7 +359,17 @@ public class TrainDetailsRepository {
     public List<TrainDetails> findByRoute(Integer departureStationId, Integer arrivalStationId) {
         if (departureStationId == null || arrivalStationId == null ||
                 departureStationId <= 0 || arrivalStationId <= 0) {
-            System.out.println("✗ Repository: Invalid station IDs");
+            log.warn("✗ Repository: Invalid station IDs");
+            return new ArrayList<>();
+        }
+
+        // The detail rows reference stations by code; binding the IDs directly would
+        // compare a varchar column with a number, which matches nothing useful and
+        // prevents MySQL from using the route index
+        Optional<TrainStation> departureStation = trainStationRepository.findById(departureStationId);
+        Optional<TrainStation> arrivalStation = trainStationRepository.findById(arrivalStationId);
+        if (departureStation.isEmpty() || arrivalStation.isEmpty()) {
+            log.warn("✗ Repository: Station not found for route {} -> {}", departureStationId, arrivalStationId);
             return new ArrayList<>();
         }
 
@@ -262,19 +400,19 @@ public class TrainDetailsRepository {
                 """;
 
             List<TrainDetails> trains = jdbcTemplate.query(sql, new TrainDetailsRowMapper(),
-                    departureStationId, arrivalStationId);
+                    departureStation.get().getTrainStationCode(), arrivalStation.get().getTrainStationCode());
 
-            System.out.println("✓ Repository: Found " + trains.size() + " trains for route");
+            log.debug("✓ Repository: Found {} trains for route", trains.size());
             return trains;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding trains by route: " + e.getMessage());
+            log.error("✗ Repository: Error finding trains by route: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
     public List<TrainDetails> findByDepartureDate(String departureDate) {
         if (departureDate == null || departureDate.trim().isEmpty()) {
-            System.out.println("✗ Repository: Invalid departure date");
+            log.warn("✗ Repository: Invalid departure date");
             return new ArrayList<>();
         }
 
@@ -285,21 +423,24 @@ public class TrainDetailsRepository {
                             "trainRideDuration, trainRidePrice FROM train_details WHERE trainDepartureDate = ?",
                     new SimpleTrainDetailsRowMapper(), departureDate);
 
-            System.out.println("✓ Repository: Found " + trains.size() + " trains for date " + departureDate);
+            log.debug("✓ Repository: Found {} trains for date {}", trains.size(), departureDate);
             return trains;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding trains by date: " + e.getMessage());
+            log.error("✗ Repository: Error finding trains by date: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
-    public boolean createTrainDetails(TrainDetails trainDetails) {
+    /**
+     * @return The generated id of the new train, or empty if it wasn't created
+     */
+    public Optional<Integer> createTrainDetails(TrainDetails trainDetails) {
         if (!isValidForRepository(trainDetails)) {
-            return false;
+            return Optional.empty();
         }
 
         try {
-            int rowsAffected = jdbcTemplate.update(
+            Optional<Integer> id = GeneratedKeyInsert.execute(jdbcTemplate,
                     "INSERT INTO train_details (trainNumber, trainLine, trainDepartureStation, trainArrivalStation, " +
                             "trainDepartureDate, trainDepartureTime, trainArrivalDate, trainArrivalTime, " +
                             "trainRideDuration, trainRidePrice) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
@@ -314,16 +455,15 @@ public class TrainDetailsRepository {
                     trainDetails.getTrainRideDuration(),
                     trainDetails.getTrainRidePrice());
 
-            if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Train created: " + trainDetails.getTrainNumber());
-                return true;
+            if (id.isPresent()) {
+                log.debug("✓ Repository: Train created: {} (id {})", trainDetails.getTrainNumber(), id.get());
             } else {
-                System.out.println("✗ Repository: Failed to create train");
-                return false;
+                log.warn("✗ Repository: Failed to create train");
             }
+            return id;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error creating train: " + e.getMessage());
-            return false;
+            log.error("✗ Repository: Error creating train: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
@@ -351,21 +491,21 @@ public class TrainDetailsRepository {
                     trainDetails.getId());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Train updated: " + trainDetails.getTrainNumber());
+                log.debug("✓ Repository: Train updated: {}", trainDetails.getTrainNumber());
                 return true;
             } else {
-                System.out.println("✗ Repository: Train not found for update");
+                log.debug("✗ Repository: Train not found for update");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating train: " + e.getMessage());
+            log.error("✗ Repository: Error updating train: {}", e.getMessage());
             return false;
         }
     }
 
     public boolean deleteTrainDetails(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Repository: Invalid train ID for deletion: " + id);
+            log.warn("✗ Repository: Invalid train ID for deletion: {}", id);
             return false;
         }
 
@@ -373,41 +513,41 @@ public class TrainDetailsRepository {
             int rowsAffected = jdbcTemplate.update("DELETE FROM train_details WHERE id = ?", id);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Train deleted successfully");
+                log.debug("✓ Repository: Train deleted successfully");
                 return true;
             } else {
-                System.out.println("✗ Repository: Train not found for deletion");
+                log.debug("✗ Repository: Train not found for deletion");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error deleting train: " + e.getMessage());
+            log.error("✗ Repository: Error deleting train: {}", e.getMessage());
             return false;
         }
     }
 
     private boolean isValidForRepository(TrainDetails trainDetails) {
         if (trainDetails == null) {
-            System.out.println("✗ Repository: Train details cannot be null");
+            log.warn("✗ Repository: Train details cannot be null");
             return false;
         }
 
         if (trainDetails.getTrainNumber() == null || trainDetails.getTrainNumber().trim().isEmpty()) {
-            System.out.println("✗ Repository: Train number is required");
+            log.warn("✗ Repository: Train number is required");
             return false;
         }
 
         if (trainDetails.getTrainLine() == null || trainDetails.getTrainLine().trim().isEmpty()) {
-            System.out.println("✗ Repository: Train line is required");
+            log.warn("✗ Repository: Train line is required");
             return false;
         }
 
         if (trainDetails.getTrainDepartureStation() == null || trainDetails.getTrainDepartureStation().getId() == null) {
-            System.out.println("✗ Repository: Departure station is required");
+            log.warn("✗ Repository: Departure station is required");
             return false;
         }
 
         if (trainDetails.getTrainArrivalStation() == null || trainDetails.getTrainArrivalStation().getId() == null) {
-            System.out.println("✗ Repository: Arrival station is required");
+            log.warn("✗ Repository: Arrival station is required");
             return false;
         }
 
@@ -416,12 +556,12 @@ public class TrainDetailsRepository {
         Optional<TrainStation> arrStation = trainStationRepository.findById(trainDetails.getTrainArrivalStation().getId());
 
         if (depStation.isEmpty()) {
-            System.out.println("✗ Repository: Departure station not found in database");
+            log.debug("✗ Repository: Departure station not found in database");
             return false;
         }
 
         if (arrStation.isEmpty()) {
-            System.out.println("✗ Repository: Arrival station not found in database");
+            log.debug("✗ Repository: Arrival station not found in database");
             return false;
         }
 
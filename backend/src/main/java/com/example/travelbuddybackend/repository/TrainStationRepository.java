@@ -1,6 +1,8 @@
 package com.example.travelbuddybackend.repository;
 
 import com.example.travelbuddybackend.models.TrainStation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -14,6 +16,8 @@ import java.util.Optional;
 @Repository
 public class TrainStationRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(TrainStationRepository.class);
+
     private final JdbcTemplate jdbcTemplate;
 
     public TrainStationRepository(JdbcTemplate jdbcTemplate) {
@@ -33,21 +37,29 @@ public class TrainStationRepository {
     }
 
     public List<TrainStation> findAll() {
+        return readAll().orElseGet(ArrayList::new);
+    }
+
+    /**
+     * All train stations, telling a failed read from an empty table (findAll returns an empty list for both)
+     * @return The train stations, or empty if the read failed
+     */
+    public Optional<List<TrainStation>> readAll() {
         try {
             List<TrainStation> trainStations = jdbcTemplate.query(
                     "SELECT id, trainStationFullName, trainStationCode, trainStationCityLocation FROM train_stations",
                     new TrainStationRowMapper());
-            System.out.println("✓ Repository: Successfully retrieved " + trainStations.size() + " train stations");
-            return trainStations;
+            log.debug("✓ Repository: Successfully retrieved {} train stations", trainStations.size());
+            return Optional.of(trainStations);
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error retrieving train stations: " + e.getMessage());
-            return new ArrayList<>();
+            log.error("✗ Repository: Error retrieving train stations: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
     public Optional<TrainStation> findById(int id) {
         if (id <= 0) {
-            System.out.println("✗ Repository: Error: Invalid train station ID: " + id);
+            log.warn("✗ Repository: Error: Invalid train station ID: {}", id);
             return Optional.empty();
         }
 
@@ -57,21 +69,21 @@ public class TrainStationRepository {
                     new TrainStationRowMapper(), id);
 
             if (trainStations.isEmpty()) {
-                System.out.println("✗ Repository: Train station with ID " + id + " not found");
+                log.debug("✗ Repository: Train station with ID {} not found", id);
                 return Optional.empty();
             } else {
-                System.out.println("✓ Repository: Found train station: " + trainStations.get(0).getTrainStationFullName() + " with ID " + id);
+                log.debug("✓ Repository: Found train station: {} with ID {}", trainStations.get(0).getTrainStationFullName(), id);
                 return Optional.of(trainStations.get(0));
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding train station with ID: " + id + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding train station with ID: {}: {}", id, e.getMessage());
             return Optional.empty();
         }
     }
 
     public Optional<TrainStation> findByStationCode(String stationCode) {
         if (stationCode == null || stationCode.trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Invalid station code: " + stationCode);
+            log.warn("✗ Repository: Error: Invalid station code: {}", stationCode);
             return Optional.empty();
         }
 
@@ -81,21 +93,21 @@ public class TrainStationRepository {
                     new TrainStationRowMapper(), stationCode.toUpperCase());
 
             if (trainStations.isEmpty()) {
-                System.out.println("✗ Repository: Train station with code " + stationCode + " not found");
+                log.debug("✗ Repository: Train station with code {} not found", stationCode);
                 return Optional.empty();
             } else {
-                System.out.println("✓ Repository: Found train station: " + trainStations.get(0).getTrainStationFullName() + " with code " + stationCode);
+                log.debug("✓ Repository: Found train station: {} with code {}", trainStations.get(0).getTrainStationFullName(), stationCode);
                 return Optional.of(trainStations.get(0));
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding train station with code: " + stationCode + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding train station with code: {}: {}", stationCode, e.getMessage());
             return Optional.empty();
         }
     }
 
     public List<TrainStation> findByCity(String city) {
         if (city == null || city.trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Invalid city: " + city);
+            log.warn("✗ Repository: Error: Invalid city: {}", city);
             return new ArrayList<>();
         }
 
@@ -104,10 +116,10 @@ public class TrainStationRepository {
                     "SELECT id, trainStationFullName, trainStationCode, trainStationCityLocation FROM train_stations WHERE trainStationCityLocation = ?",
                     new TrainStationRowMapper(), city);
 
-            System.out.println("✓ Repository: Found " + trainStations.size() + " train stations in " + city);
+            log.debug("✓ Repository: Found {} train stations in {}", trainStations.size(), city);
             return trainStations;
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error finding train stations in city " + city + ": " + e.getMessage());
+            log.error("✗ Repository: Error finding train stations in city {}: {}", city, e.getMessage());
             return new ArrayList<>();
         }
     }
@@ -124,14 +136,14 @@ public class TrainStationRepository {
                     trainStation.getTrainStationFullName(), trainStation.getTrainStationCode(), trainStation.getTrainStationCityLocation());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: New train station created: " + trainStation.getTrainStationFullName() + " (" + trainStation.getTrainStationCode() + ")");
+                log.debug("✓ Repository: New train station created: {} ({})", trainStation.getTrainStationFullName(), trainStation.getTrainStationCode());
                 return true;
             } else {
-                System.out.println("✗ Repository: Failed to create train station");
+                log.warn("✗ Repository: Failed to create train station");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error creating train station: " + e.getMessage());
+            log.error("✗ Repository: Error creating train station: {}", e.getMessage());
             return false;
         }
     }
@@ -148,21 +160,21 @@ public class TrainStationRepository {
                     trainStation.getTrainStationFullName(), trainStation.getTrainStationCode(), trainStation.getTrainStationCityLocation(), trainStation.getId());
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Train station updated successfully: " + trainStation.getTrainStationFullName() + " (" + trainStation.getTrainStationCode() + ")");
+                log.debug("✓ Repository: Train station updated successfully: {} ({})", trainStation.getTrainStationFullName(), trainStation.getTrainStationCode());
                 return true;
             } else {
-                System.out.println("✗ Repository: Failed to update train station " + trainStation.getTrainStationFullName());
+                log.warn("✗ Repository: Failed to update train station {}", trainStation.getTrainStationFullName());
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error updating train station: " + e.getMessage());
+            log.error("✗ Repository: Error updating train station: {}", e.getMessage());
             return false;
         }
     }
 
     public boolean deleteTrainStation(int id) {
         if (id <= 0) {
-            System.out.println("✗ Repository: Error: Invalid train station ID: " + id);
+            log.warn("✗ Repository: Error: Invalid train station ID: {}", id);
             return false;
         }
 
@@ -170,37 +182,37 @@ public class TrainStationRepository {
             int rowsAffected = jdbcTemplate.update("DELETE FROM train_stations WHERE id = ?", id);
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Repository: Train station with ID " + id + " deleted successfully");
+                log.debug("✓ Repository: Train station with ID {} deleted successfully", id);
                 return true;
             } else {
-                System.out.println("✗ Repository: Train station with ID " + id + " not found");
+                log.debug("✗ Repository: Train station with ID {} not found", id);
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("✗ Repository: Error deleting train station: " + e.getMessage());
+            log.error("✗ Repository: Error deleting train station: {}", e.getMessage());
             return false;
         }
     }
 
     public boolean isValidTrainStation(TrainStation trainStation) {
         if (trainStation == null) {
-            System.out.println("✗ Repository: Error: Cannot update null train station");
+            log.warn("✗ Repository: Error: Cannot update null train station");
             return false;
         }
 
 
         if (trainStation.getTrainStationFullName() == null || trainStation.getTrainStationFullName().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Train station name is required");
+            log.warn("✗ Repository: Error: Train station name is required");
             return false;
         }
 
         if (trainStation.getTrainStationCode() == null || trainStation.getTrainStationCode().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Train station code is required");
+            log.warn("✗ Repository: Error: Train station code is required");
             return false;
         }
 
         if (trainStation.getTrainStationCityLocation() == null || trainStation.getTrainStationCityLocation().trim().isEmpty()) {
-            System.out.println("✗ Repository: Error: Train station city location is required");
+            log.warn("✗ Repository: Error: Train station city location is required");
             return false;
         }
         return true;
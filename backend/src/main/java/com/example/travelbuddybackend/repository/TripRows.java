@@ -0,0 +1,56 @@
+package com.example.travelbuddybackend.repository;
+
+import com.example.travelbuddybackend.index.ColumnarTripStore;
+import com.example.travelbuddybackend.index.ConnectionTimetable;
+import com.example.travelbuddybackend.index.TripSearchIndex;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Trip Rows
+ *
+ * The row shape every detail repository's streamAll produces, and the
+ * handlers that feed it into each index builder. One row per trip, with
+ * these columns:
+ *
+ * trip_id, origin_id, destination_id (0 if the location is missing from its
+ * station table), departure_date, departure_time, arrival_date, arrival_time,
+ * carrier (airline or line) and price.
+ *
+ * Builders skip rows they can't use, so one read serves all of them.
+ */
+public final class TripRows {
+
+    public static final String TRIP_ID = "trip_id";
+    public static final String ORIGIN_ID = "origin_id";
+    public static final String DESTINATION_ID = "destination_id";
+    public static final String DEPARTURE_DATE = "departure_date";
+    public static final String DEPARTURE_TIME = "departure_time";
+    public static final String ARRIVAL_DATE = "arrival_date";
+    public static final String ARRIVAL_TIME = "arrival_time";
+    public static final String CARRIER = "carrier";
+    public static final String PRICE = "price";
+
+    private TripRows() {
+    }
+
+    /**
+     * Add each row as a connection of the given mode; rows without both stations are skipped
+     */
+    public static RowCallbackHandler into(ConnectionTimetable.Builder builder, int mode) {
+        return rs -> builder.addConnection(mode, rs.getInt(TRIP_ID), rs.getInt(ORIGIN_ID), rs.getInt(DESTINATION_ID),
+                rs.getString(DEPARTURE_DATE), rs.getString(DEPARTURE_TIME),
+                rs.getString(ARRIVAL_DATE), rs.getString(ARRIVAL_TIME), rs.getString(PRICE));
+    }
+
+    public static RowCallbackHandler into(TripSearchIndex.Builder builder) {
+        return rs -> builder.add(rs.getInt(TRIP_ID), rs.getInt(ORIGIN_ID), rs.getInt(DESTINATION_ID),
+                rs.getString(DEPARTURE_DATE), rs.getString(CARRIER), rs.getString(PRICE));
+    }
+
+    public static RowCallbackHandler into(ColumnarTripStore.Builder builder) {
+        return rs -> builder.add(rs.getInt(TRIP_ID), rs.getInt(ORIGIN_ID), rs.getInt(DESTINATION_ID),
+                rs.getString(DEPARTURE_DATE), rs.getString(DEPARTURE_TIME),
+                rs.getString(ARRIVAL_DATE), rs.getString(ARRIVAL_TIME),
+                rs.getString(CARRIER), rs.getString(PRICE));
+    }
+}
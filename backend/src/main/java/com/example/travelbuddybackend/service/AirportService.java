@@ -2,24 +2,33 @@ package com.example.travelbuddybackend.service;
 
 import com.example.travelbuddybackend.models.Airport;
 import com.example.travelbuddybackend.repository.AirportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class AirportService {
 
+    private static final Logger log = LoggerFactory.getLogger(AirportService.class);
+
     private final AirportRepository airportRepository;
     private final ValidatorService validatorService;
+    private final StationAutocompleteService stationAutocompleteService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AirportService(AirportRepository airportRepository, ValidatorService validatorService) {
+    public AirportService(AirportRepository airportRepository, ValidatorService validatorService,
+                          StationAutocompleteService stationAutocompleteService,
+                          ApplicationEventPublisher eventPublisher) {
         this.airportRepository = airportRepository;
         this.validatorService = validatorService;
+        this.stationAutocompleteService = stationAutocompleteService;
+        this.eventPublisher = eventPublisher;
     }
 
     // ============================================================================
@@ -32,7 +41,7 @@ public class AirportService {
 
     public Optional<Airport> getAirportById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Service Error: Airport ID must be a positive integer");
+            log.warn("✗ Service Error: Airport ID must be a positive integer");
             return Optional.empty();
         }
         return airportRepository.findById(id);
@@ -40,7 +49,7 @@ public class AirportService {
 
     public Optional<Airport> getAirportByCode(String airportCode) {
         if (airportCode == null || airportCode.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Airport code cannot be null or empty");
+            log.warn("✗ Service Error: Airport code cannot be null or empty");
             return Optional.empty();
         }
         return airportRepository.findByAirportCode(airportCode.toUpperCase().trim());
@@ -52,15 +61,16 @@ public class AirportService {
         }
 
         if (airportRepository.findByAirportCode(airport.getAirportCode()).isPresent()) {
-            System.out.println("✗ Service Error: Airport code already exists: " + airport.getAirportCode());
+            log.warn("✗ Service Error: Airport code already exists: {}", airport.getAirportCode());
             return false;
         }
 
         boolean success = airportRepository.createAirport(airport);
         if (success) {
-            System.out.println("✓ Service: Airport added successfully");
+            log.info("✓ Service: Airport added successfully");
+            eventPublisher.publishEvent(new StationChangedEvent("flight"));
         } else {
-            System.out.println("✗ Service: Failed to add airport");
+            log.warn("✗ Service: Failed to add airport");
         }
         return success;
     }
@@ -71,46 +81,48 @@ public class AirportService {
         }
 
         if (airport.getId() == null || airport.getId() <= 0) {
-            System.out.println("✗ Service Error: Valid airport ID required for update");
+            log.warn("✗ Service Error: Valid airport ID required for update");
             return false;
         }
 
         if (airportRepository.findById(airport.getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Airport not found for update");
+            log.warn("✗ Service Error: Airport not found for update");
             return false;
         }
 
         Optional<Airport> existingAirport = airportRepository.findByAirportCode(airport.getAirportCode());
         if (existingAirport.isPresent() && !existingAirport.get().getId().equals(airport.getId())) {
-            System.out.println("✗ Service Error: Airport code already exists: " + airport.getAirportCode());
+            log.warn("✗ Service Error: Airport code already exists: {}", airport.getAirportCode());
             return false;
         }
 
         boolean success = airportRepository.updateAirport(airport);
         if (success) {
-            System.out.println("✓ Service: Airport updated successfully");
+            log.info("✓ Service: Airport updated successfully");
+            eventPublisher.publishEvent(new StationChangedEvent("flight"));
         } else {
-            System.out.println("✗ Service: Failed to update airport");
+            log.warn("✗ Service: Failed to update airport");
         }
         return success;
     }
 
     public boolean deleteAirport(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Service Error: Valid airport ID required for deletion");
+            log.warn("✗ Service Error: Valid airport ID required for deletion");
             return false;
         }
 
         if (airportRepository.findById(id).isEmpty()) {
-            System.out.println("✗ Service Error: Airport not found for deletion");
+            log.warn("✗ Service Error: Airport not found for deletion");
             return false;
         }
 
         boolean success = airportRepository.deleteAirport(id);
         if (success) {
-            System.out.println("✓ Service: Airport deleted successfully");
+            log.info("✓ Service: Airport deleted successfully");
+            eventPublisher.publishEvent(new StationChangedEvent("flight"));
         } else {
-            System.out.println("✗ Service: Failed to delete airport");
+            log.warn("✗ Service: Failed to delete airport");
         }
         return success;
     }
@@ -142,35 +154,13 @@ public class AirportService {
     // ===========================================================
 
     /**
-     * Multi-criteria search - optimized to minimize database calls
+     * Search airports by code, name, city or country, as typed into the station search box
+     * @param searchTerm Text typed so far; may be partial or misspelt
+     * @param sessionId Search-as-you-type session of the search box, or null
+     * @return The best matches first, at most autocomplete.limit (see StationAutocompleteService)
      */
-    public List<Airport> searchAirports(String searchTerm) {
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Search term cannot be null or empty");
-            return new ArrayList<>();
-        }
-
-        String trimmedTerm = searchTerm.trim();
-
-        Optional<Airport> exactMatch = airportRepository.findByAirportCode(trimmedTerm.toUpperCase());
-        if (exactMatch.isPresent()) {
-            List<Airport> result = new ArrayList<>();
-            result.add(exactMatch.get());
-            return result;
-        }
-
-        // If not exact code match, do comprehensive search using in-memory filtering
-        String lowerSearchTerm = trimmedTerm.toLowerCase();
-        List<Airport> allAirports = getAllAirports();
-
-        return allAirports.stream()
-                .filter(airport ->
-                        airport.getAirportFullName().toLowerCase().contains(lowerSearchTerm) ||
-                                airport.getAirportCode().toLowerCase().contains(lowerSearchTerm) ||
-                                airport.getAirportCityLocation().toLowerCase().contains(lowerSearchTerm) ||
-                                airport.getAirportCountryLocation().toLowerCase().contains(lowerSearchTerm) ||
-                                airport.getAirportTimezone().toLowerCase().contains(lowerSearchTerm))
-                .collect(Collectors.toList());
+    public List<Airport> searchAirports(String searchTerm, String sessionId) {
+        return stationAutocompleteService.searchAirports(searchTerm, sessionId);
     }
 
     // ============================================================================
@@ -179,39 +169,39 @@ public class AirportService {
 
     private boolean isValidForService(Airport airport) {
         if (airport == null) {
-            System.out.println("✗ Service Error: Airport cannot be null");
+            log.warn("✗ Service Error: Airport cannot be null");
             return false;
         }
 
         // Basic field validation
         if (airport.getAirportFullName() == null || airport.getAirportFullName().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Airport name is required");
+            log.warn("✗ Service Error: Airport name is required");
             return false;
         }
 
         if (airport.getAirportCode() == null || airport.getAirportCode().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Airport code is required");
+            log.warn("✗ Service Error: Airport code is required");
             return false;
         }
 
         // Business validation - airport code format
         if (!isValidAirportCodeFormat(airport.getAirportCode())) {
-            System.out.println("✗ Service Error: Invalid airport code format. Must be 3-4 uppercase letters");
+            log.warn("✗ Service Error: Invalid airport code format. Must be 3-4 uppercase letters");
             return false;
         }
 
         if (airport.getAirportCityLocation() == null || airport.getAirportCityLocation().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Airport city location is required");
+            log.warn("✗ Service Error: Airport city location is required");
             return false;
         }
 
         if (airport.getAirportCountryLocation() == null || airport.getAirportCountryLocation().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Airport country location is required");
+            log.warn("✗ Service Error: Airport country location is required");
             return false;
         }
 
         if (airport.getAirportTimezone() == null || airport.getAirportTimezone().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Airport timezone is required");
+            log.warn("✗ Service Error: Airport timezone is required");
             return false;
         }
 
@@ -1,28 +1,80 @@
 package com.example.travelbuddybackend.service;
 
+import com.example.travelbuddybackend.index.PriceHistogram;
+import com.example.travelbuddybackend.index.PriceIndex;
 import com.example.travelbuddybackend.models.*;
+import com.example.travelbuddybackend.monitoring.QueryCancellation;
+import com.example.travelbuddybackend.monitoring.jfr.SearchEvent;
+import com.example.travelbuddybackend.service.CriteriaMatcher.LocationNeedle;
+import com.example.travelbuddybackend.service.SearchFanOut.ModeOutcome;
+import com.example.travelbuddybackend.service.SearchIndexService.TripFilter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class BookingSearchService {
 
-    @Autowired
-    private BookingService bookingService;
+    private static final Logger log = LoggerFactory.getLogger(BookingSearchService.class);
 
-    @Autowired
-    private FlightDetailsService flightDetailsService;
+    // Session context kind of a mode's trips, e.g. "tickets-flight"
+    private static final String SESSION_KIND_PREFIX = "tickets-";
 
-    @Autowired
-    private TrainDetailsService trainDetailsService;
+    private final BookingService bookingService;
+    private final FlightDetailsService flightDetailsService;
+    private final TrainDetailsService trainDetailsService;
+    private final BusDetailsService busDetailsService;
+    private final SearchFanOut searchFanOut;
+    private final SearchIndexService searchIndexService;
+    private final SearchSessionService searchSessionService;
+    private final SearchCoalescer searchCoalescer;
+    private final MeterProvider<Timer> stageTimer;
 
     @Autowired
-    private BusDetailsService busDetailsService;
+    public BookingSearchService(BookingService bookingService,
+                                FlightDetailsService flightDetailsService,
+                                TrainDetailsService trainDetailsService,
+                                BusDetailsService busDetailsService,
+                                SearchFanOut searchFanOut,
+                                SearchIndexService searchIndexService,
+                                SearchSessionService searchSessionService,
+                                SearchCoalescer searchCoalescer,
+                                MeterRegistry meterRegistry) {
+        this.bookingService = bookingService;
+        this.flightDetailsService = flightDetailsService;
+        this.trainDetailsService = trainDetailsService;
+        this.busDetailsService = busDetailsService;
+        this.searchFanOut = searchFanOut;
+        this.searchIndexService = searchIndexService;
+        this.searchSessionService = searchSessionService;
+        this.searchCoalescer = searchCoalescer;
+        this.stageTimer = Timer.builder("search.stage")
+                .description("Time spent in each stage of a ticket search")
+                .withRegistry(meterRegistry);
+    }
 
     public static class BookingSearchCriteria {
         private String transportType;
@@ -71,27 +123,146 @@ public class BookingSearchService {
         public void setLine(String line) { this.line = line; }
     }
 
+    /**
+     * Tickets found and the transport modes that timed out or failed.
+     * A degraded mode contributed no tickets.
+     */
+    public record SearchResult(List<AvailableTicket> tickets, Set<String> degradedModes) {
+    }
+
 
     public List<AvailableTicket> searchAvailableTickets(BookingSearchCriteria criteria) {
-        System.out.println("🔍 Searching available tickets with criteria");
+        return search(criteria).tickets();
+    }
 
-        List<AvailableTicket> allTickets = new ArrayList<>();
+    /**
+     * Search available tickets, running the per-mode searches concurrently
+     * @param criteria Search criteria; a null transport type searches all modes
+     * @return Matching tickets and the modes that timed out or failed (their tickets are missing)
+     */
+    public SearchResult search(BookingSearchCriteria criteria) {
+        return search(criteria, null);
+    }
 
-        if (criteria.getTransportType() == null || criteria.getTransportType().equals("flight")) {
-            allTickets.addAll(searchFlights(criteria));
-        }
+    /**
+     * Search available tickets as the booking search box is filled in
+     *
+     * Each mode remembers the trips it matched in the session. When the next
+     * criteria only narrow the previous ones (a longer location text, an
+     * added date, airline or line, a narrower price range), the mode filters
+     * those trips again instead of fetching: see narrows(). A mode that does
+     * fetch joins an identical fetch already running for another request, if
+     * any (SearchCoalescer).
+     *
+     * @param sessionId Search-as-you-type session (SearchSessionService), or null to search from scratch
+     */
+    public SearchResult search(BookingSearchCriteria criteria, String sessionId) {
+        log.debug("🔍 Searching available tickets with criteria");
+
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        AtomicInteger rowsScanned = new AtomicInteger();
+
+        LinkedHashMap<String, Supplier<List<AvailableTicket>>> modes = modeSearches(criteria, CriteriaMatcher.compile(criteria),
+                rowsScanned, sessionId, true);
 
-        if (criteria.getTransportType() == null || criteria.getTransportType().equals("train")) {
-            allTickets.addAll(searchTrains(criteria));
+        List<AvailableTicket> allTickets = new ArrayList<>();
+        Set<String> degradedModes = new LinkedHashSet<>();
+        for (ModeOutcome<List<AvailableTicket>> outcome : searchFanOut.invokeAll(modes, List.of())) {
+            allTickets.addAll(outcome.value());
+            if (outcome.degraded()) {
+                degradedModes.add(outcome.mode());
+            }
+            switch (outcome.mode()) {
+                case "flight" -> event.setFlightTime(outcome.nanos());
+                case "train" -> event.setTrainTime(outcome.nanos());
+                default -> event.setBusTime(outcome.nanos());
+            }
         }
 
-        if (criteria.getTransportType() == null || criteria.getTransportType().equals("bus")) {
-            allTickets.addAll(searchBuses(criteria));
+        List<AvailableTicket> results = timeStage("all", "price_filter", () -> filterByPrice(allTickets, criteria));
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.setCriteriaShape(criteriaShape(criteria));
+            event.setTransportType(criteria.getTransportType() != null ? criteria.getTransportType() : "all");
+            event.addRowsScanned(rowsScanned.get());
+            event.setRowsReturned(results.size());
+            event.commit();
         }
+        return new SearchResult(results, degradedModes);
+    }
 
-        return allTickets.stream()
-                .filter(ticket -> matchesPriceRange(ticket.getPrice(), criteria.getMinPrice(), criteria.getMaxPrice()))
-                .collect(Collectors.toList());
+    /**
+     * Search available tickets, reporting each mode's tickets as soon as that mode finishes
+     * @param criteria Search criteria; a null transport type searches all modes
+     * @param onModeResult Called once per mode, from a search thread, with its price-filtered
+     *                     tickets. If it throws, the rest of the search is cancelled.
+     * @return Handle to cancel the search or wait for the combined result
+     */
+    public ProgressiveSearch searchProgressively(BookingSearchCriteria criteria,
+                                                 Consumer<ModeOutcome<List<AvailableTicket>>> onModeResult) {
+        log.debug("🔍 Streaming available tickets with criteria");
+
+        AtomicInteger rowsScanned = new AtomicInteger();
+        // Not coalesced: a client going away cancels its modes' queries, which would cut short a shared result
+        LinkedHashMap<String, Supplier<List<AvailableTicket>>> modes = modeSearches(criteria, CriteriaMatcher.compile(criteria),
+                rowsScanned, null, false);
+        Map<String, QueryCancellation> cancellations = new LinkedHashMap<>();
+        modes.keySet().forEach(mode -> cancellations.put(mode, new QueryCancellation()));
+        ProgressiveSearch search = new ProgressiveSearch(List.copyOf(cancellations.values()), new CompletableFuture<>());
+
+        List<CompletableFuture<ModeOutcome<List<AvailableTicket>>>> futures = new ArrayList<>();
+        modes.forEach((mode, modeSearch) -> {
+            QueryCancellation cancellation = cancellations.get(mode);
+            futures.add(searchFanOut.submit(mode, () -> cancellation.call(modeSearch), List.<AvailableTicket>of(), cancellation::cancel)
+                    .thenApply(outcome -> {
+                        ModeOutcome<List<AvailableTicket>> filtered = new ModeOutcome<>(mode,
+                                filterByPrice(outcome.value(), criteria), outcome.nanos(), outcome.degraded());
+                        try {
+                            onModeResult.accept(filtered);
+                        } catch (RuntimeException e) {
+                            log.debug("Stopping search, {} results could not be delivered: {}", mode, e.getMessage());
+                            search.cancel();
+                        }
+                        return filtered;
+                    }));
+        });
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenRun(() -> {
+            List<AvailableTicket> allTickets = new ArrayList<>();
+            Set<String> degradedModes = new LinkedHashSet<>();
+            for (CompletableFuture<ModeOutcome<List<AvailableTicket>>> future : futures) {
+                ModeOutcome<List<AvailableTicket>> outcome = future.join();
+                allTickets.addAll(outcome.value());
+                if (outcome.degraded()) {
+                    degradedModes.add(outcome.mode());
+                }
+            }
+            search.getResult().complete(new SearchResult(allTickets, degradedModes));
+        });
+        return search;
+    }
+
+    /**
+     * Ticket counts per price bucket, served from the in-memory price indexes
+     * @param transportType flight, train or bus; null for all modes
+     * @param minPrice Lower bound, or null for the cheapest ticket
+     * @param maxPrice Upper bound, or null for the most expensive ticket
+     * @param buckets Number of buckets
+     */
+    public PriceHistogram priceHistogram(String transportType, Double minPrice, Double maxPrice, int buckets) {
+        List<PriceIndex> indexes = new ArrayList<>();
+        if (transportType == null || transportType.equals("flight")) {
+            indexes.add(flightDetailsService.getPriceIndex());
+        }
+        if (transportType == null || transportType.equals("train")) {
+            indexes.add(trainDetailsService.getPriceIndex());
+        }
+        if (transportType == null || transportType.equals("bus")) {
+            indexes.add(busDetailsService.getPriceIndex());
+        }
+        return PriceIndex.histogram(indexes, minPrice, maxPrice, buckets);
     }
 
     public List<Booking> searchExistingBookings(BookingSearchCriteria criteria) {
@@ -102,87 +273,204 @@ public class BookingSearchService {
         return bookingService.getAllBookings();
     }
 
-    private List<AvailableTicket> searchFlights(BookingSearchCriteria criteria) {
-        List<FlightDetails> flights = flightDetailsService.getAllFlightDetails();
+    /**
+     * The per-mode searches selected by the criteria' transport type, in response order
+     * @param coalesce Let identical concurrent fetches share one run (SearchCoalescer)
+     */
+    private LinkedHashMap<String, Supplier<List<AvailableTicket>>> modeSearches(BookingSearchCriteria criteria,
+                                                                                 CriteriaMatcher matcher,
+                                                                                 AtomicInteger rowsScanned,
+                                                                                 String sessionId,
+                                                                                 boolean coalesce) {
+        LinkedHashMap<String, Supplier<List<AvailableTicket>>> modes = new LinkedHashMap<>();
+        if (criteria.getTransportType() == null || criteria.getTransportType().equals("flight")) {
+            modes.put("flight", () -> searchFlights(criteria, matcher, rowsScanned, sessionId, coalesce));
+        }
+        if (criteria.getTransportType() == null || criteria.getTransportType().equals("train")) {
+            modes.put("train", () -> searchTrains(criteria, matcher, rowsScanned, sessionId, coalesce));
+        }
+        if (criteria.getTransportType() == null || criteria.getTransportType().equals("bus")) {
+            modes.put("bus", () -> searchBuses(criteria, matcher, rowsScanned, sessionId, coalesce));
+        }
+        return modes;
+    }
 
-        System.out.println("🛩️ Initial flight count: " + flights.size());
+    /**
+     * A trip change makes the trips remembered for that mode's sessions out of date,
+     * and so does a station change (trips carry their stations)
+     */
+    @EventListener
+    public void onTripChanged(TripChangedEvent event) {
+        searchSessionService.invalidate(SESSION_KIND_PREFIX + event.transportType());
+    }
 
-        // Apply airline filter if specified
-        if (criteria.getAirline() != null && !criteria.getAirline().trim().isEmpty()) {
-            flights = flightDetailsService.findFlightsByAirline(criteria.getAirline());
-            System.out.println("🛩️ After airline filter (" + criteria.getAirline() + "): " + flights.size());
-        }
+    @EventListener
+    public void onStationChanged(StationChangedEvent event) {
+        searchSessionService.invalidate(SESSION_KIND_PREFIX + event.transportType());
+    }
 
-        // Apply price range filter
-        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null) {
-            flights = flightDetailsService.findFlightsByPriceRange(
-                    criteria.getMinPrice().toString(),
-                    criteria.getMaxPrice().toString()
-            );
-            System.out.println("🛩️ After price filter (" + criteria.getMinPrice() + "-" + criteria.getMaxPrice() + "): " + flights.size());
-        }
+    private List<AvailableTicket> filterByPrice(List<AvailableTicket> tickets, BookingSearchCriteria criteria) {
+        return tickets.stream()
+                .filter(ticket -> matchesPriceRange(ticket.getPrice(), criteria.getMinPrice(), criteria.getMaxPrice()))
+                .collect(Collectors.toList());
+    }
+
+    private List<AvailableTicket> searchFlights(BookingSearchCriteria criteria, CriteriaMatcher matcher,
+                                                AtomicInteger rowsScanned, String sessionId, boolean coalesce) {
+        List<FlightDetails> matching = sessionRows("flight", criteria, sessionId, rowsScanned,
+                flight -> matchesFlight(flight, matcher),
+                () -> freshRows("flight", criteria, coalesce, rowsScanned, scanned -> filterFlights(criteria, matcher, scanned)));
+
+        // Convert to AvailableTicket objects
+        List<AvailableTicket> results = timeStage("flight", "map", () -> matching.stream()
+                .map(this::toTicket)
+                .collect(Collectors.toList()));
 
-        // Convert to AvailableTicket objects and apply location filters
-        List<AvailableTicket> results = flights.stream()
+        log.debug("🛩️ Final flight results: {}", results.size());
+        return results;
+    }
+
+    private List<FlightDetails> filterFlights(BookingSearchCriteria criteria, CriteriaMatcher matcher, AtomicInteger rowsScanned) {
+        List<FlightDetails> flights = timeStage("flight", "fetch", () -> fetchFlights(criteria, matcher));
+        rowsScanned.addAndGet(flights.size());
+
+        // Apply location filters
+        return timeStage("flight", "filter", () -> flights.stream()
                 .filter(flight -> {
-                    boolean matches = matchesAirportLocation(flight.getFlightOrigin(), criteria.getDepartureCity());
-                    if (!matches) {
-                        System.out.println("🛩️ Flight " + flight.getFlightNumber() + " filtered out by departure city: " +
-                                getAirportDisplayName(flight.getFlightOrigin()) + " vs " + criteria.getDepartureCity());
+                    boolean matches = matcher.departureCity().matches(flight.getFlightOrigin());
+                    if (!matches && log.isDebugEnabled()) {
+                        log.debug("🛩️ Flight {} filtered out by departure city: {} vs {}", flight.getFlightNumber(), getAirportDisplayName(flight.getFlightOrigin()), criteria.getDepartureCity());
                     }
                     return matches;
                 })
                 .filter(flight -> {
-                    boolean matches = matchesAirportLocation(flight.getFlightDestination(), criteria.getArrivalCity());
-                    if (!matches) {
-                        System.out.println("🛩️ Flight " + flight.getFlightNumber() + " filtered out by arrival city: " +
-                                getAirportDisplayName(flight.getFlightDestination()) + " vs " + criteria.getArrivalCity());
+                    boolean matches = matcher.arrivalCity().matches(flight.getFlightDestination());
+                    if (!matches && log.isDebugEnabled()) {
+                        log.debug("🛩️ Flight {} filtered out by arrival city: {} vs {}", flight.getFlightNumber(), getAirportDisplayName(flight.getFlightDestination()), criteria.getArrivalCity());
                     }
                     return matches;
                 })
                 .filter(flight -> {
-                    boolean matches = matchesAirportLocation(flight.getFlightOrigin(), criteria.getDepartureStation());
-                    if (!matches && criteria.getDepartureStation() != null && !criteria.getDepartureStation().trim().isEmpty()) {
-                        System.out.println("🛩️ Flight " + flight.getFlightNumber() + " filtered out by departure station: " +
-                                getAirportDisplayName(flight.getFlightOrigin()) + " vs " + criteria.getDepartureStation());
+                    boolean matches = matcher.departureStation().matches(flight.getFlightOrigin());
+                    if (!matches && log.isDebugEnabled() && criteria.getDepartureStation() != null && !criteria.getDepartureStation().trim().isEmpty()) {
+                        log.debug("🛩️ Flight {} filtered out by departure station: {} vs {}", flight.getFlightNumber(), getAirportDisplayName(flight.getFlightOrigin()), criteria.getDepartureStation());
                     }
                     return matches;
                 })
                 .filter(flight -> {
-                    boolean matches = matchesAirportLocation(flight.getFlightDestination(), criteria.getArrivalStation());
-                    if (!matches && criteria.getArrivalStation() != null && !criteria.getArrivalStation().trim().isEmpty()) {
-                        System.out.println("🛩️ Flight " + flight.getFlightNumber() + " filtered out by arrival station: " +
-                                getAirportDisplayName(flight.getFlightDestination()) + " vs " + criteria.getArrivalStation());
+                    boolean matches = matcher.arrivalStation().matches(flight.getFlightDestination());
+                    if (!matches && log.isDebugEnabled() && criteria.getArrivalStation() != null && !criteria.getArrivalStation().trim().isEmpty()) {
+                        log.debug("🛩️ Flight {} filtered out by arrival station: {} vs {}", flight.getFlightNumber(), getAirportDisplayName(flight.getFlightDestination()), criteria.getArrivalStation());
                     }
                     return matches;
                 })
-                .map(flight -> new AvailableTicket(
-                        flight.getId().longValue(),
-                        "flight",
-                        flight.getFlightNumber(),
-                        getAirportDisplayName(flight.getFlightOrigin()),
-                        getAirportDisplayName(flight.getFlightDestination()),
-                        flight.getFlightDepartureDate() + " " + flight.getFlightDepartureTime(),
-                        flight.getFlightArrivalDate() + " " + flight.getFlightArrivalTime(),
-                        Double.parseDouble(flight.getFlightPrice()),
-                        flight.getFlightAirline()
-                ))
-                .collect(Collectors.toList());
+                .filter(flight -> matcher.matchesDepartureDate(flight.getFlightDepartureDate()))
+                .collect(Collectors.toList()));
+    }
+
+    private List<FlightDetails> fetchFlights(BookingSearchCriteria criteria, CriteriaMatcher matcher) {
+        Predicate<Airport> origin = hasText(criteria.getDepartureCity()) || hasText(criteria.getDepartureStation())
+                ? airport -> matcher.departureCity().matches(airport) && matcher.departureStation().matches(airport)
+                : null;
+        Predicate<Airport> destination = hasText(criteria.getArrivalCity()) || hasText(criteria.getArrivalStation())
+                ? airport -> matcher.arrivalCity().matches(airport) && matcher.arrivalStation().matches(airport)
+                : null;
+
+        // The search index answers every criterion at once
+        if (origin != null || destination != null || hasFilterCriteria(criteria, criteria.getAirline())) {
+            Optional<List<FlightDetails>> indexed = searchIndexService.findFlights(new TripFilter<>(origin, destination,
+                    departureDay(criteria), criteria.getAirline(), criteria.getMinPrice(), criteria.getMaxPrice()));
+            if (indexed.isPresent()) {
+                log.debug("🛩️ Search index candidates: {}", indexed.get().size());
+                return indexed.get();
+            }
+        }
+
+        List<FlightDetails> flights = flightDetailsService.getAllFlightDetails();
+
+        log.debug("🛩️ Initial flight count: {}", flights.size());
+
+        // Apply airline filter if specified
+        if (criteria.getAirline() != null && !criteria.getAirline().trim().isEmpty()) {
+            flights = flightDetailsService.findFlightsByAirline(criteria.getAirline());
+            log.debug("🛩️ After airline filter ({}): {}", criteria.getAirline(), flights.size());
+        }
+
+        // Apply price range filter
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null) {
+            flights = flightDetailsService.findFlightsByPriceRange(
+                    criteria.getMinPrice().toString(),
+                    criteria.getMaxPrice().toString()
+            );
+            log.debug("🛩️ After price filter ({}-{}): {}", criteria.getMinPrice(), criteria.getMaxPrice(), flights.size());
+        }
 
-        System.out.println("🛩️ Final flight results: " + results.size());
+        return flights;
+    }
+
+    private List<AvailableTicket> searchTrains(BookingSearchCriteria criteria, CriteriaMatcher matcher,
+                                               AtomicInteger rowsScanned, String sessionId, boolean coalesce) {
+        List<TrainDetails> matching = sessionRows("train", criteria, sessionId, rowsScanned,
+                train -> matchesTrain(train, matcher),
+                () -> freshRows("train", criteria, coalesce, rowsScanned, scanned -> filterTrains(criteria, matcher, scanned)));
+
+        List<AvailableTicket> results = timeStage("train", "map", () -> matching.stream()
+                .map(this::toTicket)
+                .collect(Collectors.toList()));
+
+        log.debug("🚂 Final results: {} trains", results.size());
         return results;
     }
 
-    private List<AvailableTicket> searchTrains(BookingSearchCriteria criteria) {
+    private List<TrainDetails> filterTrains(BookingSearchCriteria criteria, CriteriaMatcher matcher, AtomicInteger rowsScanned) {
+        List<TrainDetails> trains = timeStage("train", "fetch", () -> fetchTrains(criteria, matcher));
+        rowsScanned.addAndGet(trains.size());
+
+        // Enhanced filtering
+        return timeStage("train", "filter", () -> trains.stream()
+                .filter(train -> {
+                    boolean depMatch = matcher.departureStation().matches(train.getTrainDepartureStation());
+                    if (log.isDebugEnabled()) {
+                        log.debug("🚂 Train {} departure {} vs {}: {}", train.getTrainNumber(),
+                                stationCode(train.getTrainDepartureStation()), criteria.getDepartureStation(), depMatch);
+                    }
+                    return depMatch;
+                })
+                .filter(train -> {
+                    boolean arrMatch = matcher.arrivalStation().matches(train.getTrainArrivalStation());
+                    if (log.isDebugEnabled()) {
+                        log.debug("🚂 Train {} arrival {} vs {}: {}", train.getTrainNumber(),
+                                stationCode(train.getTrainArrivalStation()), criteria.getArrivalStation(), arrMatch);
+                    }
+                    return arrMatch;
+                })
+                .filter(train -> matcher.matchesDepartureDate(train.getTrainDepartureDate()))
+                .collect(Collectors.toList()));
+    }
+
+    private List<TrainDetails> fetchTrains(BookingSearchCriteria criteria, CriteriaMatcher matcher) {
+        Predicate<TrainStation> origin = hasText(criteria.getDepartureStation())
+                ? matcher.departureStation()::matches : null;
+        Predicate<TrainStation> destination = hasText(criteria.getArrivalStation())
+                ? matcher.arrivalStation()::matches : null;
+        if (origin != null || destination != null || hasFilterCriteria(criteria, criteria.getLine())) {
+            Optional<List<TrainDetails>> indexed = searchIndexService.findTrains(new TripFilter<>(origin, destination,
+                    departureDay(criteria), criteria.getLine(), criteria.getMinPrice(), criteria.getMaxPrice()));
+            if (indexed.isPresent()) {
+                log.debug("🚂 Search index candidates: {} trains", indexed.get().size());
+                return indexed.get();
+            }
+        }
+
         List<TrainDetails> trains = trainDetailsService.getAllTrainDetails();
 
-        System.out.println("🚂 Starting train search with " + trains.size() + " trains");
-        System.out.println("🚂 Looking for: " + criteria.getDepartureStation() + " → " + criteria.getArrivalStation());
+        log.debug("🚂 Starting train search with {} trains", trains.size());
+        log.debug("🚂 Looking for: {} → {}", criteria.getDepartureStation(), criteria.getArrivalStation());
 
         // Apply line filter if specified
         if (criteria.getLine() != null && !criteria.getLine().trim().isEmpty()) {
             trains = trainDetailsService.findTrainsByLine(criteria.getLine());
-            System.out.println("🚂 After line filter: " + trains.size() + " trains");
+            log.debug("🚂 After line filter: {} trains", trains.size());
         }
 
         // Apply price range filter
@@ -191,55 +479,55 @@ public class BookingSearchService {
                     criteria.getMinPrice().toString(),
                     criteria.getMaxPrice().toString()
             );
-            System.out.println("🚂 After price filter: " + trains.size() + " trains");
+            log.debug("🚂 After price filter: {} trains", trains.size());
         }
 
-        // Enhanced filtering
-        List<AvailableTicket> results = trains.stream()
-                .filter(train -> {
-                    String depCode = train.getTrainDepartureStation() != null ?
-                            train.getTrainDepartureStation().getTrainStationCode() : "null";
-                    String arrCode = train.getTrainArrivalStation() != null ?
-                            train.getTrainArrivalStation().getTrainStationCode() : "null";
-
-                    System.out.println("🚂 Checking train " + train.getTrainNumber() +
-                            ": " + depCode + " → " + arrCode);
+        return trains;
+    }
 
-                    boolean depMatch = matchesStationLocation(train.getTrainDepartureStation(), criteria.getDepartureStation());
-                    System.out.println("   🔍 Departure match (" + depCode + " vs " + criteria.getDepartureStation() + "): " + depMatch);
+    private List<AvailableTicket> searchBuses(BookingSearchCriteria criteria, CriteriaMatcher matcher,
+                                              AtomicInteger rowsScanned, String sessionId, boolean coalesce) {
+        List<BusDetails> matching = sessionRows("bus", criteria, sessionId, rowsScanned,
+                bus -> matchesBus(bus, matcher, byRouteCodes(criteria)),
+                () -> freshRows("bus", criteria, coalesce, rowsScanned, scanned -> filterBuses(criteria, matcher, scanned)));
 
-                    return depMatch;
-                })
-                .filter(train -> {
-                    String arrCode = train.getTrainArrivalStation() != null ?
-                            train.getTrainArrivalStation().getTrainStationCode() : "null";
+        // Convert to AvailableTicket objects
+        return timeStage("bus", "map", () -> matching.stream()
+                .map(this::toTicket)
+                .collect(Collectors.toList()));
+    }
 
-                    boolean arrMatch = matchesStationLocation(train.getTrainArrivalStation(), criteria.getArrivalStation());
-                    System.out.println("   🔍 Arrival match (" + arrCode + " vs " + criteria.getArrivalStation() + "): " + arrMatch);
+    private List<BusDetails> filterBuses(BookingSearchCriteria criteria, CriteriaMatcher matcher, AtomicInteger rowsScanned) {
+        List<BusDetails> buses = timeStage("bus", "fetch", () -> fetchBuses(criteria, matcher));
+        rowsScanned.addAndGet(buses.size());
 
-                    return arrMatch;
-                })
-                .map(train -> {
-                    System.out.println("✅ Train " + train.getTrainNumber() + " passed all filters!");
-                    return new AvailableTicket(
-                            train.getId().longValue(),
-                            "train",
-                            train.getTrainNumber(),
-                            getTrainStationDisplayName(train.getTrainDepartureStation()),
-                            getTrainStationDisplayName(train.getTrainArrivalStation()),
-                            train.getTrainDepartureDate() + " " + train.getTrainDepartureTime(),
-                            train.getTrainArrivalDate() + " " + train.getTrainArrivalTime(),
-                            Double.parseDouble(train.getTrainRidePrice()),
-                            train.getTrainLine()
-                    );
-                })
-                .collect(Collectors.toList());
-
-        System.out.println("🚂 Final results: " + results.size() + " trains");
-        return results;
+        // Apply location filters
+        return timeStage("bus", "filter", () -> buses.stream()
+                .filter(matcher::matchesBusLocations)
+                .filter(bus -> matcher.matchesDepartureDate(bus.getBusDepartureDate()))
+                .collect(Collectors.toList()));
     }
 
-    private List<AvailableTicket> searchBuses(BookingSearchCriteria criteria) {
+    private List<BusDetails> fetchBuses(BookingSearchCriteria criteria, CriteriaMatcher matcher) {
+        String departure = criteria.getDepartureStation();
+        String arrival = criteria.getArrivalStation();
+        boolean byRouteCodes = byRouteCodes(criteria);
+        LocationNeedle from = matcher.departureStation();
+        LocationNeedle to = matcher.arrivalStation();
+        Predicate<BusStation> origin = hasText(departure)
+                ? station -> (!byRouteCodes || from.hasCode(station)) && from.matches(station)
+                : null;
+        Predicate<BusStation> destination = hasText(arrival)
+                ? station -> (!byRouteCodes || to.hasCode(station)) && to.matches(station)
+                : null;
+        if (origin != null || destination != null || hasFilterCriteria(criteria, criteria.getLine())) {
+            Optional<List<BusDetails>> indexed = searchIndexService.findBuses(new TripFilter<>(origin, destination,
+                    departureDay(criteria), criteria.getLine(), criteria.getMinPrice(), criteria.getMaxPrice()));
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        }
+
         List<BusDetails> buses = busDetailsService.getAllBusDetails();
 
         // Apply line filter
@@ -260,136 +548,292 @@ public class BookingSearchService {
             );
         }
 
-        // Convert to AvailableTicket objects and apply location filters
-        return buses.stream()
-                .filter(bus -> matchesBusStationLocation(bus.getBusDepartureStation(), criteria.getDepartureStation()))
-                .filter(bus -> matchesBusStationLocation(bus.getBusArrivalStation(), criteria.getArrivalStation()))
-                .map(bus -> new AvailableTicket(
-                        bus.getId().longValue(),
-                        "bus",
-                        bus.getBusNumber(),
-                        getBusStationDisplayName(bus.getBusDepartureStation()),
-                        getBusStationDisplayName(bus.getBusArrivalStation()),
-                        bus.getBusDepartureDate() + " " + bus.getBusDepartureTime(),
-                        bus.getBusArrivalDate() + " " + bus.getBusArrivalTime(),
-                        Double.parseDouble(bus.getBusRidePrice()),
-                        bus.getBusLine()
-                ))
-                .collect(Collectors.toList());
+        return buses;
     }
 
-    private boolean matchesAirportLocation(Airport airport, String searchLocation) {
-        if (searchLocation == null || searchLocation.trim().isEmpty()) {
-            return true;
+    // ============================================================================
+    // COALESCING
+    // ============================================================================
+
+    /**
+     * Criteria of one mode's fetch, normalized the way the search applies them: location,
+     * airline and line text trimmed and lowercased, the departure time cut to its day,
+     * and only the fields the mode reads (cities are flight-only)
+     */
+    private record FetchKey(String mode, String departureCity, String arrivalCity, String departureStation,
+                            String arrivalStation, LocalDate day, String carrier, Double minPrice, Double maxPrice) {
+
+        static FetchKey of(String mode, BookingSearchCriteria criteria) {
+            boolean flight = mode.equals("flight");
+            return new FetchKey(mode,
+                    flight ? normalize(criteria.getDepartureCity()) : null,
+                    flight ? normalize(criteria.getArrivalCity()) : null,
+                    normalize(criteria.getDepartureStation()),
+                    normalize(criteria.getArrivalStation()),
+                    departureDay(criteria),
+                    normalize(flight ? criteria.getAirline() : criteria.getLine()),
+                    criteria.getMinPrice(),
+                    criteria.getMaxPrice());
         }
-        if (airport == null) return false;
 
-        String search = searchLocation.toLowerCase().trim();
+        private static String normalize(String value) {
+            return hasText(value) ? value.trim().toLowerCase(Locale.ROOT) : null;
+        }
+    }
 
-        // Check if search is a numeric ID
-        try {
-            Long searchId = Long.parseLong(search);
-            if (airport.getId() != null && airport.getId().equals(searchId.intValue())) {
-                System.out.println("🎯 Airport ID match: " + airport.getId() + " = " + searchId);
-                return true;
-            }
-        } catch (NumberFormatException e) {
+    /**
+     * The trips of a mode fetched and filtered for the criteria, shared with identical
+     * fetches running at the same time when coalesce is set
+     *
+     * A shared fetch counts its rows once and hands the count to every search
+     * sharing it, so each search's rowsScanned reports the fetch it used.
+     */
+    private <R> List<R> freshRows(String mode, BookingSearchCriteria criteria, boolean coalesce, AtomicInteger rowsScanned,
+                                  Function<AtomicInteger, List<R>> fetch) {
+        if (!coalesce) {
+            return fetch.apply(rowsScanned);
         }
+        FetchedRows<R> fetched = searchCoalescer.execute(mode, FetchKey.of(mode, criteria), () -> {
+            AtomicInteger scanned = new AtomicInteger();
+            List<R> rows = fetch.apply(scanned);
+            return new FetchedRows<>(rows, scanned.get());
+        });
+        rowsScanned.addAndGet(fetched.scanned());
+        return fetched.rows();
+    }
 
-        // Text-based matching
-        boolean nameMatch = airport.getAirportFullName() != null && airport.getAirportFullName().toLowerCase().contains(search);
-        boolean codeMatch = airport.getAirportCode() != null && airport.getAirportCode().toUpperCase().contains(search);
-        boolean cityMatch = airport.getAirportCityLocation() != null && airport.getAirportCityLocation().toLowerCase().contains(search);
+    /**
+     * One mode's fetched and filtered trips, and the rows the fetch scanned for them
+     */
+    private record FetchedRows<R>(List<R> rows, int scanned) {
+    }
 
-        if (nameMatch || codeMatch || cityMatch) {
-            System.out.println("🎯 Airport text match: " + getAirportDisplayName(airport) + " matches " + search);
-            return true;
-        }
+    // ============================================================================
+    // SEARCH SESSIONS
+    // ============================================================================
 
-        System.out.println("❌ No airport match: " + getAirportDisplayName(airport) + " vs " + search);
-        return false;
+    /**
+     * The trips of one mode remembered in a search session, and the criteria they matched
+     */
+    private record SessionRows<R>(BookingSearchCriteria criteria, List<R> rows) {
     }
 
-    private boolean matchesStationLocation(TrainStation station, String searchLocation) {
-        System.out.println("🔍 matchesStationLocation called:");
-        System.out.println("   Station: " + (station != null ? station.getTrainStationCode() : "null"));
-        System.out.println("   Search: " + searchLocation);
+    /**
+     * The trips of a mode matching the criteria, before the price filter
+     *
+     * Without a session they come from search. In a session whose previous
+     * trips of the mode matched criteria these criteria narrow, they are those
+     * trips filtered again with matches; either way they are remembered for
+     * the next keystroke.
+     */
+    @SuppressWarnings("unchecked")
+    private <R> List<R> sessionRows(String mode, BookingSearchCriteria criteria, String sessionId, AtomicInteger rowsScanned,
+                                    Predicate<R> matches, Supplier<List<R>> search) {
+        if (sessionId == null || !searchSessionService.isEnabled()) {
+            return search.get();
+        }
 
-        if (searchLocation == null || searchLocation.trim().isEmpty()) {
-            System.out.println("   ✅ No filter applied - returning true");
-            return true;
+        String kind = SESSION_KIND_PREFIX + mode;
+        long version = searchSessionService.version(kind);
+        SessionRows<R> previous = searchSessionService.recall(sessionId, kind, SessionRows.class);
+        boolean refined = previous != null && narrows(previous.criteria(), criteria, mode);
+        List<R> rows;
+        if (refined) {
+            rowsScanned.addAndGet(previous.rows().size());
+            rows = timeStage(mode, "refine", () -> previous.rows().stream()
+                    .filter(matches)
+                    .collect(Collectors.toList()));
+            log.debug("🔍 Session search ({}): {} of {} remembered trips still match", mode, rows.size(), previous.rows().size());
+        } else {
+            rows = search.get();
         }
+        searchSessionService.remember(sessionId, kind, version, new SessionRows<>(copyOf(criteria), rows), rows.size());
+        searchSessionService.recordSearch(kind, refined);
+        return rows;
+    }
 
-        if (station == null) {
-            System.out.println("   ❌ Station is null - returning false");
+    /**
+     * Whether every trip of the mode matching the criteria also matched the previous
+     * criteria, so filtering the previous trips again finds all of them:
+     * - every location text is the previous one, or contains it (an ID only matches itself)
+     * - the airline or line is the previous one, or contains it
+     * - the departure day and price bounds are the previous ones, or newly set or tighter
+     * - a bus search keeps reading two stations as a route by exact codes if it did before
+     */
+    static boolean narrows(BookingSearchCriteria previous, BookingSearchCriteria criteria, String mode) {
+        if (mode.equals("bus") && byRouteCodes(previous)
+                && !(byRouteCodes(criteria) && sameText(previous.getDepartureStation(), criteria.getDepartureStation())
+                        && sameText(previous.getArrivalStation(), criteria.getArrivalStation()))) {
             return false;
         }
+        String carrier = mode.equals("flight") ? previous.getAirline() : previous.getLine();
+        String newCarrier = mode.equals("flight") ? criteria.getAirline() : criteria.getLine();
+        return narrowsLocation(previous.getDepartureCity(), criteria.getDepartureCity())
+                && narrowsLocation(previous.getArrivalCity(), criteria.getArrivalCity())
+                && narrowsLocation(previous.getDepartureStation(), criteria.getDepartureStation())
+                && narrowsLocation(previous.getArrivalStation(), criteria.getArrivalStation())
+                && narrowsCarrier(carrier, newCarrier)
+                && (departureDay(previous) == null || departureDay(previous).equals(departureDay(criteria)))
+                && (previous.getMinPrice() == null || (criteria.getMinPrice() != null && criteria.getMinPrice() >= previous.getMinPrice()))
+                && (previous.getMaxPrice() == null || (criteria.getMaxPrice() != null && criteria.getMaxPrice() <= previous.getMaxPrice()));
+    }
 
-        String search = searchLocation.toLowerCase().trim();
-        System.out.println("   Search lowercased: '" + search + "'");
+    /**
+     * A flight's match of every criterion but the price, as the search index applies them
+     */
+    private static boolean matchesFlight(FlightDetails flight, CriteriaMatcher matcher) {
+        return matcher.matchesFlightLocations(flight)
+                && matcher.matchesDepartureDate(flight.getFlightDepartureDate())
+                && matcher.matchesAirline(flight.getFlightAirline());
+    }
 
-        // Check if search is a numeric ID (from station search component)
-        try {
-            Long searchId = Long.parseLong(search);
-            if (station.getId() != null && station.getId().equals(searchId.intValue())) {
-                System.out.println("   ✅ Train Station ID match: " + station.getId() + " = " + searchId);
-                return true;
-            }
-            System.out.println("   ❌ ID mismatch: " + station.getId() + " != " + searchId);
-        } catch (NumberFormatException e) {
-            System.out.println("   📝 Not a number, checking text match...");
+    private static boolean matchesTrain(TrainDetails train, CriteriaMatcher matcher) {
+        return matcher.matchesTrainLocations(train)
+                && matcher.matchesDepartureDate(train.getTrainDepartureDate())
+                && matcher.matchesLine(train.getTrainLine());
+    }
+
+    private static boolean matchesBus(BusDetails bus, CriteriaMatcher matcher, boolean byRouteCodes) {
+        return matcher.matchesBusLocations(bus)
+                && (!byRouteCodes || (matcher.departureStation().hasCode(bus.getBusDepartureStation())
+                        && matcher.arrivalStation().hasCode(bus.getBusArrivalStation())))
+                && matcher.matchesDepartureDate(bus.getBusDepartureDate())
+                && matcher.matchesLine(bus.getBusLine());
+    }
+
+    private static boolean narrowsLocation(String previous, String text) {
+        return LocationNeedle.of(text).narrows(LocationNeedle.of(previous));
+    }
+
+    private static boolean narrowsCarrier(String previous, String text) {
+        if (!hasText(previous)) {
+            return true;
         }
+        return hasText(text) && text.trim().toLowerCase(Locale.ROOT).contains(previous.trim().toLowerCase(Locale.ROOT));
+    }
 
-        // Text-based matching for manual input
-        String stationName = station.getTrainStationFullName();
-        String stationCode = station.getTrainStationCode();
-        String stationCity = station.getTrainStationCityLocation();
+    private static boolean sameText(String previous, String text) {
+        return previous != null && text != null && previous.trim().equalsIgnoreCase(text.trim());
+    }
 
-        System.out.println("   Station details:");
-        System.out.println("     Name: '" + stationName + "'");
-        System.out.println("     Code: '" + stationCode + "'");
-        System.out.println("     City: '" + stationCity + "'");
+    private static BookingSearchCriteria copyOf(BookingSearchCriteria criteria) {
+        BookingSearchCriteria copy = new BookingSearchCriteria();
+        copy.setTransportType(criteria.getTransportType());
+        copy.setDepartureCity(criteria.getDepartureCity());
+        copy.setArrivalCity(criteria.getArrivalCity());
+        copy.setDepartureStation(criteria.getDepartureStation());
+        copy.setArrivalStation(criteria.getArrivalStation());
+        copy.setDepartureTime(criteria.getDepartureTime());
+        copy.setMinPrice(criteria.getMinPrice());
+        copy.setMaxPrice(criteria.getMaxPrice());
+        copy.setAirline(criteria.getAirline());
+        copy.setLine(criteria.getLine());
+        return copy;
+    }
 
-        boolean nameMatch = stationName != null && stationName.toLowerCase().contains(search);
-        boolean codeMatch = stationCode != null && stationCode.toLowerCase().contains(search);
-        boolean cityMatch = stationCity != null && stationCity.toLowerCase().contains(search);
+    // ============================================================================
+    // MATCHING AND MAPPING - shared with ReactiveBookingSearchService
+    // ============================================================================
+
+    AvailableTicket toTicket(FlightDetails flight) {
+        return new AvailableTicket(
+                flight.getId().longValue(),
+                "flight",
+                flight.getFlightNumber(),
+                getAirportDisplayName(flight.getFlightOrigin()),
+                getAirportDisplayName(flight.getFlightDestination()),
+                flight.getFlightDepartureDate() + " " + flight.getFlightDepartureTime(),
+                flight.getFlightArrivalDate() + " " + flight.getFlightArrivalTime(),
+                Double.parseDouble(flight.getFlightPrice()),
+                flight.getFlightAirline()
+        );
+    }
 
-        System.out.println("   Match results:");
-        System.out.println("     Name match: " + nameMatch);
-        System.out.println("     Code match: " + codeMatch +
-                (stationCode != null ? " ('" + stationCode.toLowerCase() + "' contains '" + search + "')" : ""));
-        System.out.println("     City match: " + cityMatch);
+    AvailableTicket toTicket(TrainDetails train) {
+        return new AvailableTicket(
+                train.getId().longValue(),
+                "train",
+                train.getTrainNumber(),
+                getTrainStationDisplayName(train.getTrainDepartureStation()),
+                getTrainStationDisplayName(train.getTrainArrivalStation()),
+                train.getTrainDepartureDate() + " " + train.getTrainDepartureTime(),
+                train.getTrainArrivalDate() + " " + train.getTrainArrivalTime(),
+                Double.parseDouble(train.getTrainRidePrice()),
+                train.getTrainLine()
+        );
+    }
 
-        boolean result = nameMatch || codeMatch || cityMatch;
-        System.out.println("   🎯 Final result: " + result);
+    AvailableTicket toTicket(BusDetails bus) {
+        return new AvailableTicket(
+                bus.getId().longValue(),
+                "bus",
+                bus.getBusNumber(),
+                getBusStationDisplayName(bus.getBusDepartureStation()),
+                getBusStationDisplayName(bus.getBusArrivalStation()),
+                bus.getBusDepartureDate() + " " + bus.getBusDepartureTime(),
+                bus.getBusArrivalDate() + " " + bus.getBusArrivalTime(),
+                Double.parseDouble(bus.getBusRidePrice()),
+                bus.getBusLine()
+        );
+    }
 
-        return result;
+    /**
+     * Time one stage of a search with the "search.stage" timer
+     * @param mode flight, train, bus or all
+     * @param stage fetch, filter, refine, map or price_filter
+     */
+    private <T> T timeStage(String mode, String stage, Supplier<T> work) {
+        return stageTimer.withTags("mode", mode, "stage", stage).record(work);
     }
 
-    private boolean matchesBusStationLocation(BusStation station, String searchLocation) {
-        if (searchLocation == null || searchLocation.trim().isEmpty()) {
-            return true;
-        }
-        if (station == null) return false;
+    /**
+     * Describe which criteria fields are set without recording their values,
+     * e.g. "departureStation=id,arrivalStation=text,price"
+     */
+    private static String criteriaShape(BookingSearchCriteria criteria) {
+        List<String> fields = new ArrayList<>();
+        if (criteria.getDepartureCity() != null) fields.add("departureCity");
+        if (criteria.getArrivalCity() != null) fields.add("arrivalCity");
+        if (criteria.getDepartureStation() != null) fields.add("departureStation=" + locationKind(criteria.getDepartureStation()));
+        if (criteria.getArrivalStation() != null) fields.add("arrivalStation=" + locationKind(criteria.getArrivalStation()));
+        if (criteria.getDepartureTime() != null) fields.add("departureTime");
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) fields.add("price");
+        if (criteria.getAirline() != null) fields.add("airline");
+        if (criteria.getLine() != null) fields.add("line");
+        return fields.isEmpty() ? "none" : String.join(",", fields);
+    }
 
-        String search = searchLocation.toLowerCase().trim();
+    private static LocalDate departureDay(BookingSearchCriteria criteria) {
+        return criteria.getDepartureTime() != null ? criteria.getDepartureTime().toLocalDate() : null;
+    }
 
-        // Check if search is a numeric ID (from station search component)
-        try {
-            Long searchId = Long.parseLong(search);
-            if (station.getId() != null && station.getId().equals(searchId.intValue())) {
-                System.out.println("🎯 Bus Station ID match: " + station.getId() + " = " + searchId);
-                return true;
-            }
-        } catch (NumberFormatException e) {
-        }
+    /**
+     * Whether a bus search reads its two stations as a route by exact station codes, as it does without a price band
+     */
+    private static boolean byRouteCodes(BookingSearchCriteria criteria) {
+        return hasText(criteria.getDepartureStation()) && hasText(criteria.getArrivalStation())
+                && (criteria.getMinPrice() == null || criteria.getMaxPrice() == null);
+    }
 
-        // Text-based matching for manual input
-        boolean nameMatch = station.getBusStationFullName() != null && station.getBusStationFullName().toLowerCase().contains(search);
-        boolean codeMatch = station.getBusStationCode() != null && station.getBusStationCode().toUpperCase().contains(search);
-        boolean cityMatch = station.getBusStationCityLocation() != null && station.getBusStationCityLocation().toLowerCase().contains(search);
+    /**
+     * Whether criteria other than the locations narrow the search
+     * @param carrier The airline or line criterion of the mode
+     */
+    private static boolean hasFilterCriteria(BookingSearchCriteria criteria, String carrier) {
+        return hasText(carrier) || criteria.getDepartureTime() != null
+                || criteria.getMinPrice() != null || criteria.getMaxPrice() != null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static String locationKind(String location) {
+        return !location.isEmpty() && location.chars().allMatch(Character::isDigit) ? "id" : "text";
+    }
 
-        return nameMatch || codeMatch || cityMatch;
+    private String stationCode(TrainStation station) {
+        return station != null ? station.getTrainStationCode() : "null";
     }
 
     private String getAirportDisplayName(Airport airport) {
@@ -407,7 +851,7 @@ public class BookingSearchService {
         return station.getBusStationFullName() + " (" + station.getBusStationCode() + ")";
     }
 
-    private boolean matchesPriceRange(Double price, Double minPrice, Double maxPrice) {
+    boolean matchesPriceRange(Double price, Double minPrice, Double maxPrice) {
         boolean minOk = minPrice == null || price >= minPrice;
         boolean maxOk = maxPrice == null || price <= maxPrice;
         return minOk && maxOk;
@@ -1,8 +1,11 @@
 package com.example.travelbuddybackend.service;
 
 import com.example.travelbuddybackend.models.*;
+import com.example.travelbuddybackend.monitoring.jfr.BookingEvent;
 import com.example.travelbuddybackend.repository.BookingRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +21,8 @@ import java.util.stream.Collectors;
 @Service
 public class BookingService {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+
     private final BookingRepository bookingRepository;
     private final ObjectMapper objectMapper; // For JSON serialization/deserialization
 
@@ -40,13 +45,14 @@ public class BookingService {
      * @return Booking object if successful, null if failed
      */
     public Booking bookTicket(Client client, FlightDetails flightDetails) {
-        System.out.println("Booking flight for: " + client.getName());
-        System.out.println("Flight: " + flightDetails.getFlightNumber() + " from " +
-                flightDetails.getFlightOrigin() + " to " + flightDetails.getFlightDestination());
+        log.info("Booking flight for: {}", client.getName());
+        log.info("Flight: {} from {} to {}", flightDetails.getFlightNumber(), flightDetails.getFlightOrigin(), flightDetails.getFlightDestination());
 
+        BookingEvent event = startBookingEvent("flight");
         try {
             // Generate a unique booking ID with flight prefix
             String bookingId = generateBookingId("FL");
+            event.setBookingId(bookingId);
 
             // Convert flight details to JSON for storage
             String transportJson = objectMapper.writeValueAsString(flightDetails);
@@ -61,15 +67,18 @@ public class BookingService {
 
             boolean success = bookingRepository.createBooking(booking);
             if (success) {
-                System.out.println("✓ Flight booking successful! Booking ID: " + bookingId);
+                event.setSuccess(true);
+                log.info("✓ Flight booking successful! Booking ID: {}", bookingId);
                 return booking;
             } else {
-                System.out.println("✗ Flight booking failed");
+                log.warn("✗ Flight booking failed");
                 return null;
             }
         } catch (Exception e) {
-            System.out.println("✗ Error creating flight booking: " + e.getMessage());
+            log.error("✗ Error creating flight booking: {}", e.getMessage());
             return null;
+        } finally {
+            commitBookingEvent(event);
         }
     }
 
@@ -80,13 +89,14 @@ public class BookingService {
      * @return Booking object if successful, null if failed
      */
     public Booking bookTicket(Client client, TrainDetails trainDetails) {
-        System.out.println("Booking train for: " + client.getName());
-        System.out.println("Train: " + trainDetails.getTrainNumber() + " from " +
-                trainDetails.getTrainDepartureStation() + " to " + trainDetails.getTrainArrivalStation());
+        log.info("Booking train for: {}", client.getName());
+        log.info("Train: {} from {} to {}", trainDetails.getTrainNumber(), trainDetails.getTrainDepartureStation(), trainDetails.getTrainArrivalStation());
 
+        BookingEvent event = startBookingEvent("train");
         try {
             // Generate unique booking ID with train prefix
             String bookingId = generateBookingId("TR");
+            event.setBookingId(bookingId);
 
             // Convert train details to JSON
             String transportJson = objectMapper.writeValueAsString(trainDetails);
@@ -101,15 +111,18 @@ public class BookingService {
 
             boolean success = bookingRepository.createBooking(booking);
             if (success) {
-                System.out.println("✓ Train booking successful! Booking ID: " + bookingId);
+                event.setSuccess(true);
+                log.info("✓ Train booking successful! Booking ID: {}", bookingId);
                 return booking;
             } else {
-                System.out.println("✗ Train booking failed");
+                log.warn("✗ Train booking failed");
                 return null;
             }
         } catch (Exception e) {
-            System.out.println("✗ Error creating train booking: " + e.getMessage());
+            log.error("✗ Error creating train booking: {}", e.getMessage());
             return null;
+        } finally {
+            commitBookingEvent(event);
         }
     }
 
@@ -120,13 +133,14 @@ public class BookingService {
      * @return Booking object if successful, null if failed
      */
     public Booking bookTicket(Client client, AvailableTicket bookingRequest) {
-        System.out.println("Booking bus for: " + client.getName());
-        System.out.println("Bus: " + bookingRequest.getNumber() + " from " +
-                bookingRequest.getDepartureLocation() + " to " + bookingRequest.getArrivalLocation());
+        log.info("Booking bus for: {}", client.getName());
+        log.info("Bus: {} from {} to {}", bookingRequest.getNumber(), bookingRequest.getDepartureLocation(), bookingRequest.getArrivalLocation());
 
+        BookingEvent event = startBookingEvent("bus");
         try {
             // Generate unique booking ID with bus prefix
             String bookingId = generateBookingId("BS");
+            event.setBookingId(bookingId);
 
             // Convert bus details to JSON
             String transportJson = objectMapper.writeValueAsString(bookingRequest);
@@ -141,15 +155,37 @@ public class BookingService {
 
             boolean success = bookingRepository.createBooking(booking);
             if (success) {
-                System.out.println("✓ Bus booking successful! Booking ID: " + bookingId);
+                event.setSuccess(true);
+                log.info("✓ Bus booking successful! Booking ID: {}", bookingId);
                 return booking;
             } else {
-                System.out.println("✗ Bus booking failed");
+                log.warn("✗ Bus booking failed");
                 return null;
             }
         } catch (Exception e) {
-            System.out.println("✗ Error creating bus booking: " + e.getMessage());
+            log.error("✗ Error creating bus booking: {}", e.getMessage());
             return null;
+        } finally {
+            commitBookingEvent(event);
+        }
+    }
+
+    /**
+     * Start a JFR booking event for one of the bookTicket overloads
+     * @param transportType flight, train or bus
+     * @return The started event
+     */
+    private static BookingEvent startBookingEvent(String transportType) {
+        BookingEvent event = new BookingEvent();
+        event.setTransportType(transportType);
+        event.begin();
+        return event;
+    }
+
+    private static void commitBookingEvent(BookingEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
         }
     }
 
@@ -172,7 +208,7 @@ public class BookingService {
      */
     public Optional<Booking> getBookingById(Integer id) {
         if (id == null) {
-            System.out.println("✗ Service Error: Booking ID cannot be null");
+            log.warn("✗ Service Error: Booking ID cannot be null");
             return Optional.empty();
         }
         return bookingRepository.findById(id);
@@ -185,7 +221,7 @@ public class BookingService {
      */
     public Optional<Booking> getBookingByBookingId(String bookingId) {
         if (bookingId == null || bookingId.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Booking ID cannot be null or empty");
+            log.warn("✗ Service Error: Booking ID cannot be null or empty");
             return Optional.empty();
         }
         return bookingRepository.findByBookingId(bookingId);
@@ -198,7 +234,7 @@ public class BookingService {
      */
     public List<Booking> getBookingsByClientEmail(String clientEmail) {
         if (clientEmail == null || clientEmail.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Client email cannot be null or empty");
+            log.warn("✗ Service Error: Client email cannot be null or empty");
             return new ArrayList<>();
         }
         return bookingRepository.findByClientEmail(clientEmail);
@@ -211,20 +247,20 @@ public class BookingService {
      */
     public boolean updateBooking(Booking booking) {
         if (booking == null) {
-            System.out.println("✗ Service Error: Cannot update null booking");
+            log.warn("✗ Service Error: Cannot update null booking");
             return false;
         }
 
         if (booking.getId() == null || booking.getId() <= 0) {
-            System.out.println("✗ Service Error: Booking must have a valid ID for update");
+            log.warn("✗ Service Error: Booking must have a valid ID for update");
             return false;
         }
 
         boolean success = bookingRepository.updateBooking(booking);
         if (success) {
-            System.out.println("✓ Service: Booking successfully updated through service layer");
+            log.info("✓ Service: Booking successfully updated through service layer");
         } else {
-            System.out.println("✗ Service: Failed to update booking through service layer");
+            log.warn("✗ Service: Failed to update booking through service layer");
         }
         return success;
     }
@@ -237,15 +273,15 @@ public class BookingService {
      */
     public boolean cancelBooking(String bookingId) {
         if (bookingId == null || bookingId.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Booking ID cannot be null or empty");
+            log.warn("✗ Service Error: Booking ID cannot be null or empty");
             return false;
         }
 
         boolean success = bookingRepository.cancelBooking(bookingId);
         if (success) {
-            System.out.println("✓ Service: Booking successfully cancelled through service layer");
+            log.info("✓ Service: Booking successfully cancelled through service layer");
         } else {
-            System.out.println("✗ Service: Failed to cancel booking through service layer");
+            log.warn("✗ Service: Failed to cancel booking through service layer");
         }
         return success;
     }
@@ -257,20 +293,20 @@ public class BookingService {
      */
     public boolean deleteBooking(Integer id) {
         if (id == null) {
-            System.out.println("✗ Service Error: Booking ID cannot be null");
+            log.warn("✗ Service Error: Booking ID cannot be null");
             return false;
         }
 
         if (id <= 0) {
-            System.out.println("✗ Service Error: Invalid booking ID: " + id);
+            log.warn("✗ Service Error: Invalid booking ID: {}", id);
             return false;
         }
 
         boolean success = bookingRepository.deleteBooking(id);
         if (success) {
-            System.out.println("✓ Service: Booking successfully deleted through service layer");
+            log.info("✓ Service: Booking successfully deleted through service layer");
         } else {
-            System.out.println("✗ Service: Failed to delete booking through service layer");
+            log.warn("✗ Service: Failed to delete booking through service layer");
         }
         return success;
     }
@@ -307,7 +343,7 @@ public class BookingService {
      */
     public List<Booking> findBookingsByClientName(String clientName) {
         if (clientName == null || clientName.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Client name cannot be null or empty");
+            log.warn("✗ Service Error: Client name cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -325,7 +361,7 @@ public class BookingService {
      */
     public List<Booking> findBookingsByTransportType(String transportType) {
         if (transportType == null || transportType.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Transport type cannot be null or empty");
+            log.warn("✗ Service Error: Transport type cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -337,7 +373,7 @@ public class BookingService {
 
     public List<Booking> findBookingsByClientEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Transport type cannot be null or empty");
+            log.warn("✗ Service Error: Transport type cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -349,7 +385,7 @@ public class BookingService {
 
     public List<Booking> findBookingsByClientPhoneNumber(String phoneNumber) {
         if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Transport type cannot be null or empty");
+            log.warn("✗ Service Error: Transport type cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -366,7 +402,7 @@ public class BookingService {
      */
     public List<Booking> searchTrainStations(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Search term cannot be null or empty");
+            log.warn("✗ Service Error: Search term cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -388,12 +424,20 @@ public class BookingService {
      * @return String with booking statistics
      */
     public String getBookingStatistics() {
-        List<Booking> flightBookings = findBookingsByTransportType("FL");
-        List<Booking> trainBookings = findBookingsByTransportType("TR");
-        List<Booking> busBookings = findBookingsByTransportType("BS");
+        // One query: count every transport type from the same result
+        List<Booking> allBookings = getAllBookings();
+        long flights = countByPrefix(allBookings, "FL");
+        long trains = countByPrefix(allBookings, "TR");
+        long buses = countByPrefix(allBookings, "BS");
 
         return String.format("Booking Statistics: Flights: %d, Trains: %d, Buses: %d, Total: %d",
-                flightBookings.size(), trainBookings.size(), busBookings.size(), getBookingCount());
+                flights, trains, buses, allBookings.size());
+    }
+
+    private static long countByPrefix(List<Booking> bookings, String prefix) {
+        return bookings.stream()
+                .filter(booking -> booking.getBookingId() != null && booking.getBookingId().startsWith(prefix))
+                .count();
     }
 
     /**
@@ -403,33 +447,33 @@ public class BookingService {
      */
     public boolean isValidBooking(Booking booking) {
         if (booking == null) {
-            System.out.println("✗ Service Error: Booking cannot be null");
+            log.warn("✗ Service Error: Booking cannot be null");
             return false;
         }
 
         if (booking.getBookingId() == null || booking.getBookingId().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Booking ID is required");
+            log.warn("✗ Service Error: Booking ID is required");
             return false;
         }
 
         if (booking.getClientName() == null || booking.getClientName().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Client name is required");
+            log.warn("✗ Service Error: Client name is required");
             return false;
         }
 
         if (booking.getClientEmail() == null || booking.getClientEmail().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Client email is required");
+            log.warn("✗ Service Error: Client email is required");
             return false;
         }
 
         // Basic email validation
         if (!booking.getClientEmail().contains("@") || !booking.getClientEmail().contains(".")) {
-            System.out.println("✗ Service Error: Invalid email format");
+            log.warn("✗ Service Error: Invalid email format");
             return false;
         }
 
         if (booking.getTransportDetailsJson() == null || booking.getTransportDetailsJson().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Transport details are required");
+            log.warn("✗ Service Error: Transport details are required");
             return false;
         }
 
@@ -446,7 +490,7 @@ public class BookingService {
      * @param prefix Transport type prefix ("FL", "TR", "BS")
      * @return Unique booking ID string
      */
-    private String generateBookingId(String prefix) {
+    String generateBookingId(String prefix) {
         // Get current timestamp for uniqueness
         LocalDateTime now = LocalDateTime.now();
         String timestamp = now.format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
@@ -0,0 +1,79 @@
+package com.example.travelbuddybackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Bundle Join
+ *
+ * Best-first join of per-segment options into the lowest-scoring bundles (one
+ * option per segment), without building the cross product. A bundle's score
+ * is the sum of its options' scores, and each segment's options are sorted by
+ * score, so the bundles can be enumerated in score order from a heap:
+ * starting at the cheapest option of every segment, a popped bundle pushes the
+ * bundles with one option moved one step down. Each bundle is pushed from a
+ * single parent (only positions at or after the one last moved are moved
+ * again), so no visited set is needed.
+ *
+ * Bundles that fail the feasibility test (e.g. the return leaves before the
+ * outbound arrives) are skipped but still expanded. The join stops after
+ * limit feasible bundles or maxExpansions pops, whichever comes first, so an
+ * infeasible request costs at most maxExpansions heap operations.
+ */
+final class BundleJoin {
+
+    private BundleJoin() {
+    }
+
+    /**
+     * @param scores Per segment, the option scores in ascending order
+     * @param feasible Test of a bundle, given as the option index per segment
+     * @return Up to limit feasible bundles, lowest score first
+     */
+    static List<int[]> best(long[][] scores, Predicate<int[]> feasible, int limit, int maxExpansions) {
+        List<int[]> bundles = new ArrayList<>();
+        for (long[] options : scores) {
+            if (options.length == 0) {
+                return bundles;
+            }
+        }
+
+        PriorityQueue<Candidate> heap = new PriorityQueue<>();
+        heap.add(new Candidate(sum(scores, new int[scores.length]), new int[scores.length], 0));
+        int expansions = 0;
+        while (!heap.isEmpty() && bundles.size() < limit && expansions++ < maxExpansions) {
+            Candidate next = heap.poll();
+            if (feasible.test(next.choice())) {
+                bundles.add(next.choice());
+            }
+            for (int segment = next.lastMoved(); segment < scores.length; segment++) {
+                int option = next.choice()[segment] + 1;
+                if (option < scores[segment].length) {
+                    int[] choice = next.choice().clone();
+                    choice[segment] = option;
+                    long score = next.score() - scores[segment][option - 1] + scores[segment][option];
+                    heap.add(new Candidate(score, choice, segment));
+                }
+            }
+        }
+        return bundles;
+    }
+
+    private static long sum(long[][] scores, int[] choice) {
+        long total = 0;
+        for (int segment = 0; segment < scores.length; segment++) {
+            total += scores[segment][choice[segment]];
+        }
+        return total;
+    }
+
+    private record Candidate(long score, int[] choice, int lastMoved) implements Comparable<Candidate> {
+
+        @Override
+        public int compareTo(Candidate other) {
+            return Long.compare(score, other.score);
+        }
+    }
+}
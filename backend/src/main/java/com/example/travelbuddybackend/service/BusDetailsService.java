@@ -1,12 +1,18 @@
 package com.example.travelbuddybackend.service;
 
+import com.example.travelbuddybackend.index.PriceIndex;
 import com.example.travelbuddybackend.models.BusDetails;
 import com.example.travelbuddybackend.models.BusStation;
 import com.example.travelbuddybackend.repository.BusDetailsRepository;
 import com.example.travelbuddybackend.repository.BusStationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -15,17 +21,25 @@ import java.util.stream.Collectors;
 @Service
 public class BusDetailsService {
 
+    private static final Logger log = LoggerFactory.getLogger(BusDetailsService.class);
+
     private final BusDetailsRepository busDetailsRepository;
     private final BusStationRepository busStationRepository;
     private final ValidatorService validatorService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PriceIndex priceIndex;
 
     @Autowired
     public BusDetailsService(BusDetailsRepository busDetailsRepository,
                              BusStationRepository busStationRepository,
-                             ValidatorService validatorService) {
+                             ValidatorService validatorService,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${price-index.refresh-interval:5m}") Duration priceIndexRefresh) {
         this.busDetailsRepository = busDetailsRepository;
         this.busStationRepository = busStationRepository;
         this.validatorService = validatorService;
+        this.eventPublisher = eventPublisher;
+        this.priceIndex = new PriceIndex("bus", busDetailsRepository::findPricesById, priceIndexRefresh);
     }
 
     // ============================================================================
@@ -38,7 +52,7 @@ public class BusDetailsService {
 
     public Optional<BusDetails> getBusDetailsById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Service Error: Bus ID must be a positive integer");
+            log.warn("✗ Service Error: Bus ID must be a positive integer");
             return Optional.empty();
         }
         return busDetailsRepository.findById(id);
@@ -46,7 +60,7 @@ public class BusDetailsService {
 
     public Optional<BusDetails> getBusDetailsByNumber(String busNumber) {
         if (busNumber == null || busNumber.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Bus number cannot be null or empty");
+            log.warn("✗ Service Error: Bus number cannot be null or empty");
             return Optional.empty();
         }
         return busDetailsRepository.findByBusNumber(busNumber.toUpperCase().trim());
@@ -55,7 +69,7 @@ public class BusDetailsService {
     public List<BusDetails> getBusesByRoute(String departureStationCode, String arrivalStationCode) {
         if (departureStationCode == null || departureStationCode.trim().isEmpty() ||
                 arrivalStationCode == null || arrivalStationCode.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Both departure and arrival station codes are required");
+            log.warn("✗ Service Error: Both departure and arrival station codes are required");
             return new ArrayList<>();
         }
 
@@ -63,12 +77,12 @@ public class BusDetailsService {
         Optional<BusStation> arrivalStation = busStationRepository.findByStationCode(arrivalStationCode.toUpperCase().trim());
 
         if (departureStation.isEmpty()) {
-            System.out.println("✗ Service Error: Departure station not found: " + departureStationCode);
+            log.warn("✗ Service Error: Departure station not found: {}", departureStationCode);
             return new ArrayList<>();
         }
 
         if (arrivalStation.isEmpty()) {
-            System.out.println("✗ Service Error: Arrival station not found: " + arrivalStationCode);
+            log.warn("✗ Service Error: Arrival station not found: {}", arrivalStationCode);
             return new ArrayList<>();
         }
 
@@ -77,12 +91,12 @@ public class BusDetailsService {
 
     public List<BusDetails> getBusesByRoute(BusStation departureStation, BusStation arrivalStation) {
         if (departureStation == null || arrivalStation == null) {
-            System.out.println("✗ Service Error: Both stations are required");
+            log.warn("✗ Service Error: Both stations are required");
             return new ArrayList<>();
         }
 
         if (departureStation.getBusStationCode() == null || arrivalStation.getBusStationCode() == null) {
-            System.out.println("✗ Service Error: Station codes are required");
+            log.warn("✗ Service Error: Station codes are required");
             return new ArrayList<>();
         }
 
@@ -91,12 +105,12 @@ public class BusDetailsService {
 
     public List<BusDetails> getBusesByDepartureDate(String departureDate) {
         if (departureDate == null || departureDate.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Departure date cannot be null or empty");
+            log.warn("✗ Service Error: Departure date cannot be null or empty");
             return new ArrayList<>();
         }
 
         if (!validatorService.isValidDate(departureDate)) {
-            System.out.println("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
+            log.warn("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
             return new ArrayList<>();
         }
 
@@ -108,11 +122,14 @@ public class BusDetailsService {
             return false;
         }
 
-        boolean success = busDetailsRepository.createBusDetails(busDetails);
+        Optional<Integer> createdId = busDetailsRepository.createBusDetails(busDetails);
+        boolean success = createdId.isPresent();
         if (success) {
-            System.out.println("✓ Service: Bus added successfully");
+            priceIndex.put(createdId.get(), busDetails.getBusRidePrice());
+            publishRouteChange(busDetails);
+            log.info("✓ Service: Bus added successfully");
         } else {
-            System.out.println("✗ Service: Failed to add bus");
+            log.warn("✗ Service: Failed to add bus");
         }
         return success;
     }
@@ -123,42 +140,49 @@ public class BusDetailsService {
         }
 
         if (busDetails.getId() == null || busDetails.getId() <= 0) {
-            System.out.println("✗ Service Error: Valid id required for update");
+            log.warn("✗ Service Error: Valid id required for update");
             return false;
         }
 
         // Check if bus exists
-        if (busDetailsRepository.findById(busDetails.getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Bus details not found for update");
+        Optional<BusDetails> currentBus = busDetailsRepository.findById(busDetails.getId());
+        if (currentBus.isEmpty()) {
+            log.warn("✗ Service Error: Bus details not found for update");
             return false;
         }
 
         boolean success = busDetailsRepository.updateBusDetails(busDetails);
         if (success) {
-            System.out.println("✓ Service: Bus updated successfully");
+            priceIndex.put(busDetails.getId(), busDetails.getBusRidePrice());
+            publishRouteChange(currentBus.get());
+            publishRouteChange(busDetails);
+            log.info("✓ Service: Bus updated successfully");
         } else {
-            System.out.println("✗ Service: Failed to update bus");
+            log.warn("✗ Service: Failed to update bus");
         }
         return success;
     }
 
     public boolean deleteBusDetails(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Service Error: Valid bus ID required for deletion");
+            log.warn("✗ Service Error: Valid bus ID required for deletion");
             return false;
         }
 
         // Check if bus exists before deletion
-        if (busDetailsRepository.findById(id).isEmpty()) {
-            System.out.println("✗ Service Error: Bus not found for deletion");
+        Optional<BusDetails> existing = busDetailsRepository.findById(id);
+        if (existing.isEmpty()) {
+            log.warn("✗ Service Error: Bus not found for deletion");
             return false;
         }
 
         boolean success = busDetailsRepository.deleteBusDetails(id);
         if (success) {
-            System.out.println("✓ Service: Bus deleted successfully");
+            priceIndex.remove(id);
+            publishRouteChange(existing.get());
+            log.info("✓ Service: Bus deleted successfully");
         } else {
-            System.out.println("✗ Service: Failed to delete bus");
+            log.warn("✗ Service: Failed to delete bus");
         }
         return success;
     }
@@ -191,7 +215,7 @@ public class BusDetailsService {
 
     public List<BusDetails> findBusesByLine(String busLine) {
         if (busLine == null || busLine.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Bus line cannot be null or empty");
+            log.warn("✗ Service Error: Bus line cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -203,7 +227,7 @@ public class BusDetailsService {
     public List<BusDetails> findBusesByPriceRange(String minPrice, String maxPrice) {
         if (minPrice == null || minPrice.trim().isEmpty() ||
                 maxPrice == null || maxPrice.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Both minimum and maximum prices are required");
+            log.warn("✗ Service Error: Both minimum and maximum prices are required");
             return new ArrayList<>();
         }
 
@@ -212,29 +236,27 @@ public class BusDetailsService {
             double max = Double.parseDouble(maxPrice.trim());
 
             if (min < 0 || max < 0 || min > max) {
-                System.out.println("✗ Service Error: Invalid price range");
+                log.warn("✗ Service Error: Invalid price range");
                 return new ArrayList<>();
             }
 
-            return getAllBusDetails().stream()
-                    .filter(bus -> {
-                        try {
-                            double price = Double.parseDouble(bus.getBusRidePrice());
-                            return price >= min && price <= max;
-                        } catch (NumberFormatException e) {
-                            return false;
-                        }
-                    })
-                    .collect(Collectors.toList());
+            return priceIndex.findBetween(min, max, busDetailsRepository::findByIds, busDetailsRepository::findAll, BusDetails::getId);
         } catch (NumberFormatException e) {
-            System.out.println("✗ Service Error: Invalid price format");
+            log.warn("✗ Service Error: Invalid price format");
             return new ArrayList<>();
         }
     }
 
+    /**
+     * In-memory price index of all buses, e.g. for price histograms
+     */
+    public PriceIndex getPriceIndex() {
+        return priceIndex;
+    }
+
     public List<BusDetails> searchBuses(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Search term cannot be null or empty");
+            log.warn("✗ Service Error: Search term cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -262,76 +284,85 @@ public class BusDetailsService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Tell route caches and indexes (the fare calendar, the search index) that a trip on this route changed
+     */
+    private void publishRouteChange(BusDetails busDetails) {
+        String origin = busDetails.getBusDepartureStation() != null ? busDetails.getBusDepartureStation().getBusStationCode() : null;
+        String destination = busDetails.getBusArrivalStation() != null ? busDetails.getBusArrivalStation().getBusStationCode() : null;
+        eventPublisher.publishEvent(new TripChangedEvent("bus", origin, destination));
+    }
+
     // ============================================================================
     // BUSINESS VALIDATION
     // ============================================================================
 
     private boolean isValidForService(BusDetails busDetails) {
         if (busDetails == null) {
-            System.out.println("✗ Service Error: Bus details cannot be null");
+            log.warn("✗ Service Error: Bus details cannot be null");
             return false;
         }
 
         // Basic field validation
         if (busDetails.getBusNumber() == null || busDetails.getBusNumber().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Bus number is required");
+            log.warn("✗ Service Error: Bus number is required");
             return false;
         }
 
         if (busDetails.getBusLine() == null || busDetails.getBusLine().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Bus line is required");
+            log.warn("✗ Service Error: Bus line is required");
             return false;
         }
 
         if (busDetails.getBusDepartureStation() == null || busDetails.getBusArrivalStation() == null) {
-            System.out.println("✗ Service Error: Both departure and arrival stations are required");
+            log.warn("✗ Service Error: Both departure and arrival stations are required");
             return false;
         }
 
         // Business logic validation
         if (busDetails.getBusDepartureStation().getId().equals(busDetails.getBusArrivalStation().getId())) {
-            System.out.println("✗ Service Error: Departure and arrival stations cannot be the same");
+            log.warn("✗ Service Error: Departure and arrival stations cannot be the same");
             return false;
         }
 
         // Validate stations exist in database
         if (busStationRepository.findById(busDetails.getBusDepartureStation().getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Departure station not found in database");
+            log.warn("✗ Service Error: Departure station not found in database");
             return false;
         }
 
         if (busStationRepository.findById(busDetails.getBusArrivalStation().getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Arrival station not found in database");
+            log.warn("✗ Service Error: Arrival station not found in database");
             return false;
         }
 
         // Date and time validation
         if (!validatorService.isValidDate(busDetails.getBusDepartureDate()) ||
                 !validatorService.isValidDate(busDetails.getBusArrivalDate())) {
-            System.out.println("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
+            log.warn("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
             return false;
         }
 
         if (!validatorService.isValidTime(busDetails.getBusDepartureTime()) ||
                 !validatorService.isValidTime(busDetails.getBusArrivalTime())) {
-            System.out.println("✗ Service Error: Invalid time format. Use HH:MM");
+            log.warn("✗ Service Error: Invalid time format. Use HH:MM");
             return false;
         }
 
         // Price validation
         if (busDetails.getBusRidePrice() == null || busDetails.getBusRidePrice().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Bus price is required");
+            log.warn("✗ Service Error: Bus price is required");
             return false;
         }
 
         try {
             double price = Double.parseDouble(busDetails.getBusRidePrice());
             if (price <= 0) {
-                System.out.println("✗ Service Error: Bus price must be positive");
+                log.warn("✗ Service Error: Bus price must be positive");
                 return false;
             }
         } catch (NumberFormatException e) {
-            System.out.println("✗ Service Error: Bus price must be a valid number");
+            log.warn("✗ Service Error: Bus price must be a valid number");
             return false;
         }
 
@@ -2,7 +2,10 @@ package com.example.travelbuddybackend.service;
 
 import com.example.travelbuddybackend.models.BusStation;
 import com.example.travelbuddybackend.repository.BusStationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -13,11 +16,19 @@ import java.util.stream.Collectors;
 @Service
 public class BusStationService {
 
+    private static final Logger log = LoggerFactory.getLogger(BusStationService.class);
+
     private final BusStationRepository busStationRepository;
+    private final StationAutocompleteService stationAutocompleteService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public BusStationService(BusStationRepository busStationRepository) {
+    public BusStationService(BusStationRepository busStationRepository,
+                             StationAutocompleteService stationAutocompleteService,
+                             ApplicationEventPublisher eventPublisher) {
         this.busStationRepository = busStationRepository;
+        this.stationAutocompleteService = stationAutocompleteService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -35,7 +46,7 @@ public class BusStationService {
      */
     public Optional<BusStation> getBusStationById(Integer id) {
         if (id == null) {
-            System.out.println("✗ Service Error: Bus station ID cannot be null");
+            log.warn("✗ Service Error: Bus station ID cannot be null");
             return Optional.empty();
         }
         return busStationRepository.findById(id);
@@ -48,7 +59,7 @@ public class BusStationService {
      */
     public Optional<BusStation> getBusStationByCode(String stationCode) {
         if (stationCode == null || stationCode.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Station code cannot be null or empty");
+            log.warn("✗ Service Error: Station code cannot be null or empty");
             return Optional.empty();
         }
         return busStationRepository.findByStationCode(stationCode);
@@ -61,15 +72,16 @@ public class BusStationService {
      */
     public boolean addBusStation(BusStation busStation) {
         if (busStation == null) {
-            System.out.println("✗ Service Error: Cannot add null bus station");
+            log.warn("✗ Service Error: Cannot add null bus station");
             return false;
         }
 
         boolean success = busStationRepository.createBusStation(busStation);
         if (success) {
-            System.out.println("✓ Service: Bus station successfully added through service layer");
+            log.info("✓ Service: Bus station successfully added through service layer");
+            eventPublisher.publishEvent(new StationChangedEvent("bus"));
         } else {
-            System.out.println("✗ Service: Failed to add bus station through service layer");
+            log.warn("✗ Service: Failed to add bus station through service layer");
         }
         return success;
     }
@@ -81,20 +93,21 @@ public class BusStationService {
      */
     public boolean updateBusStation(BusStation busStation) {
         if (busStation == null) {
-            System.out.println("✗ Service Error: Cannot update null bus station");
+            log.warn("✗ Service Error: Cannot update null bus station");
             return false;
         }
 
         if (busStation.getId() == null || busStation.getId() <= 0) {
-            System.out.println("✗ Service Error: Bus station must have a valid ID for update");
+            log.warn("✗ Service Error: Bus station must have a valid ID for update");
             return false;
         }
 
         boolean success = busStationRepository.updateBusStation(busStation);
         if (success) {
-            System.out.println("✓ Service: Bus station successfully updated through service layer");
+            log.info("✓ Service: Bus station successfully updated through service layer");
+            eventPublisher.publishEvent(new StationChangedEvent("bus"));
         } else {
-            System.out.println("✗ Service: Failed to update bus station through service layer");
+            log.warn("✗ Service: Failed to update bus station through service layer");
         }
         return success;
     }
@@ -106,20 +119,21 @@ public class BusStationService {
      */
     public boolean deleteBusStation(Integer id) {
         if (id == null) {
-            System.out.println("✗ Service Error: Bus station ID cannot be null");
+            log.warn("✗ Service Error: Bus station ID cannot be null");
             return false;
         }
 
         if (id <= 0) {
-            System.out.println("✗ Service Error: Invalid bus station ID: " + id);
+            log.warn("✗ Service Error: Invalid bus station ID: {}", id);
             return false;
         }
 
         boolean success = busStationRepository.deleteBusStation(id);
         if (success) {
-            System.out.println("✓ Service: Bus station successfully deleted through service layer");
+            log.info("✓ Service: Bus station successfully deleted through service layer");
+            eventPublisher.publishEvent(new StationChangedEvent("bus"));
         } else {
-            System.out.println("✗ Service: Failed to delete bus station through service layer");
+            log.warn("✗ Service: Failed to delete bus station through service layer");
         }
         return success;
     }
@@ -164,7 +178,7 @@ public class BusStationService {
      */
     public List<BusStation> findBusStationsByCode(String code) {
         if (code == null || code.trim().isEmpty()) {
-            System.out.println("✗ Service Error: City location cannot be null or empty");
+            log.warn("✗ Service Error: City location cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -181,7 +195,7 @@ public class BusStationService {
      */
     public List<BusStation> findBusStationsByPartialName(String partialName) {
         if (partialName == null || partialName.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Partial name cannot be null or empty");
+            log.warn("✗ Service Error: Partial name cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -194,7 +208,7 @@ public class BusStationService {
 
     public List<BusStation> findBusStationsByCityLocation(String location) {
         if (location == null || location.trim().isEmpty()) {
-            System.out.println("✗ Service Error: location cannot be null or empty");
+            log.warn("✗ Service Error: location cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -205,20 +219,13 @@ public class BusStationService {
                 .collect(Collectors.toList());
     }
 
-    public List<BusStation> searchBusStations(String searchTerm) {
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Search term cannot be null or empty");
-            return new ArrayList<>();
-        }
-
-        String lowerSearchTerm = searchTerm.toLowerCase();
-        List<BusStation> allBusStations = getAllBusStations();
-
-        return allBusStations.stream()
-                .filter(busStation ->
-                        busStation.getBusStationFullName().toLowerCase().contains(lowerSearchTerm) ||
-                        busStation.getBusStationCode().toLowerCase().contains(lowerSearchTerm) ||
-                        busStation.getBusStationCityLocation().toLowerCase().contains(lowerSearchTerm))
-                .collect(Collectors.toList());
+    /**
+     * Search bus stations by code, name or city, as typed into the station search box
+     * @param searchTerm Text typed so far; may be partial or misspelt
+     * @param sessionId Search-as-you-type session of the search box, or null
+     * @return The best matches first, at most autocomplete.limit (see StationAutocompleteService)
+     */
+    public List<BusStation> searchBusStations(String searchTerm, String sessionId) {
+        return stationAutocompleteService.searchBusStations(searchTerm, sessionId);
     }
 }
\ No newline at end of file
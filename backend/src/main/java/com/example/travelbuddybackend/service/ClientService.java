@@ -2,6 +2,8 @@ package com.example.travelbuddybackend.service;
 
 import com.example.travelbuddybackend.models.Client;
 import com.example.travelbuddybackend.repository.ClientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,6 +19,8 @@ import java.util.stream.Collectors;
 @Service
 public class ClientService {
 
+    private static final Logger log = LoggerFactory.getLogger(ClientService.class);
+
     private final ClientRepository clientRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
@@ -51,7 +55,7 @@ public class ClientService {
      * @return RegistrationResponse with success/failure details
      */
     public RegistrationResponse registerClient(RegistrationRequest registrationRequest) {
-        System.out.println("Processing registration for: " + registrationRequest.getUsername());
+        log.info("Processing registration for: {}", registrationRequest.getUsername());
 
         // Step 1: Validate all input data
         ValidationResult validation = validateRegistrationData(registrationRequest);
@@ -91,7 +95,7 @@ public class ClientService {
         // Step 5: Save to database
         boolean created = clientRepository.createClient(newClient);
         if (created) {
-            System.out.println("✓ Registration successful for: " + newClient.getUsername());
+            log.info("✓ Registration successful for: {}", newClient.getUsername());
             return new RegistrationResponse(true, "Account created successfully", newClient.getUsername());
         } else {
             return new RegistrationResponse(false, "Failed to create account. Please try again.", null);
@@ -112,13 +116,13 @@ public class ClientService {
      * @return LoginResponse with authentication result
      */
     public LoginResponse authenticateClient(LoginRequest loginRequest) {
-        System.out.println("Processing login attempt for: " + loginRequest.getUsernameOrEmail());
+        log.info("Processing login attempt for: {}", loginRequest.getUsernameOrEmail());
 
         // Step 1: Find the client account
         Optional<Client> clientOptional = findClientByUsernameOrEmail(loginRequest.getUsernameOrEmail());
 
         if (clientOptional.isEmpty()) {
-            System.out.println("✗ Client not found: " + loginRequest.getUsernameOrEmail());
+            log.warn("✗ Client not found: {}", loginRequest.getUsernameOrEmail());
             return new LoginResponse(false, "Invalid login credentials", null, null);
         }
 
@@ -127,7 +131,7 @@ public class ClientService {
         // Step 2: Check account status
         if (!client.canLogin()) {
             String reason = client.isAccountLocked() ? "Account is temporarily locked" : "Account is disabled";
-            System.out.println("✗ Login denied - " + reason + ": " + client.getUsername());
+            log.warn("✗ Login denied - {}: {}", reason, client.getUsername());
             return new LoginResponse(false, reason, null, null);
         }
 
@@ -138,7 +142,7 @@ public class ClientService {
         );
 
         if (!passwordMatches) {
-            System.out.println("✗ Invalid password for client: " + client.getUsername());
+            log.warn("✗ Invalid password for client: {}", client.getUsername());
             return new LoginResponse(false, "Invalid login credentials", null, null);
         }
 
@@ -148,7 +152,7 @@ public class ClientService {
         // Step 5: Update last login timestamp
         clientRepository.updateLastLogin(client.getId());
 
-        System.out.println("✓ Login successful for: " + client.getUsername());
+        log.info("✓ Login successful for: {}", client.getUsername());
 
         // Return success response with safe client data (no password)
         return new LoginResponse(true, "Login successful", token, client);
@@ -163,25 +167,25 @@ public class ClientService {
      */
     public boolean changePassword(Integer clientId, String oldPassword, String newPassword) {
         if (clientId == null || oldPassword == null || newPassword == null) {
-            System.out.println("✗ Service: Invalid parameters for password change");
+            log.warn("✗ Service: Invalid parameters for password change");
             return false;
         }
 
         Optional<Client> clientOptional = clientRepository.findById(clientId);
         if (clientOptional.isEmpty()) {
-            System.out.println("✗ Service: Client not found for password change");
+            log.warn("✗ Service: Client not found for password change");
             return false;
         }
 
         Client client = clientOptional.get();
 
         if (!passwordEncoder.matches(oldPassword, client.getPassword())) {
-            System.out.println("✗ Service: Old password is incorrect");
+            log.warn("✗ Service: Old password is incorrect");
             return false;
         }
 
         if (newPassword.length() < 6) {
-            System.out.println("✗ Service: New password must be at least 6 characters long");
+            log.warn("✗ Service: New password must be at least 6 characters long");
             return false;
         }
 
@@ -189,7 +193,7 @@ public class ClientService {
         boolean updated = clientRepository.updatePassword(clientId, encryptedNewPassword);
 
         if (updated) {
-            System.out.println("✓ Service: Password changed successfully for client ID: " + clientId);
+            log.debug("✓ Service: Password changed successfully for client ID: {}", clientId);
         }
 
         return updated;
@@ -204,21 +208,21 @@ public class ClientService {
         try {
             // Check if the token is structurally valid
             if (!jwtService.isTokenValid(token)) {
-                System.out.println("✗ Service: Invalid JWT token structure");
+                log.warn("✗ Service: Invalid JWT token structure");
                 return Optional.empty();
             }
 
             // Extract the username from the token
             String username = jwtService.extractUsername(token);
             if (username == null) {
-                System.out.println("✗ Service: No username found in token");
+                log.warn("✗ Service: No username found in token");
                 return Optional.empty();
             }
 
             // Find the client in the database
             Optional<Client> clientOptional = clientRepository.findByUsername(username);
             if (clientOptional.isEmpty()) {
-                System.out.println("✗ Service: Client not found for token username: " + username);
+                log.warn("✗ Service: Client not found for token username: {}", username);
                 return Optional.empty();
             }
 
@@ -226,15 +230,15 @@ public class ClientService {
 
             // Validate the token against this specific client
             if (!jwtService.validateToken(token, client)) {
-                System.out.println("✗ Service: Token validation failed for client: " + username);
+                log.warn("✗ Service: Token validation failed for client: {}", username);
                 return Optional.empty();
             }
 
-            System.out.println("✓ Service: Token validated successfully for client: " + username);
+            log.debug("✓ Service: Token validated successfully for client: {}", username);
             return Optional.of(client);
 
         } catch (Exception e) {
-            System.out.println("✗ Service: Error validating token: " + e.getMessage());
+            log.error("✗ Service: Error validating token: {}", e.getMessage());
             return Optional.empty();
         }
     }
@@ -250,7 +254,7 @@ public class ClientService {
             Optional<Client> clientOptional = validateTokenAndGetClient(oldToken);
 
             if (clientOptional.isEmpty()) {
-                System.out.println("✗ Service: Cannot refresh invalid token");
+                log.warn("✗ Service: Cannot refresh invalid token");
                 return null;
             }
 
@@ -258,11 +262,11 @@ public class ClientService {
             Client client = clientOptional.get();
             String newToken = jwtService.generateToken(client);
 
-            System.out.println("✓ Service: Token refreshed successfully for client: " + client.getUsername());
+            log.debug("✓ Service: Token refreshed successfully for client: {}", client.getUsername());
             return newToken;
 
         } catch (Exception e) {
-            System.out.println("✗ Service: Error refreshing token: " + e.getMessage());
+            log.error("✗ Service: Error refreshing token: {}", e.getMessage());
             return null;
         }
     }
@@ -299,7 +303,7 @@ public class ClientService {
             return client;
 
         } catch (Exception e) {
-            System.out.println("✗ Service: Error extracting client from token: " + e.getMessage());
+            log.error("✗ Service: Error extracting client from token: {}", e.getMessage());
             return null;
         }
     }
@@ -323,7 +327,7 @@ public class ClientService {
      */
     public Optional<Client> getClientById(Integer id) {
         if (id == null) {
-            System.out.println("✗ Service Error: Client ID cannot be null");
+            log.warn("✗ Service Error: Client ID cannot be null");
             return Optional.empty();
         }
         return clientRepository.findById(id);
@@ -336,7 +340,7 @@ public class ClientService {
      */
     public boolean addClient(Client client) {
         if (client == null) {
-            System.out.println("✗ Service Error: Cannot add null client");
+            log.warn("✗ Service Error: Cannot add null client");
             return false;
         }
 
@@ -347,9 +351,9 @@ public class ClientService {
 
         boolean success = clientRepository.createClient(client);
         if (success) {
-            System.out.println("✓ Service: Client successfully added: " + client.getUsername());
+            log.info("✓ Service: Client successfully added: {}", client.getUsername());
         } else {
-            System.out.println("✗ Service: Failed to add client");
+            log.warn("✗ Service: Failed to add client");
         }
         return success;
     }
@@ -361,20 +365,20 @@ public class ClientService {
      */
     public boolean updateClient(Client client) {
         if (client == null) {
-            System.out.println("✗ Service Error: Cannot update null client");
+            log.warn("✗ Service Error: Cannot update null client");
             return false;
         }
 
         if (client.getId() == null || client.getId() <= 0) {
-            System.out.println("✗ Service Error: Client must have a valid ID for update");
+            log.warn("✗ Service Error: Client must have a valid ID for update");
             return false;
         }
 
         boolean success = clientRepository.updateClient(client);
         if (success) {
-            System.out.println("✓ Service: Client successfully updated: " + client.getUsername());
+            log.info("✓ Service: Client successfully updated: {}", client.getUsername());
         } else {
-            System.out.println("✗ Service: Failed to update client");
+            log.warn("✗ Service: Failed to update client");
         }
         return success;
     }
@@ -386,20 +390,20 @@ public class ClientService {
      */
     public boolean deleteClient(Integer id) {
         if (id == null) {
-            System.out.println("✗ Service Error: Client ID cannot be null");
+            log.warn("✗ Service Error: Client ID cannot be null");
             return false;
         }
 
         if (id <= 0) {
-            System.out.println("✗ Service Error: Invalid client ID: " + id);
+            log.warn("✗ Service Error: Invalid client ID: {}", id);
             return false;
         }
 
         boolean success = clientRepository.deleteClient(id);
         if (success) {
-            System.out.println("✓ Service: Client successfully deleted");
+            log.info("✓ Service: Client successfully deleted");
         } else {
-            System.out.println("✗ Service: Failed to delete client");
+            log.warn("✗ Service: Failed to delete client");
         }
         return success;
     }
@@ -436,14 +440,14 @@ public class ClientService {
      */
     public boolean setClientAccountStatus(Integer clientId, boolean enabled) {
         if (clientId == null || clientId <= 0) {
-            System.out.println("✗ Service: Invalid client ID for status update");
+            log.warn("✗ Service: Invalid client ID for status update");
             return false;
         }
 
         boolean success = clientRepository.updateAccountStatus(clientId, enabled);
         if (success) {
             String status = enabled ? "enabled" : "disabled";
-            System.out.println("✓ Service: Client account " + status + " for ID: " + clientId);
+            log.debug("✓ Service: Client account {} for ID: {}", status, clientId);
         }
         return success;
     }
@@ -456,14 +460,14 @@ public class ClientService {
      */
     public boolean setClientAccountLockStatus(Integer clientId, boolean locked) {
         if (clientId == null || clientId <= 0) {
-            System.out.println("✗ Service: Invalid client ID for lock status update");
+            log.warn("✗ Service: Invalid client ID for lock status update");
             return false;
         }
 
         boolean success = clientRepository.updateAccountLockStatus(clientId, locked);
         if (success) {
             String status = locked ? "locked" : "unlocked";
-            System.out.println("✓ Service: Client account " + status + " for ID: " + clientId);
+            log.debug("✓ Service: Client account {} for ID: {}", status, clientId);
         }
         return success;
     }
@@ -485,7 +489,7 @@ public class ClientService {
 
     public List<Client> findClientByUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Username cannot be null or empty");
+            log.warn("✗ Service Error: Username cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -498,7 +502,7 @@ public class ClientService {
 
     public List<Client> findClientByEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
-            System.out.println("✗ Service Error: email cannot be null or empty");
+            log.warn("✗ Service Error: email cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -511,7 +515,7 @@ public class ClientService {
 
     public List<Client> findClientByFirstName(String firstName) {
         if (firstName == null || firstName.trim().isEmpty()) {
-            System.out.println("✗ Service Error: first name cannot be null or empty");
+            log.warn("✗ Service Error: first name cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -524,7 +528,7 @@ public class ClientService {
 
     public List<Client> findClientByLastName(String lastName) {
         if (lastName == null || lastName.trim().isEmpty()) {
-            System.out.println("✗ Service Error: first name cannot be null or empty");
+            log.warn("✗ Service Error: first name cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -537,7 +541,7 @@ public class ClientService {
 
     public List<Client> findClientByPhoneNumber(String phoneNumber) {
         if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
-            System.out.println("✗ Service Error: phone number cannot be null or empty");
+            log.warn("✗ Service Error: phone number cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -550,7 +554,7 @@ public class ClientService {
 
     public List<Client> findClientByAddress(String address) {
         if (address == null || address.trim().isEmpty()) {
-            System.out.println("✗ Service Error: address cannot be null or empty");
+            log.warn("✗ Service Error: address cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -563,7 +567,7 @@ public class ClientService {
 
     public List<Client> findClientByCreditCard(String creditCard) {
         if (creditCard == null || creditCard.trim().isEmpty()) {
-            System.out.println("✗ Service Error: creditCard cannot be null or empty");
+            log.warn("✗ Service Error: creditCard cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -576,7 +580,7 @@ public class ClientService {
 
     public List<Client> searchClients(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Search term cannot be null or empty");
+            log.warn("✗ Service Error: Search term cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -0,0 +1,493 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.index.ConnectionScan;
+import com.example.travelbuddybackend.index.ConnectionScan.Journey;
+import com.example.travelbuddybackend.index.ConnectionTimetable;
+import com.example.travelbuddybackend.models.Airport;
+import com.example.travelbuddybackend.models.AvailableTicket;
+import com.example.travelbuddybackend.models.BusDetails;
+import com.example.travelbuddybackend.models.BusStation;
+import com.example.travelbuddybackend.models.FlightDetails;
+import com.example.travelbuddybackend.models.TrainDetails;
+import com.example.travelbuddybackend.models.TrainStation;
+import com.example.travelbuddybackend.repository.AirportRepository;
+import com.example.travelbuddybackend.repository.BusDetailsRepository;
+import com.example.travelbuddybackend.repository.BusStationRepository;
+import com.example.travelbuddybackend.repository.FlightDetailsRepository;
+import com.example.travelbuddybackend.repository.TrainDetailsRepository;
+import com.example.travelbuddybackend.repository.TrainStationRepository;
+import com.example.travelbuddybackend.repository.TripRows;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Connection Search Service
+ *
+ * Finds itineraries of up to a few trips between two places, changing between
+ * flights, trains and buses: at the same airport or station after the mode's
+ * minimum connection time, or at another one in the same city (by
+ * airportCityLocation / trainStationCityLocation / busStationCityLocation)
+ * after the city transfer time. Results are the Pareto-optimal itineraries by
+ * arrival time, price and number of transfers (see ConnectionScan).
+ *
+ * The scan runs over an in-memory ConnectionTimetable of every trip, built
+ * from the station tables and one streamed read per detail table on a
+ * background thread and swapped in atomically. A TripChangedEvent schedules a
+ * rebuild, and so does a StationChangedEvent (stops are mapped by code and
+ * city when the timetable is built) or a timetable older than
+ * connection-search.refresh-interval.
+ * Searches keep using the current timetable meanwhile; every leg of a result
+ * is read back by primary key, and an itinerary whose trips were deleted or
+ * retimed since the build is dropped.
+ */
+@Service
+public class ConnectionSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionSearchService.class);
+
+    private static final long RETRY_NANOS = Duration.ofSeconds(30).toNanos();
+    private static final int ALL_MODES = 1 << ConnectionTimetable.FLIGHT | 1 << ConnectionTimetable.TRAIN | 1 << ConnectionTimetable.BUS;
+
+    private final FlightDetailsRepository flightDetailsRepository;
+    private final TrainDetailsRepository trainDetailsRepository;
+    private final BusDetailsRepository busDetailsRepository;
+    private final AirportRepository airportRepository;
+    private final TrainStationRepository trainStationRepository;
+    private final BusStationRepository busStationRepository;
+    private final BookingSearchService bookingSearchService;
+
+    private final boolean enabled;
+    private final long refreshNanos;
+    private final int maxTransfers;
+    private final ConnectionScan.TransferTimes transferTimes;
+    private final int departureWindowMinutes;
+    private final int maxJourneyMinutes;
+    private final ExecutorService rebuilds;
+
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+    // nanoTime of the last failed build, 0 if none; searches don't retry before RETRY_NANOS
+    private volatile long failedAt;
+    // A lock rather than synchronized: a build streams the trip tables while holding it,
+    // and the admin rebuild runs it on a request thread, which would pin its carrier
+    // thread in the virtual-threads profile
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Autowired
+    public ConnectionSearchService(FlightDetailsRepository flightDetailsRepository,
+                                   TrainDetailsRepository trainDetailsRepository,
+                                   BusDetailsRepository busDetailsRepository,
+                                   AirportRepository airportRepository,
+                                   TrainStationRepository trainStationRepository,
+                                   BusStationRepository busStationRepository,
+                                   BookingSearchService bookingSearchService,
+                                   @Value("${connection-search.enabled:true}") boolean enabled,
+                                   @Value("${connection-search.refresh-interval:5m}") Duration refreshInterval,
+                                   @Value("${connection-search.max-transfers:3}") int maxTransfers,
+                                   @Value("${connection-search.min-connection-time.flight:60m}") Duration flightConnection,
+                                   @Value("${connection-search.min-connection-time.train:10m}") Duration trainConnection,
+                                   @Value("${connection-search.min-connection-time.bus:10m}") Duration busConnection,
+                                   @Value("${connection-search.city-transfer-time:90m}") Duration cityTransfer,
+                                   @Value("${connection-search.departure-window:24h}") Duration departureWindow,
+                                   @Value("${connection-search.max-journey-time:48h}") Duration maxJourneyTime) {
+        this.flightDetailsRepository = flightDetailsRepository;
+        this.trainDetailsRepository = trainDetailsRepository;
+        this.busDetailsRepository = busDetailsRepository;
+        this.airportRepository = airportRepository;
+        this.trainStationRepository = trainStationRepository;
+        this.busStationRepository = busStationRepository;
+        this.bookingSearchService = bookingSearchService;
+        this.enabled = enabled;
+        this.refreshNanos = refreshInterval.toNanos();
+        this.maxTransfers = maxTransfers;
+        this.transferTimes = new ConnectionScan.TransferTimes((int) flightConnection.toMinutes(),
+                (int) trainConnection.toMinutes(), (int) busConnection.toMinutes(), (int) cityTransfer.toMinutes());
+        this.departureWindowMinutes = (int) departureWindow.toMinutes();
+        this.maxJourneyMinutes = (int) maxJourneyTime.toMinutes();
+        this.rebuilds = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "connection-timetable-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * One itinerary; legs are in travel order
+     * @param departureTime First leg's departure, "YYYY-MM-DD HH:mm" like the tickets
+     * @param arrivalTime Last leg's arrival
+     * @param durationMinutes From first departure to last arrival, in stored local times
+     */
+    public record Itinerary(List<AvailableTicket> legs, String departureTime, String arrivalTime,
+                            double totalPrice, int transfers, long durationMinutes) {
+    }
+
+    /**
+     * Size and state of the timetable
+     * @param upToDate false while a rebuild for a trip change is pending
+     */
+    public record ConnectionTimetableStats(boolean ready, boolean upToDate, int stops, int cities, int connections,
+                                           int skipped, long footprintBytes, long buildMillis) {
+    }
+
+    // ============================================================================
+    // CORE BUSINESS OPERATIONS
+    // ============================================================================
+
+    /**
+     * Search itineraries between two places
+     * @param from Airport or station code, or city name, of the origin
+     * @param to Airport or station code, or city name, of the destination
+     * @param departure Earliest departure; the first trip leaves within connection-search.departure-window
+     * @param transfers Most transfers, up to connection-search.max-transfers; null for that maximum
+     * @param transportTypes Comma-separated flight, train, bus; null or blank for all
+     * @param limit Most itineraries returned, earliest arrival first
+     * @return The itineraries, or empty if the timetable isn't loaded
+     * @throws IllegalArgumentException for missing locations, an unknown mode or too many transfers
+     */
+    public Optional<List<Itinerary>> search(String from, String to, LocalDateTime departure, Integer transfers,
+                                            String transportTypes, int limit) {
+        checkRoute(from, to, departure);
+        int transferLimit = transferLimit(transfers);
+        int modeMask = modeMask(transportTypes);
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+
+        ConnectionTimetable timetable = timetable();
+        if (timetable == null) {
+            return Optional.empty();
+        }
+        List<Journey> journeys = scan(timetable, from, to, departure, transferLimit, modeMask);
+        List<Journey> best = journeys.subList(0, Math.min(limit, journeys.size()));
+        List<Itinerary> itineraries = new ArrayList<>(best.size());
+        for (Itinerary itinerary : toItineraries(timetable, best)) {
+            if (itinerary != null) {
+                itineraries.add(itinerary);
+            }
+        }
+        return Optional.of(itineraries);
+    }
+
+    /**
+     * @param departure YYYY-MM-DD (from midnight) or an ISO date-time such as 2025-08-25T08:00
+     * @throws java.time.format.DateTimeParseException if it is neither
+     */
+    public static LocalDateTime parseDeparture(String departure) {
+        String value = departure.trim();
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+
+    /**
+     * Rebuild the timetable on the calling thread
+     * @return true if the new timetable was swapped in
+     */
+    public boolean rebuild() {
+        return doRebuild();
+    }
+
+    public ConnectionTimetableStats getStats() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return new ConnectionTimetableStats(false, false, 0, 0, 0, 0, 0, 0);
+        }
+        ConnectionTimetable timetable = current.timetable();
+        return new ConnectionTimetableStats(enabled, current.generation() == changes.get(), timetable.stopCount(),
+                timetable.cityCount(), timetable.size(), timetable.skipped(), timetable.footprintBytes(),
+                current.buildMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            scheduleRebuild();
+        }
+    }
+
+    @EventListener
+    public void onTripChanged(TripChangedEvent event) {
+        changed();
+    }
+
+    @EventListener
+    public void onStationChanged(StationChangedEvent event) {
+        changed();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilds.shutdownNow();
+    }
+
+    // ============================================================================
+    // INTERNALS
+    // ============================================================================
+
+    private void changed() {
+        changes.incrementAndGet();
+        if (enabled) {
+            failedAt = 0;
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * The timetable to search, scheduling a rebuild when it is missing, out of date or stale
+     * @return The timetable, or null if disabled or not built yet
+     */
+    ConnectionTimetable timetable() {
+        if (!enabled) {
+            return null;
+        }
+        Snapshot current = snapshot;
+        if (current == null || current.generation() != changes.get()
+                || (refreshNanos > 0 && System.nanoTime() - current.builtAt() > refreshNanos)) {
+            scheduleRebuild(); // serve the current timetable meanwhile; its legs are checked on the way out
+        }
+        return current != null ? current.timetable() : null;
+    }
+
+    /**
+     * Scan one timetable for the Pareto-optimal journeys between two places
+     * @param modeMask See modeMask()
+     * @return The journeys ordered by arrival, then price
+     */
+    List<Journey> scan(ConnectionTimetable timetable, String from, String to, LocalDateTime departure,
+                       int transfers, int modeMask) {
+        BitSet origins = timetable.stopsAt(from, modeMask);
+        BitSet destinations = timetable.stopsAt(to, modeMask);
+        origins.andNot(destinations);
+        if (origins.isEmpty() || destinations.isEmpty()) {
+            log.debug("🔍 Connection search: no stops at {} or {}", from, to);
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        int earliest = ConnectionTimetable.minuteOf(departure);
+        ConnectionScan.Query query = new ConnectionScan.Query(origins, destinations, earliest,
+                earliest + departureWindowMinutes, earliest + maxJourneyMinutes, transfers, modeMask, transferTimes);
+        List<Journey> journeys = ConnectionScan.search(timetable, query);
+        log.debug("🔍 Connection search {} → {}: {} journeys, scan {} µs", from, to, journeys.size(),
+                (System.nanoTime() - start) / 1000);
+        return journeys;
+    }
+
+    /**
+     * Read back the legs of the journeys with one query per mode
+     * @return One itinerary per journey, in the same order; null where a leg
+     *         was deleted or retimed since the timetable was built
+     */
+    List<Itinerary> toItineraries(ConnectionTimetable timetable, List<Journey> journeys) {
+        List<Map<Integer, AvailableTicket>> tickets = List.of(
+                loadTickets(timetable, journeys, ConnectionTimetable.FLIGHT, flightDetailsRepository::findByIds,
+                        FlightDetails::getId, bookingSearchService::toTicket),
+                loadTickets(timetable, journeys, ConnectionTimetable.TRAIN, trainDetailsRepository::findByIds,
+                        TrainDetails::getId, bookingSearchService::toTicket),
+                loadTickets(timetable, journeys, ConnectionTimetable.BUS, busDetailsRepository::findByIds,
+                        BusDetails::getId, bookingSearchService::toTicket));
+
+        List<Itinerary> itineraries = new ArrayList<>(journeys.size());
+        int stale = 0;
+        for (Journey journey : journeys) {
+            List<AvailableTicket> legs = new ArrayList<>(journey.connections().length);
+            double totalPrice = 0;
+            for (int connection : journey.connections()) {
+                AvailableTicket leg = tickets.get(timetable.mode(connection)).get(timetable.tripId(connection));
+                if (leg == null || !sameTimes(timetable, connection, leg)) {
+                    break;
+                }
+                legs.add(leg);
+                totalPrice += leg.getPrice();
+            }
+            if (legs.size() < journey.connections().length) {
+                stale++;
+                itineraries.add(null);
+                continue;
+            }
+            itineraries.add(new Itinerary(legs, legs.get(0).getDepartureTime(), legs.get(legs.size() - 1).getArrivalTime(),
+                    Math.round(totalPrice * 100) / 100.0, journey.transfers(), journey.arrival() - journey.departure()));
+        }
+        if (stale > 0) {
+            log.warn("⚠️ Connection search: dropped {} itineraries with trips changed since the timetable was built", stale);
+            scheduleRebuild();
+        }
+        return itineraries;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the origin, destination or departure is missing
+     */
+    static void checkRoute(String from, String to, LocalDateTime departure) {
+        if (from == null || from.trim().isEmpty() || to == null || to.trim().isEmpty() || departure == null) {
+            throw new IllegalArgumentException("Origin, destination and departure are required");
+        }
+    }
+
+    /**
+     * @param transfers Requested most transfers, or null for connection-search.max-transfers
+     * @throws IllegalArgumentException if it is negative or above the maximum
+     */
+    int transferLimit(Integer transfers) {
+        int transferLimit = transfers != null ? transfers : maxTransfers;
+        if (transferLimit < 0 || transferLimit > maxTransfers) {
+            throw new IllegalArgumentException("transfers must be between 0 and " + maxTransfers);
+        }
+        return transferLimit;
+    }
+
+    /**
+     * @param transportTypes Comma-separated flight, train, bus; null or blank for all
+     * @return Bit (1 << mode) set for each requested mode
+     * @throws IllegalArgumentException for an unknown mode
+     */
+    static int modeMask(String transportTypes) {
+        if (transportTypes == null || transportTypes.trim().isEmpty()) {
+            return ALL_MODES;
+        }
+        int mask = 0;
+        for (String type : transportTypes.split(",")) {
+            int mode = ConnectionTimetable.MODES.indexOf(type.trim().toLowerCase());
+            if (mode < 0) {
+                throw new IllegalArgumentException("Unknown transport type: " + type.trim());
+            }
+            mask |= 1 << mode;
+        }
+        return mask;
+    }
+
+    /**
+     * One built timetable
+     * @param generation Value of the change counter when the build started
+     */
+    private record Snapshot(ConnectionTimetable timetable, long generation, long builtAt, long buildMillis) {
+    }
+
+    private <T> Map<Integer, AvailableTicket> loadTickets(ConnectionTimetable timetable, List<Journey> journeys, int mode,
+                                                          Function<int[], List<T>> byIds, Function<T, Integer> tripId,
+                                                          Function<T, AvailableTicket> toTicket) {
+        int[] ids = journeys.stream()
+                .flatMapToInt(journey -> Arrays.stream(journey.connections()))
+                .filter(connection -> timetable.mode(connection) == mode)
+                .map(timetable::tripId)
+                .distinct()
+                .toArray();
+        Map<Integer, AvailableTicket> tickets = new HashMap<>();
+        if (ids.length == 0) {
+            return tickets;
+        }
+        for (T row : byIds.apply(ids)) {
+            try {
+                tickets.put(tripId.apply(row), toTicket.apply(row));
+            } catch (RuntimeException e) {
+                log.warn("✗ Connection search: skipping {} {}: {}", ConnectionTimetable.MODES.get(mode), tripId.apply(row), e.getMessage());
+            }
+        }
+        return tickets;
+    }
+
+    /**
+     * True if the ticket's "date time" departure and arrival are still the connection's
+     */
+    private static boolean sameTimes(ConnectionTimetable timetable, int connection, AvailableTicket ticket) {
+        return minuteOf(ticket.getDepartureTime()) == timetable.departure(connection)
+                && minuteOf(ticket.getArrivalTime()) == timetable.arrival(connection);
+    }
+
+    private static int minuteOf(String dateTime) {
+        int space = dateTime != null ? dateTime.indexOf(' ') : -1;
+        return space < 0 ? -1 : ConnectionTimetable.minuteOf(dateTime.substring(0, space), dateTime.substring(space + 1));
+    }
+
+    private void scheduleRebuild() {
+        long failed = failedAt;
+        if (failed != 0 && System.nanoTime() - failed < RETRY_NANOS) {
+            return;
+        }
+        if (rebuildQueued.compareAndSet(false, true)) {
+            try {
+                rebuilds.execute(() -> {
+                    rebuildQueued.set(false);
+                    doRebuild();
+                });
+            } catch (RuntimeException e) {
+                rebuildQueued.set(false);
+                log.warn("⚠️ Connection timetable: rebuild not scheduled: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean doRebuild() {
+        rebuildLock.lock();
+        try {
+            return build();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean build() {
+        long start = System.nanoTime();
+        long generation = changes.get();
+        Snapshot previous = snapshot;
+
+        ConnectionTimetable.Builder builder = ConnectionTimetable.builder(previous != null ? previous.timetable().size() : 1024);
+        List<Airport> airports = airportRepository.findAll();
+        List<TrainStation> trainStations = trainStationRepository.findAll();
+        List<BusStation> busStations = busStationRepository.findAll();
+        for (Airport airport : airports) {
+            if (airport.getId() != null) {
+                builder.addStop(ConnectionTimetable.FLIGHT, airport.getId(), airport.getAirportCode(), airport.getAirportCityLocation());
+            }
+        }
+        for (TrainStation station : trainStations) {
+            if (station.getId() != null) {
+                builder.addStop(ConnectionTimetable.TRAIN, station.getId(), station.getTrainStationCode(), station.getTrainStationCityLocation());
+            }
+        }
+        for (BusStation station : busStations) {
+            if (station.getId() != null) {
+                builder.addStop(ConnectionTimetable.BUS, station.getId(), station.getBusStationCode(), station.getBusStationCityLocation());
+            }
+        }
+
+        if (!flightDetailsRepository.streamAll(TripRows.into(builder, ConnectionTimetable.FLIGHT))
+                || !trainDetailsRepository.streamAll(TripRows.into(builder, ConnectionTimetable.TRAIN))
+                || !busDetailsRepository.streamAll(TripRows.into(builder, ConnectionTimetable.BUS))) {
+            failedAt = System.nanoTime();
+            log.warn("⚠️ Connection timetable: table read failed, keeping the previous timetable");
+            return false;
+        }
+
+        ConnectionTimetable timetable = builder.build();
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        snapshot = new Snapshot(timetable, generation, System.nanoTime(), buildMillis);
+        failedAt = 0;
+        log.info("✓ Connection timetable: {} connections between {} stops in {} cities ({} skipped), {} KB, built in {} ms",
+                timetable.size(), timetable.stopCount(), timetable.cityCount(), timetable.skipped(),
+                timetable.footprintBytes() / 1024, buildMillis);
+        return true;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.models.Airport;
+import com.example.travelbuddybackend.models.BusDetails;
+import com.example.travelbuddybackend.models.BusStation;
+import com.example.travelbuddybackend.models.FlightDetails;
+import com.example.travelbuddybackend.models.TrainDetails;
+import com.example.travelbuddybackend.models.TrainStation;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+
+import java.util.Locale;
+
+/**
+ * Criteria Matcher
+ *
+ * BookingSearchCriteria compiled once per search for the checks run on every
+ * trip. Each location criterion is trimmed, lowercased and tried as a numeric
+ * ID up front, the departure day is formatted once, and station fields are
+ * compared to the lowercased text in place (String.regionMatches ignoring
+ * case) instead of being lowercased per trip, so matching a trip allocates
+ * nothing.
+ *
+ * A location matches a station by ID if it is a number, or by a name, code
+ * or city containing it, ignoring case. Immutable, so one matcher serves
+ * every mode of a search concurrently.
+ */
+final class CriteriaMatcher {
+
+    private final LocationNeedle departureCity;
+    private final LocationNeedle arrivalCity;
+    private final LocationNeedle departureStation;
+    private final LocationNeedle arrivalStation;
+    private final String departureDay;
+    private final String airline;
+    private final String line;
+
+    private CriteriaMatcher(BookingSearchCriteria criteria) {
+        this.departureCity = LocationNeedle.of(criteria.getDepartureCity());
+        this.arrivalCity = LocationNeedle.of(criteria.getArrivalCity());
+        this.departureStation = LocationNeedle.of(criteria.getDepartureStation());
+        this.arrivalStation = LocationNeedle.of(criteria.getArrivalStation());
+        this.departureDay = criteria.getDepartureTime() != null ? criteria.getDepartureTime().toLocalDate().toString() : null;
+        this.airline = fold(criteria.getAirline());
+        this.line = fold(criteria.getLine());
+    }
+
+    static CriteriaMatcher compile(BookingSearchCriteria criteria) {
+        return new CriteriaMatcher(criteria);
+    }
+
+    // ============================================================================
+    // PER-TRIP CHECKS
+    // ============================================================================
+
+    /**
+     * Apply the departure/arrival city and station criteria to a flight
+     * @return true if the flight matches every location criterion that is set
+     */
+    boolean matchesFlightLocations(FlightDetails flight) {
+        return departureCity.matches(flight.getFlightOrigin())
+                && arrivalCity.matches(flight.getFlightDestination())
+                && departureStation.matches(flight.getFlightOrigin())
+                && arrivalStation.matches(flight.getFlightDestination());
+    }
+
+    boolean matchesTrainLocations(TrainDetails train) {
+        return departureStation.matches(train.getTrainDepartureStation())
+                && arrivalStation.matches(train.getTrainArrivalStation());
+    }
+
+    boolean matchesBusLocations(BusDetails bus) {
+        return departureStation.matches(bus.getBusDepartureStation())
+                && arrivalStation.matches(bus.getBusArrivalStation());
+    }
+
+    /**
+     * Apply the departure date of criteria.departureTime, if set, to a trip's YYYY-MM-DD date
+     */
+    boolean matchesDepartureDate(String departureDate) {
+        return departureDay == null || (departureDate != null && departureDate.trim().equals(departureDay));
+    }
+
+    /**
+     * Apply the airline criterion the way the search index does: the airline contains it, ignoring case
+     */
+    boolean matchesAirline(String flightAirline) {
+        return airline == null || containsFolded(flightAirline, airline);
+    }
+
+    boolean matchesLine(String tripLine) {
+        return line == null || containsFolded(tripLine, line);
+    }
+
+    LocationNeedle departureCity() {
+        return departureCity;
+    }
+
+    LocationNeedle arrivalCity() {
+        return arrivalCity;
+    }
+
+    LocationNeedle departureStation() {
+        return departureStation;
+    }
+
+    LocationNeedle arrivalStation() {
+        return arrivalStation;
+    }
+
+    // ============================================================================
+    // LOCATION NEEDLES
+    // ============================================================================
+
+    /**
+     * One location criterion, compiled: its ID if it is a number, and its lowercased text
+     */
+    static final class LocationNeedle {
+
+        /** Matches every station, for a criterion that is not set */
+        static final LocationNeedle ANY = new LocationNeedle(null, false, 0);
+
+        private final String text;
+        private final boolean isId;
+        private final int id;
+
+        private LocationNeedle(String text, boolean isId, int id) {
+            this.text = text;
+            this.isId = isId;
+            this.id = id;
+        }
+
+        static LocationNeedle of(String searchLocation) {
+            String text = fold(searchLocation);
+            if (text == null) {
+                return ANY;
+            }
+            if (isNumber(text)) {
+                try {
+                    return new LocationNeedle(text, true, Integer.parseInt(text));
+                } catch (NumberFormatException e) {
+                    // Beyond any station ID: only text can match
+                }
+            }
+            return new LocationNeedle(text, false, 0);
+        }
+
+        boolean isAny() {
+            return text == null;
+        }
+
+        boolean matches(Airport airport) {
+            if (text == null) return true;
+            if (airport == null) return false;
+            return matches(airport.getId(), airport.getAirportFullName(), airport.getAirportCode(), airport.getAirportCityLocation());
+        }
+
+        boolean matches(TrainStation station) {
+            if (text == null) return true;
+            if (station == null) return false;
+            return matches(station.getId(), station.getTrainStationFullName(), station.getTrainStationCode(),
+                    station.getTrainStationCityLocation());
+        }
+
+        boolean matches(BusStation station) {
+            if (text == null) return true;
+            if (station == null) return false;
+            return matches(station.getId(), station.getBusStationFullName(), station.getBusStationCode(),
+                    station.getBusStationCityLocation());
+        }
+
+        /**
+         * Whether every station this needle matches is also matched by previous:
+         * its text contains the previous text, and an ID only narrows itself
+         */
+        boolean narrows(LocationNeedle previous) {
+            if (previous.text == null) return true;
+            if (text == null) return false;
+            if (isId || previous.isId) return text.equals(previous.text);
+            return text.contains(previous.text);
+        }
+
+        /**
+         * Whether the station's code is exactly this text, ignoring case (a bus route by codes)
+         */
+        boolean hasCode(BusStation station) {
+            return station != null && station.getBusStationCode() != null && station.getBusStationCode().equalsIgnoreCase(text);
+        }
+
+        private boolean matches(Integer stationId, String name, String code, String city) {
+            return (isId && stationId != null && stationId == id)
+                    || containsFolded(name, text) || containsFolded(code, text) || containsFolded(city, text);
+        }
+
+        private static boolean isNumber(String text) {
+            int start = text.charAt(0) == '-' || text.charAt(0) == '+' ? 1 : 0;
+            if (start == text.length()) {
+                return false;
+            }
+            for (int i = start; i < text.length(); i++) {
+                if (!Character.isDigit(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // ============================================================================
+    // TEXT HELPERS
+    // ============================================================================
+
+    /**
+     * @return The trimmed, lowercased text, or null if it is blank
+     */
+    private static String fold(String value) {
+        String trimmed = value != null ? value.trim() : "";
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether value contains folded (already lowercased), ignoring case, without lowercasing value
+     */
+    private static boolean containsFolded(String value, String folded) {
+        if (value == null) {
+            return false;
+        }
+        int length = folded.length();
+        int last = value.length() - length;
+        char first = folded.charAt(0);
+        if (first >= 0x80) {
+            for (int i = 0; i <= last; i++) {
+                if (value.regionMatches(true, i, folded, 0, length)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // An ASCII first letter only equals itself or its upper case: skip other positions cheaply
+        char upper = Character.toUpperCase(first);
+        for (int i = 0; i <= last; i++) {
+            char c = value.charAt(i);
+            if ((c == first || c == upper) && value.regionMatches(true, i + 1, folded, 1, length - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.models.DailyFare;
+import com.example.travelbuddybackend.repository.BusDetailsRepository;
+import com.example.travelbuddybackend.repository.FlightDetailsRepository;
+import com.example.travelbuddybackend.repository.TrainDetailsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Fare Calendar Service
+ *
+ * Lowest price and trip count per day around a date for one route, so the
+ * frontend can show a flexible-date calendar with one request instead of a
+ * search per day.
+ *
+ * Each (mode, origin, destination) is read with one grouped query covering
+ * every date of the route and cached, so moving the date window is served
+ * from memory. An entry is dropped when a trip on that route is added,
+ * updated or deleted (TripChangedEvent), and expires after fare-calendar.ttl
+ * to pick up changes made outside this instance. The least recently used
+ * routes are evicted beyond fare-calendar.max-routes.
+ */
+@Service
+public class FareCalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(FareCalendarService.class);
+
+    private static final List<String> MODES = List.of("flight", "train", "bus");
+
+    private final Map<String, BiFunction<String, String, List<DailyFare>>> dailyFareQueries;
+    private final long ttlNanos;
+    private final int maxWindowDays;
+    private final Map<RouteKey, RouteFares> cache;
+    private final LongSupplier clock;
+    // Guarded by cache; bumped on every invalidation so a load that raced one isn't cached
+    private long invalidations;
+
+    @Autowired
+    public FareCalendarService(FlightDetailsRepository flightDetailsRepository,
+                               TrainDetailsRepository trainDetailsRepository,
+                               BusDetailsRepository busDetailsRepository,
+                               @Value("${fare-calendar.ttl:10m}") Duration ttl,
+                               @Value("${fare-calendar.max-routes:10000}") int maxRoutes,
+                               @Value("${fare-calendar.max-window-days:31}") int maxWindowDays) {
+        this(Map.of(
+                "flight", flightDetailsRepository::findDailyFares,
+                "train", trainDetailsRepository::findDailyFares,
+                "bus", busDetailsRepository::findDailyFares), ttl, maxRoutes, maxWindowDays, System::nanoTime);
+    }
+
+    /**
+     * @param dailyFareQueries Per mode, the grouped daily fares of one (origin, destination)
+     * @param clock Nanosecond clock for the TTL
+     */
+    FareCalendarService(Map<String, BiFunction<String, String, List<DailyFare>>> dailyFareQueries,
+                        Duration ttl, int maxRoutes, int maxWindowDays, LongSupplier clock) {
+        this.dailyFareQueries = dailyFareQueries;
+        this.clock = clock;
+        this.ttlNanos = ttl.toNanos();
+        this.maxWindowDays = maxWindowDays;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RouteKey, RouteFares> eldest) {
+                return size() > maxRoutes;
+            }
+        };
+    }
+
+    /**
+     * Per-mode lowest price and number of trips on one day. Absent modes have no trips.
+     */
+    public record ModeFare(double lowestPrice, int trips) {
+    }
+
+    /**
+     * One calendar day. lowestPrice is the cheapest across modes, null without trips.
+     */
+    public record FareDay(LocalDate date, Double lowestPrice, int trips, Map<String, ModeFare> modes) {
+    }
+
+    /**
+     * Every day from start to end inclusive, in order, including days without trips
+     */
+    public record FareCalendar(String from, String to, LocalDate start, LocalDate end, List<FareDay> days) {
+    }
+
+    // ============================================================================
+    // CORE BUSINESS OPERATIONS
+    // ============================================================================
+
+    /**
+     * Build the fare calendar for a route
+     * @param from Airport or station code of the origin; each mode looks it up in its own table
+     * @param to Airport or station code of the destination
+     * @param date Centre of the window
+     * @param days Days before and after the centre, e.g. 15 for a month view
+     * @param transportType flight, train or bus; null for all modes
+     * @return The calendar
+     * @throws IllegalArgumentException for missing codes, an unknown mode or an oversized window
+     */
+    public FareCalendar getFareCalendar(String from, String to, LocalDate date, int days, String transportType) {
+        if (from == null || from.trim().isEmpty() || to == null || to.trim().isEmpty() || date == null) {
+            throw new IllegalArgumentException("Origin, destination and date are required");
+        }
+        if (days < 0 || days > maxWindowDays) {
+            throw new IllegalArgumentException("days must be between 0 and " + maxWindowDays);
+        }
+        if (transportType != null && !MODES.contains(transportType)) {
+            throw new IllegalArgumentException("Unknown transport type: " + transportType);
+        }
+
+        String origin = from.trim().toUpperCase();
+        String destination = to.trim().toUpperCase();
+        LocalDate start = date.minusDays(days);
+        LocalDate end = date.plusDays(days);
+
+        Map<String, RouteFares> routes = new LinkedHashMap<>();
+        for (String mode : MODES) {
+            if (transportType == null || transportType.equals(mode)) {
+                routes.put(mode, routeFares(mode, origin, destination));
+            }
+        }
+
+        List<FareDay> calendar = new ArrayList<>();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            Map<String, ModeFare> modes = new LinkedHashMap<>();
+            Double lowest = null;
+            int trips = 0;
+            for (Map.Entry<String, RouteFares> route : routes.entrySet()) {
+                ModeFare fare = route.getValue().byDay().get(day);
+                if (fare != null) {
+                    modes.put(route.getKey(), fare);
+                    lowest = lowest == null ? fare.lowestPrice() : Math.min(lowest, fare.lowestPrice());
+                    trips += fare.trips();
+                }
+            }
+            calendar.add(new FareDay(day, lowest, trips, modes));
+        }
+        return new FareCalendar(origin, destination, start, end, calendar);
+    }
+
+    /**
+     * Drop the cached fares of a route whose trips changed
+     */
+    @EventListener
+    public void onTripChanged(TripChangedEvent event) {
+        if (event.originCode() == null || event.destinationCode() == null) {
+            return;
+        }
+        RouteKey key = new RouteKey(event.transportType(),
+                event.originCode().toUpperCase(), event.destinationCode().toUpperCase());
+        synchronized (cache) {
+            invalidations++;
+            if (cache.remove(key) != null) {
+                log.debug("Fare calendar: dropped {} {} → {}", key.mode(), key.origin(), key.destination());
+            }
+        }
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    private record RouteKey(String mode, String origin, String destination) {
+    }
+
+    private record RouteFares(TreeMap<LocalDate, ModeFare> byDay, long loadedAt) {
+    }
+
+    private RouteFares routeFares(String mode, String origin, String destination) {
+        RouteKey key = new RouteKey(mode, origin, destination);
+        long invalidationsBefore;
+        synchronized (cache) {
+            RouteFares cached = cache.get(key);
+            if (cached != null && clock.getAsLong() - cached.loadedAt() < ttlNanos) {
+                return cached;
+            }
+            invalidationsBefore = invalidations;
+        }
+
+        // Query outside the lock; two requests for a cold route may both load it
+        TreeMap<LocalDate, ModeFare> byDay = new TreeMap<>();
+        for (DailyFare fare : dailyFareQueries.get(mode).apply(origin, destination)) {
+            try {
+                byDay.put(LocalDate.parse(fare.getDepartureDate().trim()), new ModeFare(fare.getLowestPrice(), fare.getTrips()));
+            } catch (DateTimeParseException | NullPointerException e) {
+                log.warn("✗ Fare calendar: skipping {} fares with invalid date {}", mode, fare.getDepartureDate());
+            }
+        }
+        RouteFares loaded = new RouteFares(byDay, clock.getAsLong());
+        synchronized (cache) {
+            if (invalidations == invalidationsBefore) {
+                cache.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.travelbuddybackend.service;
 
+import com.example.travelbuddybackend.index.PriceIndex;
 import com.example.travelbuddybackend.models.Airport;
 import com.example.travelbuddybackend.models.FlightDetails;
 import com.example.travelbuddybackend.repository.AirportRepository;
 import com.example.travelbuddybackend.repository.FlightDetailsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -15,17 +21,25 @@ import java.util.stream.Collectors;
 @Service
 public class FlightDetailsService {
 
+    private static final Logger log = LoggerFactory.getLogger(FlightDetailsService.class);
+
     private final FlightDetailsRepository flightDetailsRepository;
     private final AirportRepository airportRepository;
     private final ValidatorService validatorService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PriceIndex priceIndex;
 
     @Autowired
     public FlightDetailsService(FlightDetailsRepository flightDetailsRepository,
                                 AirportRepository airportRepository,
-                                ValidatorService validatorService) {
+                                ValidatorService validatorService,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${price-index.refresh-interval:5m}") Duration priceIndexRefresh) {
         this.flightDetailsRepository = flightDetailsRepository;
         this.airportRepository = airportRepository;
         this.validatorService = validatorService;
+        this.eventPublisher = eventPublisher;
+        this.priceIndex = new PriceIndex("flight", flightDetailsRepository::findPricesById, priceIndexRefresh);
     }
 
     // ============================================================================
@@ -38,7 +52,7 @@ public class FlightDetailsService {
 
     public Optional<FlightDetails> getFlightDetailsById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Service Error: Flight ID must be a positive integer");
+            log.warn("✗ Service Error: Flight ID must be a positive integer");
             return Optional.empty();
         }
         return flightDetailsRepository.findById(id);
@@ -46,7 +60,7 @@ public class FlightDetailsService {
 
     public Optional<FlightDetails> getFlightDetailsByNumber(String flightNumber) {
         if (flightNumber == null || flightNumber.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Flight number cannot be null or empty");
+            log.warn("✗ Service Error: Flight number cannot be null or empty");
             return Optional.empty();
         }
         return flightDetailsRepository.findByFlightNumber(flightNumber.toUpperCase().trim());
@@ -55,7 +69,7 @@ public class FlightDetailsService {
     public List<FlightDetails> getFlightsByRoute(String originCode, String destinationCode) {
         if (originCode == null || originCode.trim().isEmpty() ||
                 destinationCode == null || destinationCode.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Both origin and destination airport codes are required");
+            log.warn("✗ Service Error: Both origin and destination airport codes are required");
             return new ArrayList<>();
         }
 
@@ -63,12 +77,12 @@ public class FlightDetailsService {
         Optional<Airport> destination = airportRepository.findByAirportCode(destinationCode.toUpperCase().trim());
 
         if (origin.isEmpty()) {
-            System.out.println("✗ Service Error: Origin airport not found: " + originCode);
+            log.warn("✗ Service Error: Origin airport not found: {}", originCode);
             return new ArrayList<>();
         }
 
         if (destination.isEmpty()) {
-            System.out.println("✗ Service Error: Destination airport not found: " + destinationCode);
+            log.warn("✗ Service Error: Destination airport not found: {}", destinationCode);
             return new ArrayList<>();
         }
 
@@ -77,12 +91,12 @@ public class FlightDetailsService {
 
     public List<FlightDetails> getFlightsByRoute(Airport origin, Airport destination) {
         if (origin == null || destination == null) {
-            System.out.println("✗ Service Error: Both airports are required");
+            log.warn("✗ Service Error: Both airports are required");
             return new ArrayList<>();
         }
 
         if (origin.getId() == null || destination.getId() == null) {
-            System.out.println("✗ Service Error: Airport IDs are required");
+            log.warn("✗ Service Error: Airport IDs are required");
             return new ArrayList<>();
         }
 
@@ -91,12 +105,12 @@ public class FlightDetailsService {
 
     public List<FlightDetails> getFlightsByDepartureDate(String departureDate) {
         if (departureDate == null || departureDate.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Departure date cannot be null or empty");
+            log.warn("✗ Service Error: Departure date cannot be null or empty");
             return new ArrayList<>();
         }
 
         if (!validatorService.isValidDate(departureDate)) {
-            System.out.println("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
+            log.warn("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
             return new ArrayList<>();
         }
 
@@ -109,15 +123,18 @@ public class FlightDetailsService {
         }
 
         if (flightDetailsRepository.findByFlightNumber(flightDetails.getFlightNumber()).isPresent()) {
-            System.out.println("✗ Service Error: Flight number already exists: " + flightDetails.getFlightNumber());
+            log.warn("✗ Service Error: Flight number already exists: {}", flightDetails.getFlightNumber());
             return false;
         }
 
-        boolean success = flightDetailsRepository.createFlightDetails(flightDetails);
+        Optional<Integer> createdId = flightDetailsRepository.createFlightDetails(flightDetails);
+        boolean success = createdId.isPresent();
         if (success) {
-            System.out.println("✓ Service: Flight added successfully");
+            priceIndex.put(createdId.get(), flightDetails.getFlightPrice());
+            publishRouteChange(flightDetails);
+            log.info("✓ Service: Flight added successfully");
         } else {
-            System.out.println("✗ Service: Failed to add flight");
+            log.warn("✗ Service: Failed to add flight");
         }
         return success;
     }
@@ -128,48 +145,57 @@ public class FlightDetailsService {
         }
 
         if (flightDetails.getId() == null || flightDetails.getId() <= 0) {
-            System.out.println("✗ Service Error: Valid flight ID required for update");
+            log.warn("✗ Service Error: Valid flight ID required for update");
             return false;
         }
 
         // Check if flight exists
-        if (flightDetailsRepository.findById(flightDetails.getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Flight not found for update");
+        Optional<FlightDetails> currentFlight = flightDetailsRepository.findById(flightDetails.getId());
+        if (currentFlight.isEmpty()) {
+            log.warn("✗ Service Error: Flight not found for update");
             return false;
         }
 
-        // Check for duplicate flight number (excluding current flight)
-        Optional<FlightDetails> existingFlight = flightDetailsRepository.findByFlightNumber(flightDetails.getFlightNumber());
-        if (existingFlight.isPresent() && !existingFlight.get().getId().equals(flightDetails.getId())) {
-            System.out.println("✗ Service Error: Flight number already exists: " + flightDetails.getFlightNumber());
-            return false;
+        // Check for duplicate flight number (excluding current flight) - only needed if the number changes
+        if (!flightDetails.getFlightNumber().equals(currentFlight.get().getFlightNumber())) {
+            Optional<FlightDetails> existingFlight = flightDetailsRepository.findByFlightNumber(flightDetails.getFlightNumber());
+            if (existingFlight.isPresent() && !existingFlight.get().getId().equals(flightDetails.getId())) {
+                log.warn("✗ Service Error: Flight number already exists: {}", flightDetails.getFlightNumber());
+                return false;
+            }
         }
 
         boolean success = flightDetailsRepository.updateFlightDetails(flightDetails);
         if (success) {
-            System.out.println("✓ Service: Flight updated successfully");
+            priceIndex.put(flightDetails.getId(), flightDetails.getFlightPrice());
+            publishRouteChange(currentFlight.get());
+            publishRouteChange(flightDetails);
+            log.info("✓ Service: Flight updated successfully");
         } else {
-            System.out.println("✗ Service: Failed to update flight");
+            log.warn("✗ Service: Failed to update flight");
         }
         return success;
     }
 
     public boolean deleteFlightDetails(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Service Error: Valid flight ID required for deletion");
+            log.warn("✗ Service Error: Valid flight ID required for deletion");
             return false;
         }
 
-        if (flightDetailsRepository.findById(id).isEmpty()) {
-            System.out.println("✗ Service Error: Flight not found for deletion");
+        Optional<FlightDetails> existing = flightDetailsRepository.findById(id);
+        if (existing.isEmpty()) {
+            log.warn("✗ Service Error: Flight not found for deletion");
             return false;
         }
 
         boolean success = flightDetailsRepository.deleteFlightDetails(id);
         if (success) {
-            System.out.println("✓ Service: Flight deleted successfully");
+            priceIndex.remove(id);
+            publishRouteChange(existing.get());
+            log.info("✓ Service: Flight deleted successfully");
         } else {
-            System.out.println("✗ Service: Failed to delete flight");
+            log.warn("✗ Service: Failed to delete flight");
         }
         return success;
     }
@@ -202,7 +228,7 @@ public class FlightDetailsService {
 
     public List<FlightDetails> findFlightsByAirline(String airline) {
         if (airline == null || airline.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Airline cannot be null or empty");
+            log.warn("✗ Service Error: Airline cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -214,7 +240,7 @@ public class FlightDetailsService {
     public List<FlightDetails> findFlightsByPriceRange(String minPrice, String maxPrice) {
         if (minPrice == null || minPrice.trim().isEmpty() ||
                 maxPrice == null || maxPrice.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Both minimum and maximum prices are required");
+            log.warn("✗ Service Error: Both minimum and maximum prices are required");
             return new ArrayList<>();
         }
 
@@ -223,29 +249,27 @@ public class FlightDetailsService {
             double max = Double.parseDouble(maxPrice.trim());
 
             if (min < 0 || max < 0 || min > max) {
-                System.out.println("✗ Service Error: Invalid price range");
+                log.warn("✗ Service Error: Invalid price range");
                 return new ArrayList<>();
             }
 
-            return getAllFlightDetails().stream()
-                    .filter(flight -> {
-                        try {
-                            double price = Double.parseDouble(flight.getFlightPrice());
-                            return price >= min && price <= max;
-                        } catch (NumberFormatException e) {
-                            return false;
-                        }
-                    })
-                    .collect(Collectors.toList());
+            return priceIndex.findBetween(min, max, flightDetailsRepository::findByIds, flightDetailsRepository::findAll, FlightDetails::getId);
         } catch (NumberFormatException e) {
-            System.out.println("✗ Service Error: Invalid price format");
+            log.warn("✗ Service Error: Invalid price format");
             return new ArrayList<>();
         }
     }
 
+    /**
+     * In-memory price index of all flights, e.g. for price histograms
+     */
+    public PriceIndex getPriceIndex() {
+        return priceIndex;
+    }
+
     public List<FlightDetails> searchFlights(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Search term cannot be null or empty");
+            log.warn("✗ Service Error: Search term cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -273,71 +297,80 @@ public class FlightDetailsService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Tell route caches and indexes (the fare calendar, the search index) that a trip on this route changed
+     */
+    private void publishRouteChange(FlightDetails flightDetails) {
+        String origin = flightDetails.getFlightOrigin() != null ? flightDetails.getFlightOrigin().getAirportCode() : null;
+        String destination = flightDetails.getFlightDestination() != null ? flightDetails.getFlightDestination().getAirportCode() : null;
+        eventPublisher.publishEvent(new TripChangedEvent("flight", origin, destination));
+    }
+
     // ============================================================================
     // BUSINESS VALIDATION
     // ============================================================================
 
     private boolean isValidForService(FlightDetails flightDetails) {
         if (flightDetails == null) {
-            System.out.println("✗ Service Error: Flight details cannot be null");
+            log.warn("✗ Service Error: Flight details cannot be null");
             return false;
         }
 
         if (flightDetails.getFlightNumber() == null || flightDetails.getFlightNumber().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Flight number is required");
+            log.warn("✗ Service Error: Flight number is required");
             return false;
         }
 
         if (flightDetails.getFlightAirline() == null || flightDetails.getFlightAirline().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Airline is required");
+            log.warn("✗ Service Error: Airline is required");
             return false;
         }
 
         if (flightDetails.getFlightOrigin() == null || flightDetails.getFlightDestination() == null) {
-            System.out.println("✗ Service Error: Both origin and destination airports are required");
+            log.warn("✗ Service Error: Both origin and destination airports are required");
             return false;
         }
 
         if (flightDetails.getFlightOrigin().getId().equals(flightDetails.getFlightDestination().getId())) {
-            System.out.println("✗ Service Error: Origin and destination airports cannot be the same");
+            log.warn("✗ Service Error: Origin and destination airports cannot be the same");
             return false;
         }
 
         if (airportRepository.findById(flightDetails.getFlightOrigin().getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Origin airport not found in database");
+            log.warn("✗ Service Error: Origin airport not found in database");
             return false;
         }
 
         if (airportRepository.findById(flightDetails.getFlightDestination().getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Destination airport not found in database");
+            log.warn("✗ Service Error: Destination airport not found in database");
             return false;
         }
 
         if (!validatorService.isValidDate(flightDetails.getFlightDepartureDate()) ||
                 !validatorService.isValidDate(flightDetails.getFlightArrivalDate())) {
-            System.out.println("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
+            log.warn("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
             return false;
         }
 
         if (!validatorService.isValidTime(flightDetails.getFlightDepartureTime()) ||
                 !validatorService.isValidTime(flightDetails.getFlightArrivalTime())) {
-            System.out.println("✗ Service Error: Invalid time format. Use HH:MM");
+            log.warn("✗ Service Error: Invalid time format. Use HH:MM");
             return false;
         }
 
         if (flightDetails.getFlightPrice() == null || flightDetails.getFlightPrice().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Flight price is required");
+            log.warn("✗ Service Error: Flight price is required");
             return false;
         }
 
         try {
             double price = Double.parseDouble(flightDetails.getFlightPrice());
             if (price <= 0) {
-                System.out.println("✗ Service Error: Flight price must be positive");
+                log.warn("✗ Service Error: Flight price must be positive");
                 return false;
             }
         } catch (NumberFormatException e) {
-            System.out.println("✗ Service Error: Flight price must be a valid number");
+            log.warn("✗ Service Error: Flight price must be a valid number");
             return false;
         }
 
@@ -2,20 +2,29 @@ package com.example.travelbuddybackend.service;
 
 import com.example.travelbuddybackend.models.AdminUser;
 import com.example.travelbuddybackend.models.Client;
+import com.example.travelbuddybackend.monitoring.jfr.JwtVerificationEvent;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.text.ParseException;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtService.class);
+
     // Secret key for signing tokens - this should be strong and unique
     @Value("${jwt.secret:MySecureSecretKeyForJWTTokensThatShouldBeAtLeast256BitsLongForHMACAlgorithms}")
     private String secretKey;
@@ -26,6 +35,15 @@ public class JwtService {
 
     private static final JWSAlgorithm SIGNATURE_ALGORITHM = JWSAlgorithm.HS256;
 
+    // Signature verification latency, tagged by outcome (valid, invalid_signature, malformed)
+    private final MeterProvider<Timer> verifyTimer;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT parsing and signature verification")
+                .withRegistry(meterRegistry);
+    }
+
     /**
      * Generate a JWT token for a successfully authenticated client
      * @param client The authenticated client for whom to generate the token
@@ -72,11 +90,11 @@ public class JwtService {
             // Step 6: Convert to string format for transmission
             String token = signedJWT.serialize();
 
-            System.out.println("✓ JWT token generated successfully for client: " + client.getUsername());
+            log.debug("✓ JWT token generated successfully for client: {}", client.getUsername());
             return token;
 
         } catch (JOSEException e) {
-            System.err.println("✗ Error generating JWT token: " + e.getMessage());
+            log.warn("✗ Error generating JWT token: {}", e.getMessage());
             throw new RuntimeException("Failed to generate JWT token", e);
         }
     }
@@ -119,11 +137,11 @@ public class JwtService {
             // Step 6: Convert to string format for transmission
             String token = signedJWT.serialize();
 
-            System.out.println("✓ JWT token generated successfully for client: " + adminUser.getAdminUsername());
+            log.debug("✓ JWT token generated successfully for client: {}", adminUser.getAdminUsername());
             return token;
 
         } catch (JOSEException e) {
-            System.err.println("✗ Error generating JWT token: " + e.getMessage());
+            log.warn("✗ Error generating JWT token: {}", e.getMessage());
             throw new RuntimeException("Failed to generate JWT token", e);
         }
     }
@@ -161,7 +179,7 @@ public class JwtService {
             return adminId;
 
         } catch (Exception e) {
-            System.err.println("Failed to extract user ID from token: " + e.getMessage());
+            log.warn("Failed to extract user ID from token: {}", e.getMessage());
             return null;
         }
     }
@@ -210,7 +228,7 @@ public class JwtService {
             }
 
         } catch (Exception e) {
-            System.err.println("Failed to extract user type from token: " + e.getMessage());
+            log.warn("Failed to extract user type from token: {}", e.getMessage());
             return "UNKNOWN";
         }
     }
@@ -235,7 +253,7 @@ public class JwtService {
             return null;
 
         } catch (Exception e) {
-            System.err.println("Failed to extract user info from token: " + e.getMessage());
+            log.warn("Failed to extract user info from token: {}", e.getMessage());
             return null;
         }
     }
@@ -250,7 +268,7 @@ public class JwtService {
             JWTClaimsSet claims = extractAllClaims(token);
             return claims.getStringClaim("email");
         } catch (Exception e) {
-            System.err.println("Failed to extract email from token: " + e.getMessage());
+            log.warn("Failed to extract email from token: {}", e.getMessage());
             return null;
         }
     }
@@ -265,7 +283,7 @@ public class JwtService {
             JWTClaimsSet claims = extractAllClaims(token);
             return claims.getStringClaim("fullName");
         } catch (Exception e) {
-            System.err.println("Failed to extract full name from token: " + e.getMessage());
+            log.warn("Failed to extract full name from token: {}", e.getMessage());
             return null;
         }
     }
@@ -280,7 +298,7 @@ public class JwtService {
             JWTClaimsSet claims = extractAllClaims(token);
             return claims.getExpirationTime();
         } catch (Exception e) {
-            System.err.println("Failed to extract expiration from token: " + e.getMessage());
+            log.warn("Failed to extract expiration from token: {}", e.getMessage());
             return null;
         }
     }
@@ -291,7 +309,11 @@ public class JwtService {
      * @return JWTClaimsSet containing all the information from the token
      * @throws RuntimeException if the token is invalid, tampered with, or cannot be parsed
      */
-    private JWTClaimsSet extractAllClaims(String token) {
+    JWTClaimsSet extractAllClaims(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = "malformed";
         try {
             // Step 1: Parse the token string into a SignedJWT object
             SignedJWT signedJWT = SignedJWT.parse(token);
@@ -301,16 +323,26 @@ public class JwtService {
 
             // Step 3: Verify the signature
             if (!signedJWT.verify(verifier)) {
+                outcome = "invalid_signature";
                 throw new RuntimeException("JWT signature verification failed - token may be forged");
             }
 
             // Step 4: Extract and return the claims
-            return signedJWT.getJWTClaimsSet();
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            outcome = "valid";
+            return claims;
 
         } catch (ParseException e) {
             throw new RuntimeException("Failed to parse JWT token", e);
         } catch (JOSEException e) {
             throw new RuntimeException("Failed to verify JWT token signature", e);
+        } finally {
+            verifyTimer.withTags("outcome", outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setOutcome(outcome);
+                event.commit();
+            }
         }
     }
 
@@ -350,7 +382,7 @@ public class JwtService {
 
         } catch (Exception e) {
             // If any validation step fails, the token is invalid
-            System.err.println("Token validation failed: " + e.getMessage());
+            log.warn("Token validation failed: {}", e.getMessage());
             return false;
         }
     }
@@ -368,7 +400,7 @@ public class JwtService {
 
         } catch (Exception e) {
             // If any validation step fails, the token is invalid
-            System.err.println("Token validation failed: " + e.getMessage());
+            log.warn("Token validation failed: {}", e.getMessage());
             return false;
         }
     }
@@ -423,7 +455,7 @@ public class JwtService {
             JWTClaimsSet claims = extractAllClaims(token);
             return claims.getJWTID();
         } catch (Exception e) {
-            System.err.println("Failed to extract token ID: " + e.getMessage());
+            log.warn("Failed to extract token ID: {}", e.getMessage());
             return null;
         }
     }
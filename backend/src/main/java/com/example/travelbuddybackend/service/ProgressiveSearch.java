@@ -0,0 +1,52 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.monitoring.QueryCancellation;
+import com.example.travelbuddybackend.service.BookingSearchService.SearchResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Progressive Search
+ *
+ * Handle to a search started with BookingSearchService.searchProgressively().
+ * The result completes once every mode has reported; cancel() aborts the
+ * modes still running, including their in-flight SQL statements.
+ *
+ * A mode that misses the fan-out deadline has its own statements cancelled
+ * too, but that only degrades the mode: isCancelled() stays false, so the
+ * search still reports its summary.
+ */
+public class ProgressiveSearch {
+
+    private final List<QueryCancellation> cancellations;
+    private final CompletableFuture<SearchResult> result;
+    private volatile boolean cancelled;
+
+    ProgressiveSearch(List<QueryCancellation> cancellations, CompletableFuture<SearchResult> result) {
+        this.cancellations = cancellations;
+        this.result = result;
+    }
+
+    /**
+     * @return All tickets and degraded modes, completed after the last mode
+     */
+    public CompletableFuture<SearchResult> getResult() {
+        return result;
+    }
+
+    /**
+     * Abort the modes still running. Safe to call more than once or after completion.
+     */
+    public void cancel() {
+        cancelled = true;
+        cancellations.forEach(QueryCancellation::cancel);
+    }
+
+    /**
+     * @return Whether cancel() was called, e.g. because the client went away; a timed-out mode doesn't count
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.config.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate Limiter Service
+ *
+ * Keeps one token bucket per (route, client) pair in a striped set of
+ * ConcurrentHashMaps. Each bucket is a single AtomicLong holding the instant
+ * at which the bucket will be full again, so consuming a token is one CAS and
+ * never takes a lock.
+ *
+ * Memory stays bounded: when a stripe is at its share of
+ * "rate-limit.max-tracked-keys" it sheds 10% of its buckets, those that will
+ * be full again soonest. Buckets that have refilled completely go first (a
+ * full bucket is indistinguishable from a new one), and the throttled clients
+ * owing the most tokens go last, so a flood of distinct keys resets the
+ * buckets it created itself before theirs. A new key is never refused for
+ * lack of room: while another request is shedding the stripe it is let
+ * through untracked, as its new bucket would have let it.
+ */
+@Service
+public class RateLimiterService {
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int maxKeysPerStripe;
+    private final LongSupplier clock;
+    private final AtomicLong untracked = new AtomicLong();
+
+    @Autowired
+    public RateLimiterService(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiterService(RateLimitProperties properties, LongSupplier clock) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes()));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripeCount - 1;
+        this.maxKeysPerStripe = Math.max(1, properties.getMaxTrackedKeys() / stripeCount);
+        this.clock = clock;
+    }
+
+    /**
+     * Try to take one token from the bucket identified by route and client key
+     * @param route The route group the request belongs to
+     * @param clientKey Client ID or IP based key for the caller
+     * @param quota The bucket size and refill rate of the route
+     * @return Decision telling whether the request may proceed and when to retry
+     */
+    public Decision tryConsume(String route, String clientKey, Quota quota) {
+        String bucketKey = route + '|' + clientKey;
+        long now = clock.getAsLong();
+
+        Stripe stripe = stripes[spread(bucketKey.hashCode()) & stripeMask];
+        while (true) {
+            TokenBucket bucket = stripe.buckets.get(bucketKey);
+            if (bucket == null) {
+                if (!makeRoom(stripe, now)) {
+                    untracked.incrementAndGet();
+                    return new Decision(true, quota.capacity(), quota.capacity() - 1, 0);
+                }
+                bucket = stripe.buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(now));
+            }
+
+            Decision decision = bucket.tryConsume(quota, now);
+            if (decision != null) {
+                return decision;
+            }
+            // Evicted between the lookup and the consume: drop it if the sweep hasn't yet, and start over
+            stripe.buckets.remove(bucketKey, bucket);
+        }
+    }
+
+    /**
+     * Number of buckets currently held in memory across all stripes
+     * @return Tracked bucket count
+     */
+    public int getTrackedKeyCount() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.buckets.size();
+        }
+        return total;
+    }
+
+    /**
+     * Requests of new keys let through untracked because their stripe was being shed
+     * @return Count since startup
+     */
+    public long getUntrackedCount() {
+        return untracked.get();
+    }
+
+    /**
+     * Make room for a new bucket in a full stripe by dropping the buckets that will be full soonest
+     * @return false if another request is shedding the stripe and it is still full
+     */
+    private boolean makeRoom(Stripe stripe, long now) {
+        if (stripe.buckets.size() < maxKeysPerStripe) {
+            return true;
+        }
+        if (stripe.sweeping.compareAndSet(false, true)) {
+            try {
+                // Down to 90%, so the scan is paid once per tenth of the stripe's keys
+                int excess = stripe.buckets.size() - (maxKeysPerStripe - Math.max(1, maxKeysPerStripe / 10));
+                long[] debts = new long[stripe.buckets.size()];
+                int live = 0;
+                for (TokenBucket bucket : stripe.buckets.values()) {
+                    long fullAt = bucket.fullAt.get();
+                    if (fullAt != TokenBucket.RETIRED && live < debts.length) {
+                        debts[live++] = Math.max(0, fullAt - now);
+                    }
+                }
+                if (live > 0 && excess > 0) {
+                    Arrays.sort(debts, 0, live);
+                    long retireBy = now + debts[Math.min(excess, live) - 1];
+                    stripe.buckets.values().removeIf(bucket -> bucket.retireIfFullBy(retireBy));
+                }
+            } finally {
+                stripe.sweeping.set(false);
+            }
+        }
+        return stripe.buckets.size() < maxKeysPerStripe;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // ============================================================================
+    // TOKEN BUCKET
+    // ============================================================================
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+    }
+
+    /**
+     * Token bucket stored as the instant it becomes full again.
+     *
+     * With T = nanos per token and C = capacity, the bucket holds
+     * C - (fullAt - now) / T tokens. Taking a token moves fullAt forward by T;
+     * the request is refused when that would push fullAt more than C * T ahead of now.
+     *
+     * An evicted bucket is retired (fullAt = RETIRED) in the same CAS that
+     * checks when it is full, so a consume racing the eviction either lands
+     * first and keeps the bucket, or sees it retired and starts over with a new one.
+     */
+    static final class TokenBucket {
+        static final long RETIRED = Long.MIN_VALUE;
+
+        private final AtomicLong fullAt;
+
+        TokenBucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /**
+         * @return The decision, or null if the bucket was evicted and must not be used
+         */
+        Decision tryConsume(Quota quota, long now) {
+            long burstNanos = quota.capacity() * quota.nanosPerToken();
+
+            while (true) {
+                long current = fullAt.get();
+                if (current == RETIRED) {
+                    return null;
+                }
+                long base = current - now > 0 ? current : now;
+                long next = base + quota.nanosPerToken();
+                long debt = next - now;
+
+                if (debt > burstNanos) {
+                    return new Decision(false, quota.capacity(), 0, debt - burstNanos);
+                }
+
+                if (fullAt.compareAndSet(current, next)) {
+                    return new Decision(true, quota.capacity(), (burstNanos - debt) / quota.nanosPerToken(), 0);
+                }
+            }
+        }
+
+        /**
+         * Retire the bucket if it will be full by the given instant
+         * @return true if it was retired and no consume can use it any more
+         */
+        boolean retireIfFullBy(long instant) {
+            long current = fullAt.get();
+            return current == RETIRED || (current - instant <= 0 && fullAt.compareAndSet(current, RETIRED));
+        }
+    }
+
+    // ============================================================================
+    // DATA CLASSES
+    // ============================================================================
+
+    /**
+     * Bucket size and refill rate for a route
+     */
+    public record Quota(long capacity, long nanosPerToken) {
+
+        public static Quota of(RateLimitProperties.Route route) {
+            long tokens = Math.max(1, route.getRefillTokens());
+            long nanosPerToken = Math.max(1, route.getRefillPeriod().toNanos() / tokens);
+            return new Quota(Math.max(1, route.getCapacity()), nanosPerToken);
+        }
+    }
+
+    /**
+     * Outcome of a rate-limit check
+     */
+    public record Decision(boolean allowed, long limit, long remaining, long retryAfterNanos) {
+
+        /**
+         * Retry delay rounded up to whole seconds, as required by the Retry-After header
+         */
+        public long retryAfterSeconds() {
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.models.AvailableTicket;
+import com.example.travelbuddybackend.repository.ReactiveTicketRepository;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reactive Booking Search Service
+ *
+ * Non-blocking variant of BookingSearchService.searchAvailableTickets. The
+ * flight, train and bus queries are subscribed at the same time over R2DBC
+ * and merged into one Flux as rows arrive, so no thread waits on MySQL and
+ * a search costs a few hundred bytes of state instead of a request thread.
+ *
+ * Location matching (CriteriaMatcher) and ticket mapping are shared with
+ * BookingSearchService, so both variants accept the same criteria and build
+ * the same tickets. Unlike the blocking fetch, where a later filter (price,
+ * route) replaces the rows of an earlier one (airline, line), all criteria
+ * here apply together.
+ */
+@Service
+public class ReactiveBookingSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveBookingSearchService.class);
+
+    private final ReactiveTicketRepository reactiveTicketRepository;
+    private final BookingSearchService bookingSearchService;
+
+    @Autowired
+    public ReactiveBookingSearchService(ReactiveTicketRepository reactiveTicketRepository,
+                                        BookingSearchService bookingSearchService) {
+        this.reactiveTicketRepository = reactiveTicketRepository;
+        this.bookingSearchService = bookingSearchService;
+    }
+
+    /**
+     * Search available tickets across the requested transport modes
+     * @param criteria Same criteria as the blocking /api/search/available-tickets
+     * @return Tickets in arrival order (modes interleaved), completing when all queries are done
+     */
+    public Flux<AvailableTicket> searchAvailableTickets(BookingSearchCriteria criteria) {
+        CriteriaMatcher matcher = CriteriaMatcher.compile(criteria);
+        List<Flux<AvailableTicket>> sources = new ArrayList<>(3);
+        if (includes(criteria, "flight")) {
+            sources.add(searchFlights(criteria, matcher));
+        }
+        if (includes(criteria, "train")) {
+            sources.add(searchTrains(criteria, matcher));
+        }
+        if (includes(criteria, "bus")) {
+            sources.add(searchBuses(criteria, matcher));
+        }
+
+        return Flux.merge(sources)
+                .filter(ticket -> bookingSearchService.matchesPriceRange(ticket.getPrice(), criteria.getMinPrice(), criteria.getMaxPrice()))
+                .doOnError(e -> log.error("❌ Reactive search failed: {}", e.getMessage()));
+    }
+
+    // ============================================================================
+    // PER-MODE SEARCHES
+    // ============================================================================
+
+    private Flux<AvailableTicket> searchFlights(BookingSearchCriteria criteria, CriteriaMatcher matcher) {
+        return reactiveTicketRepository.findFlights(criteria.getAirline())
+                .filter(matcher::matchesFlightLocations)
+                .filter(flight -> matcher.matchesDepartureDate(flight.getFlightDepartureDate()))
+                .map(bookingSearchService::toTicket);
+    }
+
+    private Flux<AvailableTicket> searchTrains(BookingSearchCriteria criteria, CriteriaMatcher matcher) {
+        return reactiveTicketRepository.findTrains(criteria.getLine())
+                .filter(matcher::matchesTrainLocations)
+                .filter(train -> matcher.matchesDepartureDate(train.getTrainDepartureDate()))
+                .map(bookingSearchService::toTicket);
+    }
+
+    private Flux<AvailableTicket> searchBuses(BookingSearchCriteria criteria, CriteriaMatcher matcher) {
+        return reactiveTicketRepository.findBuses(criteria.getLine(), criteria.getDepartureStation(), criteria.getArrivalStation())
+                .filter(matcher::matchesBusLocations)
+                .filter(bus -> matcher.matchesDepartureDate(bus.getBusDepartureDate()))
+                .map(bookingSearchService::toTicket);
+    }
+
+    private static boolean includes(BookingSearchCriteria criteria, String transportType) {
+        return criteria.getTransportType() == null || criteria.getTransportType().equals(transportType);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.travelbuddybackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Search Coalescer
+ *
+ * Single-flight for searches: while a search for a key is running, identical
+ * searches (same key) don't run their own but wait for its CompletableFuture
+ * and share the result, so a burst of users searching the same route in the
+ * same second costs one search. The first caller (the leader) runs the work
+ * on its own thread; the key is released as soon as it finishes, so nothing is
+ * cached beyond the in-flight window.
+ *
+ * If the leader's work fails, its callers all get the failure. A follower that
+ * arrives just after a trip change can still receive the result of a search
+ * that started before it, at most one search duration old.
+ *
+ * search.coalescing.requests counts searches by mode and role (leader or
+ * follower); search.coalescing.ratio is the share of searches served as a
+ * follower since startup.
+ */
+@Component
+public class SearchCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchCoalescer.class);
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final MeterProvider<Counter> requestCounter;
+
+    @Autowired
+    public SearchCoalescer(@Value("${search.coalescing.enabled:true}") boolean enabled,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.requestCounter = Counter.builder("search.coalescing.requests")
+                .description("Searches by mode and whether they ran (leader) or shared a running one (follower)")
+                .withRegistry(meterRegistry);
+        meterRegistry.gauge("search.coalescing.ratio", this, SearchCoalescer::getCoalescingRatio);
+        meterRegistry.gauge("search.coalescing.in-flight", inFlight, ConcurrentHashMap::size);
+    }
+
+    // ============================================================================
+    // CORE BUSINESS OPERATIONS
+    // ============================================================================
+
+    /**
+     * Run a search, or join the identical one already running
+     * @param mode Mode name for the metrics
+     * @param key Normalized criteria; equal keys must mean equal results
+     * @param work The search; its result is shared with every follower, so it must not be modified
+     * @return The leader's result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String mode, Object key, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            record(mode, false);
+            log.debug("🔍 Joining in-flight {} search", mode);
+            return (T) await(running);
+        }
+
+        record(mode, true);
+        T result;
+        try {
+            result = work.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        // Release the key before completing, so a later search can never join a finished one
+        inFlight.remove(key, future);
+        future.complete(result);
+        return result;
+    }
+
+    /**
+     * @return Share of searches since startup that joined a running one instead of running, 0 to 1
+     */
+    public double getCoalescingRatio() {
+        long joined = followers.sum();
+        long total = joined + leaders.sum();
+        return total == 0 ? 0.0 : (double) joined / total;
+    }
+
+    public CoalescingStats getStats() {
+        long joined = followers.sum();
+        return new CoalescingStats(enabled, leaders.sum() + joined, joined, getCoalescingRatio(), inFlight.size());
+    }
+
+    // ============================================================================
+    // INTERNALS
+    // ============================================================================
+
+    private void record(String mode, boolean leader) {
+        (leader ? leaders : followers).increment();
+        requestCounter.withTags("mode", mode, "role", leader ? "leader" : "follower").increment();
+    }
+
+    /**
+     * Wait for the leader, interruptibly so a follower's fan-out timeout still stops it
+     */
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for an in-flight search");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    // ============================================================================
+    // DATA CLASSES
+    // ============================================================================
+
+    /**
+     * @param searches Searches since startup, run or joined
+     * @param coalesced Searches that joined a running one
+     * @param ratio coalesced / searches
+     * @param inFlight Searches running right now
+     */
+    public record CoalescingStats(boolean enabled, long searches, long coalesced, double ratio, int inFlight) {
+    }
+}
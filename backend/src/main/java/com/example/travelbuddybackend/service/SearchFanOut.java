@@ -0,0 +1,189 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.monitoring.QueryCancellation;
+import com.example.travelbuddybackend.monitoring.RequestQueryTracker;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Search Fan-Out
+ *
+ * Runs the per-mode searches of one request concurrently on a bounded
+ * executor and waits for each up to a shared deadline (search.fan-out.mode-timeout).
+ * A mode that misses the deadline or fails is reported as degraded with a
+ * fallback value, so a slow bus query no longer holds back flight results.
+ * Each task runs under its own QueryCancellation, which a missed deadline
+ * cancels: the JDBC driver ignores thread interrupts, so without it the
+ * mode's SQL would keep running and hold its thread and pooled connection.
+ *
+ * The executor is a fixed platform pool, or virtual threads with the same
+ * concurrency limit when spring.threads.virtual.enabled is set. When the
+ * pool and its queue are full the request thread runs the task itself,
+ * which degrades to the old sequential behaviour instead of failing.
+ * Tasks carry the request's query-budget scope, so their statements still
+ * count towards X-DB-Query-Count.
+ *
+ * It is a component rather than an Executor bean on purpose: an Executor
+ * bean would replace Spring Boot's applicationTaskExecutor.
+ */
+@Component
+public class SearchFanOut {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchFanOut.class);
+
+    private final boolean enabled;
+    private final long timeoutNanos;
+    private final AsyncTaskExecutor executor;
+    private final ThreadPoolTaskExecutor threadPool;
+
+    @Autowired
+    public SearchFanOut(RequestQueryTracker requestQueryTracker,
+                        @Value("${search.fan-out.enabled:true}") boolean enabled,
+                        @Value("${search.fan-out.threads:16}") int threads,
+                        @Value("${search.fan-out.queue-capacity:100}") int queueCapacity,
+                        @Value("${search.fan-out.mode-timeout:3s}") Duration modeTimeout,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.enabled = enabled;
+        this.timeoutNanos = modeTimeout.toNanos();
+
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("search-");
+            virtual.setVirtualThreads(true);
+            virtual.setConcurrencyLimit(threads);
+            virtual.setTaskDecorator(requestQueryTracker::propagate);
+            this.executor = virtual;
+            this.threadPool = null;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setThreadNamePrefix("search-");
+            pool.setCorePoolSize(threads);
+            pool.setMaxPoolSize(threads);
+            pool.setQueueCapacity(queueCapacity);
+            pool.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.setTaskDecorator(requestQueryTracker::propagate);
+            pool.initialize();
+            this.executor = pool;
+            this.threadPool = pool;
+        }
+    }
+
+    /**
+     * Run the tasks, concurrently if fan-out is enabled and there is more than one
+     * @param tasks Tasks by mode name, in the order the outcomes should be returned
+     * @param fallback Value used for a mode that timed out or failed
+     * @return One outcome per task, in the same order
+     */
+    public <T> List<ModeOutcome<T>> invokeAll(LinkedHashMap<String, Supplier<T>> tasks, T fallback) {
+        List<ModeOutcome<T>> outcomes = new ArrayList<>(tasks.size());
+        if (!enabled || tasks.size() < 2) {
+            for (Map.Entry<String, Supplier<T>> task : tasks.entrySet()) {
+                outcomes.add(timed(task.getKey(), task.getValue()));
+            }
+            return outcomes;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeoutNanos;
+        Map<String, Future<ModeOutcome<T>>> futures = new LinkedHashMap<>();
+        Map<String, QueryCancellation> cancellations = new LinkedHashMap<>();
+        for (Map.Entry<String, Supplier<T>> task : tasks.entrySet()) {
+            QueryCancellation cancellation = new QueryCancellation();
+            cancellations.put(task.getKey(), cancellation);
+            futures.put(task.getKey(), executor.submit(() -> cancellation.call(() -> timed(task.getKey(), task.getValue()))));
+        }
+
+        for (Map.Entry<String, Future<ModeOutcome<T>>> entry : futures.entrySet()) {
+            String mode = entry.getKey();
+            Future<ModeOutcome<T>> future = entry.getValue();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                outcomes.add(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                cancellations.get(mode).cancel();
+                future.cancel(true);
+                log.warn("⏱️ {} search timed out after {} ms, returning partial results",
+                        mode, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+                outcomes.add(new ModeOutcome<>(mode, fallback, System.nanoTime() - start, true));
+            } catch (ExecutionException e) {
+                log.error("❌ {} search failed, returning partial results: {}", mode, e.getCause().getMessage());
+                outcomes.add(new ModeOutcome<>(mode, fallback, System.nanoTime() - start, true));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancellations.get(mode).cancel();
+                future.cancel(true);
+                outcomes.add(new ModeOutcome<>(mode, fallback, System.nanoTime() - start, true));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Start one task on the executor and complete when it finishes or misses the deadline.
+     * Always asynchronous, even with fan-out disabled, so callers can react per mode.
+     * @param mode Mode name reported in the outcome
+     * @param task The mode's search
+     * @param fallback Value used if the task times out or fails
+     * @param onTimeout Run when the deadline passes, e.g. to cancel the task's queries
+     * @return Future of the outcome; it never completes exceptionally
+     */
+    public <T> CompletableFuture<ModeOutcome<T>> submit(String mode, Supplier<T> task, T fallback, Runnable onTimeout) {
+        long start = System.nanoTime();
+        return executor.submitCompletable(() -> timed(mode, task))
+                .orTimeout(timeoutNanos, TimeUnit.NANOSECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        log.warn("⏱️ {} search timed out after {} ms, returning partial results",
+                                mode, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+                        onTimeout.run();
+                    } else {
+                        log.error("❌ {} search failed, returning partial results: {}", mode, cause.getMessage());
+                    }
+                    return new ModeOutcome<>(mode, fallback, System.nanoTime() - start, true);
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (threadPool != null) {
+            threadPool.shutdown();
+        }
+    }
+
+    private static <T> ModeOutcome<T> timed(String mode, Supplier<T> task) {
+        long start = System.nanoTime();
+        T value = task.get();
+        return new ModeOutcome<>(mode, value, System.nanoTime() - start, false);
+    }
+
+    /**
+     * Result of one mode's search
+     * @param mode Mode name as passed to invokeAll
+     * @param value The task's result, or the fallback if degraded
+     * @param nanos Time the task took, or the time waited before giving up
+     * @param degraded True if the task timed out or failed
+     */
+    public record ModeOutcome<T>(String mode, T value, long nanos, boolean degraded) {
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.index.ColumnarTripStore;
+import com.example.travelbuddybackend.index.PriceIndex;
+import com.example.travelbuddybackend.index.TripSearchEngine;
+import com.example.travelbuddybackend.index.TripSearchIndex;
+import com.example.travelbuddybackend.models.Airport;
+import com.example.travelbuddybackend.models.BusDetails;
+import com.example.travelbuddybackend.models.BusStation;
+import com.example.travelbuddybackend.models.FlightDetails;
+import com.example.travelbuddybackend.models.TrainDetails;
+import com.example.travelbuddybackend.models.TrainStation;
+import com.example.travelbuddybackend.repository.AirportRepository;
+import com.example.travelbuddybackend.repository.BusDetailsRepository;
+import com.example.travelbuddybackend.repository.BusStationRepository;
+import com.example.travelbuddybackend.repository.FlightDetailsRepository;
+import com.example.travelbuddybackend.repository.TrainDetailsRepository;
+import com.example.travelbuddybackend.repository.TrainStationRepository;
+import com.example.travelbuddybackend.repository.TripRows;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Search Index Service
+ *
+ * Keeps one TripSearchEngine per transport mode so that searches combining
+ * airline/line, origin, destination, date and price band resolve all their
+ * criteria in memory and read only the surviving trips by primary key.
+ * Unselective criteria are no reason to scan: a busy route in a wide price
+ * band on a popular airline is three small ANDs.
+ *
+ * search-index.engine picks the implementation: bitmap (TripSearchIndex, the
+ * default) or columnar (ColumnarTripStore), which keeps the trips off-heap and
+ * scans them per query, for timetables whose bitmaps would crowd the heap.
+ *
+ * Location criteria are matched against the mode's stations, kept with the
+ * index, giving a set of location ids. The caller still applies its full
+ * filters to the fetched rows, so the index only has to be a superset.
+ *
+ * Each index is rebuilt from a streamed table read on a background thread
+ * and swapped in atomically. A TripChangedEvent or StationChangedEvent marks
+ * the mode's index out of date and schedules a rebuild; until it is done that
+ * mode's searches fall back to the table, so admin edits are never missed and
+ * a new or renamed station is never matched against the old station list.
+ * Changes made outside this instance are picked up by the rebuild after
+ * search-index.refresh-interval.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private static final int ID_LOOKUP_CHUNK = 1000;
+    private static final long RETRY_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private final boolean enabled;
+    private final boolean columnar;
+    private final long refreshNanos;
+    private final ExecutorService rebuilds;
+    private final ModeIndex<Airport, FlightDetails> flights;
+    private final ModeIndex<TrainStation, TrainDetails> trains;
+    private final ModeIndex<BusStation, BusDetails> buses;
+    private final Map<String, ModeIndex<?, ?>> modes;
+
+    @Autowired
+    public SearchIndexService(FlightDetailsRepository flightDetailsRepository,
+                              TrainDetailsRepository trainDetailsRepository,
+                              BusDetailsRepository busDetailsRepository,
+                              AirportRepository airportRepository,
+                              TrainStationRepository trainStationRepository,
+                              BusStationRepository busStationRepository,
+                              @Value("${search-index.enabled:true}") boolean enabled,
+                              @Value("${search-index.engine:bitmap}") String engine,
+                              @Value("${search-index.refresh-interval:5m}") Duration refreshInterval) {
+        if (!engine.equals("bitmap") && !engine.equals("columnar")) {
+            throw new IllegalArgumentException("search-index.engine must be bitmap or columnar, not " + engine);
+        }
+        this.enabled = enabled;
+        this.columnar = engine.equals("columnar");
+        this.refreshNanos = refreshInterval.toNanos();
+        this.rebuilds = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "search-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flights = new ModeIndex<>("flight", airportRepository::findAll, Airport::getId,
+                flightDetailsRepository::streamAll, flightDetailsRepository::findByIds, FlightDetails::getId);
+        this.trains = new ModeIndex<>("train", trainStationRepository::findAll, TrainStation::getId,
+                trainDetailsRepository::streamAll, trainDetailsRepository::findByIds, TrainDetails::getId);
+        this.buses = new ModeIndex<>("bus", busStationRepository::findAll, BusStation::getId,
+                busDetailsRepository::streamAll, busDetailsRepository::findByIds, BusDetails::getId);
+        this.modes = Map.of("flight", flights, "train", trains, "bus", buses);
+    }
+
+    /**
+     * Criteria of one mode's search; every one that is set must match
+     * @param origin Departure location filter, or null for any
+     * @param destination Arrival location filter, or null for any
+     * @param day Departure date, or null for any day
+     * @param carrier Text the airline or line contains, ignoring case; null or blank for any
+     * @param minPrice Lowest price, or null
+     * @param maxPrice Highest price, or null
+     */
+    public record TripFilter<S>(Predicate<S> origin, Predicate<S> destination, LocalDate day, String carrier,
+                                Double minPrice, Double maxPrice) {
+    }
+
+    /**
+     * Size and state of one mode's index
+     * @param engine bitmap or columnar
+     * @param footprintBytes Approximate heap size
+     * @param ready false while the index is missing or out of date and searches fall back
+     */
+    public record SearchIndexStats(String transportType, String engine, boolean ready, int trips,
+                                   long footprintBytes, long offHeapBytes, long buildMillis) {
+    }
+
+    // ============================================================================
+    // CORE BUSINESS OPERATIONS
+    // ============================================================================
+
+    /**
+     * Flights matching every criterion of the filter
+     * @return The candidate flights ordered by id, or empty if the index can't answer
+     *         (disabled, not built yet, out of date, or too many matches) and the caller should fall back
+     */
+    public Optional<List<FlightDetails>> findFlights(TripFilter<Airport> filter) {
+        return find(flights, filter);
+    }
+
+    /**
+     * @see #findFlights(TripFilter)
+     */
+    public Optional<List<TrainDetails>> findTrains(TripFilter<TrainStation> filter) {
+        return find(trains, filter);
+    }
+
+    /**
+     * @see #findFlights(TripFilter)
+     */
+    public Optional<List<BusDetails>> findBuses(TripFilter<BusStation> filter) {
+        return find(buses, filter);
+    }
+
+    /**
+     * Rebuild one mode's index on the calling thread
+     * @param transportType flight, train or bus
+     * @return true if the new index was swapped in
+     */
+    public boolean rebuild(String transportType) {
+        ModeIndex<?, ?> mode = modes.get(transportType);
+        if (mode == null) {
+            throw new IllegalArgumentException("Unknown transport type: " + transportType);
+        }
+        return mode.rebuild();
+    }
+
+    /**
+     * @return Per-mode index sizes, flight, train and bus in that order
+     */
+    public List<SearchIndexStats> getStats() {
+        return List.of(flights.stats(), trains.stats(), buses.stats());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            modes.values().forEach(ModeIndex::scheduleRebuild);
+        }
+    }
+
+    @EventListener
+    public void onTripChanged(TripChangedEvent event) {
+        ModeIndex<?, ?> mode = modes.get(event.transportType());
+        if (mode != null) {
+            mode.changed();
+        }
+    }
+
+    @EventListener
+    public void onStationChanged(StationChangedEvent event) {
+        ModeIndex<?, ?> mode = modes.get(event.transportType());
+        if (mode != null) {
+            mode.changed();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilds.shutdownNow();
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    private String engineName() {
+        return columnar ? "columnar" : "bitmap";
+    }
+
+    // ============================================================================
+    // INTERNALS
+    // ============================================================================
+
+    private <S, T> Optional<List<T>> find(ModeIndex<S, T> mode, TripFilter<S> filter) {
+        if (!enabled || (filter.day() != null && filter.day().toEpochDay() < 0)) {
+            return Optional.empty(); // trips before 1970 aren't indexed by day
+        }
+        Snapshot<S> current = mode.current();
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        String carrier = filter.carrier() != null && !filter.carrier().trim().isEmpty() ? filter.carrier() : null;
+        TripSearchEngine.Query query = new TripSearchEngine.Query(
+                filter.origin() != null ? current.matching(filter.origin()) : null,
+                filter.destination() != null ? current.matching(filter.destination()) : null,
+                TripSearchEngine.day(filter.day()), carrier, filter.minPrice(), filter.maxPrice());
+        int[] ids = current.trips().tripIds(query, PriceIndex.MAX_ID_LOOKUP);
+        if (ids == null) {
+            log.debug("🔍 Search index ({}): over {} candidate trips, falling back", mode.name, PriceIndex.MAX_ID_LOOKUP);
+            return Optional.empty();
+        }
+
+        List<T> rows = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += ID_LOOKUP_CHUNK) {
+            rows.addAll(mode.byIds.apply(Arrays.copyOfRange(ids, from, Math.min(ids.length, from + ID_LOOKUP_CHUNK))));
+        }
+        rows.sort(Comparator.comparingInt(mode.tripId));
+        log.debug("🔍 Search index ({}): {} candidate trips", mode.name, rows.size());
+        return Optional.of(rows);
+    }
+
+    /**
+     * One built index with the stations it was built against
+     * @param generation Value of the mode's change counter when the build started
+     */
+    private record Snapshot<S>(TripSearchEngine trips, List<S> stations, Function<S, Integer> stationId,
+                               long generation, long builtAt, long buildMillis) {
+
+        BitSet matching(Predicate<S> filter) {
+            BitSet ids = new BitSet();
+            for (S station : stations) {
+                Integer id = stationId.apply(station);
+                if (id != null && id >= 0 && filter.test(station)) {
+                    ids.set(id);
+                }
+            }
+            return ids;
+        }
+    }
+
+    private final class ModeIndex<S, T> {
+
+        private final String name;
+        private final Supplier<List<S>> stations;
+        private final Function<S, Integer> stationId;
+        private final Predicate<RowCallbackHandler> streamAll;
+        private final Function<int[], List<T>> byIds;
+        private final ToIntFunction<T> tripId;
+
+        // Bumped on every trip or station change; a snapshot is usable only if built after the last one
+        private final AtomicLong changes = new AtomicLong();
+        private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+        private volatile Snapshot<S> snapshot;
+        // nanoTime of the last failed build, 0 if none; searches don't retry before RETRY_NANOS
+        private volatile long failedAt;
+        // A lock rather than synchronized: a build streams the trip table while holding it,
+        // and the admin rebuild runs it on a request thread, which would pin its carrier
+        // thread in the virtual-threads profile
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+
+        ModeIndex(String name, Supplier<List<S>> stations, Function<S, Integer> stationId,
+                  Predicate<RowCallbackHandler> streamAll, Function<int[], List<T>> byIds, ToIntFunction<T> tripId) {
+            this.name = name;
+            this.stations = stations;
+            this.stationId = stationId;
+            this.streamAll = streamAll;
+            this.byIds = byIds;
+            this.tripId = tripId;
+        }
+
+        /**
+         * The index if it is up to date, scheduling a rebuild when it is missing, out of date or stale
+         */
+        Snapshot<S> current() {
+            Snapshot<S> current = snapshot;
+            if (current == null || current.generation() != changes.get()) {
+                scheduleRebuild();
+                return null;
+            }
+            if (refreshNanos > 0 && System.nanoTime() - current.builtAt() > refreshNanos) {
+                scheduleRebuild(); // serve the stale index meanwhile; it only misses changes made elsewhere
+            }
+            return current;
+        }
+
+        void changed() {
+            changes.incrementAndGet();
+            if (enabled) {
+                failedAt = 0;
+                scheduleRebuild();
+            }
+        }
+
+        void scheduleRebuild() {
+            long failed = failedAt;
+            if (failed != 0 && System.nanoTime() - failed < RETRY_NANOS) {
+                return;
+            }
+            if (rebuildQueued.compareAndSet(false, true)) {
+                try {
+                    rebuilds.execute(() -> {
+                        rebuildQueued.set(false);
+                        rebuild();
+                    });
+                } catch (RuntimeException e) {
+                    rebuildQueued.set(false);
+                    log.warn("⚠️ Search index ({}): rebuild not scheduled: {}", name, e.getMessage());
+                }
+            }
+        }
+
+        boolean rebuild() {
+            rebuildLock.lock();
+            try {
+                return build();
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+
+        private boolean build() {
+            long start = System.nanoTime();
+            long generation = changes.get();
+            Snapshot<S> previous = snapshot;
+
+            List<S> stationList = List.copyOf(stations.get());
+            TripSearchEngine trips = load(previous != null ? previous.trips().size() : 1024);
+            if (trips == null) {
+                failedAt = System.nanoTime();
+                log.warn("⚠️ Search index ({}): table read failed, keeping the previous index", name);
+                return false;
+            }
+            if (stationList.isEmpty() && trips.size() > 0) {
+                failedAt = System.nanoTime();
+                log.warn("⚠️ Search index ({}): no stations loaded, keeping the previous index", name);
+                return false;
+            }
+
+            long buildMillis = (System.nanoTime() - start) / 1_000_000;
+            snapshot = new Snapshot<>(trips, stationList, stationId, generation, System.nanoTime(), buildMillis);
+            failedAt = 0;
+            log.info("✓ Search index ({}, {}): {} trips, {} KB heap, {} KB off-heap, built in {} ms", name, engineName(),
+                    trips.size(), trips.footprintBytes() / 1024, trips.offHeapBytes() / 1024, buildMillis);
+            return true;
+        }
+
+        /**
+         * Read the mode's trips into the configured engine
+         * @return The built engine, or null if the table read failed
+         */
+        private TripSearchEngine load(int expectedTrips) {
+            if (columnar) {
+                ColumnarTripStore.Builder builder = ColumnarTripStore.builder(expectedTrips);
+                return streamAll.test(TripRows.into(builder)) ? builder.build() : null;
+            }
+            TripSearchIndex.Builder builder = TripSearchIndex.builder(expectedTrips);
+            return streamAll.test(TripRows.into(builder)) ? builder.build() : null;
+        }
+
+        SearchIndexStats stats() {
+            Snapshot<S> current = snapshot;
+            if (current == null) {
+                return new SearchIndexStats(name, engineName(), false, 0, 0, 0, 0);
+            }
+            TripSearchEngine trips = current.trips();
+            return new SearchIndexStats(name, engineName(), enabled && current.generation() == changes.get(),
+                    trips.size(), trips.footprintBytes(), trips.offHeapBytes(), current.buildMillis());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.travelbuddybackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Search Session Service
+ *
+ * Remembers, per search-as-you-type session, what the last search of each
+ * kind (airport search, train ticket search, ...) found, so the next
+ * keystroke can narrow that down instead of searching from scratch. The
+ * client picks the session ID (SESSION_HEADER) and sends the same one with
+ * every keystroke; searches without one are not remembered.
+ *
+ * What a context holds is up to the searching service; this service only
+ * keeps it. Memory stays bounded three ways:
+ * - a context of more than search-session.max-candidates candidates is not
+ *   kept (the previous one of that kind is dropped instead)
+ * - a session unused for search-session.idle-timeout is expired on its next
+ *   use, or swept once the session count goes over its limit
+ * - beyond search-session.max-sessions, arbitrary sessions are dropped down
+ *   to 90% of the limit (a dropped session only loses its refinement)
+ *
+ * A kind's data can change under its contexts (a trip is edited): invalidate()
+ * bumps the kind's version, and contexts remembered under an older version
+ * are never handed out again.
+ */
+@Service
+public class SearchSessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchSessionService.class);
+
+    /**
+     * Request header carrying the client's search session ID
+     */
+    public static final String SESSION_HEADER = "X-Search-Session";
+
+    private static final int MAX_SESSION_ID_LENGTH = 64;
+
+    private final boolean enabled;
+    private final int maxSessions;
+    private final int maxCandidates;
+    private final long idleNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final MeterProvider<Counter> searchCounter;
+
+    @Autowired
+    public SearchSessionService(@Value("${search-session.enabled:true}") boolean enabled,
+                                @Value("${search-session.max-sessions:10000}") int maxSessions,
+                                @Value("${search-session.max-candidates:5000}") int maxCandidates,
+                                @Value("${search-session.idle-timeout:5m}") Duration idleTimeout,
+                                MeterRegistry meterRegistry) {
+        this(enabled, maxSessions, maxCandidates, idleTimeout, meterRegistry, System::nanoTime);
+    }
+
+    SearchSessionService(boolean enabled, int maxSessions, int maxCandidates, Duration idleTimeout,
+                         MeterRegistry meterRegistry, LongSupplier clock) {
+        this.enabled = enabled;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.maxCandidates = maxCandidates;
+        this.idleNanos = idleTimeout.toNanos();
+        this.clock = clock;
+        this.searchCounter = Counter.builder("search.session.searches")
+                .description("Search-as-you-type searches, by kind and whether they refined the previous one")
+                .withRegistry(meterRegistry);
+        meterRegistry.gauge("search.session.active", sessions, Map::size);
+    }
+
+    // ============================================================================
+    // CORE BUSINESS OPERATIONS
+    // ============================================================================
+
+    /**
+     * The context remembered by the session's last search of a kind
+     * @param sessionId Client-supplied session ID; null or invalid means no session
+     * @param kind What was searched, e.g. "flight-stations"
+     * @return The context, or null if there is none, it is out of date or of another type
+     */
+    public <C> C recall(String sessionId, String kind, Class<C> type) {
+        if (!isUsable(sessionId)) {
+            return null;
+        }
+        Session session = sessions.get(sessionId);
+        long now = clock.getAsLong();
+        if (session == null || session.isIdle(now, idleNanos)) {
+            return null;
+        }
+        session.lastUsed = now;
+        Context context = session.contexts.get(kind);
+        if (context == null || context.version() != version(kind) || !type.isInstance(context.value())) {
+            return null;
+        }
+        return type.cast(context.value());
+    }
+
+    /**
+     * Remember what a search of the session found, replacing its previous context of the kind
+     * @param version version(kind) read before the search began
+     * @param candidates Size of the context; over search-session.max-candidates it is not kept
+     */
+    public void remember(String sessionId, String kind, long version, Object context, int candidates) {
+        if (!isUsable(sessionId)) {
+            return;
+        }
+        long now = clock.getAsLong();
+        Session session = sessions.get(sessionId);
+        if (session == null || session.isIdle(now, idleNanos)) {
+            session = new Session(now);
+            sessions.put(sessionId, session);
+            evictIfNeeded(now);
+        }
+        session.lastUsed = now;
+        if (context == null || candidates > maxCandidates || version != version(kind)) {
+            session.contexts.remove(kind);
+        } else {
+            session.contexts.put(kind, new Context(version, context));
+        }
+    }
+
+    /**
+     * Current version of a kind's data; contexts are only recalled under the version they were remembered with
+     */
+    public long version(String kind) {
+        AtomicLong version = versions.get(kind);
+        return version != null ? version.get() : 0;
+    }
+
+    /**
+     * Mark every remembered context of a kind out of date
+     */
+    public void invalidate(String kind) {
+        versions.computeIfAbsent(kind, k -> new AtomicLong()).incrementAndGet();
+        log.debug("🔍 Search sessions: {} contexts invalidated", kind);
+    }
+
+    /**
+     * Count one search of a session, for the search.session.searches metric
+     * @param refined Whether it narrowed down the previous search instead of starting over
+     */
+    public void recordSearch(String kind, boolean refined) {
+        searchCounter.withTags("kind", kind, "refined", Boolean.toString(refined)).increment();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Most candidates a remembered context may hold
+     */
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    /**
+     * @return Number of sessions currently held in memory
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    // ============================================================================
+    // INTERNALS
+    // ============================================================================
+
+    private boolean isUsable(String sessionId) {
+        return enabled && sessionId != null && !sessionId.isBlank() && sessionId.length() <= MAX_SESSION_ID_LENGTH;
+    }
+
+    private void evictIfNeeded(long now) {
+        if (sessions.size() <= maxSessions || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            sessions.values().removeIf(session -> session.isIdle(now, idleNanos));
+
+            // Still over the limit: shed arbitrary sessions down to 90% so the next insert doesn't sweep again
+            int target = maxSessions - maxSessions / 10;
+            Iterator<Session> iterator = sessions.values().iterator();
+            while (sessions.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    // ============================================================================
+    // DATA CLASSES
+    // ============================================================================
+
+    private static final class Session {
+        private final ConcurrentHashMap<String, Context> contexts = new ConcurrentHashMap<>();
+        private volatile long lastUsed;
+
+        Session(long now) {
+            this.lastUsed = now;
+        }
+
+        boolean isIdle(long now, long idleNanos) {
+            return now - lastUsed > idleNanos;
+        }
+    }
+
+    private record Context(long version, Object value) {
+    }
+}
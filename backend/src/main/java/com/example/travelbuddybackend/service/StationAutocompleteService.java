@@ -0,0 +1,245 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.index.AutocompleteIndex;
+import com.example.travelbuddybackend.models.Airport;
+import com.example.travelbuddybackend.models.BusStation;
+import com.example.travelbuddybackend.models.TrainStation;
+import com.example.travelbuddybackend.repository.AirportRepository;
+import com.example.travelbuddybackend.repository.BusStationRepository;
+import com.example.travelbuddybackend.repository.TrainStationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Station Autocomplete Service
+ *
+ * Answers the airport, train station and bus station searches behind the
+ * station search box from one AutocompleteIndex per transport mode, instead
+ * of reading the whole table and lowercasing every field per keystroke.
+ * Results are ranked (exact code, name prefix, city, substring, typo) and
+ * capped at autocomplete.limit.
+ *
+ * The stations tables are small and change rarely, so an index is rebuilt
+ * in full, on the thread of the add, update or delete request that changed
+ * it (StationChangedEvent); the next keystroke already sees the change.
+ * Searches keep using the previous index while a rebuild runs. An empty
+ * table gives an empty index; if the table can't be read the previous index
+ * is kept (or none is built yet) and the read is retried at most every 30
+ * seconds.
+ *
+ * Within a search-as-you-type session (SearchSessionService) each keystroke
+ * hands the previous query's candidates back to the index, which narrows
+ * them down when the new query extends the old one. Candidates belong to one
+ * index, so after a rebuild the next keystroke starts over.
+ */
+@Service
+public class StationAutocompleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(StationAutocompleteService.class);
+
+    private static final long RETRY_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private final SearchSessionService searchSessionService;
+    private final int limit;
+    private final ModeIndex<Airport> airports;
+    private final ModeIndex<TrainStation> trainStations;
+    private final ModeIndex<BusStation> busStations;
+    private final Map<String, ModeIndex<?>> modes;
+
+    @Autowired
+    public StationAutocompleteService(AirportRepository airportRepository,
+                                      TrainStationRepository trainStationRepository,
+                                      BusStationRepository busStationRepository,
+                                      SearchSessionService searchSessionService,
+                                      @Value("${autocomplete.limit:20}") int limit) {
+        this.searchSessionService = searchSessionService;
+        this.limit = limit;
+        this.airports = new ModeIndex<>("flight", airportRepository::readAll, (builder, airport) ->
+                builder.add(airport, airport.getAirportCode(), airport.getAirportFullName(),
+                        airport.getAirportCityLocation(), airport.getAirportCountryLocation()));
+        this.trainStations = new ModeIndex<>("train", trainStationRepository::readAll, (builder, station) ->
+                builder.add(station, station.getTrainStationCode(), station.getTrainStationFullName(),
+                        station.getTrainStationCityLocation()));
+        this.busStations = new ModeIndex<>("bus", busStationRepository::readAll, (builder, station) ->
+                builder.add(station, station.getBusStationCode(), station.getBusStationFullName(),
+                        station.getBusStationCityLocation()));
+        this.modes = Map.of("flight", airports, "train", trainStations, "bus", busStations);
+    }
+
+    // ============================================================================
+    // CORE BUSINESS OPERATIONS
+    // ============================================================================
+
+    /**
+     * Airports matching a partly typed code, name, city or country, best first
+     * @param searchTerm Text typed so far; may be misspelt
+     * @param sessionId Search-as-you-type session, or null to search from scratch
+     * @return At most autocomplete.limit airports (empty for a blank term)
+     */
+    public List<Airport> searchAirports(String searchTerm, String sessionId) {
+        return search(airports, searchTerm, sessionId);
+    }
+
+    /**
+     * Train stations matching a partly typed code, name or city, best first
+     * @see #searchAirports(String, String)
+     */
+    public List<TrainStation> searchTrainStations(String searchTerm, String sessionId) {
+        return search(trainStations, searchTerm, sessionId);
+    }
+
+    /**
+     * Bus stations matching a partly typed code, name or city, best first
+     * @see #searchAirports(String, String)
+     */
+    public List<BusStation> searchBusStations(String searchTerm, String sessionId) {
+        return search(busStations, searchTerm, sessionId);
+    }
+
+    /**
+     * Rebuild one mode's index on the calling thread
+     * @param transportType flight, train or bus
+     * @return true if the new index was swapped in
+     */
+    public boolean rebuild(String transportType) {
+        ModeIndex<?> mode = modes.get(transportType);
+        if (mode == null) {
+            throw new IllegalArgumentException("Unknown transport type: " + transportType);
+        }
+        return mode.rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        modes.values().forEach(ModeIndex::rebuild);
+    }
+
+    @EventListener
+    public void onStationChanged(StationChangedEvent event) {
+        ModeIndex<?> mode = modes.get(event.transportType());
+        if (mode != null) {
+            mode.rebuild();
+        }
+    }
+
+    // ============================================================================
+    // INTERNALS
+    // ============================================================================
+
+    private <S> List<S> search(ModeIndex<S> mode, String searchTerm, String sessionId) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            log.warn("✗ Service Error: Search term cannot be null or empty");
+            return new ArrayList<>();
+        }
+        AutocompleteIndex<S> index = mode.current();
+        if (index == null) {
+            log.warn("⚠️ Autocomplete ({}): stations could not be read", mode.name);
+            return new ArrayList<>();
+        }
+        if (sessionId == null || !searchSessionService.isEnabled()) {
+            List<S> matches = index.search(searchTerm, limit);
+            log.debug("🔍 Autocomplete ({}): '{}' matched {} stations", mode.name, searchTerm, matches.size());
+            return matches;
+        }
+
+        String kind = mode.name + "-stations";
+        long version = searchSessionService.version(kind);
+        AutocompleteIndex.Candidates previous = searchSessionService.recall(sessionId, kind, AutocompleteIndex.Candidates.class);
+        AutocompleteIndex.Completion<S> completion = index.complete(searchTerm, limit, previous,
+                searchSessionService.getMaxCandidates());
+        AutocompleteIndex.Candidates candidates = completion.candidates();
+        searchSessionService.remember(sessionId, kind, version, candidates, candidates != null ? candidates.size() : 0);
+        searchSessionService.recordSearch(kind, completion.refined());
+        log.debug("🔍 Autocomplete ({}): '{}' matched {} stations{}", mode.name, searchTerm,
+                completion.matches().size(), completion.refined() ? ", refined" : "");
+        return completion.matches();
+    }
+
+    private static final class ModeIndex<S> {
+
+        private final String name;
+        private final Supplier<Optional<List<S>>> stations;
+        private final BiConsumer<AutocompleteIndex.Builder<S>, S> adder;
+
+        private volatile AutocompleteIndex<S> index;
+        // nanoTime of the last build that couldn't read the stations, 0 if none; searches don't retry before RETRY_NANOS
+        private volatile long failedAt;
+        // A lock rather than synchronized: a build reads the table while holding it,
+        // which would pin the carrier thread in the virtual-threads profile
+        private final ReentrantLock lock = new ReentrantLock();
+
+        ModeIndex(String name, Supplier<Optional<List<S>>> stations, BiConsumer<AutocompleteIndex.Builder<S>, S> adder) {
+            this.name = name;
+            this.stations = stations;
+            this.adder = adder;
+        }
+
+        /**
+         * The index, building it first if it is missing and a retry is due
+         */
+        AutocompleteIndex<S> current() {
+            AutocompleteIndex<S> current = index;
+            if (current != null || !retryDue()) {
+                return current;
+            }
+            lock.lock();
+            try {
+                // Searches that queued behind a cold build use its result instead of reading again
+                if (index == null && retryDue()) {
+                    build();
+                }
+                return index;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean rebuild() {
+            lock.lock();
+            try {
+                return build();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean retryDue() {
+            long failed = failedAt;
+            return failed == 0 || System.nanoTime() - failed >= RETRY_NANOS;
+        }
+
+        private boolean build() {
+            long start = System.nanoTime();
+            Optional<List<S>> read = stations.get();
+            if (read.isEmpty()) {
+                failedAt = System.nanoTime();
+                log.warn("⚠️ Autocomplete ({}): stations could not be read, keeping the previous index", name);
+                return false;
+            }
+            List<S> stationList = read.get();
+
+            AutocompleteIndex.Builder<S> builder = AutocompleteIndex.builder();
+            stationList.forEach(station -> adder.accept(builder, station));
+            AutocompleteIndex<S> built = builder.build();
+            index = built;
+            failedAt = 0;
+            log.info("✓ Autocomplete ({}): {} stations, {} words, built in {} ms",
+                    name, built.size(), built.wordCount(), (System.nanoTime() - start) / 1_000_000);
+            return true;
+        }
+    }
+}
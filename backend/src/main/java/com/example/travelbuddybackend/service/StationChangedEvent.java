@@ -0,0 +1,10 @@
+package com.example.travelbuddybackend.service;
+
+/**
+ * Published by the airport and station services after an airport or station is
+ * added, updated or deleted, so indexes built from the stations can be rebuilt.
+ *
+ * @param transportType flight (airports), train or bus
+ */
+public record StationChangedEvent(String transportType) {
+}
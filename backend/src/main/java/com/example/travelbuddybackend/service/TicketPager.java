@@ -0,0 +1,127 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.models.AvailableTicket;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Ticket Pager
+ *
+ * Sorts and pages search results on the server. A page at offset o with
+ * limit l only needs the first o + l tickets in order, so those are
+ * selected with a bounded max-heap in O(n log(o + l)) instead of sorting
+ * every match. Ties are broken by transport type and id, so pages are
+ * stable between requests.
+ */
+public final class TicketPager {
+
+    private TicketPager() {}
+
+    public enum SortKey {
+        PRICE(Comparator.comparingDouble(Ranked::price)),
+        DEPARTURE(Comparator.comparing(Ranked::departure)),
+        DURATION(Comparator.comparingLong(Ranked::durationMinutes));
+
+        private final Comparator<Ranked> order;
+
+        SortKey(Comparator<Ranked> order) {
+            this.order = order
+                    .thenComparing(ranked -> ranked.ticket().getTransportType())
+                    .thenComparing(ranked -> ranked.ticket().getId());
+        }
+
+        /**
+         * @param value price, departure or duration (any case)
+         * @throws IllegalArgumentException for anything else
+         */
+        public static SortKey parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown sort: " + value + " (expected price, departure or duration)");
+            }
+        }
+    }
+
+    /**
+     * Select one page of tickets in sort order
+     * @param tickets All matching tickets, in any order (not modified)
+     * @param sort Sort key, or null to keep the search order
+     * @param offset Tickets to skip
+     * @param limit Maximum tickets to return
+     * @return The page; empty if offset is past the end
+     */
+    public static List<AvailableTicket> page(List<AvailableTicket> tickets, SortKey sort, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative");
+        }
+        if (offset >= tickets.size() || limit == 0) {
+            return List.of();
+        }
+        if (sort == null) {
+            return new ArrayList<>(tickets.subList(offset, (int) Math.min(tickets.size(), (long) offset + limit)));
+        }
+
+        int k = (int) Math.min(tickets.size(), (long) offset + limit);
+        List<Ranked> ranked;
+        if (k == tickets.size()) {
+            ranked = new ArrayList<>(tickets.size());
+            for (AvailableTicket ticket : tickets) {
+                ranked.add(Ranked.of(ticket, sort));
+            }
+            ranked.sort(sort.order);
+        } else {
+            // Max-heap of the k best so far; its head is the worst of them
+            PriorityQueue<Ranked> best = new PriorityQueue<>(k + 1, sort.order.reversed());
+            for (AvailableTicket ticket : tickets) {
+                Ranked candidate = Ranked.of(ticket, sort);
+                if (best.size() < k) {
+                    best.add(candidate);
+                } else if (sort.order.compare(candidate, best.peek()) < 0) {
+                    best.poll();
+                    best.add(candidate);
+                }
+            }
+            ranked = new ArrayList<>(best);
+            ranked.sort(sort.order);
+        }
+
+        List<AvailableTicket> page = new ArrayList<>(k - offset);
+        for (int i = offset; i < k; i++) {
+            page.add(ranked.get(i).ticket());
+        }
+        return page;
+    }
+
+    /**
+     * A ticket with its sort key computed once, instead of on every comparison
+     */
+    private record Ranked(AvailableTicket ticket, double price, String departure, long durationMinutes) {
+
+        static Ranked of(AvailableTicket ticket, SortKey sort) {
+            return switch (sort) {
+                case PRICE -> new Ranked(ticket, ticket.getPrice() != null ? ticket.getPrice() : Double.MAX_VALUE, null, 0);
+                // "yyyy-MM-dd HH:mm" sorts chronologically as text
+                case DEPARTURE -> new Ranked(ticket, 0, ticket.getDepartureTime() != null ? ticket.getDepartureTime() : "", 0);
+                case DURATION -> new Ranked(ticket, 0, null, durationMinutes(ticket));
+            };
+        }
+
+        private static long durationMinutes(AvailableTicket ticket) {
+            try {
+                LocalDateTime departure = LocalDateTime.parse(ticket.getDepartureTime().trim().replace(' ', 'T'));
+                LocalDateTime arrival = LocalDateTime.parse(ticket.getArrivalTime().trim().replace(' ', 'T'));
+                return Duration.between(departure, arrival).toMinutes();
+            } catch (DateTimeParseException | NullPointerException e) {
+                return Long.MAX_VALUE; // unparseable times sort last
+            }
+        }
+    }
+}
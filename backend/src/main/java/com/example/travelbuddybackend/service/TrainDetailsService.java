@@ -1,12 +1,18 @@
 package com.example.travelbuddybackend.service;
 
+import com.example.travelbuddybackend.index.PriceIndex;
 import com.example.travelbuddybackend.models.TrainDetails;
 import com.example.travelbuddybackend.models.TrainStation;
 import com.example.travelbuddybackend.repository.TrainDetailsRepository;
 import com.example.travelbuddybackend.repository.TrainStationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -15,17 +21,25 @@ import java.util.stream.Collectors;
 @Service
 public class TrainDetailsService {
 
+    private static final Logger log = LoggerFactory.getLogger(TrainDetailsService.class);
+
     private final TrainDetailsRepository trainDetailsRepository;
     private final TrainStationRepository trainStationRepository;
     private final ValidatorService validatorService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PriceIndex priceIndex;
 
     @Autowired
     public TrainDetailsService(TrainDetailsRepository trainDetailsRepository,
                                TrainStationRepository trainStationRepository,
-                               ValidatorService validatorService) {
+                               ValidatorService validatorService,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${price-index.refresh-interval:5m}") Duration priceIndexRefresh) {
         this.trainDetailsRepository = trainDetailsRepository;
         this.trainStationRepository = trainStationRepository;
         this.validatorService = validatorService;
+        this.eventPublisher = eventPublisher;
+        this.priceIndex = new PriceIndex("train", trainDetailsRepository::findPricesById, priceIndexRefresh);
     }
 
     // ============================================================================
@@ -38,7 +52,7 @@ public class TrainDetailsService {
 
     public Optional<TrainDetails> getTrainDetailsById(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Service Error: Train ID must be a positive integer");
+            log.warn("✗ Service Error: Train ID must be a positive integer");
             return Optional.empty();
         }
         return trainDetailsRepository.findById(id);
@@ -46,7 +60,7 @@ public class TrainDetailsService {
 
     public Optional<TrainDetails> getTrainDetailsByNumber(String trainNumber) {
         if (trainNumber == null || trainNumber.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Train number cannot be null or empty");
+            log.warn("✗ Service Error: Train number cannot be null or empty");
             return Optional.empty();
         }
         return trainDetailsRepository.findByTrainNumber(trainNumber.trim());
@@ -55,7 +69,7 @@ public class TrainDetailsService {
     public List<TrainDetails> getTrainsByRoute(String departureStationCode, String arrivalStationCode) {
         if (departureStationCode == null || departureStationCode.trim().isEmpty() ||
                 arrivalStationCode == null || arrivalStationCode.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Both departure and arrival station codes are required");
+            log.warn("✗ Service Error: Both departure and arrival station codes are required");
             return new ArrayList<>();
         }
 
@@ -63,12 +77,12 @@ public class TrainDetailsService {
         Optional<TrainStation> arrivalStation = trainStationRepository.findByStationCode(arrivalStationCode.toUpperCase().trim());
 
         if (departureStation.isEmpty()) {
-            System.out.println("✗ Service Error: Departure station not found: " + departureStationCode);
+            log.warn("✗ Service Error: Departure station not found: {}", departureStationCode);
             return new ArrayList<>();
         }
 
         if (arrivalStation.isEmpty()) {
-            System.out.println("✗ Service Error: Arrival station not found: " + arrivalStationCode);
+            log.warn("✗ Service Error: Arrival station not found: {}", arrivalStationCode);
             return new ArrayList<>();
         }
 
@@ -77,12 +91,12 @@ public class TrainDetailsService {
 
     public List<TrainDetails> getTrainsByRoute(TrainStation departureStation, TrainStation arrivalStation) {
         if (departureStation == null || arrivalStation == null) {
-            System.out.println("✗ Service Error: Both stations are required");
+            log.warn("✗ Service Error: Both stations are required");
             return new ArrayList<>();
         }
 
         if (departureStation.getId() == null || arrivalStation.getId() == null) {
-            System.out.println("✗ Service Error: Station IDs are required");
+            log.warn("✗ Service Error: Station IDs are required");
             return new ArrayList<>();
         }
 
@@ -91,12 +105,12 @@ public class TrainDetailsService {
 
     public List<TrainDetails> getTrainsByDepartureDate(String departureDate) {
         if (departureDate == null || departureDate.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Departure date cannot be null or empty");
+            log.warn("✗ Service Error: Departure date cannot be null or empty");
             return new ArrayList<>();
         }
 
         if (!validatorService.isValidDate(departureDate)) {
-            System.out.println("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
+            log.warn("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
             return new ArrayList<>();
         }
 
@@ -108,11 +122,14 @@ public class TrainDetailsService {
             return false;
         }
 
-        boolean success = trainDetailsRepository.createTrainDetails(trainDetails);
+        Optional<Integer> createdId = trainDetailsRepository.createTrainDetails(trainDetails);
+        boolean success = createdId.isPresent();
         if (success) {
-            System.out.println("✓ Service: Train added successfully");
+            priceIndex.put(createdId.get(), trainDetails.getTrainRidePrice());
+            publishRouteChange(trainDetails);
+            log.info("✓ Service: Train added successfully");
         } else {
-            System.out.println("✗ Service: Failed to add train");
+            log.warn("✗ Service: Failed to add train");
         }
         return success;
     }
@@ -123,40 +140,47 @@ public class TrainDetailsService {
         }
 
         if (trainDetails.getId() == null || trainDetails.getId() <= 0) {
-            System.out.println("✗ Service Error: Valid train ID required for update");
+            log.warn("✗ Service Error: Valid train ID required for update");
             return false;
         }
 
-        if (trainDetailsRepository.findById(trainDetails.getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Train details not found for update");
+        Optional<TrainDetails> currentTrain = trainDetailsRepository.findById(trainDetails.getId());
+        if (currentTrain.isEmpty()) {
+            log.warn("✗ Service Error: Train details not found for update");
             return false;
         }
 
         boolean success = trainDetailsRepository.updateTrainDetails(trainDetails);
         if (success) {
-            System.out.println("✓ Service: Train updated successfully");
+            priceIndex.put(trainDetails.getId(), trainDetails.getTrainRidePrice());
+            publishRouteChange(currentTrain.get());
+            publishRouteChange(trainDetails);
+            log.info("✓ Service: Train updated successfully");
         } else {
-            System.out.println("✗ Service: Failed to update train");
+            log.warn("✗ Service: Failed to update train");
         }
         return success;
     }
 
     public boolean deleteTrainDetails(Integer id) {
         if (id == null || id <= 0) {
-            System.out.println("✗ Service Error: Valid train ID required for deletion");
+            log.warn("✗ Service Error: Valid train ID required for deletion");
             return false;
         }
 
-        if (trainDetailsRepository.findById(id).isEmpty()) {
-            System.out.println("✗ Service Error: Train not found for deletion");
+        Optional<TrainDetails> existing = trainDetailsRepository.findById(id);
+        if (existing.isEmpty()) {
+            log.warn("✗ Service Error: Train not found for deletion");
             return false;
         }
 
         boolean success = trainDetailsRepository.deleteTrainDetails(id);
         if (success) {
-            System.out.println("✓ Service: Train deleted successfully");
+            priceIndex.remove(id);
+            publishRouteChange(existing.get());
+            log.info("✓ Service: Train deleted successfully");
         } else {
-            System.out.println("✗ Service: Failed to delete train");
+            log.warn("✗ Service: Failed to delete train");
         }
         return success;
     }
@@ -189,7 +213,7 @@ public class TrainDetailsService {
 
     public List<TrainDetails> findTrainsByLine(String trainLine) {
         if (trainLine == null || trainLine.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Train line cannot be null or empty");
+            log.warn("✗ Service Error: Train line cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -201,7 +225,7 @@ public class TrainDetailsService {
     public List<TrainDetails> findTrainsByPriceRange(String minPrice, String maxPrice) {
         if (minPrice == null || minPrice.trim().isEmpty() ||
                 maxPrice == null || maxPrice.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Both minimum and maximum prices are required");
+            log.warn("✗ Service Error: Both minimum and maximum prices are required");
             return new ArrayList<>();
         }
 
@@ -210,29 +234,27 @@ public class TrainDetailsService {
             double max = Double.parseDouble(maxPrice.trim());
 
             if (min < 0 || max < 0 || min > max) {
-                System.out.println("✗ Service Error: Invalid price range");
+                log.warn("✗ Service Error: Invalid price range");
                 return new ArrayList<>();
             }
 
-            return getAllTrainDetails().stream()
-                    .filter(train -> {
-                        try {
-                            double price = Double.parseDouble(train.getTrainRidePrice());
-                            return price >= min && price <= max;
-                        } catch (NumberFormatException e) {
-                            return false;
-                        }
-                    })
-                    .collect(Collectors.toList());
+            return priceIndex.findBetween(min, max, trainDetailsRepository::findByIds, trainDetailsRepository::findAll, TrainDetails::getId);
         } catch (NumberFormatException e) {
-            System.out.println("✗ Service Error: Invalid price format");
+            log.warn("✗ Service Error: Invalid price format");
             return new ArrayList<>();
         }
     }
 
+    /**
+     * In-memory price index of all trains, e.g. for price histograms
+     */
+    public PriceIndex getPriceIndex() {
+        return priceIndex;
+    }
+
     public List<TrainDetails> searchTrains(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Search term cannot be null or empty");
+            log.warn("✗ Service Error: Search term cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -260,71 +282,80 @@ public class TrainDetailsService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Tell route caches and indexes (the fare calendar, the search index) that a trip on this route changed
+     */
+    private void publishRouteChange(TrainDetails trainDetails) {
+        String origin = trainDetails.getTrainDepartureStation() != null ? trainDetails.getTrainDepartureStation().getTrainStationCode() : null;
+        String destination = trainDetails.getTrainArrivalStation() != null ? trainDetails.getTrainArrivalStation().getTrainStationCode() : null;
+        eventPublisher.publishEvent(new TripChangedEvent("train", origin, destination));
+    }
+
     // ============================================================================
     // BUSINESS VALIDATION
     // ============================================================================
 
     private boolean isValidForService(TrainDetails trainDetails) {
         if (trainDetails == null) {
-            System.out.println("✗ Service Error: Train details cannot be null");
+            log.warn("✗ Service Error: Train details cannot be null");
             return false;
         }
 
         if (trainDetails.getTrainNumber() == null || trainDetails.getTrainNumber().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Train number is required");
+            log.warn("✗ Service Error: Train number is required");
             return false;
         }
 
         if (trainDetails.getTrainLine() == null || trainDetails.getTrainLine().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Train line is required");
+            log.warn("✗ Service Error: Train line is required");
             return false;
         }
 
         if (trainDetails.getTrainDepartureStation() == null || trainDetails.getTrainArrivalStation() == null) {
-            System.out.println("✗ Service Error: Both departure and arrival stations are required");
+            log.warn("✗ Service Error: Both departure and arrival stations are required");
             return false;
         }
 
         if (trainDetails.getTrainDepartureStation().getId().equals(trainDetails.getTrainArrivalStation().getId())) {
-            System.out.println("✗ Service Error: Departure and arrival stations cannot be the same");
+            log.warn("✗ Service Error: Departure and arrival stations cannot be the same");
             return false;
         }
 
         if (trainStationRepository.findById(trainDetails.getTrainDepartureStation().getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Departure station not found in database");
+            log.warn("✗ Service Error: Departure station not found in database");
             return false;
         }
 
         if (trainStationRepository.findById(trainDetails.getTrainArrivalStation().getId()).isEmpty()) {
-            System.out.println("✗ Service Error: Arrival station not found in database");
+            log.warn("✗ Service Error: Arrival station not found in database");
             return false;
         }
 
         if (!validatorService.isValidDate(trainDetails.getTrainDepartureDate()) ||
                 !validatorService.isValidDate(trainDetails.getTrainArrivalDate())) {
-            System.out.println("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
+            log.warn("✗ Service Error: Invalid date format. Use YYYY-MM-DD");
             return false;
         }
 
         if (!validatorService.isValidTime(trainDetails.getTrainDepartureTime()) ||
                 !validatorService.isValidTime(trainDetails.getTrainArrivalTime())) {
-            System.out.println("✗ Service Error: Invalid time format. Use HH:MM");
+            log.warn("✗ Service Error: Invalid time format. Use HH:MM");
             return false;
         }
 
         if (trainDetails.getTrainRidePrice() == null || trainDetails.getTrainRidePrice().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Train price is required");
+            log.warn("✗ Service Error: Train price is required");
             return false;
         }
 
         try {
             double price = Double.parseDouble(trainDetails.getTrainRidePrice());
             if (price <= 0) {
-                System.out.println("✗ Service Error: Train price must be positive");
+                log.warn("✗ Service Error: Train price must be positive");
                 return false;
             }
         } catch (NumberFormatException e) {
-            System.out.println("✗ Service Error: Train price must be a valid number");
+            log.warn("✗ Service Error: Train price must be a valid number");
             return false;
         }
 
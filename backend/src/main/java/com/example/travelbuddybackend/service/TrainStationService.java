@@ -2,7 +2,10 @@ package com.example.travelbuddybackend.service;
 
 import com.example.travelbuddybackend.models.TrainStation;
 import com.example.travelbuddybackend.repository.TrainStationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -13,11 +16,19 @@ import java.util.stream.Collectors;
 @Service
 public class TrainStationService {
 
+    private static final Logger log = LoggerFactory.getLogger(TrainStationService.class);
+
     private final TrainStationRepository trainStationRepository;
+    private final StationAutocompleteService stationAutocompleteService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public TrainStationService(TrainStationRepository trainStationRepository) {
+    public TrainStationService(TrainStationRepository trainStationRepository,
+                               StationAutocompleteService stationAutocompleteService,
+                               ApplicationEventPublisher eventPublisher) {
         this.trainStationRepository = trainStationRepository;
+        this.stationAutocompleteService = stationAutocompleteService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -35,7 +46,7 @@ public class TrainStationService {
      */
     public Optional<TrainStation> getTrainStationById(Integer id) {
         if (id == null) {
-            System.out.println("✗ Service Error: Train station ID cannot be null");
+            log.warn("✗ Service Error: Train station ID cannot be null");
             return Optional.empty();
         }
         return trainStationRepository.findById(id);
@@ -48,7 +59,7 @@ public class TrainStationService {
      */
     public Optional<TrainStation> getTrainStationByCode(String stationCode) {
         if (stationCode == null || stationCode.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Station code cannot be null or empty");
+            log.warn("✗ Service Error: Station code cannot be null or empty");
             return Optional.empty();
         }
         return trainStationRepository.findByStationCode(stationCode);
@@ -61,7 +72,7 @@ public class TrainStationService {
      */
     public List<TrainStation> getTrainStationsByCity(String city) {
         if (city == null || city.trim().isEmpty()) {
-            System.out.println("✗ Service Error: City cannot be null or empty");
+            log.warn("✗ Service Error: City cannot be null or empty");
             return new ArrayList<>();
         }
         return trainStationRepository.findByCity(city);
@@ -74,15 +85,16 @@ public class TrainStationService {
      */
     public boolean addTrainStation(TrainStation trainStation) {
         if (trainStation == null) {
-            System.out.println("✗ Service Error: Cannot add null train station");
+            log.warn("✗ Service Error: Cannot add null train station");
             return false;
         }
 
         boolean success = trainStationRepository.createTrainStation(trainStation);
         if (success) {
-            System.out.println("✓ Service: Train station successfully added through service layer");
+            log.info("✓ Service: Train station successfully added through service layer");
+            eventPublisher.publishEvent(new StationChangedEvent("train"));
         } else {
-            System.out.println("✗ Service: Failed to add train station through service layer");
+            log.warn("✗ Service: Failed to add train station through service layer");
         }
         return success;
     }
@@ -94,20 +106,21 @@ public class TrainStationService {
      */
     public boolean updateTrainStation(TrainStation trainStation) {
         if (trainStation == null) {
-            System.out.println("✗ Service Error: Cannot update null train station");
+            log.warn("✗ Service Error: Cannot update null train station");
             return false;
         }
 
         if (trainStation.getId() == null || trainStation.getId() <= 0) {
-            System.out.println("✗ Service Error: Train station must have a valid ID for update");
+            log.warn("✗ Service Error: Train station must have a valid ID for update");
             return false;
         }
 
         boolean success = trainStationRepository.updateTrainStation(trainStation);
         if (success) {
-            System.out.println("✓ Service: Train station successfully updated through service layer");
+            log.info("✓ Service: Train station successfully updated through service layer");
+            eventPublisher.publishEvent(new StationChangedEvent("train"));
         } else {
-            System.out.println("✗ Service: Failed to update train station through service layer");
+            log.warn("✗ Service: Failed to update train station through service layer");
         }
         return success;
     }
@@ -119,20 +132,21 @@ public class TrainStationService {
      */
     public boolean deleteTrainStation(Integer id) {
         if (id == null) {
-            System.out.println("✗ Service Error: Train station ID cannot be null");
+            log.warn("✗ Service Error: Train station ID cannot be null");
             return false;
         }
 
         if (id <= 0) {
-            System.out.println("✗ Service Error: Invalid train station ID: " + id);
+            log.warn("✗ Service Error: Invalid train station ID: {}", id);
             return false;
         }
 
         boolean success = trainStationRepository.deleteTrainStation(id);
         if (success) {
-            System.out.println("✓ Service: Train station successfully deleted through service layer");
+            log.info("✓ Service: Train station successfully deleted through service layer");
+            eventPublisher.publishEvent(new StationChangedEvent("train"));
         } else {
-            System.out.println("✗ Service: Failed to delete train station through service layer");
+            log.warn("✗ Service: Failed to delete train station through service layer");
         }
         return success;
     }
@@ -177,7 +191,7 @@ public class TrainStationService {
      */
     public List<TrainStation> findTrainStationsByPartialName(String partialName) {
         if (partialName == null || partialName.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Partial name cannot be null or empty");
+            log.warn("✗ Service Error: Partial name cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -190,7 +204,7 @@ public class TrainStationService {
 
     public List<TrainStation> findTrainStationsByCode(String code) {
         if (code == null || code.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Partial name cannot be null or empty");
+            log.warn("✗ Service Error: Partial name cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -208,7 +222,7 @@ public class TrainStationService {
      */
     public List<TrainStation> findTrainStationsByPartialCity(String partialCity) {
         if (partialCity == null || partialCity.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Partial city name cannot be null or empty");
+            log.warn("✗ Service Error: Partial city name cannot be null or empty");
             return new ArrayList<>();
         }
 
@@ -220,25 +234,13 @@ public class TrainStationService {
     }
 
     /**
-     * Search train stations by multiple criteria (for advanced search functionality)
-     * @param searchTerm The search term to match against station name, code, or city
-     * @return List of train stations matching the search term
+     * Search train stations by code, name or city, as typed into the station search box
+     * @param searchTerm Text typed so far; may be partial or misspelt
+     * @param sessionId Search-as-you-type session of the search box, or null
+     * @return The best matches first, at most autocomplete.limit (see StationAutocompleteService)
      */
-    public List<TrainStation> searchTrainStations(String searchTerm) {
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            System.out.println("✗ Service Error: Search term cannot be null or empty");
-            return new ArrayList<>();
-        }
-
-        String lowerSearchTerm = searchTerm.toLowerCase();
-        List<TrainStation> allTrainStations = getAllTrainStations();
-
-        return allTrainStations.stream()
-                .filter(station ->
-                        station.getTrainStationFullName().toLowerCase().contains(lowerSearchTerm) ||
-                                station.getTrainStationCode().toLowerCase().contains(lowerSearchTerm) ||
-                                station.getTrainStationCityLocation().toLowerCase().contains(lowerSearchTerm))
-                .collect(Collectors.toList());
+    public List<TrainStation> searchTrainStations(String searchTerm, String sessionId) {
+        return stationAutocompleteService.searchTrainStations(searchTerm, sessionId);
     }
 
     /**
@@ -274,22 +276,22 @@ public class TrainStationService {
      */
     public boolean isValidTrainStation(TrainStation trainStation) {
         if (trainStation == null) {
-            System.out.println("✗ Service Error: Train station cannot be null");
+            log.warn("✗ Service Error: Train station cannot be null");
             return false;
         }
 
         if (trainStation.getTrainStationFullName() == null || trainStation.getTrainStationFullName().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Train station full name is required");
+            log.warn("✗ Service Error: Train station full name is required");
             return false;
         }
 
         if (!isValidStationCode(trainStation.getTrainStationCode())) {
-            System.out.println("✗ Service Error: Invalid train station code format");
+            log.warn("✗ Service Error: Invalid train station code format");
             return false;
         }
 
         if (trainStation.getTrainStationCityLocation() == null || trainStation.getTrainStationCityLocation().trim().isEmpty()) {
-            System.out.println("✗ Service Error: Train station city location is required");
+            log.warn("✗ Service Error: Train station city location is required");
             return false;
         }
 
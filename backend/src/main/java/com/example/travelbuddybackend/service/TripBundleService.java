@@ -0,0 +1,237 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.index.ConnectionScan.Journey;
+import com.example.travelbuddybackend.index.ConnectionTimetable;
+import com.example.travelbuddybackend.service.ConnectionSearchService.Itinerary;
+import com.example.travelbuddybackend.service.SearchFanOut.ModeOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Trip Bundle Service
+ *
+ * Round-trip and multi-city search: one connection search per segment, run
+ * concurrently on the search fan-out against the same timetable snapshot,
+ * joined into bundles of one itinerary per segment where each segment leaves
+ * at least trip-bundle.min-stopover after the previous one arrives.
+ *
+ * Bundles are ranked by total price then total travel time (sort=price), or
+ * the other way round (sort=duration). The top ones come from a bounded
+ * best-first join (BundleJoin) over each segment's options, so the cross
+ * product is never built; only the legs of the returned bundles are read
+ * back from the database.
+ */
+@Service
+public class TripBundleService {
+
+    private static final Logger log = LoggerFactory.getLogger(TripBundleService.class);
+
+    // A segment's score packs (price in cents, minutes) into one long for the join; see scoreBy()
+    private static final int MINUTE_BITS = 21;
+
+    private final ConnectionSearchService connectionSearchService;
+    private final SearchFanOut searchFanOut;
+    private final int maxSegments;
+    private final int minStopoverMinutes;
+    private final int maxExpansions;
+
+    @Autowired
+    public TripBundleService(ConnectionSearchService connectionSearchService,
+                             SearchFanOut searchFanOut,
+                             @Value("${trip-bundle.max-segments:6}") int maxSegments,
+                             @Value("${trip-bundle.min-stopover:2h}") Duration minStopover,
+                             @Value("${trip-bundle.max-expansions:10000}") int maxExpansions) {
+        this.connectionSearchService = connectionSearchService;
+        this.searchFanOut = searchFanOut;
+        this.maxSegments = maxSegments;
+        this.minStopoverMinutes = (int) minStopover.toMinutes();
+        this.maxExpansions = maxExpansions;
+    }
+
+    /**
+     * One leg of a multi-city trip
+     * @param from Airport or station code, or city name
+     * @param to Airport or station code, or city name
+     * @param departure YYYY-MM-DD or an ISO date-time; the segment leaves within
+     *                  connection-search.departure-window of it
+     */
+    public record Segment(String from, String to, String departure) {
+    }
+
+    /**
+     * Body of POST /api/search/multi-city
+     * @param transfers Most transfers per segment; null for connection-search.max-transfers
+     * @param transportTypes Comma-separated flight, train, bus; null for all
+     * @param sort price (default) or duration
+     */
+    public record MultiCityRequest(List<Segment> segments, Integer transfers, String transportTypes,
+                                   String sort, Integer limit) {
+    }
+
+    /**
+     * One itinerary per segment, in segment order
+     * @param travelMinutes Sum of the segments' durations, without the stays between them
+     */
+    public record TripBundle(List<Itinerary> segments, double totalPrice, long travelMinutes) {
+    }
+
+    // ============================================================================
+    // CORE BUSINESS OPERATIONS
+    // ============================================================================
+
+    /**
+     * Outbound and return joined into round trips
+     * @see #search(MultiCityRequest)
+     */
+    public Optional<List<TripBundle>> searchRoundTrip(String from, String to, String departure, String returnDeparture,
+                                                      Integer transfers, String transportTypes, String sort, int limit) {
+        return search(new MultiCityRequest(List.of(new Segment(from, to, departure), new Segment(to, from, returnDeparture)),
+                transfers, transportTypes, sort, limit));
+    }
+
+    /**
+     * Search every segment and join the results
+     * @return The best bundles, or empty if the connection timetable isn't loaded
+     * @throws IllegalArgumentException for a missing or invalid segment, mode, sort or limit
+     */
+    public Optional<List<TripBundle>> search(MultiCityRequest request) {
+        List<Segment> segments = request.segments();
+        if (segments == null || segments.isEmpty() || segments.size() > maxSegments) {
+            throw new IllegalArgumentException("Between 1 and " + maxSegments + " segments are required");
+        }
+        List<LocalDateTime> departures = new ArrayList<>(segments.size());
+        for (Segment segment : segments) {
+            if (segment == null || segment.departure() == null) {
+                throw new IllegalArgumentException("Every segment needs a departure");
+            }
+            LocalDateTime departure = ConnectionSearchService.parseDeparture(segment.departure());
+            ConnectionSearchService.checkRoute(segment.from(), segment.to(), departure);
+            departures.add(departure);
+        }
+        int transfers = connectionSearchService.transferLimit(request.transfers());
+        int modeMask = ConnectionSearchService.modeMask(request.transportTypes());
+        ToLongFunction<Journey> score = scoreBy(request.sort());
+        int limit = request.limit() != null ? request.limit() : 10;
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+
+        ConnectionTimetable timetable = connectionSearchService.timetable();
+        if (timetable == null) {
+            return Optional.empty();
+        }
+
+        // Every segment scans the same snapshot, concurrently
+        LinkedHashMap<String, Supplier<List<Journey>>> scans = new LinkedHashMap<>();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            LocalDateTime departure = departures.get(i);
+            scans.put("segment " + (i + 1), () -> connectionSearchService.scan(timetable, segment.from(), segment.to(),
+                    departure, transfers, modeMask));
+        }
+        List<List<Journey>> options = new ArrayList<>(segments.size());
+        for (ModeOutcome<List<Journey>> outcome : searchFanOut.invokeAll(scans, List.of())) {
+            if (outcome.degraded()) {
+                log.warn("⚠️ Trip bundles: {} did not finish, no bundles returned", outcome.mode());
+                return Optional.of(List.of());
+            }
+            List<Journey> sorted = new ArrayList<>(outcome.value());
+            sorted.sort(Comparator.comparingLong(score));
+            options.add(sorted);
+        }
+
+        long[][] scores = new long[options.size()][];
+        for (int i = 0; i < options.size(); i++) {
+            scores[i] = options.get(i).stream().mapToLong(score).toArray();
+        }
+        List<int[]> choices = BundleJoin.best(scores, choice -> feasible(options, choice), limit, maxExpansions);
+        List<TripBundle> bundles = toBundles(timetable, options, choices);
+        log.debug("🔍 Trip bundles: {} segments, {} options, {} bundles", segments.size(),
+                options.stream().mapToInt(List::size).sum(), bundles.size());
+        return Optional.of(bundles);
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    /**
+     * Join score of one segment option. Price and minutes are packed so that
+     * sums of scores still order by (total price, total minutes), or the reverse.
+     */
+    private static ToLongFunction<Journey> scoreBy(String sort) {
+        if (sort == null || sort.isEmpty() || sort.equals("price")) {
+            return journey -> (long) journey.price() << MINUTE_BITS | duration(journey);
+        }
+        if (sort.equals("duration")) {
+            return journey -> (long) duration(journey) << 32 | journey.price();
+        }
+        throw new IllegalArgumentException("sort must be price or duration");
+    }
+
+    private static int duration(Journey journey) {
+        return Math.min(journey.arrival() - journey.departure(), (1 << MINUTE_BITS) - 1);
+    }
+
+    private boolean feasible(List<List<Journey>> options, int[] choice) {
+        for (int i = 1; i < choice.length; i++) {
+            Journey previous = options.get(i - 1).get(choice[i - 1]);
+            if (options.get(i).get(choice[i]).departure() < previous.arrival() + minStopoverMinutes) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read back the legs of the chosen bundles, dropping bundles with a stale leg
+     */
+    private List<TripBundle> toBundles(ConnectionTimetable timetable, List<List<Journey>> options, List<int[]> choices) {
+        Map<Journey, Itinerary> itineraries = new IdentityHashMap<>();
+        for (int[] choice : choices) {
+            for (int i = 0; i < choice.length; i++) {
+                itineraries.put(options.get(i).get(choice[i]), null);
+            }
+        }
+        List<Journey> journeys = new ArrayList<>(itineraries.keySet());
+        List<Itinerary> loaded = connectionSearchService.toItineraries(timetable, journeys);
+        for (int i = 0; i < journeys.size(); i++) {
+            itineraries.put(journeys.get(i), loaded.get(i));
+        }
+
+        List<TripBundle> bundles = new ArrayList<>(choices.size());
+        for (int[] choice : choices) {
+            List<Itinerary> segments = new ArrayList<>(choice.length);
+            double totalPrice = 0;
+            long travelMinutes = 0;
+            for (int i = 0; i < choice.length; i++) {
+                Itinerary itinerary = itineraries.get(options.get(i).get(choice[i]));
+                if (itinerary == null) {
+                    break;
+                }
+                segments.add(itinerary);
+                totalPrice += itinerary.totalPrice();
+                travelMinutes += itinerary.durationMinutes();
+            }
+            if (segments.size() == choice.length) {
+                bundles.add(new TripBundle(segments, Math.round(totalPrice * 100) / 100.0, travelMinutes));
+            }
+        }
+        return bundles;
+    }
+}
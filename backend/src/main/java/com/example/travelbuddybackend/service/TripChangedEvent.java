@@ -0,0 +1,13 @@
+package com.example.travelbuddybackend.service;
+
+/**
+ * Published by the detail services after a trip is added, updated or deleted,
+ * so caches and indexes built from the timetable can drop that route.
+ * An update that moves a trip to another route publishes one event per route.
+ *
+ * @param transportType flight, train or bus
+ * @param originCode Airport or station code the trip departs from
+ * @param destinationCode Airport or station code the trip arrives at
+ */
+public record TripChangedEvent(String transportType, String originCode, String destinationCode) {
+}
@@ -1,5 +1,7 @@
 package com.example.travelbuddybackend.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -11,6 +13,8 @@ import java.util.regex.Pattern;
 @Service
 public class ValidatorService {
 
+    private static final Logger log = LoggerFactory.getLogger(ValidatorService.class);
+
     // Date format pattern - matches your Angular component format: YYYY-MM-DD
     private static final String DATE_FORMAT = "yyyy-MM-dd";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT);
@@ -30,17 +34,17 @@ public class ValidatorService {
      */
     public boolean isValidDate(String dateString) {
         if (dateString == null || dateString.trim().isEmpty()) {
-            System.out.println("✗ Validator: Date cannot be null or empty");
+            log.warn("✗ Validator: Date cannot be null or empty");
             return false;
         }
 
         try {
             // Parse the date to ensure it's valid (e.g., 2024-02-30 would fail)
             LocalDate.parse(dateString.trim(), DATE_FORMATTER);
-            System.out.println("✓ Validator: Valid date format: " + dateString);
+            log.debug("✓ Validator: Valid date format: {}", dateString);
             return true;
         } catch (DateTimeParseException e) {
-            System.out.println("✗ Validator: Invalid date format '" + dateString + "'. Expected: " + DATE_FORMAT);
+            log.warn("✗ Validator: Invalid date format '{}'. Expected: {}", dateString, DATE_FORMAT);
             return false;
         }
     }
@@ -53,16 +57,16 @@ public class ValidatorService {
      */
     public boolean isValidTime(String timeString) {
         if (timeString == null || timeString.trim().isEmpty()) {
-            System.out.println("✗ Validator: Time cannot be null or empty");
+            log.warn("✗ Validator: Time cannot be null or empty");
             return false;
         }
 
         try {
             LocalTime.parse(timeString.trim(), TIME_FORMATTER);
-            System.out.println("✓ Validator: Valid time format: " + timeString);
+            log.debug("✓ Validator: Valid time format: {}", timeString);
             return true;
         } catch (DateTimeParseException e) {
-            System.out.println("✗ Validator: Invalid time format '" + timeString + "'. Expected: " + TIME_FORMAT);
+            log.warn("✗ Validator: Invalid time format '{}'. Expected: {}", timeString, TIME_FORMAT);
             return false;
         }
     }
@@ -75,24 +79,24 @@ public class ValidatorService {
      */
     public boolean isValidDuration(String durationString) {
         if (durationString == null || durationString.trim().isEmpty()) {
-            System.out.println("✗ Validator: Duration cannot be null or empty");
+            log.warn("✗ Validator: Duration cannot be null or empty");
             return false;
         }
 
         String trimmedDuration = durationString.trim();
 
         if (!DURATION_PATTERN.matcher(trimmedDuration).matches()) {
-            System.out.println("✗ Validator: Invalid duration format '" + durationString + "'. Expected: '2h 30m', '1h', or '45m'");
+            log.warn("✗ Validator: Invalid duration format '{}'. Expected: '2h 30m', '1h', or '45m'", durationString);
             return false;
         }
 
         // Additional validation: must have at least hours OR minutes
         if (!trimmedDuration.contains("h") && !trimmedDuration.contains("m")) {
-            System.out.println("✗ Validator: Duration must include hours (h) and/or minutes (m)");
+            log.warn("✗ Validator: Duration must include hours (h) and/or minutes (m)");
             return false;
         }
 
-        System.out.println("✓ Validator: Valid duration format: " + durationString);
+        log.debug("✓ Validator: Valid duration format: {}", durationString);
         return true;
     }
 
@@ -111,14 +115,14 @@ public class ValidatorService {
             LocalDate today = LocalDate.now();
 
             if (inputDate.isBefore(today)) {
-                System.out.println("✗ Validator: Date " + dateString + " is in the past");
+                log.warn("✗ Validator: Date {} is in the past", dateString);
                 return false;
             }
 
-            System.out.println("✓ Validator: Future date validation passed: " + dateString);
+            log.debug("✓ Validator: Future date validation passed: {}", dateString);
             return true;
         } catch (Exception e) {
-            System.out.println("✗ Validator: Error validating future date: " + e.getMessage());
+            log.error("✗ Validator: Error validating future date: {}", e.getMessage());
             return false;
         }
     }
@@ -146,16 +150,16 @@ public class ValidatorService {
                 LocalDate arrDate = LocalDate.parse(arrivalDate.trim(), DATE_FORMATTER);
 
                 if (arrDate.isBefore(depDate)) {
-                    System.out.println("✗ Validator: Arrival date cannot be before departure date");
+                    log.warn("✗ Validator: Arrival date cannot be before departure date");
                     return false;
                 }
             } catch (Exception e) {
-                System.out.println("✗ Validator: Error comparing dates: " + e.getMessage());
+                log.error("✗ Validator: Error comparing dates: {}", e.getMessage());
                 return false;
             }
         }
 
-        System.out.println("✓ Validator: Booking dates validation passed");
+        log.debug("✓ Validator: Booking dates validation passed");
         return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.example.travelbuddybackend.controller;
+
+import com.example.travelbuddybackend.models.AvailableTicket;
+import com.example.travelbuddybackend.service.BookingSearchService;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import com.example.travelbuddybackend.service.BookingSearchService.SearchResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Ticket Page Tests
+ *
+ * The available-tickets endpoint pages and sorts on the server, caps the
+ * page size at search.page.max-limit and always reports the total.
+ */
+class TicketPageTests {
+
+    private static final int TICKETS = 700;
+
+    private final MockMvc mockMvc = mockMvc();
+
+    /**
+     * Tickets 1..700 in search order, priced from the most expensive down
+     */
+    private static MockMvc mockMvc() {
+        List<AvailableTicket> tickets = new ArrayList<>();
+        for (long id = 1; id <= TICKETS; id++) {
+            tickets.add(new AvailableTicket(id, "flight", "LH" + id, "FRA", "CDG",
+                    "2025-03-01 08:00", "2025-03-01 09:30", (double) (TICKETS - id), "Lufthansa"));
+        }
+        BookingSearchService bookingSearchService = new BookingSearchService(null, null, null, null, null, null, null, null,
+                new SimpleMeterRegistry()) {
+            @Override
+            public SearchResult search(BookingSearchCriteria criteria, String sessionId) {
+                return new SearchResult(tickets, Set.of());
+            }
+        };
+        BookingSearchController controller = new BookingSearchController();
+        ReflectionTestUtils.setField(controller, "bookingSearchService", bookingSearchService);
+        ReflectionTestUtils.setField(controller, "maxPageLimit", 500);
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private ResultActions search(String query) throws Exception {
+        return mockMvc.perform(post("/api/search/available-tickets" + query)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"));
+    }
+
+    @Test
+    void aLimitAboveTheMaximumIsCapped() throws Exception {
+        search("?sort=price&limit=100000")
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingSearchController.TOTAL_COUNT_HEADER, "700"))
+                .andExpect(jsonPath("$", hasSize(500)))
+                .andExpect(jsonPath("$[0].id").value(700))
+                .andExpect(jsonPath("$[499].id").value(201));
+        search("?limit=500&offset=650")
+                .andExpect(jsonPath("$", hasSize(50)))
+                .andExpect(jsonPath("$[0].id").value(651));
+    }
+
+    @Test
+    void withoutALimitEveryTicketIsReturned() throws Exception {
+        search("")
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingSearchController.TOTAL_COUNT_HEADER, "700"))
+                .andExpect(jsonPath("$", hasSize(TICKETS)))
+                .andExpect(jsonPath("$[0].id").value(1));
+        search("?sort=price&offset=695")
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[4].id").value(1));
+        search("?sort=price&limit=0")
+                .andExpect(jsonPath("$", hasSize(0)))
+                .andExpect(header().string(BookingSearchController.TOTAL_COUNT_HEADER, "700"));
+    }
+
+    @Test
+    void anUnknownSortIsABadRequest() throws Exception {
+        search("?sort=cheapest").andExpect(status().isBadRequest());
+        search("?limit=-1").andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.travelbuddybackend.controller;
+
+import com.example.travelbuddybackend.models.BusDetails;
+import com.example.travelbuddybackend.models.FlightDetails;
+import com.example.travelbuddybackend.models.TrainDetails;
+import com.example.travelbuddybackend.monitoring.RequestQueryTracker;
+import com.example.travelbuddybackend.repository.BusDetailsRepository;
+import com.example.travelbuddybackend.repository.FlightDetailsRepository;
+import com.example.travelbuddybackend.repository.TrainDetailsRepository;
+import com.example.travelbuddybackend.service.BookingSearchService;
+import com.example.travelbuddybackend.service.BusDetailsService;
+import com.example.travelbuddybackend.service.FlightDetailsService;
+import com.example.travelbuddybackend.service.SearchFanOut;
+import com.example.travelbuddybackend.service.TrainDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Ticket Stream Tests
+ *
+ * The available-tickets SSE stream ends with a summary naming the degraded
+ * modes, also when a mode misses the fan-out deadline.
+ */
+class TicketStreamTests {
+
+    // Holds the slow flight search until the test is over
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SearchFanOut searchFanOut;
+
+    @AfterEach
+    void releaseSlowSearch() {
+        release.countDown();
+        searchFanOut.shutdown();
+    }
+
+    private MockMvc mockMvc(boolean slowFlights) {
+        FlightDetailsRepository flights = new FlightDetailsRepository(null, null) {
+            @Override
+            public List<FlightDetails> findAll() {
+                if (slowFlights) {
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return List.of();
+            }
+        };
+        TrainDetailsRepository trains = new TrainDetailsRepository(null, null) {
+            @Override
+            public List<TrainDetails> findAll() {
+                return List.of();
+            }
+        };
+        BusDetailsRepository buses = new BusDetailsRepository(null, null) {
+            @Override
+            public List<BusDetails> findAll() {
+                return List.of();
+            }
+        };
+        Duration refresh = Duration.ofMinutes(5);
+        searchFanOut = new SearchFanOut(new RequestQueryTracker(), true, 4, 10, Duration.ofMillis(200), false);
+        BookingSearchService bookingSearchService = new BookingSearchService(null,
+                new FlightDetailsService(flights, null, null, null, refresh),
+                new TrainDetailsService(trains, null, null, null, refresh),
+                new BusDetailsService(buses, null, null, null, refresh),
+                searchFanOut, null, null, null, new SimpleMeterRegistry());
+
+        BookingSearchController controller = new BookingSearchController();
+        ReflectionTestUtils.setField(controller, "bookingSearchService", bookingSearchService);
+        ReflectionTestUtils.setField(controller, "streamTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(controller, "streamHeartbeat", Duration.ofSeconds(1));
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    /**
+     * The events of a stream, once it has completed
+     */
+    private static String stream(MockMvc mockMvc) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/search/available-tickets/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(10_000); // throws if the stream isn't completed in time
+        return result.getResponse().getContentAsString();
+    }
+
+    @Test
+    void everyModeReportsBeforeTheSummary() throws Exception {
+        String events = stream(mockMvc(false));
+
+        for (String mode : List.of("flight", "train", "bus")) {
+            assertTrue(events.contains("\"mode\":\"" + mode + "\",\"tickets\":[],\"degraded\":false"), events);
+        }
+        assertTrue(events.contains("event:summary"), events);
+        assertTrue(events.contains("\"total\":0,\"degradedModes\":[]"), events);
+    }
+
+    @Test
+    void aModeMissingTheDeadlineStillEndsWithTheSummary() throws Exception {
+        String events = stream(mockMvc(true));
+
+        assertTrue(events.contains("\"mode\":\"flight\",\"tickets\":[],\"degraded\":true"), events);
+        assertTrue(events.contains("\"mode\":\"train\",\"tickets\":[],\"degraded\":false"), events);
+        assertTrue(events.contains("event:summary"), events);
+        assertTrue(events.contains("\"degradedModes\":[\"flight\"]"), events);
+    }
+}
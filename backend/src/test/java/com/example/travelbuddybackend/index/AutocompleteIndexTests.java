@@ -0,0 +1,157 @@
+package com.example.travelbuddybackend.index;
+
+import com.example.travelbuddybackend.index.AutocompleteIndex.Completion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autocomplete Index Tests
+ *
+ * Ranking, typo tolerance and limits of search(), and complete() narrowing
+ * down the previous keystroke's candidates to the same results.
+ */
+class AutocompleteIndexTests {
+
+    private static final String[] WORDS = {"paris", "nord", "gare", "central", "amsterdam", "berlin", "haupt",
+            "bahnhof", "saint", "lazare", "ost", "west", "zurich", "airport", "city", "port"};
+
+    private static AutocompleteIndex<String> index(String[]... stations) {
+        AutocompleteIndex.Builder<String> builder = AutocompleteIndex.builder();
+        for (String[] station : stations) {
+            builder.add(station[0], station[1], station[2], station[3]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * One station as {item, code, name, city}; the item is its code
+     */
+    private static String[] station(String code, String name, String city) {
+        return new String[]{code, code, name, city};
+    }
+
+    @Test
+    void ranksExactCodeThenNamePrefixThenCityThenSubstring() {
+        AutocompleteIndex<String> index = index(
+                station("MPA", "Montparnasse", "Lyon"),
+                station("GCE", "Gare Centrale", "Paris"),
+                station("PRM", "Parma", "Emilia"),
+                station("PNO", "Paris Nord", "Lille"),
+                station("PAR", "Zeta Station", "Nowhere"),
+                station("XYZ", "Unrelated", "Elsewhere"));
+
+        assertEquals(List.of("PAR", "PNO", "PRM", "GCE", "MPA"), index.search("par", 10));
+        assertEquals(List.of("PAR", "PNO", "PRM", "GCE", "MPA"), index.search("  PAR ", 10));
+        assertEquals(List.of("PNO"), index.search("par nor", 10));
+        assertEquals(List.of("GCE"), index.search("gare par", 10));
+        assertEquals(List.of(), index.search("   ", 10));
+        assertEquals(List.of(), index.search(null, 10));
+    }
+
+    @Test
+    void ignoresCaseAccentsAndSpacing() {
+        AutocompleteIndex<String> index = index(
+                station("ZRH", "Zürich Flughafen", "Zürich"),
+                station("STL", "Saint-Lazare", "Paris"));
+
+        assertEquals(List.of("ZRH"), index.search("zur", 10));
+        assertEquals(List.of("ZRH"), index.search("ZÜRICH   flug", 10));
+        assertEquals(List.of("STL"), index.search("saint laz", 10));
+        assertEquals("saint lazare", AutocompleteIndex.fold("  Saint   Lazare "));
+    }
+
+    @Test
+    void toleratesOneEditFromFourLettersAndTwoFromEight() {
+        AutocompleteIndex<String> index = index(
+                station("BER", "Berlin Brandenburg", "Berlin"),
+                station("AMS", "Amsterdam Schiphol", "Amsterdam"));
+
+        assertEquals(List.of("BER"), index.search("berln", 10));       // a deletion
+        assertEquals(List.of("BER"), index.search("brelin", 10));      // a transposition
+        assertEquals(List.of("BER"), index.search("berlxn", 10));      // a substitution
+        assertEquals(List.of(), index.search("brlxn", 10));            // two edits in a short word
+        assertEquals(List.of(), index.search("bxr", 10));              // short words must match exactly
+        assertEquals(List.of("AMS"), index.search("amxterdom", 10));   // two edits from 8 letters
+        assertEquals(List.of(), index.search("axxterdom", 10));        // three edits
+        assertEquals(List.of("AMS"), index.search("amsterdma schip", 10));
+
+        assertEquals(0, AutocompleteIndex.prefixDistance("berl", "berlin", 2));
+        assertEquals(1, AutocompleteIndex.prefixDistance("brel", "berlin", 2));
+        assertEquals(2, AutocompleteIndex.prefixDistance("bxrxin", "berlin", 2));
+        assertEquals(3, AutocompleteIndex.prefixDistance("xxxlin", "berlin", 2));
+    }
+
+    @Test
+    void returnsAtMostLimitMatchesBestFirst() {
+        List<String[]> stations = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            stations.add(station(String.format("P%02d", i), "Port " + (char) ('a' + i % 26) + i, "City " + i));
+        }
+        AutocompleteIndex<String> index = index(stations.toArray(String[][]::new));
+        List<String> all = index.search("port", 100);
+
+        assertEquals(30, all.size());
+        for (int limit : new int[]{1, 5, 29, 30}) {
+            assertEquals(all.subList(0, limit), index.search("port", limit));
+        }
+        assertEquals(List.of(), index.search("port", 0));
+        assertEquals(List.of(), index(new String[0][]).search("port", 10));
+    }
+
+    @Test
+    void completionsNarrowDownToTheSameMatchesAsSearch() {
+        Random random = new Random(42);
+        List<String[]> stations = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            stations.add(station("S" + i, name, WORDS[random.nextInt(WORDS.length)]));
+        }
+        AutocompleteIndex<String> index = index(stations.toArray(String[][]::new));
+
+        int refined = 0;
+        for (int round = 0; round < 200; round++) {
+            String typed = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            int limit = 1 + random.nextInt(20);
+            AutocompleteIndex.Candidates previous = null;
+            for (int length = 1; length <= typed.length(); length++) {
+                String query = typed.substring(0, length);
+                Completion<String> completion = index.complete(query, limit, previous, 200);
+
+                assertEquals(index.search(query, limit), completion.matches(), query);
+                refined += completion.refined() ? 1 : 0;
+                previous = completion.candidates();
+            }
+        }
+        assertTrue(refined > 1000, "too few refined keystrokes: " + refined);
+    }
+
+    @Test
+    void candidatesAreOnlyReusedForAnExtendedQueryOnTheSameIndex() {
+        String[][] stations = {station("PNO", "Paris Nord", "Paris"), station("PRM", "Parma", "Emilia")};
+        AutocompleteIndex<String> index = index(stations);
+        AutocompleteIndex<String> rebuilt = index(stations);
+
+        Completion<String> first = index.complete("par", 10, null, 100);
+        assertFalse(first.refined());
+        assertNotNull(first.candidates());
+        assertEquals(2, first.candidates().size());
+
+        assertTrue(index.complete("pari", 10, first.candidates(), 100).refined());
+        assertFalse(index.complete("pa", 10, first.candidates(), 100).refined());
+        assertFalse(index.complete("nord", 10, first.candidates(), 100).refined());
+        Completion<String> afterRebuild = rebuilt.complete("pari", 10, first.candidates(), 100);
+        assertFalse(afterRebuild.refined());
+        assertEquals(rebuilt.search("pari", 10), afterRebuild.matches());
+
+        assertNull(index.complete("par", 10, null, 1).candidates());
+    }
+}
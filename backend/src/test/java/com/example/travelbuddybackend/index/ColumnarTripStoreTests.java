@@ -0,0 +1,257 @@
+package com.example.travelbuddybackend.index;
+
+import com.example.travelbuddybackend.index.TripSearchEngine.Query;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Columnar Trip Store Tests
+ *
+ * Every query shape checked against a brute-force filter and against the
+ * bitmap TripSearchIndex over the same trips, including unparseable rows,
+ * day boundaries, one-sided price ranges and results spanning many blocks.
+ */
+class ColumnarTripStoreTests {
+
+    private static final String[] CARRIERS = {"Delta", "United", "Air France", "KLM", "Lufthansa"};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+    private static final Query ALL = new Query(null, null, TripSearchEngine.ANY_DAY, null, null, null);
+
+    private record Trip(int id, int origin, int destination, String date, String time, String carrier, String price) {
+    }
+
+    private static ColumnarTripStore store(List<Trip> trips) {
+        ColumnarTripStore.Builder builder = ColumnarTripStore.builder(4);
+        for (Trip trip : trips) {
+            builder.add(trip.id(), trip.origin(), trip.destination(), trip.date(), trip.time(),
+                    trip.date(), trip.time(), trip.carrier(), trip.price());
+        }
+        return builder.build();
+    }
+
+    private static TripSearchIndex index(List<Trip> trips) {
+        TripSearchIndex.Builder builder = TripSearchIndex.builder(4);
+        for (Trip trip : trips) {
+            builder.add(trip.id(), trip.origin(), trip.destination(), trip.date(), trip.carrier(), trip.price());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Ids of the trips matching every criterion of the query, ascending
+     */
+    private static int[] bruteForce(List<Trip> trips, Query query) {
+        String carrier = query.carrier() != null ? query.carrier().trim().toLowerCase(Locale.ROOT) : null;
+        long minCents = TimetableParsing.lowestCents(query.minPrice());
+        long maxCents = TimetableParsing.highestCents(query.maxPrice());
+        boolean byPrice = query.minPrice() != null || query.maxPrice() != null;
+        return trips.stream()
+                .filter(t -> query.origins() == null || query.origins().get(t.origin()))
+                .filter(t -> query.destinations() == null || query.destinations().get(t.destination()))
+                .filter(t -> query.day() == TripSearchEngine.ANY_DAY || TimetableParsing.epochDay(t.date()) == query.day())
+                .filter(t -> carrier == null || (t.carrier() != null && t.carrier().toLowerCase(Locale.ROOT).contains(carrier)))
+                .filter(t -> !byPrice || (TimetableParsing.cents(t.price()) >= 0
+                        && TimetableParsing.cents(t.price()) >= minCents && TimetableParsing.cents(t.price()) <= maxCents))
+                .mapToInt(Trip::id)
+                .sorted()
+                .toArray();
+    }
+
+    private static void assertMatches(ColumnarTripStore store, List<Trip> trips, Query query) {
+        assertArrayEquals(bruteForce(trips, query), store.tripIds(query, Integer.MAX_VALUE), query.toString());
+    }
+
+    private static BitSet locations(int... ids) {
+        BitSet set = new BitSet();
+        for (int id : ids) {
+            set.set(id);
+        }
+        return set;
+    }
+
+    private static Query byDay(LocalDate date) {
+        return new Query(null, null, TripSearchEngine.day(date), null, null, null);
+    }
+
+    private static Query byPrice(Double minPrice, Double maxPrice) {
+        return new Query(null, null, TripSearchEngine.ANY_DAY, null, minPrice, maxPrice);
+    }
+
+    /**
+     * Trips with shuffled ids, some with an unknown station (0), an unparseable date, time or price, or no carrier
+     */
+    private static List<Trip> randomTrips(Random random, int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(1 + i * 3);
+        }
+        Collections.shuffle(ids, random);
+        List<Trip> trips = new ArrayList<>();
+        for (int id : ids) {
+            String date = random.nextInt(50) == 0 ? "soon" : FIRST_DAY.plusDays(random.nextInt(20)).toString();
+            String time = random.nextInt(50) == 0 ? "noon"
+                    : String.format(Locale.ROOT, "%02d:%02d", random.nextInt(24), random.nextInt(60));
+            String carrier = random.nextInt(20) == 0 ? null : CARRIERS[random.nextInt(CARRIERS.length)];
+            String price = random.nextInt(50) == 0 ? "n/a" : String.format(Locale.ROOT, "%.2f", random.nextInt(50000) / 100.0);
+            trips.add(new Trip(id, random.nextInt(30), random.nextInt(30), date, time, carrier, price));
+        }
+        return trips;
+    }
+
+    private static Query randomQuery(Random random) {
+        BitSet origins = random.nextBoolean() ? null : locations(random.nextInt(30), random.nextInt(30), random.nextInt(30));
+        BitSet destinations = random.nextInt(3) == 0 ? locations(random.nextInt(30)) : null;
+        int day = random.nextInt(3) == 0 ? TripSearchEngine.day(FIRST_DAY.plusDays(random.nextInt(21))) : TripSearchEngine.ANY_DAY;
+        String carrier = random.nextInt(4) == 0 ? new String[]{"air", " DELTA ", "u", "KLM", "easyJet"}[random.nextInt(5)] : null;
+        Double minPrice = random.nextBoolean() ? random.nextInt(500) * 1.0 : null;
+        Double maxPrice = random.nextBoolean() ? random.nextInt(500) + 0.5 : null;
+        return new Query(origins, destinations, day, carrier, minPrice, maxPrice);
+    }
+
+    @Test
+    void randomQueriesMatchABruteForceFilterAndTheBitmapIndex() {
+        Random random = new Random(42);
+        List<Trip> trips = randomTrips(random, 20000);
+        ColumnarTripStore store = store(trips);
+        TripSearchIndex index = index(trips);
+
+        assertEquals(trips.size(), store.size());
+        assertEquals(28L * trips.size(), store.offHeapBytes());
+        for (int q = 0; q < 300; q++) {
+            Query query = randomQuery(random);
+            int[] expected = bruteForce(trips, query);
+            assertArrayEquals(expected, store.tripIds(query, Integer.MAX_VALUE), query.toString());
+            assertArrayEquals(expected, index.tripIds(query, Integer.MAX_VALUE), query.toString());
+        }
+        assertMatches(store, trips, ALL);
+    }
+
+    @Test
+    void oneSidedPriceRangesSkipInvalidPrices() {
+        List<Trip> trips = new ArrayList<>();
+        String[] prices = {"0", "0.01", "9.99", "10", "10.00", "10.01", "250", "21474836.46", "n/a", "-3", null, "1e3"};
+        for (int i = 0; i < prices.length; i++) {
+            trips.add(new Trip(i + 1, 1, 2, "2025-03-01", "08:00", "Delta", prices[i]));
+        }
+        ColumnarTripStore store = store(trips);
+
+        // A lone bound leaves the other at 0 or Integer.MAX_VALUE cents: -1 must still fall outside
+        for (Double bound : new Double[]{0.0, 0.01, 9.99, 10.0, 10.005, 10.01, 999.99, 1000.0, 21474836.46, 1e12}) {
+            assertMatches(store, trips, byPrice(bound, null));
+            assertMatches(store, trips, byPrice(null, bound));
+            assertMatches(store, trips, byPrice(bound, bound));
+        }
+        assertEquals(0, store.tripIds(byPrice(null, -1.0), 100).length);
+        assertEquals(0, store.tripIds(byPrice(20.0, 10.0), 100).length);
+        assertEquals(9, store.tripIds(byPrice(0.0, null), 100).length);
+        assertEquals(9, store.tripIds(byPrice(null, 1e12), 100).length);
+        assertEquals(12, store.tripIds(ALL, 100).length);
+    }
+
+    @Test
+    void daysAreCutAtMidnightAndSkipUnparseableDates() {
+        List<Trip> trips = new ArrayList<>();
+        int id = 1;
+        // Unparseable dates sort first (departure -1), ahead of the epoch itself
+        for (String date : new String[]{"soon", null, "2025-02-30", "1969-12-31"}) {
+            trips.add(new Trip(id++, 1, 2, date, "10:00", "Delta", "10"));
+        }
+        trips.add(new Trip(id++, 1, 2, "1970-01-01", "00:00", "Delta", "10"));
+        trips.add(new Trip(id++, 1, 2, "1970-01-01", "23:59", "Delta", "10"));
+        for (int d = 0; d < 3; d++) {
+            String date = FIRST_DAY.plusDays(d).toString();
+            for (String time : new String[]{"00:00", "00:01", "12:00", "23:59", "23:59:59", "noon", null}) {
+                trips.add(new Trip(id++, 1, 2, date, time, "Delta", "10"));
+            }
+        }
+        Collections.shuffle(trips, new Random(7));
+        ColumnarTripStore store = store(trips);
+
+        for (LocalDate date : new LocalDate[]{LocalDate.of(1969, 12, 31), LocalDate.of(1970, 1, 1), LocalDate.of(1970, 1, 2),
+                FIRST_DAY.minusDays(1), FIRST_DAY, FIRST_DAY.plusDays(1), FIRST_DAY.plusDays(2), FIRST_DAY.plusDays(3)}) {
+            assertMatches(store, trips, byDay(date));
+            assertMatches(store, trips, new Query(locations(1), null, TripSearchEngine.day(date), null, 5.0, null));
+        }
+        assertEquals(2, store.tripIds(byDay(LocalDate.of(1970, 1, 1)), 100).length);
+        assertEquals(7, store.tripIds(byDay(FIRST_DAY.plusDays(1)), 100).length);
+        assertEquals(trips.size(), store.tripIds(ALL, 100).length);
+    }
+
+    @Test
+    void resultsSpanningManyBlocksAreCompleteAndCappedByTheLimit() {
+        // Far more matches than a 1024-row block, or the initial result buffer
+        Random random = new Random(11);
+        List<Trip> trips = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            trips.add(new Trip(i + 1, i % 2, 5, FIRST_DAY.plusDays(i % 3).toString(), "09:30", "KLM",
+                    String.valueOf(random.nextInt(100))));
+        }
+        ColumnarTripStore store = store(trips);
+        Query evenOrigins = new Query(locations(0), null, TripSearchEngine.ANY_DAY, null, null, null);
+
+        assertMatches(store, trips, evenOrigins);
+        assertMatches(store, trips, ALL);
+        assertMatches(store, trips, byPrice(10.0, 90.0));
+        assertEquals(5000, store.tripIds(evenOrigins, 5000).length);
+        assertNull(store.tripIds(evenOrigins, 4999));
+        assertNull(store.tripIds(ALL, 9999));
+        assertNull(store.tripIds(ALL, 0));
+        assertEquals(10000, store.tripIds(ALL, 10000).length);
+        // Under the limit within one day's slice, over it across days
+        assertEquals(3334, store.tripIds(byDay(FIRST_DAY), 3334).length);
+        assertNull(store.tripIds(new Query(null, null, TripSearchEngine.ANY_DAY, "klm", null, null), 3334));
+    }
+
+    @Test
+    void carriersAreOneDictionaryEntryPerNameIgnoringCase() {
+        List<Trip> trips = List.of(
+                new Trip(1, 1, 2, "2025-03-01", "08:00", "Delta", "10"),
+                new Trip(2, 1, 2, "2025-03-01", "08:00", "DELTA", "10"),
+                new Trip(3, 1, 2, "2025-03-01", "08:00", "Air France", "10"),
+                new Trip(4, 1, 2, "2025-03-01", "08:00", null, "10"),
+                new Trip(5, 1, 2, "2025-03-01", "08:00", "air france", "10"),
+                new Trip(6, 1, 2, "2025-03-01", "08:00", "Delta Connection", "10"));
+        ColumnarTripStore store = store(trips);
+
+        assertEquals(3, store.carrierCount());
+        for (String carrier : new String[]{"delta", " DELTA ", "air", "France", "connection", "a", "ryanair"}) {
+            assertMatches(store, trips, new Query(null, null, TripSearchEngine.ANY_DAY, carrier, null, null));
+        }
+        assertArrayEquals(new int[]{1, 2, 6}, store.tripIds(new Query(null, null, TripSearchEngine.ANY_DAY, "delta", null, null), 10));
+    }
+
+    @Test
+    void emptyStoresAndUnknownLocationsMatchNothing() {
+        ColumnarTripStore empty = store(List.of());
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.carrierCount());
+        assertEquals(0, empty.offHeapBytes());
+        assertEquals(0, empty.tripIds(ALL, 10).length);
+        assertEquals(0, empty.tripIds(byDay(FIRST_DAY), 10).length);
+        assertEquals(0, empty.tripIds(new Query(locations(1), locations(2), TripSearchEngine.day(FIRST_DAY), "delta", 1.0, 2.0), 10).length);
+
+        List<Trip> trips = randomTrips(new Random(5), 500);
+        ColumnarTripStore store = store(trips);
+        // Ids beyond every stored location are ignored, not out of bounds
+        assertEquals(0, store.tripIds(new Query(locations(99), null, TripSearchEngine.ANY_DAY, null, null, null), 10).length);
+        assertEquals(0, store.tripIds(new Query(null, locations(1_000_000), TripSearchEngine.ANY_DAY, null, null, null), 10).length);
+        assertEquals(0, store.tripIds(new Query(new BitSet(), null, TripSearchEngine.ANY_DAY, null, null, null), 10).length);
+        assertMatches(store, trips, new Query(locations(3, 99), locations(4, 5000), TripSearchEngine.ANY_DAY, null, null, null));
+        assertMatches(store, trips, new Query(locations(0), null, TripSearchEngine.ANY_DAY, null, 1.0, null));
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnarTripStore.builder()
+                .add(1, -1, 2, "2025-03-01", "08:00", "2025-03-01", "09:00", "Delta", "10"));
+    }
+}
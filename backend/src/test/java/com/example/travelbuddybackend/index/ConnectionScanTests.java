@@ -0,0 +1,253 @@
+package com.example.travelbuddybackend.index;
+
+import com.example.travelbuddybackend.index.ConnectionScan.Journey;
+import com.example.travelbuddybackend.index.ConnectionScan.Query;
+import com.example.travelbuddybackend.index.ConnectionScan.TransferTimes;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Connection Scan Tests
+ *
+ * Pareto pruning, transfer times and the transfer limit on small hand-made
+ * timetables, and whole result sets checked against a depth-first search of
+ * every itinerary in a random one.
+ */
+class ConnectionScanTests {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final int ALL_MODES = 0b111;
+    private static final TransferTimes TRANSFERS = new TransferTimes(60, 10, 10, 90);
+
+    /**
+     * Timetable clock minute of a minute of DAY
+     */
+    private static int at(int minute) {
+        return ConnectionTimetable.minuteOf(DAY) + minute;
+    }
+
+    private static void connect(ConnectionTimetable.Builder builder, int mode, int tripId, int from, int to,
+                                int departure, int arrival, int cents) {
+        LocalDateTime leaves = DAY.plusMinutes(departure);
+        LocalDateTime arrives = DAY.plusMinutes(arrival);
+        boolean added = builder.addConnection(mode, tripId, from, to,
+                leaves.toLocalDate().toString(), leaves.toLocalTime().toString(),
+                arrives.toLocalDate().toString(), arrives.toLocalTime().toString(), String.valueOf(cents / 100.0));
+        assertTrue(added, "connection " + tripId);
+    }
+
+    private static Query query(ConnectionTimetable timetable, String origin, String destination, int maxTransfers) {
+        return new Query(timetable.stopsAt(origin, ALL_MODES), timetable.stopsAt(destination, ALL_MODES),
+                at(0), at(24 * 60), at(2 * 24 * 60), maxTransfers, ALL_MODES, TRANSFERS);
+    }
+
+    /**
+     * The journeys as "arrival/price/transfers" with arrival in minutes of DAY
+     */
+    private static List<String> summary(List<Journey> journeys) {
+        List<String> summary = new ArrayList<>();
+        for (Journey journey : journeys) {
+            summary.add((journey.arrival() - at(0)) + "/" + journey.price() + "/" + journey.transfers());
+        }
+        return summary;
+    }
+
+    @Test
+    void keepsOnlyItinerariesNotBeatenOnArrivalPriceAndTransfers() {
+        ConnectionTimetable.Builder builder = ConnectionTimetable.builder();
+        builder.addStop(ConnectionTimetable.FLIGHT, 1, "AAA", "Alpha");
+        builder.addStop(ConnectionTimetable.FLIGHT, 2, "BBB", "Beta");
+        builder.addStop(ConnectionTimetable.FLIGHT, 3, "CCC", "Gamma");
+        connect(builder, ConnectionTimetable.FLIGHT, 1, 1, 2, 60, 120, 30000);   // fastest
+        connect(builder, ConnectionTimetable.FLIGHT, 2, 1, 2, 90, 180, 10000);   // cheapest direct
+        connect(builder, ConnectionTimetable.FLIGHT, 3, 1, 2, 100, 200, 20000);  // later and dearer than 2
+        connect(builder, ConnectionTimetable.FLIGHT, 4, 1, 3, 60, 90, 2000);
+        connect(builder, ConnectionTimetable.FLIGHT, 5, 3, 2, 150, 170, 3000);   // via C: earlier and cheaper than 2, one more transfer
+        connect(builder, ConnectionTimetable.FLIGHT, 6, 3, 2, 200, 230, 1000);   // via C: cheapest overall
+        connect(builder, ConnectionTimetable.FLIGHT, 7, 3, 2, 160, 200, 28000);  // via C: beaten by 2 on every count
+        ConnectionTimetable timetable = builder.build();
+
+        List<Journey> journeys = ConnectionScan.search(timetable, query(timetable, "AAA", "BBB", 1));
+
+        assertEquals(List.of("120/30000/0", "170/5000/1", "180/10000/0", "230/3000/1"), summary(journeys));
+        Journey viaC = journeys.get(1);
+        assertEquals(4, timetable.tripId(viaC.connections()[0]));
+        assertEquals(5, timetable.tripId(viaC.connections()[1]));
+        assertEquals(at(60), viaC.departure());
+    }
+
+    @Test
+    void sameStopAndSameCityChangesNeedTheirOwnMinimumTime() {
+        // Arrive at BB1 at minute 100; flights need 60 minutes at the airport, 90 to a station in the same city
+        for (int wait : new int[]{-1, 0}) {
+            ConnectionTimetable.Builder builder = ConnectionTimetable.builder();
+            builder.addStop(ConnectionTimetable.FLIGHT, 1, "AA1", "Alpha");
+            builder.addStop(ConnectionTimetable.FLIGHT, 2, "BB1", "Beta");
+            builder.addStop(ConnectionTimetable.TRAIN, 2, "BB2", "Beta");
+            builder.addStop(ConnectionTimetable.FLIGHT, 3, "DD1", "Delta");
+            builder.addStop(ConnectionTimetable.TRAIN, 3, "DD2", "Delta");
+            connect(builder, ConnectionTimetable.FLIGHT, 1, 1, 2, 40, 100, 1000);
+            connect(builder, ConnectionTimetable.FLIGHT, 2, 2, 3, 100 + 60 + wait, 300, 1000);
+            connect(builder, ConnectionTimetable.TRAIN, 3, 2, 3, 100 + 90 + wait, 400, 500);
+            ConnectionTimetable timetable = builder.build();
+
+            List<String> found = summary(ConnectionScan.search(timetable, query(timetable, "Alpha", "Delta", 1)));
+
+            assertEquals(wait < 0 ? List.of() : List.of("300/2000/1", "400/1500/1"), found);
+        }
+    }
+
+    @Test
+    void stopsAtTheTransferLimit() {
+        ConnectionTimetable.Builder builder = ConnectionTimetable.builder();
+        for (int stop = 1; stop <= 4; stop++) {
+            builder.addStop(ConnectionTimetable.TRAIN, stop, "S" + stop, "City " + stop);
+        }
+        connect(builder, ConnectionTimetable.TRAIN, 1, 1, 2, 0, 60, 1000);
+        connect(builder, ConnectionTimetable.TRAIN, 2, 2, 3, 100, 160, 1000);
+        connect(builder, ConnectionTimetable.TRAIN, 3, 3, 4, 200, 260, 1000);
+        ConnectionTimetable timetable = builder.build();
+
+        assertEquals(List.of(), summary(ConnectionScan.search(timetable, query(timetable, "S1", "S4", 0))));
+        assertEquals(List.of(), summary(ConnectionScan.search(timetable, query(timetable, "S1", "S4", 1))));
+        assertEquals(List.of("260/3000/2"), summary(ConnectionScan.search(timetable, query(timetable, "S1", "S4", 2))));
+        assertEquals(List.of("260/3000/2"), summary(ConnectionScan.search(timetable, query(timetable, "S1", "S4", 5))));
+        assertEquals(List.of(), summary(ConnectionScan.search(timetable, query(timetable, "S1", "S4", -1))));
+    }
+
+    @Test
+    void randomTimetablesMatchAnExhaustiveSearch() {
+        Random random = new Random(42);
+        int multiLeg = 0;
+        for (int round = 0; round < 100; round++) {
+            ConnectionTimetable.Builder builder = ConnectionTimetable.builder();
+            int cities = 5;
+            for (int city = 0; city < cities; city++) {
+                builder.addStop(ConnectionTimetable.FLIGHT, city, "F" + city, "City " + city);
+                builder.addStop(ConnectionTimetable.TRAIN, city, "T" + city, "City " + city);
+                builder.addStop(ConnectionTimetable.BUS, city, "B" + city, city == 0 ? "" : "City " + city);
+            }
+            for (int trip = 0; trip < 120; trip++) {
+                int mode = random.nextInt(3);
+                int from = random.nextInt(cities);
+                int to = (from + 1 + random.nextInt(cities - 1)) % cities;
+                int departure = random.nextInt(20 * 60);
+                connect(builder, mode, trip, from, to, departure, departure + 20 + random.nextInt(240),
+                        100 * (1 + random.nextInt(300)));
+            }
+            ConnectionTimetable timetable = builder.build();
+
+            int origin = random.nextInt(cities);
+            int destination = (origin + 1 + random.nextInt(cities - 1)) % cities;
+            int earliest = random.nextInt(6 * 60);
+            Query query = new Query(timetable.stopsAt("City " + origin, ALL_MODES),
+                    timetable.stopsAt("City " + destination, ALL_MODES),
+                    at(earliest), at(earliest + random.nextInt(10 * 60)), at(earliest + 6 * 60 + random.nextInt(18 * 60)),
+                    random.nextInt(4), 1 + random.nextInt(ALL_MODES),
+                    new TransferTimes(random.nextInt(90), random.nextInt(30), random.nextInt(30), random.nextInt(120)));
+
+            List<Journey> journeys = ConnectionScan.search(timetable, query);
+
+            assertEquals(exhaustive(timetable, query), summary(journeys), "round " + round);
+            for (Journey journey : journeys) {
+                assertFeasible(timetable, query, journey);
+                multiLeg += journey.transfers() > 0 ? 1 : 0;
+            }
+        }
+        assertTrue(multiLeg >= 30, "too few itineraries with transfers to compare: " + multiLeg);
+    }
+
+    // ============================================================================
+    // BRUTE FORCE
+    // ============================================================================
+
+    /**
+     * Pareto set of every itinerary, by depth-first search, ordered by arrival then price.
+     * Like the scan, no trip may return to an origin stop.
+     */
+    private static List<String> exhaustive(ConnectionTimetable timetable, Query query) {
+        List<int[]> found = new ArrayList<>();
+        for (int c = 0; c < timetable.size(); c++) {
+            if (query.origins().get(timetable.fromStop(c))
+                    && timetable.departure(c) >= query.earliestDeparture()
+                    && timetable.departure(c) <= query.latestDeparture()) {
+                extend(timetable, query, c, timetable.price(c), 0, found);
+            }
+        }
+
+        List<int[]> kept = new ArrayList<>();
+        found.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0])
+                : a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(a[2], b[2]));
+        for (int[] journey : found) {
+            boolean dominated = false;
+            for (int[] other : kept) {
+                if (other[0] <= journey[0] && other[1] <= journey[1] && other[2] <= journey[2]) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) {
+                kept.add(journey);
+            }
+        }
+        List<String> summary = new ArrayList<>();
+        for (int[] journey : kept) {
+            summary.add((journey[0] - at(0)) + "/" + journey[1] + "/" + journey[2]);
+        }
+        return summary;
+    }
+
+    private static void extend(ConnectionTimetable timetable, Query query, int c, int price, int transfers,
+                               List<int[]> found) {
+        int to = timetable.toStop(c);
+        if (timetable.arrival(c) > query.latestArrival() || (query.modeMask() & 1 << timetable.mode(c)) == 0
+                || query.origins().get(to)) {
+            return;
+        }
+        if (query.destinations().get(to)) {
+            found.add(new int[]{timetable.arrival(c), price, transfers});
+            return;
+        }
+        if (transfers == query.maxTransfers()) {
+            return;
+        }
+        for (int next = 0; next < timetable.size(); next++) {
+            if (canChange(timetable, query.transferTimes(), c, next)) {
+                extend(timetable, query, next, price + timetable.price(next), transfers + 1, found);
+            }
+        }
+    }
+
+    private static boolean canChange(ConnectionTimetable timetable, TransferTimes times, int arriving, int leaving) {
+        int at = timetable.toStop(arriving);
+        int from = timetable.fromStop(leaving);
+        int wait = timetable.departure(leaving) - timetable.arrival(arriving);
+        boolean sameCity = timetable.stopCity(at) != ConnectionTimetable.NO_CITY && timetable.stopCity(at) == timetable.stopCity(from);
+        return (at == from && wait >= times.sameStop(timetable.stopMode(at))) || (sameCity && wait >= times.cityMinutes());
+    }
+
+    private static void assertFeasible(ConnectionTimetable timetable, Query query, Journey journey) {
+        int[] connections = journey.connections();
+        assertEquals(journey.transfers() + 1, connections.length);
+        assertTrue(query.origins().get(timetable.fromStop(connections[0])));
+        assertTrue(query.destinations().get(timetable.toStop(connections[connections.length - 1])));
+        assertEquals(timetable.departure(connections[0]), journey.departure());
+        assertEquals(timetable.arrival(connections[connections.length - 1]), journey.arrival());
+        int price = 0;
+        for (int i = 0; i < connections.length; i++) {
+            price += timetable.price(connections[i]);
+            if (i > 0) {
+                assertTrue(canChange(timetable, query.transferTimes(), connections[i - 1], connections[i]));
+            }
+        }
+        assertEquals(price, journey.price());
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.travelbuddybackend.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Price Index Tests
+ *
+ * Range queries, incremental updates and histograms, checked against a
+ * brute-force filter over the same id/price pairs.
+ */
+class PriceIndexTests {
+
+    private static PriceIndex index(Map<Integer, String> prices) {
+        return new PriceIndex("test", () -> prices, Duration.ZERO);
+    }
+
+    /**
+     * Ids priced in [min, max], cheapest first and by id within a price
+     */
+    private static int[] bruteForce(Map<Integer, Double> prices, double min, double max) {
+        return prices.entrySet().stream()
+                .filter(e -> e.getValue() >= min && e.getValue() <= max)
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+    }
+
+    @Test
+    void rangesIncludeBothEndsAndOrderByPriceThenId() {
+        PriceIndex index = index(Map.of(1, "20.00", 2, "10", 3, " 20 ", 4, "30.5", 5, "not a price", 6, "NaN"));
+
+        assertEquals(4, index.size());
+        assertArrayEquals(new int[]{2, 1, 3, 4}, index.idsBetween(10, 30.5));
+        assertArrayEquals(new int[]{1, 3}, index.idsBetween(20, 20));
+        assertArrayEquals(new int[0], index.idsBetween(20.01, 30.49));
+        assertArrayEquals(new int[0], index.idsBetween(30, 10));
+        assertEquals(3, index.countBetween(0, 20));
+        assertEquals(0, index.countBetween(30, 10));
+    }
+
+    @Test
+    void incrementalUpdatesMatchABruteForceFilter() {
+        Random random = new Random(42);
+        Map<Integer, String> table = new HashMap<>();
+        Map<Integer, Double> expected = new HashMap<>();
+        for (int id = 1; id <= 200; id++) {
+            int price = random.nextInt(50);
+            table.put(id, String.valueOf(price));
+            expected.put(id, (double) price);
+        }
+        PriceIndex index = index(table);
+        index.size(); // load
+
+        for (int step = 0; step < 2000; step++) {
+            int id = 1 + random.nextInt(300);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    index.remove(id);
+                    expected.remove(id);
+                }
+                case 1 -> {
+                    index.put(id, "free");
+                    expected.remove(id);
+                }
+                default -> {
+                    // Few distinct prices, so ties on price are ordered by id
+                    int price = random.nextInt(50);
+                    index.put(id, String.valueOf(price));
+                    expected.put(id, (double) price);
+                }
+            }
+
+            double min = random.nextInt(50);
+            double max = min + random.nextInt(20);
+            assertArrayEquals(bruteForce(expected, min, max), index.idsBetween(min, max), "step " + step);
+            assertEquals(expected.size(), index.size());
+        }
+    }
+
+    @Test
+    void updatesBeforeTheFirstLoadComeFromTheTable() {
+        Map<Integer, String> table = new HashMap<>(Map.of(1, "10"));
+        PriceIndex index = index(table);
+        index.put(2, "20");
+        index.remove(1);
+
+        assertArrayEquals(new int[]{1}, index.idsBetween(0, 100));
+    }
+
+    @Test
+    void invalidateReloadsFromTheTable() {
+        Map<Integer, String> table = new HashMap<>(Map.of(1, "10"));
+        PriceIndex index = index(table);
+        assertEquals(1, index.size());
+
+        table.put(2, "20");
+        assertEquals(1, index.size());
+        index.invalidate();
+        assertArrayEquals(new int[]{1, 2}, index.idsBetween(0, 100));
+    }
+
+    @Test
+    void readersNeverSeeAHalfAppliedUpdate() throws InterruptedException {
+        Map<Integer, String> table = new HashMap<>();
+        for (int id = 0; id < 1000; id++) {
+            table.put(id, String.valueOf(id % 100));
+        }
+        PriceIndex index = index(table);
+        index.size();
+
+        // Moving a ticket to another price never changes the count; a reader must never see it missing or twice
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                int[] ids = index.idsBetween(0, 100);
+                if (ids.length != 1000 || IntStream.of(ids).distinct().count() != 1000) {
+                    failure.set("saw " + ids.length + " ids");
+                    return;
+                }
+            }
+        });
+        reader.start();
+        Random random = new Random(7);
+        for (int step = 0; step < 20_000; step++) {
+            index.put(random.nextInt(1000), String.valueOf(random.nextInt(101)));
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+    }
+
+    @Test
+    void selectiveRangesAreFetchedByIdInChunks() {
+        Map<Integer, String> table = new HashMap<>();
+        for (int id = 1; id <= PriceIndex.MAX_ID_LOOKUP; id++) {
+            table.put(id, "10");
+        }
+        table.put(PriceIndex.MAX_ID_LOOKUP + 1, "99");
+        PriceIndex index = index(table);
+
+        List<int[]> lookups = new ArrayList<>();
+        List<Integer> rows = index.findBetween(0, 50, ids -> {
+            lookups.add(ids);
+            return Arrays.stream(ids).boxed().toList();
+        }, () -> {
+            throw new AssertionError("a selective range must not read the whole table");
+        }, Integer::intValue);
+
+        assertEquals(PriceIndex.MAX_ID_LOOKUP, rows.size());
+        assertEquals(PriceIndex.MAX_ID_LOOKUP / 1000, lookups.size());
+        lookups.forEach(chunk -> assertEquals(1000, chunk.length));
+    }
+
+    @Test
+    void wideRangesReadTheTableOnceAndKeepRowsById() {
+        Map<Integer, String> table = new HashMap<>();
+        for (int id = 1; id <= PriceIndex.MAX_ID_LOOKUP + 2; id++) {
+            table.put(id, String.valueOf(id % 3));
+        }
+        PriceIndex index = index(table);
+        List<Integer> everyRow = IntStream.rangeClosed(-1, PriceIndex.MAX_ID_LOOKUP + 10).boxed().toList();
+
+        AtomicInteger fullReads = new AtomicInteger();
+        List<Integer> rows = index.findBetween(0, 2, ids -> {
+            throw new AssertionError("a wide range must not be fetched by id");
+        }, () -> {
+            fullReads.incrementAndGet();
+            return everyRow;
+        }, Integer::intValue);
+
+        assertEquals(1, fullReads.get());
+        assertEquals(IntStream.rangeClosed(1, PriceIndex.MAX_ID_LOOKUP + 2).boxed().toList(), rows);
+
+        // Rows added to the table since the index loaded are not in the result
+        assertEquals(List.of(), index.findBetween(5, 6, ids -> List.of(), () -> everyRow, Integer::intValue));
+    }
+
+    @Test
+    void histogramBucketsCoverTheRangeWithMaxInTheLastBucket() {
+        PriceIndex index = index(Map.of(1, "0", 2, "9.99", 3, "10", 4, "25", 5, "40", 6, "40"));
+
+        PriceHistogram histogram = index.histogram(null, null, 4);
+        assertEquals(0, histogram.min());
+        assertEquals(40, histogram.max());
+        assertEquals(10, histogram.bucketWidth());
+        assertArrayEquals(new int[]{2, 1, 1, 2}, histogram.counts());
+        assertEquals(6, histogram.total());
+
+        PriceHistogram bounded = index.histogram(10.0, 25.0, 3);
+        assertArrayEquals(new int[]{1, 0, 1}, bounded.counts());
+        assertEquals(2, bounded.total());
+    }
+
+    @Test
+    void histogramsAcrossIndexesShareBucketBounds() {
+        PriceIndex cheap = index(Map.of(1, "5", 2, "15"));
+        PriceIndex dear = index(Map.of(1, "35"));
+
+        PriceHistogram histogram = PriceIndex.histogram(List.of(cheap, dear), null, null, 3);
+        assertEquals(5, histogram.min());
+        assertEquals(35, histogram.max());
+        assertArrayEquals(new int[]{1, 1, 1}, histogram.counts());
+    }
+
+    @Test
+    void histogramBucketCountIsCapped() {
+        PriceIndex index = index(Map.of(1, "0", 2, "1000"));
+
+        PriceHistogram histogram = index.histogram(null, null, 100_000);
+        assertEquals(PriceIndex.MAX_HISTOGRAM_BUCKETS, histogram.counts().length);
+        assertEquals(1, histogram.counts()[0]);
+        assertEquals(1, histogram.counts()[PriceIndex.MAX_HISTOGRAM_BUCKETS - 1]);
+        assertEquals(2, histogram.total());
+
+        assertThrows(IllegalArgumentException.class, () -> index.histogram(null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> index.histogram(10.0, 5.0, 4));
+    }
+}
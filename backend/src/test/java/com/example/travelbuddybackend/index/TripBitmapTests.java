@@ -0,0 +1,158 @@
+package com.example.travelbuddybackend.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Trip Bitmap Tests
+ *
+ * Set operations across the array/bitmap container boundary, checked against
+ * java.util.BitSet.
+ */
+class TripBitmapTests {
+
+    private static final int CONTAINER = 1 << 16;
+    // Values per container around the 4096 array limit, and the extremes
+    private static final int[] DENSITIES = {0, 1, 100, 4095, 4096, 4097, 5000, 30000, CONTAINER};
+
+    private static TripBitmap bitmap(BitSet values) {
+        return TripBitmap.of(values.stream().toArray());
+    }
+
+    private static void assertSameSet(BitSet expected, TripBitmap actual) {
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+    }
+
+    /**
+     * Random values in containers 0..containers-1, each of a random density from DENSITIES
+     */
+    private static BitSet randomSet(Random random, int containers) {
+        BitSet values = new BitSet();
+        for (int c = 0; c < containers; c++) {
+            int count = DENSITIES[random.nextInt(DENSITIES.length)];
+            if (count == CONTAINER) {
+                values.set(c * CONTAINER, (c + 1) * CONTAINER);
+                continue;
+            }
+            BitSet container = new BitSet(CONTAINER);
+            while (container.cardinality() < count) {
+                container.set(random.nextInt(CONTAINER));
+            }
+            int high = c * CONTAINER;
+            container.stream().forEach(low -> values.set(high + low));
+        }
+        return values;
+    }
+
+    @Test
+    void containersAtTheArrayLimitKeepEveryValue() {
+        for (int count : new int[]{4095, 4096, 4097}) {
+            BitSet values = new BitSet();
+            for (int v = 0; v < count; v++) {
+                values.set(v * 16);
+            }
+            values.set(3 * CONTAINER + 7);
+            TripBitmap bitmap = bitmap(values);
+
+            assertSameSet(values, bitmap);
+            assertTrue(bitmap.contains(0));
+            assertTrue(bitmap.contains((count - 1) * 16));
+            assertFalse(bitmap.contains(1));
+            assertFalse(bitmap.contains(count * 16));
+            assertTrue(bitmap.contains(3 * CONTAINER + 7));
+            assertFalse(bitmap.contains(2 * CONTAINER));
+            assertFalse(bitmap.contains(-1));
+        }
+    }
+
+    @Test
+    void operationsMatchBitSetAcrossContainerKinds() {
+        Random random = new Random(42);
+        for (int round = 0; round < 60; round++) {
+            BitSet a = randomSet(random, 3);
+            BitSet b = randomSet(random, 3);
+            TripBitmap left = bitmap(a);
+            TripBitmap right = bitmap(b);
+
+            BitSet and = (BitSet) a.clone();
+            and.and(b);
+            BitSet or = (BitSet) a.clone();
+            or.or(b);
+            BitSet andNot = (BitSet) a.clone();
+            andNot.andNot(b);
+
+            assertSameSet(a, left);
+            assertSameSet(and, left.and(right));
+            assertSameSet(and, right.and(left));
+            assertSameSet(or, left.or(right));
+            assertSameSet(or, right.or(left));
+            assertSameSet(andNot, left.andNot(right));
+        }
+    }
+
+    @Test
+    void unionOfManyMatchesBitSet() {
+        Random random = new Random(7);
+        for (int round = 0; round < 10; round++) {
+            List<TripBitmap> bitmaps = new ArrayList<>();
+            BitSet expected = new BitSet();
+            for (int i = 0; i < 2 + random.nextInt(5); i++) {
+                BitSet values = randomSet(random, 1 + random.nextInt(4));
+                bitmaps.add(bitmap(values));
+                expected.or(values);
+            }
+            assertSameSet(expected, TripBitmap.or(bitmaps));
+        }
+    }
+
+    @Test
+    void denseContainersShrinkBackToArrays() {
+        TripBitmap low = TripBitmap.range(0, 5000);
+        TripBitmap high = TripBitmap.range(4900, 10000);
+        long arrayOf100 = TripBitmap.range(0, 100).footprintBytes();
+
+        assertEquals(arrayOf100, low.and(high).footprintBytes());
+        assertEquals(arrayOf100, low.andNot(TripBitmap.range(100, 5000)).footprintBytes());
+        assertEquals(TripBitmap.range(0, 10000).footprintBytes(), low.or(high).footprintBytes());
+    }
+
+    @Test
+    void emptySetsCombineToEmptyOrTheOtherSide() {
+        TripBitmap some = TripBitmap.of(1, 5, 70000);
+        TripBitmap empty = TripBitmap.of();
+
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.toArray().length);
+        assertFalse(empty.contains(0));
+        assertTrue(some.and(empty).isEmpty());
+        assertTrue(empty.and(some).isEmpty());
+        assertTrue(empty.andNot(some).isEmpty());
+        assertTrue(some.andNot(some).isEmpty());
+        assertArrayEquals(some.toArray(), some.or(empty).toArray());
+        assertArrayEquals(some.toArray(), empty.or(some).toArray());
+        assertArrayEquals(some.toArray(), some.andNot(empty).toArray());
+        assertTrue(TripBitmap.range(5, 5).isEmpty());
+        assertSame(TripBitmap.EMPTY, TripBitmap.or(List.of()));
+        assertTrue(TripBitmap.or(List.of(empty, empty, empty)).isEmpty());
+    }
+
+    @Test
+    void builderRejectsValuesOutOfOrder() {
+        assertThrows(IllegalArgumentException.class, () -> TripBitmap.of(3, 3));
+        assertThrows(IllegalArgumentException.class, () -> TripBitmap.of(5, 2));
+        assertThrows(IllegalArgumentException.class, () -> TripBitmap.of(-1));
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.travelbuddybackend.index;
+
+import com.example.travelbuddybackend.index.TripSearchEngine.Query;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Trip Search Index Tests
+ *
+ * Multi-criteria queries, including price ranges cut at band edges and the
+ * price column fallback, checked against a brute-force filter over the same
+ * trips.
+ */
+class TripSearchIndexTests {
+
+    private static final String[] CARRIERS = {"Delta", "United", "Air France", "KLM", "Lufthansa"};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+
+    private record Trip(int id, int origin, int destination, String date, String carrier, String price) {
+    }
+
+    private static TripSearchIndex index(List<Trip> trips) {
+        TripSearchIndex.Builder builder = TripSearchIndex.builder(4);
+        for (Trip trip : trips) {
+            builder.add(trip.id(), trip.origin(), trip.destination(), trip.date(), trip.carrier(), trip.price());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Ids of the trips matching every criterion of the query, ascending
+     */
+    private static int[] bruteForce(List<Trip> trips, Query query) {
+        String carrier = query.carrier() != null ? query.carrier().trim().toLowerCase(Locale.ROOT) : null;
+        long minCents = TimetableParsing.lowestCents(query.minPrice());
+        long maxCents = TimetableParsing.highestCents(query.maxPrice());
+        boolean byPrice = query.minPrice() != null || query.maxPrice() != null;
+        return trips.stream()
+                .filter(t -> query.origins() == null || query.origins().get(t.origin()))
+                .filter(t -> query.destinations() == null || query.destinations().get(t.destination()))
+                .filter(t -> query.day() == TripSearchEngine.ANY_DAY || TimetableParsing.epochDay(t.date()) == query.day())
+                .filter(t -> carrier == null || (t.carrier() != null && t.carrier().toLowerCase(Locale.ROOT).contains(carrier)))
+                .filter(t -> !byPrice || (TimetableParsing.cents(t.price()) >= 0
+                        && TimetableParsing.cents(t.price()) >= minCents && TimetableParsing.cents(t.price()) <= maxCents))
+                .mapToInt(Trip::id)
+                .sorted()
+                .toArray();
+    }
+
+    private static void assertMatches(TripSearchIndex index, List<Trip> trips, Query query) {
+        assertArrayEquals(bruteForce(trips, query), index.tripIds(query, Integer.MAX_VALUE), query.toString());
+    }
+
+    private static BitSet locations(int... ids) {
+        BitSet set = new BitSet();
+        for (int id : ids) {
+            set.set(id);
+        }
+        return set;
+    }
+
+    /**
+     * Trips with shuffled ids, some with an unknown station (0), an unparseable date or price, or no carrier
+     */
+    private static List<Trip> randomTrips(Random random, int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(1 + i * 3);
+        }
+        Collections.shuffle(ids, random);
+        List<Trip> trips = new ArrayList<>();
+        for (int id : ids) {
+            String date = random.nextInt(50) == 0 ? "soon" : FIRST_DAY.plusDays(random.nextInt(20)).toString();
+            String carrier = random.nextInt(20) == 0 ? null : CARRIERS[random.nextInt(CARRIERS.length)];
+            String price = random.nextInt(50) == 0 ? "n/a" : String.format(Locale.ROOT, "%.2f", random.nextInt(50000) / 100.0);
+            trips.add(new Trip(id, random.nextInt(30), random.nextInt(30), date, carrier, price));
+        }
+        return trips;
+    }
+
+    private static Query randomQuery(Random random) {
+        BitSet origins = random.nextBoolean() ? null : locations(random.nextInt(30), random.nextInt(30), random.nextInt(30));
+        BitSet destinations = random.nextInt(3) == 0 ? locations(random.nextInt(30)) : null;
+        int day = random.nextInt(3) == 0 ? TripSearchEngine.day(FIRST_DAY.plusDays(random.nextInt(21))) : TripSearchEngine.ANY_DAY;
+        String carrier = random.nextInt(4) == 0 ? new String[]{"air", " DELTA ", "u", "KLM", "easyJet"}[random.nextInt(5)] : null;
+        Double minPrice = random.nextBoolean() ? random.nextInt(500) * 1.0 : null;
+        Double maxPrice = random.nextBoolean() ? random.nextInt(500) + 0.5 : null;
+        return new Query(origins, destinations, day, carrier, minPrice, maxPrice);
+    }
+
+    @Test
+    void randomQueriesMatchABruteForceFilter() {
+        Random random = new Random(42);
+        List<Trip> trips = randomTrips(random, 20000);
+        TripSearchIndex index = index(trips);
+
+        assertEquals(trips.size(), index.size());
+        assertEquals(CARRIERS.length, index.carrierCount());
+        assertEquals(20, index.dayCount());
+        for (int q = 0; q < 300; q++) {
+            assertMatches(index, trips, randomQuery(random));
+        }
+        assertMatches(index, trips, new Query(null, null, TripSearchEngine.ANY_DAY, null, null, null));
+    }
+
+    @Test
+    void priceRangesAreExactAtBandEdges() {
+        // 6400 trips at 0.00..63.99, so each of the 64 bands holds one whole price unit
+        List<Trip> trips = new ArrayList<>();
+        for (int cents = 0; cents < 6400; cents++) {
+            trips.add(new Trip(cents + 1, 1, 2, "2025-03-01", "Delta", String.format(Locale.ROOT, "%.2f", cents / 100.0)));
+        }
+        TripSearchIndex index = index(trips);
+
+        for (int edge : new int[]{0, 1, 10, 32, 63, 64}) {
+            for (double offset : new double[]{-0.01, 0, 0.01}) {
+                double price = edge + offset;
+                assertMatches(index, trips, new Query(null, null, TripSearchEngine.ANY_DAY, null, price, null));
+                assertMatches(index, trips, new Query(null, null, TripSearchEngine.ANY_DAY, null, null, price));
+                assertMatches(index, trips, new Query(null, null, TripSearchEngine.ANY_DAY, null, price, price + 5));
+                assertMatches(index, trips, new Query(null, null, TripSearchEngine.ANY_DAY, null, price, price));
+            }
+        }
+        assertEquals(100, index.tripIds(new Query(null, null, TripSearchEngine.ANY_DAY, null, 10.0, 10.99), 6400).length);
+        assertEquals(0, index.tripIds(new Query(null, null, TripSearchEngine.ANY_DAY, null, 20.0, 10.0), 6400).length);
+        assertEquals(0, index.tripIds(new Query(null, null, TripSearchEngine.ANY_DAY, null, null, -1.0), 6400).length);
+    }
+
+    @Test
+    void wideRangesAreCheckedOnTheSurvivorsOfTheOtherCriteria() {
+        Random random = new Random(3);
+        List<Trip> trips = randomTrips(random, 10000);
+        TripSearchIndex index = index(trips);
+
+        // One origin matches far fewer trips than the price range, so the range is read from the price column
+        for (int origin = 0; origin < 30; origin++) {
+            assertMatches(index, trips, new Query(locations(origin), null, TripSearchEngine.ANY_DAY, null, 1.0, 450.0));
+            assertMatches(index, trips, new Query(locations(origin), null, TripSearchEngine.ANY_DAY, null, null, 499.0));
+            assertMatches(index, trips, new Query(locations(origin), null, TripSearchEngine.ANY_DAY, null, 0.0, null));
+        }
+        // Trips without a valid price never match, even an unbounded-looking range
+        Query anyPrice = new Query(null, null, TripSearchEngine.ANY_DAY, null, 0.0, null);
+        int unpriced = (int) trips.stream().filter(t -> TimetableParsing.cents(t.price()) < 0).count();
+        assertTrue(unpriced > 0);
+        assertEquals(trips.size() - unpriced, index.tripIds(anyPrice, Integer.MAX_VALUE).length);
+    }
+
+    @Test
+    void emptyIndexesAndEmptyCriteriaMatchNothing() {
+        TripSearchIndex empty = index(List.of());
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.tripIds(new Query(null, null, TripSearchEngine.ANY_DAY, null, null, null), 10).length);
+        assertEquals(0, empty.tripIds(new Query(locations(1), null, TripSearchEngine.ANY_DAY, "delta", 1.0, 2.0), 10).length);
+
+        List<Trip> trips = randomTrips(new Random(5), 500);
+        TripSearchIndex index = index(trips);
+        assertEquals(0, index.tripIds(new Query(new BitSet(), null, TripSearchEngine.ANY_DAY, null, null, null), 10).length);
+        assertEquals(0, index.tripIds(new Query(locations(99), null, TripSearchEngine.ANY_DAY, null, null, null), 10).length);
+        assertEquals(0, index.tripIds(new Query(null, null, TripSearchEngine.day(LocalDate.of(1969, 1, 1)), null, null, null), 10).length);
+        assertEquals(0, index.tripIds(new Query(null, null, TripSearchEngine.ANY_DAY, "ryanair", null, null), 10).length);
+    }
+
+    @Test
+    void tripIdsIsNullAboveTheLimit() {
+        List<Trip> trips = randomTrips(new Random(9), 1000);
+        TripSearchIndex index = index(trips);
+        Query all = new Query(null, null, TripSearchEngine.ANY_DAY, null, null, null);
+
+        assertNull(index.tripIds(all, 999));
+        assertEquals(1000, index.tripIds(all, 1000).length);
+    }
+}
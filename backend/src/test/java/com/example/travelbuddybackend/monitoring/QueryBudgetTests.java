@@ -0,0 +1,68 @@
+package com.example.travelbuddybackend.monitoring;
+
+import com.example.travelbuddybackend.service.SearchIndexService;
+import com.example.travelbuddybackend.service.StationAutocompleteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.example.travelbuddybackend.monitoring.QueryCountAssertions.assertQueryCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Query Budget Tests
+ *
+ * Statement budgets for the hot endpoints. Raising a budget should be a
+ * deliberate change, not a side effect. The in-memory indexes are built
+ * before each request, so a request never pays for a build.
+ */
+@SpringBootTest(properties = {"query-budget.headers-enabled=true", "rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StationAutocompleteService stationAutocompleteService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Test
+    void stationListsUseOneQuery() throws Exception {
+        assertQueryCount(mockMvc, get("/api/airports"), 1);
+        assertQueryCount(mockMvc, get("/api/train-stations"), 1);
+        assertQueryCount(mockMvc, get("/api/bus-stations"), 1);
+    }
+
+    @Test
+    void airportAutocompleteIsServedFromTheIndex() throws Exception {
+        // Built, or failed just now and not retried for a while: either way the search reads nothing
+        stationAutocompleteService.rebuild("flight");
+        assertQueryCount(mockMvc, get("/api/airports/search").param("searchTerm", "Lon"), 0);
+    }
+
+    @Test
+    void unfilteredTicketSearchReadsEachTransportTypeOnce() throws Exception {
+        // No criteria for the index to narrow: every mode's trips are read
+        assertQueryCount(mockMvc, post("/api/search/available-tickets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"), 3);
+    }
+
+    @Test
+    void filteredTicketSearchUsesAtMostOneQueryPerTransportType() throws Exception {
+        // One id lookup per mode from the index, or one read per mode when it's unavailable
+        List.of("flight", "train", "bus").forEach(searchIndexService::rebuild);
+        assertQueryCount(mockMvc, post("/api/search/available-tickets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"departureCity\":\"London\",\"minPrice\":10}"), 3);
+    }
+}
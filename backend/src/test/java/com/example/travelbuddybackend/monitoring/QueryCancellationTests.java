@@ -0,0 +1,166 @@
+package com.example.travelbuddybackend.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query Cancellation Tests
+ *
+ * Statements registered by work run through call() are cancelled, refused
+ * after cancel(), and never missed when cancel() races a registration.
+ */
+class QueryCancellationTests {
+
+    /**
+     * A statement that only counts its cancel() calls
+     */
+    private static Statement statement(AtomicInteger cancels) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("cancel")) {
+                        cancels.incrementAndGet();
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Register a statement from inside work, wrapping the checked exception
+     */
+    private static void register(Statement statement) {
+        try {
+            QueryCancellation.register(statement);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Test
+    void cancelStopsTheRunningStatementAndRefusesLaterOnes() throws Exception {
+        QueryCancellation cancellation = new QueryCancellation();
+        AtomicInteger cancels = new AtomicInteger();
+        CountDownLatch registered = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            Future<Exception> later = worker.submit(() -> cancellation.call(() -> {
+                register(statement(cancels));
+                registered.countDown();
+                try {
+                    assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return assertThrows(IllegalStateException.class, () -> register(statement(new AtomicInteger())));
+            }));
+            assertTrue(registered.await(10, TimeUnit.SECONDS));
+
+            assertFalse(cancellation.isCancelled());
+            cancellation.cancel();
+            cancellation.cancel();
+            cancelled.countDown();
+
+            assertTrue(cancellation.isCancelled());
+            assertEquals(1, cancels.get());
+            assertEquals("Query cancelled", later.get(10, TimeUnit.SECONDS).getMessage());
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    @Test
+    void statementsOutsideCallAreNotTracked() {
+        QueryCancellation cancellation = new QueryCancellation();
+        AtomicInteger cancels = new AtomicInteger();
+        cancellation.call(() -> {
+            register(statement(cancels));
+            return null;
+        });
+
+        // Finished work's statement is forgotten, and unbound statements are left alone
+        cancellation.cancel();
+        assertDoesNotThrow(() -> QueryCancellation.register(statement(cancels)));
+        assertEquals(0, cancels.get());
+    }
+
+    @Test
+    void callRestoresTheOuterBinding() {
+        QueryCancellation outer = new QueryCancellation();
+        QueryCancellation inner = new QueryCancellation();
+        AtomicInteger outerCancels = new AtomicInteger();
+        AtomicInteger innerCancels = new AtomicInteger();
+
+        outer.call(() -> {
+            inner.call(() -> {
+                register(statement(innerCancels));
+                return null;
+            });
+            inner.cancel();
+            // Back under outer: inner's cancellation no longer applies
+            register(statement(outerCancels));
+            outer.cancel();
+            assertThrows(IllegalStateException.class, () -> register(statement(outerCancels)));
+            return null;
+        });
+
+        assertEquals(1, outerCancels.get());
+        assertEquals(0, innerCancels.get()); // its work had finished before the cancel
+        assertDoesNotThrow(() -> QueryCancellation.register(statement(outerCancels)));
+    }
+
+    @Test
+    void aRegistrationRacingCancelIsRefusedOrCancelled() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 5000; round++) {
+                QueryCancellation cancellation = new QueryCancellation();
+                AtomicInteger cancels = new AtomicInteger();
+                CyclicBarrier start = new CyclicBarrier(2);
+                CountDownLatch cancelled = new CountDownLatch(1);
+                Future<Boolean> registered = workers.submit(() -> cancellation.call(() -> {
+                    try {
+                        start.await(10, TimeUnit.SECONDS);
+                        QueryCancellation.register(statement(cancels));
+                        // Still executing when cancel() runs
+                        assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+                        return true;
+                    } catch (SQLException e) {
+                        return false;
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+                Future<?> cancel = workers.submit(() -> {
+                    start.await(10, TimeUnit.SECONDS);
+                    cancellation.cancel();
+                    cancelled.countDown();
+                    return null;
+                });
+                cancel.get(10, TimeUnit.SECONDS);
+
+                // A statement let through must have been cancelled, by cancel() or by the re-check
+                if (registered.get(10, TimeUnit.SECONDS)) {
+                    assertTrue(cancels.get() >= 1, "statement registered during cancel() kept running");
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+}
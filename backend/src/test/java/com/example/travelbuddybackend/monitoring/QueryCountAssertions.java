@@ -0,0 +1,41 @@
+package com.example.travelbuddybackend.monitoring;
+
+import com.example.travelbuddybackend.config.QueryBudgetFilter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query Count Assertions
+ *
+ * Fails a test when an endpoint issues more SQL statements than its budget.
+ * Needs a MockMvc with filters (@AutoConfigureMockMvc) and
+ * query-budget.headers-enabled=true, so the count is read from the
+ * X-DB-Query-Count header set by QueryBudgetFilter.
+ *
+ * Statements that fail (e.g. no database in CI) are still counted, so the
+ * budget holds without MySQL as long as the flow doesn't branch on data.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {}
+
+    /**
+     * Perform the request and assert it issued at most maxQueries statements
+     * @return The performed request, for further assertions
+     */
+    public static MvcResult assertQueryCount(MockMvc mockMvc, RequestBuilder endpoint, int maxQueries) throws Exception {
+        MvcResult result = mockMvc.perform(endpoint).andReturn();
+        String header = result.getResponse().getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER);
+        assertNotNull(header, "No " + QueryBudgetFilter.QUERY_COUNT_HEADER + " header - is query-budget.headers-enabled set?");
+
+        int queries = Integer.parseInt(header);
+        String request = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertTrue(queries <= maxQueries,
+                request + " issued " + queries + " statements, budget is " + maxQueries);
+        return result;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.travelbuddybackend.repository;
+
+import com.example.travelbuddybackend.index.TripSearchIndex;
+import com.example.travelbuddybackend.models.*;
+import com.example.travelbuddybackend.monitoring.StatementExecution;
+import com.example.travelbuddybackend.monitoring.StatementListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Repository Query Plan Tests
+ *
+ * Calls every repository finder against the MySQL database, captures the
+ * SQL and parameters actually sent, and runs EXPLAIN on each statement.
+ * Fails if a filtered query reads a table with a full scan (type=ALL) when
+ * the table has at least query-plan.min-table-rows rows (default 1000), or
+ * when no index could serve the filter at all.
+ *
+ * Unfiltered listings (no WHERE) scan by design and are not checked.
+ * Skipped when MySQL isn't reachable (docker compose up -d mysql).
+ */
+@SpringBootTest
+class RepositoryQueryPlanTests {
+
+    private static final long MIN_TABLE_ROWS = Long.getLong("query-plan.min-table-rows", 1000);
+
+    private static final Pattern TABLE_REFERENCE =
+            Pattern.compile("(?i)\\b(?:FROM|JOIN)\\s+(\\w+)(?:\\s+(?:AS\\s+)?(\\w+))?");
+    private static final Set<String> NOT_ALIASES =
+            Set.of("WHERE", "LEFT", "RIGHT", "INNER", "JOIN", "ON", "ORDER", "GROUP", "LIMIT");
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+    }
+
+    static class StatementCapture implements StatementListener {
+        private final List<StatementExecution> executions = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void afterStatement(StatementExecution execution) {
+            executions.add(execution);
+        }
+    }
+
+    @Autowired private DataSource dataSource;
+    @Autowired private StatementCapture statementCapture;
+    @Autowired private AirportRepository airportRepository;
+    @Autowired private TrainStationRepository trainStationRepository;
+    @Autowired private BusStationRepository busStationRepository;
+    @Autowired private FlightDetailsRepository flightDetailsRepository;
+    @Autowired private TrainDetailsRepository trainDetailsRepository;
+    @Autowired private BusDetailsRepository busDetailsRepository;
+    @Autowired private ClientRepository clientRepository;
+    @Autowired private AdminUserRepository adminUserRepository;
+    @Autowired private BookingRepository bookingRepository;
+
+    @Test
+    void repositoryQueriesAvoidFullTableScans() {
+        assumeTrue(databaseAvailable(), "MySQL not reachable - start it with docker compose up -d mysql");
+
+        statementCapture.executions.clear();
+        exerciseRepositories();
+
+        JdbcTemplate explainTemplate = new JdbcTemplate(dataSource);
+        Map<String, Long> tableRows = new HashMap<>();
+        Set<String> explained = new HashSet<>();
+        List<String> violations = new ArrayList<>();
+
+        for (StatementExecution execution : statementCapture.executions) {
+            String sql = execution.sql().strip().replaceAll("\\s+", " ");
+            // Failed statements (e.g. tables missing from the schema) can't be explained
+            if (!execution.isSuccess() || !sql.toUpperCase(Locale.ROOT).contains(" WHERE ") || !explained.add(sql)) {
+                continue;
+            }
+
+            Map<String, String> aliases = tableAliases(sql);
+            List<Map<String, Object>> plan = explainTemplate.queryForList("EXPLAIN " + sql, execution.parameters().toArray());
+            for (Map<String, Object> row : plan) {
+                if (!"ALL".equals(String.valueOf(row.get("type")))) {
+                    continue;
+                }
+                String table = aliases.getOrDefault(String.valueOf(row.get("table")), String.valueOf(row.get("table")));
+                long rows = tableRows.computeIfAbsent(table,
+                        t -> explainTemplate.queryForObject("SELECT COUNT(*) FROM " + t, Long.class));
+                boolean noUsableIndex = row.get("possible_keys") == null && !isLeadingWildcardSearch(sql, execution.parameters());
+
+                if (rows >= MIN_TABLE_ROWS || noUsableIndex) {
+                    violations.add(String.format("%s.%s scans %s (%d rows, possible_keys=%s): %s",
+                            execution.repository(), execution.method(), table, rows, row.get("possible_keys"), sql));
+                }
+            }
+        }
+
+        assertTrue(!explained.isEmpty(), "No repository statements were captured");
+        assertTrue(violations.isEmpty(), "Full table scans (see db/indexes.sql):\n" + String.join("\n", violations));
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    /**
+     * Call every read method once, with values taken from existing rows where possible
+     */
+    private void exerciseRepositories() {
+        List<Airport> airports = airportRepository.findAll();
+        Airport airport = airports.isEmpty() ? null : airports.get(0);
+        airportRepository.findById(airport != null ? airport.getId() : 1);
+        airportRepository.findByAirportCode(airport != null ? airport.getAirportCode() : "JFK");
+        airportRepository.findByPartialName("int");
+        airportRepository.findByCityLocation("new");
+        airportRepository.findByCountryLocation("united");
+
+        List<TrainStation> trainStations = trainStationRepository.findAll();
+        TrainStation trainStation = trainStations.isEmpty() ? null : trainStations.get(0);
+        trainStationRepository.findById(trainStation != null ? trainStation.getId() : 1);
+        trainStationRepository.findByStationCode(trainStation != null ? trainStation.getTrainStationCode() : "NYP");
+        trainStationRepository.findByCity(trainStation != null ? trainStation.getTrainStationCityLocation() : "New York");
+
+        List<BusStation> busStations = busStationRepository.findAll();
+        BusStation busStation = busStations.isEmpty() ? null : busStations.get(0);
+        busStationRepository.findById(busStation != null ? busStation.getId() : 1);
+        busStationRepository.findByStationCode(busStation != null ? busStation.getBusStationCode() : "PABT");
+
+        List<FlightDetails> flights = flightDetailsRepository.findAll();
+        FlightDetails flight = flights.isEmpty() ? null : flights.get(0);
+        flightDetailsRepository.findById(flight != null ? flight.getId() : 1);
+        flightDetailsRepository.findByFlightNumber(flight != null ? flight.getFlightNumber() : "AA100");
+        flightDetailsRepository.findByRoute(
+                flight != null ? flight.getFlightOrigin().getAirportCode() : "JFK",
+                flight != null ? flight.getFlightDestination().getAirportCode() : "LAX");
+        flightDetailsRepository.findByDepartureDate(flight != null ? flight.getFlightDepartureDate() : "2025-01-01");
+        flightDetailsRepository.streamAll(TripRows.into(TripSearchIndex.builder()));
+        flightDetailsRepository.findByIds(new int[]{flight != null ? flight.getId() : 1, 2, 3});
+        flightDetailsRepository.findDailyFares(
+                flight != null ? flight.getFlightOrigin().getAirportCode() : "JFK",
+                flight != null ? flight.getFlightDestination().getAirportCode() : "LAX");
+
+        List<TrainDetails> trains = trainDetailsRepository.findAll();
+        TrainDetails train = trains.isEmpty() ? null : trains.get(0);
+        trainDetailsRepository.findById(train != null ? train.getId() : 1);
+        trainDetailsRepository.findByTrainNumber(train != null ? train.getTrainNumber() : "TR100");
+        trainDetailsRepository.findByRoute(
+                train != null ? train.getTrainDepartureStation().getId() : 1,
+                train != null ? train.getTrainArrivalStation().getId() : 2);
+        trainDetailsRepository.findByDepartureDate(train != null ? train.getTrainDepartureDate() : "2025-01-01");
+        trainDetailsRepository.streamAll(TripRows.into(TripSearchIndex.builder()));
+        trainDetailsRepository.findByIds(new int[]{train != null ? train.getId() : 1, 2, 3});
+        trainDetailsRepository.findDailyFares(
+                train != null ? train.getTrainDepartureStation().getTrainStationCode() : "NYP",
+                train != null ? train.getTrainArrivalStation().getTrainStationCode() : "BOS");
+
+        List<BusDetails> buses = busDetailsRepository.findAll();
+        BusDetails bus = buses.isEmpty() ? null : buses.get(0);
+        busDetailsRepository.findById(bus != null ? bus.getId() : 1);
+        busDetailsRepository.findByBusNumber(bus != null ? bus.getBusNumber() : "BS100");
+        busDetailsRepository.findByRouteStationCodes(
+                bus != null ? bus.getBusDepartureStation().getBusStationCode() : "PABT",
+                bus != null ? bus.getBusArrivalStation().getBusStationCode() : "BOS");
+        busDetailsRepository.findByDepartureDate(bus != null ? bus.getBusDepartureDate() : "2025-01-01");
+        busDetailsRepository.streamAll(TripRows.into(TripSearchIndex.builder()));
+        busDetailsRepository.findByIds(new int[]{bus != null ? bus.getId() : 1, 2, 3});
+        busDetailsRepository.findDailyFares(
+                bus != null ? bus.getBusDepartureStation().getBusStationCode() : "PABT",
+                bus != null ? bus.getBusArrivalStation().getBusStationCode() : "BOS");
+
+        List<Client> clients = clientRepository.findAll();
+        Client client = clients.isEmpty() ? null : clients.get(0);
+        clientRepository.findById(client != null ? client.getId() : 1);
+        clientRepository.findByUsername(client != null ? client.getUsername() : "johndoe");
+        clientRepository.findByEmail(client != null ? client.getEmail() : "john@example.com");
+        clientRepository.existsByUsername("johndoe");
+        clientRepository.existsByEmail("John@Example.com");
+        clientRepository.findClientsCreatedBetween(LocalDateTime.now().minusDays(30), LocalDateTime.now());
+
+        adminUserRepository.findById(1);
+        adminUserRepository.findByAdminUsername("admin");
+        adminUserRepository.existsByAdminUsername("admin");
+
+        bookingRepository.findById(1);
+        bookingRepository.findByBookingId("BK-TEST");
+        bookingRepository.findByClientEmail("john@example.com");
+    }
+
+    /**
+     * Map the aliases EXPLAIN reports (fd, origin, dest) to table names
+     */
+    private static Map<String, String> tableAliases(String sql) {
+        Map<String, String> aliases = new HashMap<>();
+        Matcher matcher = TABLE_REFERENCE.matcher(sql);
+        while (matcher.find()) {
+            String table = matcher.group(1);
+            String alias = matcher.group(2);
+            aliases.put(table, table);
+            if (alias != null && !NOT_ALIASES.contains(alias.toUpperCase(Locale.ROOT))) {
+                aliases.put(alias, table);
+            }
+        }
+        return aliases;
+    }
+
+    /**
+     * LIKE '%term%' can't use a B-tree index; such searches are only held to the row threshold
+     */
+    private static boolean isLeadingWildcardSearch(String sql, List<Object> parameters) {
+        return sql.toUpperCase(Locale.ROOT).contains(" LIKE ")
+                && parameters.stream().anyMatch(p -> p instanceof String s && s.startsWith("%"));
+    }
+
+    private boolean databaseAvailable() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(2);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.travelbuddybackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bundle Join Tests
+ *
+ * best() checked against the sorted cross product of small option lists,
+ * with and without infeasible bundles and expansion limits.
+ */
+class BundleJoinTests {
+
+    private static long score(long[][] scores, int[] choice) {
+        long total = 0;
+        for (int segment = 0; segment < scores.length; segment++) {
+            total += scores[segment][choice[segment]];
+        }
+        return total;
+    }
+
+    /**
+     * Every bundle, lowest score first
+     */
+    private static List<int[]> crossProduct(long[][] scores) {
+        List<int[]> bundles = new ArrayList<>();
+        bundles.add(new int[0]);
+        for (long[] options : scores) {
+            List<int[]> extended = new ArrayList<>();
+            for (int[] prefix : bundles) {
+                for (int option = 0; option < options.length; option++) {
+                    int[] choice = Arrays.copyOf(prefix, prefix.length + 1);
+                    choice[prefix.length] = option;
+                    extended.add(choice);
+                }
+            }
+            bundles = extended;
+        }
+        bundles.sort((a, b) -> Long.compare(score(scores, a), score(scores, b)));
+        return bundles;
+    }
+
+    private static long[][] randomScores(Random random, int segments) {
+        long[][] scores = new long[segments][];
+        for (int segment = 0; segment < segments; segment++) {
+            scores[segment] = new long[1 + random.nextInt(6)];
+            for (int option = 0; option < scores[segment].length; option++) {
+                scores[segment][option] = random.nextInt(100);
+            }
+            Arrays.sort(scores[segment]);
+        }
+        return scores;
+    }
+
+    private static List<Long> scoresOf(long[][] scores, List<int[]> bundles) {
+        return bundles.stream().map(choice -> score(scores, choice)).toList();
+    }
+
+    /**
+     * best() returns the bundles of the sorted cross product's lowest scores, each once and feasible
+     */
+    private static void assertMatchesCrossProduct(long[][] scores, Predicate<int[]> feasible, int limit) {
+        List<int[]> expected = crossProduct(scores).stream().filter(feasible).limit(limit).toList();
+        List<int[]> actual = BundleJoin.best(scores, feasible, limit, Integer.MAX_VALUE);
+
+        assertEquals(scoresOf(scores, expected), scoresOf(scores, actual));
+        Set<String> distinct = new HashSet<>();
+        for (int[] choice : actual) {
+            assertTrue(feasible.test(choice));
+            assertTrue(distinct.add(Arrays.toString(choice)), "bundle returned twice: " + Arrays.toString(choice));
+        }
+    }
+
+    @Test
+    void bundlesComeInScoreOrderLikeTheSortedCrossProduct() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            long[][] scores = randomScores(random, 1 + random.nextInt(4));
+            assertMatchesCrossProduct(scores, choice -> true, 1 + random.nextInt(30));
+            assertMatchesCrossProduct(scores, choice -> true, Integer.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void infeasibleBundlesAreSkippedButStillExpanded() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            long[][] scores = randomScores(random, 2 + random.nextInt(3));
+            // The cheapest options are infeasible: the best bundles lie behind them
+            Predicate<int[]> laterFirstSegment = choice -> choice[0] >= scores[0].length / 2 && choice[1] != 0;
+            assertMatchesCrossProduct(scores, laterFirstSegment, 1 + random.nextInt(10));
+            assertMatchesCrossProduct(scores, choice -> Arrays.stream(choice).sum() % 3 == 1, 5);
+        }
+
+        long[][] scores = {{1, 2, 3}, {10, 20, 30}};
+        List<int[]> onlyTheDearest = BundleJoin.best(scores, choice -> choice[0] == 2 && choice[1] == 2, 5, 100);
+        assertEquals(1, onlyTheDearest.size());
+        assertEquals("[2, 2]", Arrays.toString(onlyTheDearest.get(0)));
+    }
+
+    @Test
+    void stopsAfterMaxExpansions() {
+        long[][] scores = {{1, 2, 3, 4}, {10, 20, 30, 40}, {100, 200, 300}};
+        AtomicInteger tested = new AtomicInteger();
+
+        List<int[]> none = BundleJoin.best(scores, choice -> tested.incrementAndGet() < 0, 10, 7);
+        assertEquals(0, none.size());
+        assertEquals(7, tested.get());
+
+        // Within the budget, only the feasible bundles among the first expansions are found
+        Predicate<int[]> evenFirst = choice -> choice[0] % 2 == 0;
+        List<int[]> all = crossProduct(scores);
+        for (int maxExpansions = 1; maxExpansions <= all.size(); maxExpansions++) {
+            List<int[]> expected = all.subList(0, maxExpansions).stream().filter(evenFirst).toList();
+            assertEquals(scoresOf(scores, expected), scoresOf(scores, BundleJoin.best(scores, evenFirst, 100, maxExpansions)));
+        }
+        assertEquals(0, BundleJoin.best(scores, choice -> true, 10, 0).size());
+    }
+
+    @Test
+    void aSegmentWithoutOptionsYieldsNoBundles() {
+        long[][] scores = {{1, 2}, {}, {3}};
+        assertEquals(0, BundleJoin.best(scores, choice -> true, 10, 100).size());
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.models.BusStation;
+import com.example.travelbuddybackend.service.BookingSearchService.BookingSearchCriteria;
+import com.example.travelbuddybackend.service.CriteriaMatcher.LocationNeedle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Criteria Matcher Tests
+ *
+ * The in-place case-insensitive matching checked against lowercasing, and
+ * how location criteria are parsed, narrowed and matched by code.
+ */
+class CriteriaMatcherTests {
+
+    // Letters whose upper and lower case are one char each, ASCII and not
+    private static final String ALPHABET = "aAbBzZ09 -éÉüÜøØ";
+
+    private static CriteriaMatcher airline(String airline) {
+        BookingSearchCriteria criteria = new BookingSearchCriteria();
+        criteria.setAirline(airline);
+        return CriteriaMatcher.compile(criteria);
+    }
+
+    private static BusStation station(int id, String name, String code, String city) {
+        BusStation station = new BusStation();
+        station.setId(id);
+        station.setBusStationFullName(name);
+        station.setBusStationCode(code);
+        station.setBusStationCityLocation(city);
+        return station;
+    }
+
+    private static String randomText(Random random, int maxLength) {
+        StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(maxLength + 1); i > 0; i--) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    @Test
+    void containsIgnoringCaseLikeLowercasing() {
+        Random random = new Random(42);
+        int matched = 0;
+        for (int round = 0; round < 20000; round++) {
+            String value = randomText(random, 8);
+            String needle = randomText(random, 3).trim();
+            if (needle.isEmpty()) {
+                continue;
+            }
+            boolean expected = value.toLowerCase(Locale.ROOT).contains(needle.toLowerCase(Locale.ROOT));
+            assertEquals(expected, airline(needle).matchesAirline(value), needle + " in " + value);
+            matched += expected ? 1 : 0;
+        }
+        assertTrue(matched > 1000, "too few matches: " + matched);
+    }
+
+    @Test
+    void nonAsciiFirstLettersAndLongNeedles() {
+        assertTrue(airline("über").matchesAirline("Flug ÜBERland"));
+        assertTrue(airline("ÜBER").matchesAirline("überland"));
+        assertTrue(airline("éc").matchesAirline("École"));
+        assertFalse(airline("über").matchesAirline("Ubers"));
+
+        // Longer than the value, or running past its end
+        assertFalse(airline("lufthansa cargo").matchesAirline("Lufthansa"));
+        assertFalse(airline("sax").matchesAirline("Lufthansa"));
+        assertTrue(airline("Nsa").matchesAirline("Lufthansa"));
+        assertFalse(airline("ü").matchesAirline(""));
+        assertFalse(airline("a").matchesAirline(null));
+
+        assertTrue(airline("  ").matchesAirline(null)); // no criterion
+    }
+
+    @Test
+    void numbersMatchByIdOnlyWhileTheyFitAnInt() {
+        BusStation one = station(1, "Central", "CEN", "Springfield");
+        BusStation big = station(Integer.MAX_VALUE, "Gate 4294967297", "G42", "Shelbyville");
+
+        assertTrue(LocationNeedle.of(" 1 ").matches(one));
+        assertTrue(LocationNeedle.of("+1").matches(one));
+        assertTrue(LocationNeedle.of("2147483647").matches(big));
+        assertFalse(LocationNeedle.of("2").matches(one));
+
+        // Past int (and past long): no ID wraps around to 1, the text still matches
+        assertFalse(LocationNeedle.of("4294967297").matches(one));
+        assertTrue(LocationNeedle.of("4294967297").matches(big));
+        assertFalse(LocationNeedle.of("99999999999999999999").matches(one));
+        assertTrue(LocationNeedle.of("42").matches(big));
+
+        // Signs alone are text
+        assertFalse(LocationNeedle.of("-").matches(one));
+        assertTrue(LocationNeedle.of("-").matches(station(2, "Hill-Top", "HT", "Ogdenville")));
+        assertSame(LocationNeedle.ANY, LocationNeedle.of("   "));
+        assertSame(LocationNeedle.ANY, LocationNeedle.of(null));
+        assertTrue(LocationNeedle.ANY.matches(one));
+        assertFalse(LocationNeedle.of("cen").matches((BusStation) null));
+    }
+
+    @Test
+    void narrowsOnlyWhenItsMatchesAreASubset() {
+        LocationNeedle par = LocationNeedle.of("par");
+        LocationNeedle paris = LocationNeedle.of("PARIS ");
+
+        assertTrue(paris.narrows(par));
+        assertTrue(par.narrows(par));
+        assertFalse(par.narrows(paris));
+        assertTrue(par.narrows(LocationNeedle.ANY));
+        assertTrue(LocationNeedle.ANY.narrows(LocationNeedle.ANY));
+        assertFalse(LocationNeedle.ANY.narrows(par));
+
+        // IDs match outside their text, so they only narrow themselves; numbers past int are text
+        assertTrue(LocationNeedle.of("12").narrows(LocationNeedle.of("12")));
+        assertFalse(LocationNeedle.of("12").narrows(LocationNeedle.of("1")));
+        assertFalse(LocationNeedle.of("a1").narrows(LocationNeedle.of("1")));
+        assertFalse(LocationNeedle.of("1").narrows(LocationNeedle.of("a")));
+        assertTrue(LocationNeedle.of("42949672971").narrows(LocationNeedle.of("4294967297")));
+    }
+
+    @Test
+    void hasCodeComparesTheWholeCodeIgnoringCase() {
+        BusStation central = station(1, "Central", "CEN", "Springfield");
+
+        assertTrue(LocationNeedle.of("cen").hasCode(central));
+        assertTrue(LocationNeedle.of(" CEN ").hasCode(central));
+        assertFalse(LocationNeedle.of("ce").hasCode(central));
+        assertFalse(LocationNeedle.of("cent").hasCode(central));
+        assertFalse(LocationNeedle.of("1").hasCode(central));
+        assertFalse(LocationNeedle.ANY.hasCode(central));
+        assertFalse(LocationNeedle.of("cen").hasCode(null));
+        assertFalse(LocationNeedle.of("cen").hasCode(station(1, "Central", null, "Springfield")));
+    }
+}
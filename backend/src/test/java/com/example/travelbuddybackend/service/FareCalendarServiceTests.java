@@ -0,0 +1,242 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.models.Airport;
+import com.example.travelbuddybackend.models.DailyFare;
+import com.example.travelbuddybackend.models.FlightDetails;
+import com.example.travelbuddybackend.repository.AirportRepository;
+import com.example.travelbuddybackend.repository.FlightDetailsRepository;
+import com.example.travelbuddybackend.service.FareCalendarService.FareCalendar;
+import com.example.travelbuddybackend.service.FareCalendarService.FareDay;
+import com.example.travelbuddybackend.service.FareCalendarService.ModeFare;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fare Calendar Service Tests
+ *
+ * Route caching on a hand-driven clock: invalidation by trip changes, loads
+ * racing an invalidation, TTL expiry, LRU eviction, and days without trips.
+ */
+class FareCalendarServiceTests {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    // Queries run per "mode ORIGIN-DESTINATION"
+    private final Map<String, Integer> loads = new ConcurrentHashMap<>();
+    // What the flight query returns; the train and bus queries have one trip on DAY
+    private final AtomicReference<List<DailyFare>> flightFares = new AtomicReference<>(List.of(
+            new DailyFare("2025-03-09", 120.0, 2),
+            new DailyFare("2025-03-10", 80.0, 5)));
+    // Runs inside the flight query, e.g. to invalidate while it loads
+    private final AtomicReference<Runnable> duringFlightLoad = new AtomicReference<>(() -> {});
+
+    private FareCalendarService service(int maxRoutes) {
+        return new FareCalendarService(Map.of(
+                "flight", query("flight", (origin, destination) -> {
+                    duringFlightLoad.get().run();
+                    return flightFares.get();
+                }),
+                "train", query("train", (origin, destination) -> List.of(new DailyFare("2025-03-10", 60.0, 1))),
+                "bus", query("bus", (origin, destination) -> List.of(new DailyFare("2025-03-10", 95.5, 3)))),
+                TTL, maxRoutes, 31, clock::get);
+    }
+
+    private BiFunction<String, String, List<DailyFare>> query(String mode,
+                                                              BiFunction<String, String, List<DailyFare>> fares) {
+        return (origin, destination) -> {
+            loads.merge(mode + " " + origin + "-" + destination, 1, Integer::sum);
+            return fares.apply(origin, destination);
+        };
+    }
+
+    private int loads(String route) {
+        return loads.getOrDefault(route, 0);
+    }
+
+    private static FareCalendar flights(FareCalendarService service, String from, String to) {
+        return service.getFareCalendar(from, to, DAY, 1, "flight");
+    }
+
+    @Test
+    void daysWithoutTripsAreListedWithoutAFare() {
+        flightFares.set(List.of(
+                new DailyFare("2025-03-07", 50.0, 1),
+                new DailyFare("2025-03-09", 120.0, 2),
+                new DailyFare("2025-03-10", 80.0, 5),
+                new DailyFare("not a date", 1.0, 1),
+                new DailyFare(null, 1.0, 1)));
+        FareCalendar calendar = service(100).getFareCalendar(" lhr ", "cdg", DAY, 2, null);
+
+        assertEquals("LHR", calendar.from());
+        assertEquals(LocalDate.of(2025, 3, 8), calendar.start());
+        assertEquals(LocalDate.of(2025, 3, 12), calendar.end());
+        assertEquals(5, calendar.days().size());
+
+        FareDay empty = calendar.days().get(0);
+        assertEquals(LocalDate.of(2025, 3, 8), empty.date());
+        assertNull(empty.lowestPrice());
+        assertEquals(0, empty.trips());
+        assertTrue(empty.modes().isEmpty());
+
+        assertEquals(120.0, calendar.days().get(1).lowestPrice());
+        assertEquals(Map.of("flight", new ModeFare(120.0, 2)), calendar.days().get(1).modes());
+
+        // The cheapest across modes, and every mode's trips
+        FareDay busiest = calendar.days().get(2);
+        assertEquals(60.0, busiest.lowestPrice());
+        assertEquals(9, busiest.trips());
+        assertEquals(List.of("flight", "train", "bus"), List.copyOf(busiest.modes().keySet()));
+
+        assertNull(calendar.days().get(4).lowestPrice());
+    }
+
+    @Test
+    void aRouteIsReadOnceUntilATripOnItChanges() {
+        FareCalendarService service = service(100);
+        service.getFareCalendar("LHR", "CDG", DAY, 3, null);
+        service.getFareCalendar("lhr", "cdg", DAY.plusDays(20), 10, null);
+        assertEquals(1, loads("flight LHR-CDG"));
+        assertEquals(1, loads("train LHR-CDG"));
+
+        // Other routes, other modes and events without codes leave the cached route alone
+        service.onTripChanged(new TripChangedEvent("flight", "LHR", "AMS"));
+        service.onTripChanged(new TripChangedEvent("flight", "CDG", "LHR"));
+        service.onTripChanged(new TripChangedEvent("flight", null, "CDG"));
+        service.onTripChanged(new TripChangedEvent("train", "LHR", "CDG"));
+        service.getFareCalendar("LHR", "CDG", DAY, 3, null);
+        assertEquals(1, loads("flight LHR-CDG"));
+        assertEquals(2, loads("train LHR-CDG"));
+        assertEquals(1, loads("bus LHR-CDG"));
+
+        flightFares.set(List.of(new DailyFare("2025-03-10", 70.0, 6)));
+        service.onTripChanged(new TripChangedEvent("flight", "lhr", "cdg"));
+        assertEquals(70.0, flights(service, "LHR", "CDG").days().get(1).lowestPrice());
+        assertEquals(2, loads("flight LHR-CDG"));
+    }
+
+    @Test
+    void anUpdateMovingATripDropsBothRoutes() {
+        FareCalendarService fareCalendar = service(100);
+        Airport heathrow = airport(1, "LHR");
+        Airport paris = airport(2, "CDG");
+        Airport amsterdam = airport(3, "AMS");
+        FlightDetails before = flight(heathrow, paris);
+        FlightDetailsRepository flightRepository = new FlightDetailsRepository(null, null) {
+            @Override
+            public Optional<FlightDetails> findById(Integer id) {
+                return Optional.of(before);
+            }
+
+            @Override
+            public boolean updateFlightDetails(FlightDetails flightDetails) {
+                return true;
+            }
+        };
+        AirportRepository airportRepository = new AirportRepository(null) {
+            @Override
+            public Optional<Airport> findById(Integer id) {
+                return Optional.of(List.of(heathrow, paris, amsterdam).get(id - 1));
+            }
+        };
+        FlightDetailsService flights = new FlightDetailsService(flightRepository, airportRepository, new ValidatorService(),
+                event -> fareCalendar.onTripChanged((TripChangedEvent) event), Duration.ofMinutes(5));
+        flights(fareCalendar, "LHR", "CDG");
+        flights(fareCalendar, "LHR", "AMS");
+
+        assertTrue(flights.updateFlightDetails(flight(heathrow, amsterdam)));
+        flights(fareCalendar, "LHR", "CDG");
+        flights(fareCalendar, "LHR", "AMS");
+        assertEquals(2, loads("flight LHR-CDG"));
+        assertEquals(2, loads("flight LHR-AMS"));
+    }
+
+    @Test
+    void aLoadRacingAnInvalidationIsServedButNotCached() {
+        FareCalendarService service = service(100);
+        duringFlightLoad.set(() -> {
+            duringFlightLoad.set(() -> {});
+            service.onTripChanged(new TripChangedEvent("flight", "LHR", "CDG"));
+        });
+
+        // The invalidated load is still this request's answer, but may be stale for the next one
+        assertEquals(80.0, flights(service, "LHR", "CDG").days().get(1).lowestPrice());
+        flights(service, "LHR", "CDG");
+        flights(service, "LHR", "CDG");
+        assertEquals(2, loads("flight LHR-CDG"));
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        FareCalendarService service = service(100);
+        flights(service, "LHR", "CDG");
+
+        clock.addAndGet(TTL.toNanos() - 1);
+        flights(service, "LHR", "CDG");
+        assertEquals(1, loads("flight LHR-CDG"));
+
+        clock.addAndGet(1);
+        flights(service, "LHR", "CDG");
+        assertEquals(2, loads("flight LHR-CDG"));
+        clock.addAndGet(TTL.toNanos() - 1);
+        flights(service, "LHR", "CDG");
+        assertEquals(2, loads("flight LHR-CDG"));
+    }
+
+    @Test
+    void theLeastRecentlyUsedRouteIsEvicted() {
+        FareCalendarService service = service(2);
+        flights(service, "LHR", "CDG");
+        flights(service, "LHR", "AMS");
+        flights(service, "LHR", "CDG"); // AMS is now the least recently used
+        flights(service, "LHR", "FRA");
+
+        flights(service, "LHR", "CDG");
+        assertEquals(1, loads("flight LHR-CDG"));
+        flights(service, "LHR", "AMS");
+        assertEquals(2, loads("flight LHR-AMS"));
+        // Reloading AMS evicted FRA, by then the least recently used
+        flights(service, "LHR", "CDG");
+        assertEquals(1, loads("flight LHR-CDG"));
+        flights(service, "LHR", "FRA");
+        assertEquals(2, loads("flight LHR-FRA"));
+    }
+
+    @Test
+    void rejectsInvalidRequests() {
+        FareCalendarService service = service(100);
+        assertThrows(IllegalArgumentException.class, () -> service.getFareCalendar(" ", "CDG", DAY, 3, null));
+        assertThrows(IllegalArgumentException.class, () -> service.getFareCalendar("LHR", "CDG", null, 3, null));
+        assertThrows(IllegalArgumentException.class, () -> service.getFareCalendar("LHR", "CDG", DAY, 32, null));
+        assertThrows(IllegalArgumentException.class, () -> service.getFareCalendar("LHR", "CDG", DAY, -1, null));
+        assertThrows(IllegalArgumentException.class, () -> service.getFareCalendar("LHR", "CDG", DAY, 3, "ferry"));
+        assertTrue(loads.isEmpty());
+    }
+
+    private static Airport airport(int id, String code) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setAirportCode(code);
+        return airport;
+    }
+
+    private static FlightDetails flight(Airport origin, Airport destination) {
+        return new FlightDetails(7, "BA304", "British Airways", origin, destination,
+                "2025-03-10", "2025-03-10", "08:00", "10:15", "2h 15m", "120.00");
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.config.RateLimitProperties;
+import com.example.travelbuddybackend.service.RateLimiterService.Decision;
+import com.example.travelbuddybackend.service.RateLimiterService.Quota;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rate Limiter Service Tests
+ *
+ * Token bucket arithmetic and bucket eviction on a hand-driven clock.
+ */
+class RateLimiterServiceTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    // 3 requests of burst, then one every second
+    private static final Quota QUOTA = new Quota(3, SECOND);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    private RateLimiterService limiter(int maxTrackedKeys) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setStripes(1);
+        properties.setMaxTrackedKeys(maxTrackedKeys);
+        return new RateLimiterService(properties, clock::get);
+    }
+
+    @Test
+    void burstUpToCapacityThenRefuses() {
+        RateLimiterService limiter = limiter(100);
+
+        assertEquals(2, limiter.tryConsume("search", "a", QUOTA).remaining());
+        assertEquals(1, limiter.tryConsume("search", "a", QUOTA).remaining());
+        assertEquals(0, limiter.tryConsume("search", "a", QUOTA).remaining());
+
+        Decision refused = limiter.tryConsume("search", "a", QUOTA);
+        assertFalse(refused.allowed());
+        assertEquals(3, refused.limit());
+        assertEquals(0, refused.remaining());
+    }
+
+    @Test
+    void refillsOneTokenPerPeriod() {
+        RateLimiterService limiter = limiter(100);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryConsume("search", "a", QUOTA);
+        }
+
+        clock.addAndGet(SECOND / 2);
+        assertFalse(limiter.tryConsume("search", "a", QUOTA).allowed());
+
+        clock.addAndGet(SECOND / 2);
+        assertTrue(limiter.tryConsume("search", "a", QUOTA).allowed());
+        assertFalse(limiter.tryConsume("search", "a", QUOTA).allowed());
+
+        // Idle long enough to refill completely, but never beyond capacity
+        clock.addAndGet(60 * SECOND);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryConsume("search", "a", QUOTA).allowed());
+        }
+        assertFalse(limiter.tryConsume("search", "a", QUOTA).allowed());
+    }
+
+    @Test
+    void retryAfterIsTheWaitForTheNextTokenRoundedUp() {
+        RateLimiterService limiter = limiter(100);
+        Quota slow = new Quota(1, 10 * SECOND);
+        assertTrue(limiter.tryConsume("login", "a", slow).allowed());
+
+        clock.addAndGet(2 * SECOND + 1);
+        Decision refused = limiter.tryConsume("login", "a", slow);
+        assertFalse(refused.allowed());
+        assertEquals(8 * SECOND - 1, refused.retryAfterNanos());
+        assertEquals(8, refused.retryAfterSeconds());
+
+        clock.addAndGet(8 * SECOND - 1);
+        assertTrue(limiter.tryConsume("login", "a", slow).allowed());
+    }
+
+    @Test
+    void bucketsAreKeptPerRouteAndClient() {
+        RateLimiterService limiter = limiter(100);
+        Quota single = new Quota(1, SECOND);
+
+        assertTrue(limiter.tryConsume("search", "a", single).allowed());
+        assertFalse(limiter.tryConsume("search", "a", single).allowed());
+        assertTrue(limiter.tryConsume("search", "b", single).allowed());
+        assertTrue(limiter.tryConsume("booking", "a", single).allowed());
+    }
+
+    @Test
+    void aFloodOfNewKeysIsServedAndEvictsItsOwnBucketsFirst() {
+        RateLimiterService limiter = limiter(10);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryConsume("login", "victim", QUOTA).allowed());
+        }
+        assertFalse(limiter.tryConsume("login", "victim", QUOTA).allowed());
+
+        // Each flood key owes one token, the victim three: the flood's buckets are shed first
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryConsume("login", "flood-" + i, QUOTA).allowed());
+            assertTrue(limiter.getTrackedKeyCount() <= 10);
+        }
+        assertEquals(0, limiter.getUntrackedCount());
+
+        // The victim is still throttled: its bucket survived the flood
+        assertFalse(limiter.tryConsume("login", "victim", QUOTA).allowed());
+    }
+
+    @Test
+    void aFullStripeShedsTheBucketsRefillingSoonest() {
+        RateLimiterService limiter = limiter(10);
+        for (int key = 0; key < 10; key++) {
+            // key-k owes k % 3 + 1 tokens, and a key consuming later will be full later
+            for (int i = 0; i <= key % 3; i++) {
+                limiter.tryConsume("search", "key-" + key, QUOTA);
+            }
+            clock.addAndGet(1);
+        }
+
+        assertTrue(limiter.tryConsume("search", "new", QUOTA).allowed());
+        assertEquals(10, limiter.getTrackedKeyCount());
+        // key-0 was the first to owe a single token and went; the keys owing more stayed
+        assertEquals(2, limiter.tryConsume("search", "key-0", QUOTA).remaining());
+        assertEquals(0, limiter.tryConsume("search", "key-2", QUOTA).remaining());
+        assertEquals(0, limiter.tryConsume("search", "key-5", QUOTA).remaining());
+    }
+
+    @Test
+    void evictionDropsFullBucketsToMakeRoom() {
+        RateLimiterService limiter = limiter(4);
+        Quota single = new Quota(1, 10 * SECOND);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryConsume("login", "old-" + i, single).allowed());
+        }
+
+        // Once the old buckets have refilled they are all dropped for the new key
+        clock.addAndGet(10 * SECOND);
+        assertTrue(limiter.tryConsume("login", "new", single).allowed());
+        assertEquals(1, limiter.getTrackedKeyCount());
+    }
+
+    @Test
+    void evictionKeepsPartlyRefilledBuckets() {
+        RateLimiterService limiter = limiter(2);
+        assertTrue(limiter.tryConsume("search", "a", QUOTA).allowed());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryConsume("search", "b", QUOTA).allowed());
+        }
+
+        // a is full again, b still owes two tokens
+        clock.addAndGet(SECOND);
+        assertTrue(limiter.tryConsume("search", "c", QUOTA).allowed());
+        assertEquals(2, limiter.getTrackedKeyCount());
+        assertEquals(0, limiter.tryConsume("search", "b", QUOTA).remaining());
+    }
+}
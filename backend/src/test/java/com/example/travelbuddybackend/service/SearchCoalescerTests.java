@@ -0,0 +1,203 @@
+package com.example.travelbuddybackend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Search Coalescer Tests
+ *
+ * One leader running the work for concurrent callers of a key, its failure
+ * reaching them, and what callers arriving late or giving up get.
+ */
+class SearchCoalescerTests {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SearchCoalescer coalescer = new SearchCoalescer(true, new SimpleMeterRegistry());
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void stopCallers() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    /**
+     * Work that blocks until release, then returns a new list
+     */
+    private Supplier<List<String>> blockingWork(String result) {
+        return () -> {
+            runs.incrementAndGet();
+            await(release);
+            return new ArrayList<>(List.of(result));
+        };
+    }
+
+    private Future<List<String>> call(Object key, Supplier<List<String>> work) {
+        return callers.submit(() -> coalescer.execute("flight", key, work));
+    }
+
+    /**
+     * Wait until the leader runs and the given number of callers have joined it
+     */
+    private void awaitJoined(long followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (runs.get() == 0 || coalescer.getStats().coalesced() < followers) {
+            if (System.nanoTime() > deadline) {
+                fail("only " + coalescer.getStats().coalesced() + " of " + followers + " callers joined");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void followersShareTheLeadersResult() throws Exception {
+        Future<List<String>> leader = call("LHR-CDG", blockingWork("leader"));
+        awaitJoined(0);
+        List<Future<List<String>>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(call("LHR-CDG", blockingWork("follower " + i)));
+        }
+        Future<List<String>> otherKey = call("LHR-AMS", () -> List.of("other"));
+        assertEquals(List.of("other"), otherKey.get(10, TimeUnit.SECONDS));
+        awaitJoined(FOLLOWERS);
+
+        release.countDown();
+        List<String> result = leader.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("leader"), result);
+        for (Future<List<String>> follower : followers) {
+            assertSame(result, follower.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+
+        SearchCoalescer.CoalescingStats stats = coalescer.getStats();
+        assertEquals(FOLLOWERS + 2, stats.searches());
+        assertEquals(FOLLOWERS, stats.coalesced());
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    void theLeadersFailureReachesEveryFollower() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database down");
+        Supplier<List<String>> failing = () -> {
+            runs.incrementAndGet();
+            await(release);
+            throw failure;
+        };
+        Future<List<String>> leader = call("LHR-CDG", failing);
+        awaitJoined(0);
+        List<Future<List<String>>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(call("LHR-CDG", blockingWork("follower " + i)));
+        }
+        awaitJoined(FOLLOWERS);
+
+        release.countDown();
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+        assertSame(failure, thrown.getCause());
+        for (Future<List<String>> follower : followers) {
+            thrown = assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(1, runs.get());
+
+        // The failure is not kept: the next search runs again
+        assertEquals(List.of("again"), coalescer.execute("flight", "LHR-CDG", () -> List.of("again")));
+    }
+
+    @Test
+    void aCallerArrivingAsTheLeaderFinishesStartsANewRun() throws Exception {
+        Future<List<String>> leader = call("LHR-CDG", blockingWork("first"));
+        awaitJoined(0);
+        // As soon as it has the result, a follower searches again
+        CompletableFuture<List<String>> again = new CompletableFuture<>();
+        Future<List<String>> follower = callers.submit(() -> {
+            List<String> result = coalescer.execute("flight", "LHR-CDG", blockingWork("unused"));
+            again.complete(coalescer.execute("flight", "LHR-CDG", () -> {
+                runs.incrementAndGet();
+                return List.of("second");
+            }));
+            return result;
+        });
+        awaitJoined(1);
+
+        release.countDown();
+        assertEquals(List.of("first"), leader.get(10, TimeUnit.SECONDS));
+        assertEquals(List.of("first"), follower.get(10, TimeUnit.SECONDS));
+        // The key was released before the result was handed out, so it did not join the finished run
+        assertEquals(List.of("second"), again.get(10, TimeUnit.SECONDS));
+        assertEquals(2, runs.get());
+        assertEquals(0, coalescer.getStats().inFlight());
+    }
+
+    @Test
+    void anInterruptedFollowerStopsWaitingAndKeepsItsInterrupt() throws Exception {
+        Future<List<String>> leader = call("LHR-CDG", blockingWork("leader"));
+        awaitJoined(0);
+        CompletableFuture<Thread> followerThread = new CompletableFuture<>();
+        CompletableFuture<Boolean> interruptedAfter = new CompletableFuture<>();
+        Future<Throwable> follower = callers.submit(() -> {
+            followerThread.complete(Thread.currentThread());
+            try {
+                coalescer.execute("flight", "LHR-CDG", blockingWork("unused"));
+                return null;
+            } catch (RuntimeException e) {
+                return e;
+            } finally {
+                interruptedAfter.complete(Thread.currentThread().isInterrupted());
+            }
+        });
+        awaitJoined(1);
+
+        followerThread.get(10, TimeUnit.SECONDS).interrupt();
+        assertInstanceOf(CancellationException.class, follower.get(10, TimeUnit.SECONDS));
+        assertTrue(interruptedAfter.get(10, TimeUnit.SECONDS));
+
+        // The leader is not affected
+        release.countDown();
+        assertEquals(List.of("leader"), leader.get(10, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void disabledCoalescingRunsEverySearch() {
+        SearchCoalescer disabled = new SearchCoalescer(false, new SimpleMeterRegistry());
+        for (int i = 0; i < 3; i++) {
+            disabled.execute("flight", "LHR-CDG", () -> runs.incrementAndGet());
+        }
+        assertEquals(3, runs.get());
+        assertEquals(0, disabled.getStats().searches());
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.monitoring.InstrumentedJdbcTemplate;
+import com.example.travelbuddybackend.monitoring.RequestQueryTracker;
+import com.example.travelbuddybackend.monitoring.RequestQueryTracker.RequestQueryStats;
+import com.example.travelbuddybackend.service.SearchFanOut.ModeOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Search Fan-Out Tests
+ *
+ * The shared deadline, degraded and cancelled modes, caller-runs on a full
+ * queue and query counting across threads, with JDBC stubbed by proxies.
+ */
+class SearchFanOutTests {
+
+    private static final List<String> FALLBACK = List.of("fallback");
+
+    private final RequestQueryTracker tracker = new RequestQueryTracker();
+    private final List<SearchFanOut> fanOuts = new ArrayList<>();
+    // Released by a statement's cancel(); executeQuery of a slow statement waits for it
+    private final CountDownLatch statementCancelled = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        statementCancelled.countDown();
+        fanOuts.forEach(SearchFanOut::shutdown);
+    }
+
+    private SearchFanOut fanOut(int threads, int queueCapacity, Duration modeTimeout) {
+        SearchFanOut fanOut = new SearchFanOut(tracker, true, threads, queueCapacity, modeTimeout, false);
+        fanOuts.add(fanOut);
+        return fanOut;
+    }
+
+    private static Supplier<List<String>> sleeping(long millis, String result) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(result);
+        };
+    }
+
+    /**
+     * A JDBC object whose methods do nothing and return defaults, except the ones handled
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, StubMethod handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object handled = handler.invoke(method.getName());
+            if (handled != null) {
+                return handled;
+            }
+            Class<?> returns = method.getReturnType();
+            if (returns == boolean.class) return false;
+            if (returns == int.class) return 0;
+            if (returns == long.class) return 0L;
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    private interface StubMethod {
+        Object invoke(String method) throws Exception;
+    }
+
+    /**
+     * A template whose statements return an empty result at once, or with slow set,
+     * block until Statement.cancel() is called
+     */
+    private InstrumentedJdbcTemplate jdbc(boolean slow) {
+        DataSource dataSource = stub(DataSource.class, method -> method.equals("getConnection")
+                ? stub(Connection.class, connectionMethod -> connectionMethod.equals("createStatement")
+                        ? stub(Statement.class, statementMethod -> switch (statementMethod) {
+                            case "cancel" -> {
+                                statementCancelled.countDown();
+                                yield null;
+                            }
+                            case "executeQuery" -> {
+                                if (slow) {
+                                    awaitIgnoringInterrupts(statementCancelled);
+                                    throw new SQLException("Query execution was interrupted");
+                                }
+                                yield stub(ResultSet.class, resultSetMethod -> null);
+                            }
+                            default -> null;
+                        })
+                        : null)
+                : null);
+        return new InstrumentedJdbcTemplate(dataSource, List.of(tracker));
+    }
+
+    /**
+     * Wait like a JDBC driver does, which doesn't react to Thread.interrupt()
+     */
+    private static void awaitIgnoringInterrupts(CountDownLatch latch) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        boolean interrupted = false;
+        while (latch.getCount() > 0 && System.nanoTime() < deadline) {
+            try {
+                latch.await(10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One statement, answered like a repository: a failure gives an empty result
+     */
+    private static Supplier<List<String>> query(InstrumentedJdbcTemplate jdbc, String mode) {
+        return () -> {
+            try {
+                jdbc.query("SELECT * FROM " + mode, resultSet -> null);
+                return List.of(mode);
+            } catch (RuntimeException e) {
+                return List.of();
+            }
+        };
+    }
+
+    @Test
+    void modesShareOneDeadline() {
+        LinkedHashMap<String, Supplier<List<String>>> tasks = new LinkedHashMap<>();
+        tasks.put("flight", sleeping(250, "flight"));
+        tasks.put("train", sleeping(450, "train"));
+
+        long start = System.nanoTime();
+        List<ModeOutcome<List<String>>> outcomes = fanOut(4, 10, Duration.ofMillis(300)).invokeAll(tasks, FALLBACK);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Train would have made it within its own 300ms after flight's 250ms, but not within the shared deadline
+        assertEquals(List.of("flight", "train"), outcomes.stream().map(ModeOutcome::mode).toList());
+        assertFalse(outcomes.get(0).degraded());
+        assertEquals(List.of("flight"), outcomes.get(0).value());
+        assertTrue(outcomes.get(1).degraded());
+        assertSame(FALLBACK, outcomes.get(1).value());
+        assertTrue(waitedMillis < 440, "waited " + waitedMillis + " ms");
+    }
+
+    @Test
+    void aFailingModeIsDegradedWithTheFallback() {
+        LinkedHashMap<String, Supplier<List<String>>> tasks = new LinkedHashMap<>();
+        tasks.put("flight", () -> {
+            throw new IllegalStateException("flight search broke");
+        });
+        tasks.put("train", () -> List.of("train"));
+        tasks.put("bus", () -> List.of("bus"));
+
+        List<ModeOutcome<List<String>>> outcomes = fanOut(4, 10, Duration.ofSeconds(5)).invokeAll(tasks, FALLBACK);
+
+        assertTrue(outcomes.get(0).degraded());
+        assertSame(FALLBACK, outcomes.get(0).value());
+        assertEquals(List.of("train"), outcomes.get(1).value());
+        assertEquals(List.of("bus"), outcomes.get(2).value());
+        assertFalse(outcomes.get(1).degraded() || outcomes.get(2).degraded());
+    }
+
+    @Test
+    void aModeMissingTheDeadlineHasItsStatementCancelled() throws Exception {
+        LinkedHashMap<String, Supplier<List<String>>> tasks = new LinkedHashMap<>();
+        tasks.put("flight", query(jdbc(true), "flight"));
+        tasks.put("train", query(jdbc(false), "train"));
+        tasks.get("train").get(); // load the JDBC classes before the clock starts
+
+        List<ModeOutcome<List<String>>> outcomes = fanOut(4, 10, Duration.ofMillis(500)).invokeAll(tasks, FALLBACK);
+
+        assertTrue(outcomes.get(0).degraded());
+        assertEquals(List.of("train"), outcomes.get(1).value());
+        // The driver ignores interrupts: only Statement.cancel() stops the query
+        assertTrue(statementCancelled.await(5, TimeUnit.SECONDS), "timed-out statement kept running");
+    }
+
+    @Test
+    void aFullQueueRunsTheTaskOnTheCallingThread() {
+        CountDownLatch callerRan = new CountDownLatch(1);
+        AtomicReference<Thread> busThread = new AtomicReference<>();
+        LinkedHashMap<String, Supplier<List<String>>> tasks = new LinkedHashMap<>();
+        // flight holds the only thread and train the only queue slot, until bus has run
+        tasks.put("flight", () -> {
+            try {
+                callerRan.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of("flight");
+        });
+        tasks.put("train", () -> List.of("train"));
+        tasks.put("bus", () -> {
+            busThread.set(Thread.currentThread());
+            callerRan.countDown();
+            return List.of("bus");
+        });
+
+        List<ModeOutcome<List<String>>> outcomes = fanOut(1, 1, Duration.ofSeconds(5)).invokeAll(tasks, FALLBACK);
+
+        assertSame(Thread.currentThread(), busThread.get());
+        assertEquals(List.of(List.of("flight"), List.of("train"), List.of("bus")),
+                outcomes.stream().map(ModeOutcome::value).toList());
+        assertFalse(outcomes.stream().anyMatch(ModeOutcome::degraded));
+    }
+
+    @Test
+    void statementsOnSearchThreadsCountTowardsTheRequest() {
+        InstrumentedJdbcTemplate jdbc = jdbc(false);
+        LinkedHashMap<String, Supplier<List<String>>> tasks = new LinkedHashMap<>();
+        tasks.put("flight", query(jdbc, "flight"));
+        tasks.put("train", query(jdbc, "train"));
+        tasks.put("bus", query(jdbc, "bus"));
+
+        tracker.begin();
+        List<ModeOutcome<List<String>>> outcomes;
+        try {
+            outcomes = fanOut(4, 10, Duration.ofSeconds(5)).invokeAll(tasks, FALLBACK);
+        } finally {
+            RequestQueryStats stats = tracker.end();
+            assertEquals(3, stats.getQueryCount());
+        }
+        assertEquals(List.of(List.of("flight"), List.of("train"), List.of("bus")),
+                outcomes.stream().map(ModeOutcome::value).toList());
+
+        // Outside a request nothing is counted, and nothing is left bound to the search threads
+        fanOut(4, 10, Duration.ofSeconds(5)).invokeAll(tasks, FALLBACK);
+        tracker.begin();
+        assertEquals(0, tracker.end().getQueryCount());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.travelbuddybackend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Search Session Service Tests
+ *
+ * Contexts recalled only while current: same version, not idle, within the
+ * candidate cap, and with sessions bounded in number.
+ */
+class SearchSessionServiceTests {
+
+    private static final Duration IDLE = Duration.ofMinutes(5);
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    private SearchSessionService service(int maxSessions, int maxCandidates) {
+        return new SearchSessionService(true, maxSessions, maxCandidates, IDLE, new SimpleMeterRegistry(), now::get);
+    }
+
+    private static void remember(SearchSessionService sessions, String sessionId, String kind, String context) {
+        sessions.remember(sessionId, kind, sessions.version(kind), context, 1);
+    }
+
+    @Test
+    void recallsTheLastContextOfEachKind() {
+        SearchSessionService sessions = service(100, 10);
+        remember(sessions, "box-1", "flight-stations", "par");
+        remember(sessions, "box-1", "flight-stations", "pari");
+        remember(sessions, "box-1", "bus-stations", "ber");
+        remember(sessions, "box-2", "flight-stations", "ams");
+
+        assertEquals("pari", sessions.recall("box-1", "flight-stations", String.class));
+        assertEquals("ber", sessions.recall("box-1", "bus-stations", String.class));
+        assertEquals("ams", sessions.recall("box-2", "flight-stations", String.class));
+        assertNull(sessions.recall("box-2", "bus-stations", String.class));
+        assertNull(sessions.recall("box-1", "flight-stations", Integer.class));
+        assertNull(sessions.recall(null, "flight-stations", String.class));
+        assertNull(sessions.recall("x".repeat(65), "flight-stations", String.class));
+
+        SearchSessionService disabled = new SearchSessionService(false, 100, 10, IDLE, new SimpleMeterRegistry(), now::get);
+        remember(disabled, "box-1", "flight-stations", "par");
+        assertNull(disabled.recall("box-1", "flight-stations", String.class));
+        assertEquals(0, disabled.getSessionCount());
+    }
+
+    @Test
+    void invalidatingAKindHidesItsOlderContexts() {
+        SearchSessionService sessions = service(100, 10);
+        long before = sessions.version("flight-stations");
+        remember(sessions, "box-1", "flight-stations", "par");
+        remember(sessions, "box-1", "bus-stations", "ber");
+
+        sessions.invalidate("flight-stations");
+        assertEquals(before + 1, sessions.version("flight-stations"));
+        assertNull(sessions.recall("box-1", "flight-stations", String.class));
+        assertEquals("ber", sessions.recall("box-1", "bus-stations", String.class));
+
+        // A search that began before the invalidation is not remembered
+        sessions.remember("box-1", "flight-stations", before, "pari", 1);
+        assertNull(sessions.recall("box-1", "flight-stations", String.class));
+
+        remember(sessions, "box-1", "flight-stations", "pari");
+        assertEquals("pari", sessions.recall("box-1", "flight-stations", String.class));
+    }
+
+    @Test
+    void idleSessionsExpire() {
+        SearchSessionService sessions = service(100, 10);
+        remember(sessions, "box-1", "flight-stations", "par");
+
+        now.addAndGet(IDLE.toNanos());
+        assertEquals("par", sessions.recall("box-1", "flight-stations", String.class)); // and is used again
+
+        now.addAndGet(IDLE.toNanos() + 1);
+        assertNull(sessions.recall("box-1", "flight-stations", String.class));
+
+        // A fresh search starts a new session without the expired contexts
+        remember(sessions, "box-1", "bus-stations", "ber");
+        assertNull(sessions.recall("box-1", "flight-stations", String.class));
+        assertEquals("ber", sessions.recall("box-1", "bus-stations", String.class));
+    }
+
+    @Test
+    void contextsOverTheCandidateCapAreDropped() {
+        SearchSessionService sessions = service(100, 10);
+        sessions.remember("box-1", "flight-stations", 0, "par", 10);
+        assertEquals("par", sessions.recall("box-1", "flight-stations", String.class));
+
+        // Too large to keep: the previous context must not be narrowed down instead
+        sessions.remember("box-1", "flight-stations", 0, "p", 11);
+        assertNull(sessions.recall("box-1", "flight-stations", String.class));
+
+        sessions.remember("box-1", "flight-stations", 0, null, 0);
+        assertNull(sessions.recall("box-1", "flight-stations", String.class));
+        assertEquals(10, sessions.getMaxCandidates());
+    }
+
+    @Test
+    void sessionsBeyondTheLimitAreShed() {
+        SearchSessionService sessions = service(10, 10);
+        for (int i = 0; i < 5; i++) {
+            remember(sessions, "idle-" + i, "flight-stations", "par");
+        }
+        now.addAndGet(IDLE.toNanos() + 1);
+        for (int i = 0; i < 6; i++) {
+            remember(sessions, "box-" + i, "flight-stations", "par");
+        }
+
+        // The 11th session swept the idle ones first
+        assertEquals(6, sessions.getSessionCount());
+
+        for (int i = 6; i < 100; i++) {
+            remember(sessions, "box-" + i, "flight-stations", "par");
+            assertTrue(sessions.getSessionCount() <= 10, "sessions: " + sessions.getSessionCount());
+        }
+        // Shedding stops at 90% of the limit
+        assertTrue(sessions.getSessionCount() >= 9, "sessions: " + sessions.getSessionCount());
+    }
+}
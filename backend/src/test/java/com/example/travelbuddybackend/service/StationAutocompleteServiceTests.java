@@ -0,0 +1,162 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.models.Airport;
+import com.example.travelbuddybackend.models.BusStation;
+import com.example.travelbuddybackend.models.TrainStation;
+import com.example.travelbuddybackend.repository.AirportRepository;
+import com.example.travelbuddybackend.repository.BusStationRepository;
+import com.example.travelbuddybackend.repository.TrainStationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Station Autocomplete Service Tests
+ *
+ * Index rebuilds over an empty, a failing and a changing airports table,
+ * and one read shared by searches arriving before the first index.
+ */
+class StationAutocompleteServiceTests {
+
+    // What the next airports read returns; empty for a failed read
+    private final AtomicReference<Optional<List<Airport>>> airports = new AtomicReference<>(Optional.of(List.of()));
+    private final AtomicInteger reads = new AtomicInteger();
+    // Reads wait for it, to keep a cold build running
+    private final CountDownLatch readGate = new CountDownLatch(1);
+    private volatile boolean gated;
+
+    private StationAutocompleteService service() {
+        AirportRepository airportRepository = new AirportRepository(null) {
+            @Override
+            public Optional<List<Airport>> readAll() {
+                reads.incrementAndGet();
+                if (gated) {
+                    await(readGate);
+                }
+                return airports.get();
+            }
+        };
+        TrainStationRepository trainStationRepository = new TrainStationRepository(null) {
+            @Override
+            public Optional<List<TrainStation>> readAll() {
+                return Optional.of(List.of());
+            }
+        };
+        BusStationRepository busStationRepository = new BusStationRepository(null) {
+            @Override
+            public Optional<List<BusStation>> readAll() {
+                return Optional.of(List.of());
+            }
+        };
+        SearchSessionService sessions = new SearchSessionService(true, 100, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        return new StationAutocompleteService(airportRepository, trainStationRepository, busStationRepository, sessions, 20);
+    }
+
+    private static Airport airport(int id, String code, String name, String city) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setAirportCode(code);
+        airport.setAirportFullName(name);
+        airport.setAirportCityLocation(city);
+        return airport;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void anEmptyTableBuildsAnEmptyIndex() {
+        StationAutocompleteService service = service();
+
+        assertTrue(service.rebuild("flight"));
+        assertEquals(List.of(), service.searchAirports("par", null));
+        assertEquals(List.of(), service.searchAirports("par", "session"));
+        assertEquals(1, reads.get()); // searches use the empty index instead of reading again
+    }
+
+    @Test
+    void aFailedReadKeepsThePreviousIndex() {
+        StationAutocompleteService service = service();
+        airports.set(Optional.of(List.of(airport(1, "CDG", "Charles de Gaulle", "Paris"))));
+        assertTrue(service.rebuild("flight"));
+
+        airports.set(Optional.empty());
+        assertFalse(service.rebuild("flight"));
+        assertEquals(List.of("CDG"), service.searchAirports("par", null).stream().map(Airport::getAirportCode).toList());
+
+        // A successful read of an emptied table replaces it
+        airports.set(Optional.of(List.of()));
+        assertTrue(service.rebuild("flight"));
+        assertEquals(List.of(), service.searchAirports("par", null));
+    }
+
+    @Test
+    void aFailedFirstReadIsRetriedAtMostEveryThirtySeconds() {
+        airports.set(Optional.empty());
+        StationAutocompleteService service = service();
+
+        assertEquals(List.of(), service.searchAirports("par", null));
+        assertEquals(List.of(), service.searchAirports("pari", null));
+        assertEquals(1, reads.get());
+
+        airports.set(Optional.of(List.of(airport(1, "CDG", "Charles de Gaulle", "Paris"))));
+        service.onStationChanged(new StationChangedEvent("flight"));
+        assertEquals(1, service.searchAirports("par", null).size());
+    }
+
+    @Test
+    void concurrentColdSearchesShareOneRead() throws Exception {
+        airports.set(Optional.of(List.of(airport(1, "CDG", "Charles de Gaulle", "Paris"))));
+        gated = true;
+        StationAutocompleteService service = service();
+        ExecutorService searchers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Airport>>> searches = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                searches.add(searchers.submit(() -> service.searchAirports("par", null)));
+            }
+            while (reads.get() == 0) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(100); // let the other searches queue behind the build
+
+            readGate.countDown();
+            for (Future<List<Airport>> search : searches) {
+                assertEquals(1, search.get(10, TimeUnit.SECONDS).size());
+            }
+            assertEquals(1, reads.get());
+        } finally {
+            searchers.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsAnUnknownTransportType() {
+        StationAutocompleteService service = service();
+        assertThrows(IllegalArgumentException.class, () -> service.rebuild("ferry"));
+        service.onStationChanged(new StationChangedEvent("ferry"));
+        assertEquals(0, reads.get());
+    }
+}
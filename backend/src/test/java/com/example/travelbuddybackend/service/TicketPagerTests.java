@@ -0,0 +1,159 @@
+package com.example.travelbuddybackend.service;
+
+import com.example.travelbuddybackend.models.AvailableTicket;
+import com.example.travelbuddybackend.service.TicketPager.SortKey;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Ticket Pager Tests
+ *
+ * Pages from the bounded heap and from the full sort checked against
+ * sorting every ticket and skipping, over tickets with many equal keys.
+ */
+class TicketPagerTests {
+
+    private static final String[] TYPES = {"flight", "train", "bus"};
+    private static final LocalDateTime FIRST_DEPARTURE = LocalDateTime.of(2025, 3, 1, 6, 0);
+
+    private static AvailableTicket ticket(long id, String type, String departure, String arrival, Double price) {
+        return new AvailableTicket(id, type, type.substring(0, 1).toUpperCase() + id, "A", "B", departure, arrival, price, null);
+    }
+
+    private static String time(LocalDateTime dateTime) {
+        return dateTime.toString().replace('T', ' ');
+    }
+
+    /**
+     * Tickets whose prices, departures and durations take few values, so most keys are shared;
+     * ids repeat across transport types. Some prices are missing and some times unparseable.
+     */
+    private static List<AvailableTicket> randomTickets(Random random, int count) {
+        List<AvailableTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String type = TYPES[i % TYPES.length];
+            LocalDateTime departure = FIRST_DEPARTURE.plusHours(random.nextInt(6));
+            String departureTime = random.nextInt(30) == 0 ? "soon" : time(departure);
+            String arrivalTime = random.nextInt(30) == 0 ? null : time(departure.plusMinutes(30L * (1 + random.nextInt(4))));
+            Double price = random.nextInt(20) == 0 ? null : 10.0 * random.nextInt(8);
+            tickets.add(ticket(i / TYPES.length, type, departureTime, arrivalTime, price));
+        }
+        Collections.shuffle(tickets, random);
+        return tickets;
+    }
+
+    /**
+     * The order page() must produce, written out independently of it
+     */
+    private static Comparator<AvailableTicket> expectedOrder(SortKey sort) {
+        Comparator<AvailableTicket> order = switch (sort) {
+            case PRICE -> Comparator.comparingDouble(t -> t.getPrice() != null ? t.getPrice() : Double.MAX_VALUE);
+            case DEPARTURE -> Comparator.comparing(t -> t.getDepartureTime() != null ? t.getDepartureTime() : "");
+            case DURATION -> Comparator.comparingLong(TicketPagerTests::minutes);
+        };
+        return order.thenComparing(AvailableTicket::getTransportType).thenComparing(AvailableTicket::getId);
+    }
+
+    private static long minutes(AvailableTicket ticket) {
+        try {
+            return Duration.between(LocalDateTime.parse(ticket.getDepartureTime().replace(' ', 'T')),
+                    LocalDateTime.parse(ticket.getArrivalTime().replace(' ', 'T'))).toMinutes();
+        } catch (RuntimeException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static List<AvailableTicket> expectedPage(List<AvailableTicket> tickets, SortKey sort, int offset, int limit) {
+        return tickets.stream().sorted(expectedOrder(sort)).skip(offset).limit(limit).toList();
+    }
+
+    @Test
+    void pagesMatchSortingEveryTicket() {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            List<AvailableTicket> tickets = randomTickets(random, random.nextInt(120));
+            SortKey sort = SortKey.values()[random.nextInt(SortKey.values().length)];
+            // Offsets and limits on both sides of the end, so both the heap and the full sort run
+            int offset = random.nextInt(tickets.size() + 10);
+            int limit = random.nextInt(4) == 0 ? Integer.MAX_VALUE : random.nextInt(tickets.size() + 10);
+
+            List<AvailableTicket> page = TicketPager.page(tickets, sort, offset, limit);
+            assertEquals(expectedPage(tickets, sort, offset, limit), page, sort + " " + offset + "+" + limit);
+        }
+    }
+
+    @Test
+    void consecutivePagesSplitTiesWithoutGapsOrRepeats() {
+        Random random = new Random(7);
+        List<AvailableTicket> tickets = randomTickets(random, 500);
+
+        for (SortKey sort : SortKey.values()) {
+            for (int pageSize : new int[]{1, 7, 20, 499}) {
+                List<AvailableTicket> pages = new ArrayList<>();
+                for (int offset = 0; offset < tickets.size(); offset += pageSize) {
+                    pages.addAll(TicketPager.page(tickets, sort, offset, pageSize));
+                }
+                assertEquals(tickets.stream().sorted(expectedOrder(sort)).toList(), pages, sort + " by " + pageSize);
+            }
+        }
+    }
+
+    @Test
+    void missingPricesAndUnparseableTimesSortLast() {
+        List<AvailableTicket> tickets = List.of(
+                ticket(1, "flight", "2025-03-01 08:00", "2025-03-01 10:00", null),
+                ticket(2, "bus", "2025-03-01 09:00", "2025-03-01 09:30", 50.0),
+                ticket(3, "train", "2025-03-01 07:00", "not yet", 20.0),
+                ticket(4, "flight", null, "2025-03-01 12:00", 20.0),
+                ticket(5, "bus", "2025-03-01 06:00", "2025-03-01 07:00", null));
+
+        // Equal keys fall back to transport type, then id
+        assertEquals(List.of(4L, 3L, 2L, 5L, 1L), ids(TicketPager.page(tickets, SortKey.PRICE, 0, 10)));
+        assertEquals(List.of(4L, 3L), ids(TicketPager.page(tickets, SortKey.PRICE, 0, 2)));
+        assertEquals(List.of(5L, 1L), ids(TicketPager.page(tickets, SortKey.PRICE, 3, 2)));
+        assertEquals(List.of(2L, 5L, 1L, 4L, 3L), ids(TicketPager.page(tickets, SortKey.DURATION, 0, 10)));
+        assertEquals(List.of(2L, 5L), ids(TicketPager.page(tickets, SortKey.DURATION, 0, 2)));
+        // A missing departure sorts first, as the empty string
+        assertEquals(List.of(4L, 5L, 3L), ids(TicketPager.page(tickets, SortKey.DEPARTURE, 0, 3)));
+    }
+
+    @Test
+    void emptyPagesAndSearchOrder() {
+        List<AvailableTicket> tickets = randomTickets(new Random(3), 30);
+
+        for (SortKey sort : new SortKey[]{null, SortKey.PRICE}) {
+            assertEquals(List.of(), TicketPager.page(tickets, sort, 30, 10));
+            assertEquals(List.of(), TicketPager.page(tickets, sort, Integer.MAX_VALUE, Integer.MAX_VALUE));
+            assertEquals(List.of(), TicketPager.page(tickets, sort, 0, 0));
+            assertEquals(List.of(), TicketPager.page(List.of(), sort, 0, 10));
+            assertThrows(IllegalArgumentException.class, () -> TicketPager.page(tickets, sort, -1, 10));
+            assertThrows(IllegalArgumentException.class, () -> TicketPager.page(tickets, sort, 0, -1));
+        }
+        // Without a sort key the search order is kept; offset + limit must not overflow
+        assertEquals(tickets.subList(25, 30), TicketPager.page(tickets, null, 25, Integer.MAX_VALUE));
+        assertEquals(tickets.subList(5, 8), TicketPager.page(tickets, null, 5, 3));
+        assertEquals(expectedPage(tickets, SortKey.DEPARTURE, 29, 1), TicketPager.page(tickets, SortKey.DEPARTURE, 29, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void parsesSortKeysIgnoringCase() {
+        assertEquals(SortKey.PRICE, SortKey.parse(" Price "));
+        assertEquals(SortKey.DURATION, SortKey.parse("DURATION"));
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class, () -> SortKey.parse("cheapest"));
+        assertEquals("Unknown sort: cheapest (expected price, departure or duration)", unknown.getMessage());
+    }
+
+    private static List<Long> ids(List<AvailableTicket> tickets) {
+        return tickets.stream().map(AvailableTicket::getId).toList();
+    }
+}
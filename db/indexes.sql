@@ -0,0 +1,118 @@
+-- =============================================================================
+-- Index suite for the repository query shapes
+--
+-- Each index names the repository query it serves. Run once against an
+-- existing database:
+--   docker exec -i travel-mysql mysql -utravel_user -ptravel_password travel_db < db/indexes.sql
+-- A fresh docker-compose volume applies it automatically after backup.sql.
+--
+-- RepositoryQueryPlanTests runs EXPLAIN on every repository query and fails
+-- on full scans of large tables, so add the index here when adding a query.
+-- =============================================================================
+
+-- -----------------------------------------------------------------------------
+-- flight_details
+-- -----------------------------------------------------------------------------
+
+-- FlightDetailsRepository.findByFlightNumber: WHERE fd.flightNumber = ?
+CREATE INDEX idx_flight_number ON flight_details (flightNumber);
+
+-- FlightDetailsRepository.findByRoute: WHERE fd.flightOrigin = ? AND fd.flightDestination = ?
+-- Date and time follow so a route's trips come back in departure order. The
+-- leading flightOrigin also serves the foreign key, replacing fk_flight_origin.
+-- FlightDetailsRepository.findDailyFares groups the same route by departure date,
+-- which the index also returns in order.
+CREATE INDEX idx_flight_route ON flight_details (flightOrigin, flightDestination, flightDepartureDate, flightDepartureTime);
+ALTER TABLE flight_details DROP INDEX fk_flight_origin;
+
+-- FlightDetailsRepository.findByDepartureDate: WHERE fd.flightDepartureDate = ?
+CREATE INDEX idx_flight_departure ON flight_details (flightDepartureDate, flightDepartureTime);
+
+-- -----------------------------------------------------------------------------
+-- train_details
+-- -----------------------------------------------------------------------------
+
+-- TrainDetailsRepository.findByTrainNumber: WHERE td.trainNumber = ?
+CREATE INDEX idx_train_number ON train_details (trainNumber);
+
+-- TrainDetailsRepository.findByRoute: WHERE td.trainDepartureStation = ? AND td.trainArrivalStation = ?
+-- TrainDetailsRepository.findDailyFares groups the same route by departure date,
+-- which the index also returns in order.
+CREATE INDEX idx_train_route ON train_details (trainDepartureStation, trainArrivalStation, trainDepartureDate, trainDepartureTime);
+ALTER TABLE train_details DROP INDEX fk_train_departure;
+
+-- TrainDetailsRepository.findByDepartureDate: WHERE trainDepartureDate = ?
+CREATE INDEX idx_train_departure ON train_details (trainDepartureDate, trainDepartureTime);
+
+-- -----------------------------------------------------------------------------
+-- bus_details
+-- -----------------------------------------------------------------------------
+
+-- BusDetailsRepository.findByBusNumber: WHERE bd.busNumber = ?
+CREATE INDEX idx_bus_number ON bus_details (busNumber);
+
+-- BusDetailsRepository.findByRouteStationCodes: WHERE bd.busDepartureStation = ? AND bd.busArrivalStation = ?
+-- BusDetailsRepository.findDailyFares groups the same route by departure date,
+-- which the index also returns in order.
+CREATE INDEX idx_bus_route ON bus_details (busDepartureStation, busArrivalStation, busDepartureDate, busDepartureTime);
+ALTER TABLE bus_details DROP INDEX fk_departure_station;
+
+-- BusDetailsRepository.findByDepartureDate: WHERE bd.busDepartureDate = ?
+CREATE INDEX idx_bus_departure ON bus_details (busDepartureDate, busDepartureTime);
+
+-- -----------------------------------------------------------------------------
+-- Station lookups joined by the detail queries
+--
+-- Every flight/train/bus query LEFT JOINs the station table twice on its
+-- code. These covering indexes hold every column the joins select (InnoDB
+-- secondary indexes carry the primary key id), so each join probe is served
+-- from the index without a clustered-index lookup ("Using index").
+-- -----------------------------------------------------------------------------
+
+CREATE INDEX idx_airports_code_covering
+    ON airports (airportCode, airportFullName, airportCityLocation, airportCountryLocation, airportTimezone);
+
+CREATE INDEX idx_train_stations_code_covering
+    ON train_stations (trainStationCode, trainStationFullName, trainStationCityLocation);
+
+CREATE INDEX idx_bus_stations_code_covering
+    ON bus_stations (busStationCode, busStationFullName, busStationCityLocation);
+
+-- TrainStationRepository.findByCity: WHERE trainStationCityLocation = ?
+CREATE INDEX idx_train_stations_city ON train_stations (trainStationCityLocation);
+
+-- AirportRepository.findByPartialName / findByCityLocation / findByCountryLocation use
+-- LOWER(column) LIKE '%term%'. A leading wildcard can't use a B-tree index, so they
+-- stay scans of the (small, reference-data) airports table.
+
+-- -----------------------------------------------------------------------------
+-- clients
+-- -----------------------------------------------------------------------------
+
+-- ClientRepository.findByEmail / existsByEmail: WHERE LOWER(email) = LOWER(?)
+-- Functional index (MySQL 8.0.13+) on the exact expression the queries use.
+CREATE INDEX idx_clients_email_lower ON clients ((LOWER(email)));
+
+-- ClientRepository.findByUsername / existsByUsername: served by UNIQUE KEY username
+-- ClientRepository.findAll / findClientsCreatedBetween: ORDER BY / BETWEEN on created_at,
+-- served by the existing idx_created_at
+
+-- -----------------------------------------------------------------------------
+-- Redundant indexes
+--
+-- Duplicates of the primary key or of another unique key. They serve no
+-- query and every insert/update has to maintain them.
+-- -----------------------------------------------------------------------------
+
+ALTER TABLE airports DROP INDEX id_UNIQUE, DROP INDEX unique_airport_code;
+ALTER TABLE train_stations DROP INDEX id_UNIQUE, DROP INDEX unique_train_station_code;
+ALTER TABLE bus_stations DROP INDEX id_UNIQUE, DROP INDEX unique_station_code;
+ALTER TABLE flight_details DROP INDEX id_UNIQUE;
+ALTER TABLE train_details DROP INDEX id_UNIQUE;
+ALTER TABLE bus_details DROP INDEX id_UNIQUE;
+ALTER TABLE admin_users DROP INDEX id_UNIQUE;
+ALTER TABLE clients DROP INDEX idx_username, DROP INDEX idx_email;
+
+-- admin_users: lookups are by id (primary key) and adminUsername (UNIQUE KEY
+-- admin_username_UNIQUE). bookings: not part of this schema dump; when created it
+-- needs UNIQUE (bookingId) and an index on clientEmail for BookingRepository.
@@ -20,6 +20,9 @@ export class BookingSearchComponent implements OnInit {
 
   @Output() ticketSelected = new EventEmitter<AvailableTicket>();
 
+  // One session per search form, so the backend narrows down this form's previous search
+  private readonly searchSession = crypto.randomUUID();
+
   constructor(
     private fb: FormBuilder,
     private bookingService: BookingService
@@ -59,7 +62,7 @@ export class BookingSearchComponent implements OnInit {
     this.searchResults = [];
 
     // Always use the full search with all criteria
-    this.bookingService.searchAvailableTickets(searchCriteria).subscribe({
+    this.bookingService.searchAvailableTickets(searchCriteria, this.searchSession).subscribe({
       next: (tickets: AvailableTicket[]) => {
         console.log('✅ Search completed, found tickets:', tickets);
         this.searchResults = tickets;
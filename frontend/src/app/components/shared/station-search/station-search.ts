@@ -38,6 +38,8 @@ export class StationSearchComponent implements ControlValueAccessor, OnInit {
   isSearching: boolean = false;
 
   private searchSubject = new Subject<string>();
+  // One session per search box, so the backend narrows down this box's previous keystroke
+  private readonly searchSession = crypto.randomUUID();
 
   onChange = (value: any) => {};
   onTouch = () => {};
@@ -102,13 +104,13 @@ export class StationSearchComponent implements ControlValueAccessor, OnInit {
     switch (this.stationType) {
       case 'airport':
         console.log('✈️ Searching airports...');
-        return this.stationService.searchAirports(query).pipe(
+        return this.stationService.searchAirports(query, this.searchSession).pipe(
           map(airports => this.convertToStationInterface(airports, 'airport'))
         );
 
       case 'bus':
         console.log('🚌 Searching bus stations...');
-        return this.stationService.searchBusStations(query).pipe(
+        return this.stationService.searchBusStations(query, this.searchSession).pipe(
           map(busStations => {
             console.log('🚌 Raw bus stations from API:', busStations);
             return this.convertToStationInterface(busStations, 'bus');
@@ -117,7 +119,7 @@ export class StationSearchComponent implements ControlValueAccessor, OnInit {
 
       case 'train':
         console.log('🚌 Searching train stations...');
-        return this.stationService.searchTrainStations(query).pipe(
+        return this.stationService.searchTrainStations(query, this.searchSession).pipe(
           map(trainStations => {
             console.log('🚌 Raw train stations from API:', trainStations);
             return this.convertToStationInterface(trainStations, 'train');
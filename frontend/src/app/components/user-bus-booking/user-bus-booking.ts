@@ -28,6 +28,9 @@ export class UserBusBookingComponent implements OnInit {
 
   @Output() ticketSelected = new EventEmitter<AvailableTicket>();
 
+  // One session per search form, so the backend narrows down this form's previous search
+  private readonly searchSession = crypto.randomUUID();
+
   constructor(
     private fb: FormBuilder,
     private bookingService: BookingService
@@ -66,7 +69,7 @@ export class UserBusBookingComponent implements OnInit {
     this.searchError = '';
     this.searchResults = [];
 
-    this.bookingService.searchAvailableTickets(searchCriteria).subscribe({
+    this.bookingService.searchAvailableTickets(searchCriteria, this.searchSession).subscribe({
       next: (tickets: AvailableTicket[]) => {
         console.log('✅ Bus search completed, found tickets:', tickets);
         this.searchResults = tickets;
@@ -22,6 +22,9 @@ searchForm!: FormGroup;
 
   @Output() ticketSelected = new EventEmitter<AvailableTicket>();
 
+  // One session per search form, so the backend narrows down this form's previous search
+  private readonly searchSession = crypto.randomUUID();
+
   constructor(
     private fb: FormBuilder,
     private bookingService: BookingService
@@ -69,7 +72,7 @@ searchForm!: FormGroup;
   this.searchError = '';
   this.searchResults = [];
 
-  this.bookingService.searchAvailableTickets(searchCriteria).subscribe({
+  this.bookingService.searchAvailableTickets(searchCriteria, this.searchSession).subscribe({
     next: (tickets: AvailableTicket[]) => {
       console.log('✅ Flight search completed, found tickets:', tickets);
       this.searchResults = tickets;
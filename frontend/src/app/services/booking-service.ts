@@ -2,6 +2,7 @@ import {Injectable} from '@angular/core';
 import {HttpClient, HttpParams} from '@angular/common/http';
 import {Observable, of} from 'rxjs';
 import {catchError, map} from 'rxjs/operators';
+import {sessionHeaders} from './station-service';
 
 export interface BookingSearchCriteria {
   transportType?: string;
@@ -28,6 +29,82 @@ export interface AvailableTicket {
   additionalInfo: string; // airline, line, etc.
 }
 
+export interface TicketBatch {
+  mode: string; // flight, train or bus
+  tickets: AvailableTicket[];
+  degraded: boolean; // mode timed out or failed, tickets is empty
+}
+
+export interface SearchSummary {
+  total: number;
+  degradedModes: string[];
+  elapsedMillis: number;
+}
+
+export type TicketStreamEvent =
+  | { type: 'tickets'; batch: TicketBatch }
+  | { type: 'summary'; summary: SearchSummary };
+
+export interface TicketPageRequest {
+  sort?: 'price' | 'departure' | 'duration';
+  limit?: number;
+  offset?: number;
+}
+
+export interface TicketPage {
+  tickets: AvailableTicket[];
+  total: number; // matches across all pages
+}
+
+export interface ModeFare {
+  lowestPrice: number;
+  trips: number;
+}
+
+export interface FareDay {
+  date: string; // yyyy-MM-dd
+  lowestPrice: number | null; // cheapest across modes, null without trips
+  trips: number;
+  modes: { [mode: string]: ModeFare };
+}
+
+export interface FareCalendar {
+  from: string;
+  to: string;
+  start: string;
+  end: string;
+  days: FareDay[];
+}
+
+export interface Itinerary {
+  legs: AvailableTicket[]; // in travel order
+  departureTime: string;
+  arrivalTime: string;
+  totalPrice: number;
+  transfers: number;
+  durationMinutes: number;
+}
+
+export interface TripBundle {
+  segments: Itinerary[]; // one per segment, in order
+  totalPrice: number;
+  travelMinutes: number;
+}
+
+export interface TripSegment {
+  from: string;
+  to: string;
+  departure: string; // YYYY-MM-DD or YYYY-MM-DDTHH:mm
+}
+
+export interface MultiCityRequest {
+  segments: TripSegment[];
+  transfers?: number;
+  transportTypes?: string; // comma-separated
+  sort?: 'price' | 'duration';
+  limit?: number;
+}
+
 export interface Booking {
   id?: number;
   bookingId: string;
@@ -50,11 +127,14 @@ export class BookingService {
   /**
    * Search for available tickets to book using your backend service
    * POST /api/search/available-tickets
+   *
+   * searchSession identifies the calling search form, so the backend can narrow
+   * down that form's previous search; omit it to search from scratch.
    */
-  searchAvailableTickets(criteria: BookingSearchCriteria): Observable<AvailableTicket[]> {
+  searchAvailableTickets(criteria: BookingSearchCriteria, searchSession?: string): Observable<AvailableTicket[]> {
     console.log('🔍 Searching available tickets with criteria:', criteria);
 
-    return this.http.post<AvailableTicket[]>(`${this.baseUrl}/available-tickets`, criteria)
+    return this.http.post<AvailableTicket[]>(`${this.baseUrl}/available-tickets`, criteria, {headers: sessionHeaders(searchSession)})
       .pipe(
         map(tickets => {
           console.log('✅ Found available tickets:', tickets);
@@ -67,6 +147,142 @@ export class BookingService {
       );
   }
 
+  /**
+   * Search for one sorted page of available tickets; sorting happens on the server
+   * POST /api/search/available-tickets?sort=price&limit=20&offset=0
+   */
+  searchAvailableTicketsPage(criteria: BookingSearchCriteria, page: TicketPageRequest, searchSession?: string): Observable<TicketPage> {
+    let params = new HttpParams();
+    if (page.sort) params = params.set('sort', page.sort);
+    if (page.limit !== undefined) params = params.set('limit', page.limit);
+    if (page.offset !== undefined) params = params.set('offset', page.offset);
+
+    return this.http.post<AvailableTicket[]>(`${this.baseUrl}/available-tickets`, criteria, {params, headers: sessionHeaders(searchSession), observe: 'response'})
+      .pipe(
+        map(response => {
+          const tickets = response.body ?? [];
+          const total = Number(response.headers.get('X-Total-Count') ?? tickets.length);
+          console.log(`✅ Found available tickets: page of ${tickets.length}, ${total} in total`);
+          return {tickets, total};
+        }),
+        catchError(error => {
+          console.error('❌ Error searching available tickets:', error);
+          return of({tickets: [], total: 0});
+        })
+      );
+  }
+
+  /**
+   * Lowest price and trip count per day around a date, in one request
+   * GET /api/search/fare-calendar?from=JFK&to=LAX&date=2025-08-25&days=15
+   */
+  getFareCalendar(from: string, to: string, date: string, days = 15, transportType?: string): Observable<FareCalendar | null> {
+    let params = new HttpParams().set('from', from).set('to', to).set('date', date).set('days', days);
+    if (transportType) params = params.set('transportType', transportType);
+
+    return this.http.get<FareCalendar>(`${this.baseUrl}/fare-calendar`, {params})
+      .pipe(
+        catchError(error => {
+          console.error('❌ Error loading fare calendar:', error);
+          return of(null);
+        })
+      );
+  }
+
+  /**
+   * Itineraries with transfers between flights, trains and buses, earliest arrival first
+   * GET /api/search/connections?from=LHR&to=Lyon&departure=2025-08-25T08:00&transfers=2
+   *
+   * from and to are airport/station codes or city names.
+   */
+  searchConnections(from: string, to: string, departure: string, transfers?: number,
+                    transportTypes?: string[]): Observable<Itinerary[]> {
+    let params = new HttpParams().set('from', from).set('to', to).set('departure', departure);
+    if (transfers !== undefined) params = params.set('transfers', transfers);
+    if (transportTypes?.length) params = params.set('transportTypes', transportTypes.join(','));
+
+    return this.http.get<Itinerary[]>(`${this.baseUrl}/connections`, {params})
+      .pipe(
+        catchError(error => {
+          console.error('❌ Error searching connections:', error);
+          return of([]);
+        })
+      );
+  }
+
+  /**
+   * Outbound and return joined on the server into the best round trips
+   * GET /api/search/round-trip?from=LHR&to=Lyon&departure=2025-08-25&return=2025-09-01
+   */
+  searchRoundTrip(from: string, to: string, departure: string, returnDate: string,
+                  sort: 'price' | 'duration' = 'price', limit = 10): Observable<TripBundle[]> {
+    const params = new HttpParams().set('from', from).set('to', to).set('departure', departure)
+      .set('return', returnDate).set('sort', sort).set('limit', limit);
+
+    return this.http.get<TripBundle[]>(`${this.baseUrl}/round-trip`, {params})
+      .pipe(
+        catchError(error => {
+          console.error('❌ Error searching round trips:', error);
+          return of([]);
+        })
+      );
+  }
+
+  /**
+   * One itinerary per segment, each leaving after the previous one arrives
+   * POST /api/search/multi-city
+   */
+  searchMultiCity(request: MultiCityRequest): Observable<TripBundle[]> {
+    return this.http.post<TripBundle[]>(`${this.baseUrl}/multi-city`, request)
+      .pipe(
+        catchError(error => {
+          console.error('❌ Error searching multi-city trips:', error);
+          return of([]);
+        })
+      );
+  }
+
+  /**
+   * Stream available tickets, one batch per transport mode as soon as it is ready
+   * GET /api/search/available-tickets/stream (Server-Sent Events)
+   *
+   * Completes after the summary event. Unsubscribing closes the connection,
+   * which makes the backend cancel the searches still running.
+   */
+  streamAvailableTickets(criteria: BookingSearchCriteria): Observable<TicketStreamEvent> {
+    let params = new HttpParams();
+    Object.entries(criteria).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, String(value));
+      }
+    });
+
+    return new Observable<TicketStreamEvent>(subscriber => {
+      const source = new EventSource(`${this.baseUrl}/available-tickets/stream?${params.toString()}`);
+
+      source.addEventListener('tickets', event => {
+        const batch: TicketBatch = JSON.parse((event as MessageEvent).data);
+        console.log(`✅ ${batch.tickets.length} ${batch.mode} tickets`);
+        subscriber.next({type: 'tickets', batch});
+      });
+      source.addEventListener('summary', event => {
+        const summary: SearchSummary = JSON.parse((event as MessageEvent).data);
+        console.log('✅ Ticket stream finished:', summary);
+        subscriber.next({type: 'summary', summary});
+        source.close();
+        subscriber.complete();
+      });
+      source.onerror = error => {
+        // EventSource would reconnect and restart the search; stop instead
+        console.error('❌ Error streaming available tickets:', error);
+        source.close();
+        subscriber.complete();
+      };
+
+      return () => source.close();
+    });
+  }
+
   /**
    * Search for existing bookings using your backend service
    * POST /api/search/existing-bookings
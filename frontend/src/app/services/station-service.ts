@@ -26,6 +26,13 @@ export interface Airport {
   airportTimezone: string;
 }
 
+/**
+ * X-Search-Session header for one search box's session, if it has one
+ */
+export function sessionHeaders(searchSession?: string): { [header: string]: string } {
+  return searchSession ? {'X-Search-Session': searchSession} : {};
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -38,15 +45,18 @@ export class StationService {
   /**
    * Search airports by any term (name, code, or city)
    * Uses the airport controller search endpoint we created
+   *
+   * searchSession identifies one search box, so the backend can narrow down
+   * that box's previous keystroke's matches; omit it to search from scratch.
    */
-  searchAirports(query: string): Observable<Airport[]> {
+  searchAirports(query: string, searchSession?: string): Observable<Airport[]> {
     if (!query || query.trim().length === 0) {
       return of([]);
     }
 
     const params = new HttpParams().set('searchTerm', query.trim());
 
-    return this.http.get<Airport[]>(`${this.baseUrl}/airports/search`, { params })
+    return this.http.get<Airport[]>(`${this.baseUrl}/airports/search`, { params, headers: sessionHeaders(searchSession) })
       .pipe(
         map(airports => {
           console.log('Airport search results:', airports);
@@ -89,14 +99,14 @@ export class StationService {
   /**
    * Search bus stations by any term (name, code, or city)
    */
-  searchBusStations(query: string): Observable<BusStation[]> {
+  searchBusStations(query: string, searchSession?: string): Observable<BusStation[]> {
     if (!query || query.trim().length === 0) {
       return of([]);
     }
 
     const params = new HttpParams().set('searchTerm', query.trim());
 
-    return this.http.get<BusStation[]>(`${this.baseUrl}/bus-stations/search`, { params })
+    return this.http.get<BusStation[]>(`${this.baseUrl}/bus-stations/search`, { params, headers: sessionHeaders(searchSession) })
       .pipe(
         map(stations => {
           console.log(`Bus station search found ${stations.length} results for "${query}"`);
@@ -125,14 +135,14 @@ export class StationService {
     /**
    * Search train stations by any term (name, code, or city)
    */
-  searchTrainStations(query: string): Observable<TrainStation[]> {
+  searchTrainStations(query: string, searchSession?: string): Observable<TrainStation[]> {
     if (!query || query.trim().length === 0) {
       return of([]);
     }
 
     const params = new HttpParams().set('searchTerm', query.trim());
 
-    return this.http.get<TrainStation[]>(`${this.baseUrl}/train-stations/search`, { params })
+    return this.http.get<TrainStation[]>(`${this.baseUrl}/train-stations/search`, { params, headers: sessionHeaders(searchSession) })
       .pipe(
         map(stations => {
           console.log(`Train station search found ${stations.length} results for "${query}"`);
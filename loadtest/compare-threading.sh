@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+#
+# Platform vs virtual threads comparison
+#
+# Builds the backend, then for each thread mode starts it with the same Tomcat
+# connection limits and runs scenarios/threading.properties (1k and 10k users).
+# Prints the "all" row of each stage side by side and the number of pinned
+# virtual threads reported by -Djdk.tracePinnedThreads.
+#
+# Requires Java 21+ on the PATH (virtual threads) and MySQL from docker-compose.
+# Usage: ./compare-threading.sh [extra load-test args, e.g. "stage-duration=1m"]
+
+set -euo pipefail
+
+cd "$(dirname "$0")"
+LOADTEST_DIR=$(pwd)
+BACKEND_DIR=../backend
+RESULTS_DIR=target/loadtest/threading
+EXTRA_ARGS=${1:-}
+
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F' = ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_MAJOR%%.*}" -lt 21 ]; then
+    echo "Java 21+ is required for virtual threads (found $JAVA_MAJOR)" >&2
+    exit 1
+fi
+
+(cd "$BACKEND_DIR" && mvn -B -q package -DskipTests)
+JAR=$(ls "$BACKEND_DIR"/target/travel-buddy-backend-*.jar | grep -v original | head -1)
+mkdir -p "$RESULTS_DIR"
+
+# Identical for both modes so only the threading differs
+COMMON_ARGS="--rate-limit.enabled=false --slow-query.enabled=false
+  --server.tomcat.max-connections=20000 --server.tomcat.accept-count=1000
+  --datasource.pool.max-size=50 --datasource.pool.connection-timeout=10s"
+
+run_mode() {
+    local mode=$1
+    local app_args=$2
+    local log="$RESULTS_DIR/backend-$mode.log"
+
+    echo "=== $mode threads ==="
+    # shellcheck disable=SC2086
+    java -Xmx2g -Djdk.tracePinnedThreads=short -jar "$JAR" $COMMON_ARGS $app_args > "$log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    for _ in $(seq 1 60); do
+        curl -sf http://localhost:8080/actuator/health > /dev/null && break
+        sleep 2
+    done
+
+    mvn -B -q compile exec:exec -Dscenario=scenarios/threading.properties \
+        -Dargs="output-dir=$RESULTS_DIR/$mode $EXTRA_ARGS"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform "--spring.threads.virtual.enabled=false"
+run_mode virtual "--spring.threads.virtual.enabled=true"
+
+echo
+echo "mode,$(head -1 "$RESULTS_DIR/platform/summary.csv")"
+for mode in platform virtual; do
+    grep ',all,' "$RESULTS_DIR/$mode/summary.csv" | sed "s/^/$mode,/"
+done
+echo
+for mode in platform virtual; do
+    echo "$mode: $(grep -c 'CarrierThreads' "$RESULTS_DIR/backend-$mode.log" || true) pinned-thread reports"
+done
+echo "Results in $LOADTEST_DIR/$RESULTS_DIR"
@@ -0,0 +1,88 @@
+package com.example.travelbuddyloadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * API Client
+ *
+ * Thin wrapper over java.net.http for the endpoints the Angular app calls.
+ * Every call returns the status and parsed body; classification into
+ * success / throttled / error is left to the caller.
+ */
+public final class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    public ApiClient(String baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    public Response get(String path, Map<String, String> query) throws IOException, InterruptedException {
+        StringBuilder uri = new StringBuilder(baseUrl).append(path);
+        char separator = '?';
+        for (Map.Entry<String, String> parameter : query.entrySet()) {
+            uri.append(separator)
+                    .append(parameter.getKey()).append('=')
+                    .append(URLEncoder.encode(parameter.getValue(), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return send(HttpRequest.newBuilder(URI.create(uri.toString())).GET(), null);
+    }
+
+    public Response post(String path, Object body, String token) throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(publisher);
+        return send(request, token);
+    }
+
+    private Response send(HttpRequest.Builder request, String token) throws IOException, InterruptedException {
+        request.timeout(requestTimeout).header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), parse(response.body()));
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return objectMapper.missingNode();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            // Plain-text bodies (e.g. the 429 message) aren't JSON
+            return objectMapper.missingNode();
+        }
+    }
+
+    public record Response(int status, JsonNode body) {
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.travelbuddyloadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Catalog
+ *
+ * Stations loaded from the running backend, plus a route popularity table
+ * per transport mode. Routes are all ordered station pairs, shuffled with the
+ * scenario seed and truncated to max-routes; their position in that list is
+ * their Zipf rank, so the same seed always makes the same routes popular.
+ */
+public final class Catalog {
+
+    public enum Mode {
+        FLIGHT("flight", "/api/airports"),
+        TRAIN("train", "/api/train-stations"),
+        BUS("bus", "/api/bus-stations");
+
+        private final String transportType;
+        private final String basePath;
+
+        Mode(String transportType, String basePath) {
+            this.transportType = transportType;
+            this.basePath = basePath;
+        }
+
+        public String transportType() { return transportType; }
+        public String basePath() { return basePath; }
+    }
+
+    public record Station(int id, String name) {}
+
+    public record Route(Mode mode, Station departure, Station arrival) {}
+
+    private final Map<Mode, List<Station>> stations;
+    private final List<Mode> modes = new ArrayList<>();
+    private final List<List<Route>> routes = new ArrayList<>();
+    private final List<ZipfDistribution> routePopularity = new ArrayList<>();
+    private final List<ZipfDistribution> stationPopularity = new ArrayList<>();
+
+    private Catalog(Map<Mode, List<Station>> stations, int maxRoutes, double zipfExponent, long seed) {
+        this.stations = stations;
+        Random random = new Random(seed);
+
+        for (Mode mode : Mode.values()) {
+            List<Station> modeStations = stations.getOrDefault(mode, List.of());
+            if (modeStations.size() < 2) {
+                continue;
+            }
+
+            List<Route> modeRoutes = new ArrayList<>();
+            for (Station departure : modeStations) {
+                for (Station arrival : modeStations) {
+                    if (departure.id() != arrival.id()) {
+                        modeRoutes.add(new Route(mode, departure, arrival));
+                    }
+                }
+            }
+            Collections.shuffle(modeRoutes, random);
+            if (modeRoutes.size() > maxRoutes) {
+                modeRoutes = new ArrayList<>(modeRoutes.subList(0, maxRoutes));
+            }
+
+            List<Station> rankedStations = new ArrayList<>(modeStations);
+            Collections.shuffle(rankedStations, random);
+            stations.put(mode, rankedStations);
+
+            modes.add(mode);
+            routes.add(modeRoutes);
+            routePopularity.add(new ZipfDistribution(modeRoutes.size(), zipfExponent));
+            stationPopularity.add(new ZipfDistribution(rankedStations.size(), zipfExponent));
+        }
+    }
+
+    /**
+     * Load every station list from the backend
+     */
+    public static Catalog load(ApiClient client, int maxRoutes, double zipfExponent, long seed) throws Exception {
+        Map<Mode, List<Station>> stations = new EnumMap<>(Mode.class);
+        for (Mode mode : Mode.values()) {
+            ApiClient.Response response = client.get(mode.basePath(), Map.of());
+            List<Station> modeStations = new ArrayList<>();
+            if (response.isSuccess() && response.body().isArray()) {
+                for (JsonNode node : response.body()) {
+                    modeStations.add(new Station(node.path("id").asInt(), fullName(node)));
+                }
+            }
+            stations.put(mode, modeStations);
+        }
+        return new Catalog(stations, maxRoutes, zipfExponent, seed);
+    }
+
+    public boolean isEmpty() {
+        return modes.isEmpty();
+    }
+
+    public List<Mode> modes() {
+        return modes;
+    }
+
+    public int stationCount(Mode mode) {
+        return stations.getOrDefault(mode, List.of()).size();
+    }
+
+    public int routeCount(Mode mode) {
+        int index = modes.indexOf(mode);
+        return index < 0 ? 0 : routes.get(index).size();
+    }
+
+    public Route sampleRoute(SplittableRandom random) {
+        int index = random.nextInt(modes.size());
+        return routes.get(index).get(routePopularity.get(index).sample(random));
+    }
+
+    /**
+     * Sample a route of one mode, or null if the backend has no stations for it
+     */
+    public Route sampleRoute(Mode mode, SplittableRandom random) {
+        int index = modes.indexOf(mode);
+        return index < 0 ? null : routes.get(index).get(routePopularity.get(index).sample(random));
+    }
+
+    public Station sampleStation(Mode mode, SplittableRandom random) {
+        int index = modes.indexOf(mode);
+        return stations.get(mode).get(stationPopularity.get(index).sample(random));
+    }
+
+    private static String fullName(JsonNode node) {
+        // Airport, TrainStation and BusStation all expose a "...FullName" property
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getKey().endsWith("FullName") && field.getValue().isTextual()) {
+                return field.getValue().asText();
+            }
+        }
+        return node.path("id").asText();
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.travelbuddyloadtest;
+
+import com.example.travelbuddyloadtest.Stats.OperationTotals;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load Test
+ *
+ * Drives the real HTTP API with closed-loop virtual users. Each entry in
+ * "users" is run as a stage (ramp-up, warm-up, measured window); comparing
+ * throughput and p99 across stages shows where a single node saturates:
+ * throughput stops growing while latency keeps climbing.
+ *
+ * Output (in output-dir):
+ * - summary.csv: one row per stage and operation, plus an "all" row
+ * - {stage}-{users}u-{operation}.hgrm: full HDR percentile distributions (ms)
+ */
+public final class LoadTest {
+
+    private static final double[] REPORTED_PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+    private static final long HISTOGRAM_HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final long USER_STACK_SIZE = 256 * 1024;
+
+    private final LoadTestConfig config;
+    private final ApiClient client;
+    private final Stats stats = new Stats();
+    private final List<VirtualUser> users = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final SplittableRandom seedSource;
+    private Pacer pacer;
+    private Catalog catalog;
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.client = new ApiClient(config.baseUrl(), config.requestTimeout());
+        this.seedSource = new SplittableRandom(config.seed());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load(args);
+        System.out.println("Load test: " + config.describe());
+        new LoadTest(config).run();
+    }
+
+    private void run() throws Exception {
+        catalog = Catalog.load(client, config.maxRoutes(), config.zipfExponent(), config.seed());
+        if (catalog.isEmpty()) {
+            System.err.println("No stations returned by " + config.baseUrl() + " - is the backend up and the database seeded?");
+            System.exit(1);
+        }
+        for (Catalog.Mode mode : catalog.modes()) {
+            System.out.printf("  %s: %d stations, %d routes%n", mode.transportType(), catalog.stationCount(mode), catalog.routeCount(mode));
+        }
+        registerAccounts();
+
+        if (config.arrivalRate() > 0) {
+            pacer = new Pacer(config.arrivalRate());
+        }
+
+        Path outputDir = config.outputDir();
+        Files.createDirectories(outputDir);
+        Path summary = outputDir.resolve("summary.csv");
+        Files.writeString(summary, "stage,users,operation,requests,throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,error_rate,throttled\n",
+                StandardCharsets.UTF_8);
+
+        List<Integer> steps = config.userSteps();
+        try {
+            for (int stage = 1; stage <= steps.size(); stage++) {
+                runStage(stage, steps.get(stage - 1), summary);
+            }
+        } finally {
+            stopUsers(users.size());
+        }
+        System.out.println("Results written to " + outputDir.toAbsolutePath());
+    }
+
+    // ============================================================================
+    // STAGES
+    // ============================================================================
+
+    private void runStage(int stage, int userCount, Path summary) throws Exception {
+        String label = String.format("[stage %d: %d users]", stage, userCount);
+        System.out.println();
+        System.out.println(label + " ramping up");
+
+        if (pacer != null) {
+            pacer.restart();
+        }
+        rampTo(userCount);
+
+        if (!config.warmup().isZero()) {
+            System.out.println(label + " warming up for " + config.warmup().toSeconds() + "s");
+            Thread.sleep(config.warmup().toMillis());
+        }
+        stats.resetStage();
+
+        long stageStart = System.nanoTime();
+        long stageEnd = stageStart + config.stageDuration().toNanos();
+        long intervalNanos = config.reportInterval().toNanos();
+        long lastReport = stageStart;
+        while (true) {
+            long remaining = stageEnd - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(intervalNanos, remaining));
+            long now = System.nanoTime();
+            printInterval(label, (now - stageStart) / 1_000_000_000L, stats.drainInterval(), now - lastReport);
+            lastReport = now;
+        }
+
+        double seconds = (System.nanoTime() - stageStart) / 1e9;
+        Map<Operation, OperationTotals> totals = stats.stageTotals();
+        printStageSummary(label, totals, seconds);
+        writeStageResults(stage, userCount, totals, seconds, summary);
+    }
+
+    /**
+     * Start or stop users to reach the target, spreading starts over the ramp-up period
+     */
+    private void rampTo(int userCount) throws InterruptedException {
+        int toStart = userCount - users.size();
+        if (toStart <= 0) {
+            stopUsers(-toStart);
+            return;
+        }
+        long gapMillis = config.rampUp().toMillis() / toStart;
+        for (int i = 0; i < toStart; i++) {
+            VirtualUser user = new VirtualUser(users.size() + 1, config, client, catalog, stats, pacer, seedSource.split());
+            // Small stacks so the 10k-user stages of scenarios/threading.properties fit in memory
+            Thread thread = new Thread(null, user, user.toString(), USER_STACK_SIZE);
+            thread.setDaemon(true);
+            users.add(user);
+            threads.add(thread);
+            thread.start();
+            if (gapMillis > 0) {
+                Thread.sleep(gapMillis);
+            }
+        }
+    }
+
+    private void stopUsers(int count) throws InterruptedException {
+        List<Thread> stopped = new ArrayList<>();
+        for (int i = 0; i < count && !users.isEmpty(); i++) {
+            users.remove(users.size() - 1).stop();
+            stopped.add(threads.remove(threads.size() - 1));
+        }
+        long waitMillis = config.requestTimeout().plus(config.thinkTime().multipliedBy(10)).toMillis();
+        for (Thread thread : stopped) {
+            thread.interrupt();
+            thread.join(waitMillis);
+        }
+    }
+
+    /**
+     * Register the login accounts; accounts left over from earlier runs are reused
+     */
+    private void registerAccounts() throws InterruptedException {
+        int created = 0;
+        for (int i = 0; i < config.accounts(); i++) {
+            String username = config.accountPrefix() + i;
+            Map<String, Object> registration = new LinkedHashMap<>();
+            registration.put("username", username);
+            registration.put("email", username + "@loadtest.example.com");
+            registration.put("password", config.accountPassword());
+            registration.put("firstName", "Load");
+            registration.put("lastName", "Test " + i);
+            registration.put("phone", String.format("555%07d", i));
+            registration.put("address", "1 Benchmark Street");
+            try {
+                if (client.post("/api/clients/register", registration, null).isSuccess()) {
+                    created++;
+                }
+            } catch (IOException e) {
+                System.err.println("Registering " + username + " failed: " + e.getMessage());
+            }
+        }
+        System.out.printf("  accounts: %d registered, %d already present or rejected%n", created, config.accounts() - created);
+    }
+
+    // ============================================================================
+    // REPORTING
+    // ============================================================================
+
+    private void printInterval(String label, long elapsedSeconds, Map<Operation, OperationTotals> interval, long intervalNanos) {
+        double seconds = intervalNanos / 1e9;
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%s t=%ds", label, elapsedSeconds));
+        for (Map.Entry<Operation, OperationTotals> entry : interval.entrySet()) {
+            OperationTotals totals = entry.getValue();
+            if (totals.total() == 0) {
+                continue;
+            }
+            line.append(String.format(Locale.ROOT, " | %s %.1f/s p99=%.1fms err=%d 429=%d",
+                    entry.getKey().key(), totals.total() / seconds, totals.percentileMillis(99.0),
+                    totals.errors(), totals.throttled()));
+        }
+        System.out.println(line);
+    }
+
+    private void printStageSummary(String label, Map<Operation, OperationTotals> totals, double seconds) {
+        PrintStream out = System.out;
+        out.println(label + " results over " + Duration.ofMillis((long) (seconds * 1000)).toSeconds() + "s");
+        out.printf(Locale.ROOT, "  %-13s %9s %9s %9s %9s %9s %9s %8s %7s%n",
+                "operation", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "err %", "429");
+        for (Map.Entry<String, OperationTotals> row : rows(totals).entrySet()) {
+            OperationTotals t = row.getValue();
+            out.printf(Locale.ROOT, "  %-13s %9d %9.1f %9.1f %9.1f %9.1f %9.1f %8.2f %7d%n",
+                    row.getKey(), t.total(), t.total() / seconds, t.percentileMillis(50.0), t.percentileMillis(90.0),
+                    t.percentileMillis(99.0), t.maxMillis(), t.errorRate() * 100, t.throttled());
+        }
+    }
+
+    private void writeStageResults(int stage, int userCount, Map<Operation, OperationTotals> totals,
+                                   double seconds, Path summary) throws IOException {
+        try (Writer csv = Files.newBufferedWriter(summary, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+            for (Map.Entry<String, OperationTotals> row : rows(totals).entrySet()) {
+                OperationTotals t = row.getValue();
+                StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%d,%d,%s,%d,%.2f",
+                        stage, userCount, row.getKey(), t.total(), t.total() / seconds));
+                for (double percentile : REPORTED_PERCENTILES) {
+                    line.append(String.format(Locale.ROOT, ",%.3f", t.percentileMillis(percentile)));
+                }
+                line.append(String.format(Locale.ROOT, ",%.3f,%.5f,%d%n", t.maxMillis(), t.errorRate(), t.throttled()));
+                csv.write(line.toString());
+
+                Path hgrm = config.outputDir().resolve(String.format("stage%d-%du-%s.hgrm", stage, userCount, row.getKey()));
+                try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm), false, StandardCharsets.UTF_8)) {
+                    // Values are recorded in microseconds; scale the output to milliseconds
+                    t.histogram().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-operation rows (operations with traffic only) followed by an "all" row
+     */
+    private static Map<String, OperationTotals> rows(Map<Operation, OperationTotals> totals) {
+        Map<String, OperationTotals> rows = new LinkedHashMap<>();
+        OperationTotals all = new OperationTotals(new Histogram(HISTOGRAM_HIGHEST_MICROS, 3));
+        for (Map.Entry<Operation, OperationTotals> entry : totals.entrySet()) {
+            if (entry.getValue().total() > 0) {
+                rows.put(entry.getKey().key(), entry.getValue());
+                all.add(entry.getValue());
+            }
+        }
+        rows.put("all", all);
+        return rows;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.travelbuddyloadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Load Test Configuration
+ *
+ * Read from a scenario .properties file; any key can be overridden on the
+ * command line as key=value. Durations accept 500ms, 30s, 5m.
+ *
+ * - base-url: backend to drive
+ * - users: closed-loop virtual users; a list (10,20,40) runs one stage per entry
+ * - stage-duration / warmup / ramp-up: per stage; warmup is excluded from results
+ * - think-time: mean pause between a user's actions (exponentially distributed)
+ * - arrival-rate: optional cap on actions per second across all users (0 = unpaced)
+ * - zipf-exponent / max-routes: skew and size of the route popularity table
+ * - mix.{operation}: relative weight of each action
+ * - accounts / account-prefix / account-password: login accounts, registered on start-up
+ */
+public final class LoadTestConfig {
+
+    private final Properties properties;
+
+    private LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static LoadTestConfig load(String[] args) throws IOException {
+        Properties properties = new Properties();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                try (Reader reader = Files.newBufferedReader(Path.of(arg))) {
+                    properties.load(reader);
+                }
+            }
+        }
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                properties.setProperty(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+            }
+        }
+        return new LoadTestConfig(properties);
+    }
+
+    public String baseUrl() {
+        String url = get("base-url", "http://localhost:8080");
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public List<Integer> userSteps() {
+        List<Integer> steps = new ArrayList<>();
+        for (String step : get("users", "20").split(",")) {
+            if (!step.isBlank()) {
+                steps.add(Integer.parseInt(step.trim()));
+            }
+        }
+        return steps;
+    }
+
+    public Duration stageDuration() { return duration("stage-duration", "60s"); }
+    public Duration warmup() { return duration("warmup", "10s"); }
+    public Duration rampUp() { return duration("ramp-up", "5s"); }
+    public Duration thinkTime() { return duration("think-time", "1s"); }
+    public Duration requestTimeout() { return duration("request-timeout", "10s"); }
+    public Duration reportInterval() { return duration("report-interval", "5s"); }
+
+    public double arrivalRate() { return Double.parseDouble(get("arrival-rate", "0")); }
+    public double zipfExponent() { return Double.parseDouble(get("zipf-exponent", "1.1")); }
+    public int maxRoutes() { return Integer.parseInt(get("max-routes", "2000")); }
+    public long seed() { return Long.parseLong(get("seed", "42")); }
+
+    public int accounts() { return Integer.parseInt(get("accounts", "50")); }
+    public String accountPrefix() { return get("account-prefix", "loadtest"); }
+    public String accountPassword() { return get("account-password", "LoadTest123"); }
+
+    public Path outputDir() { return Path.of(get("output-dir", "target/loadtest")); }
+
+    public Map<Operation, Integer> mix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.AUTOCOMPLETE, Integer.parseInt(get("mix.autocomplete", "45")));
+        mix.put(Operation.SEARCH, Integer.parseInt(get("mix.search", "35")));
+        mix.put(Operation.BOOK, Integer.parseInt(get("mix.book", "5")));
+        mix.put(Operation.LOGIN, Integer.parseInt(get("mix.login", "10")));
+        mix.put(Operation.REFRESH, Integer.parseInt(get("mix.refresh", "5")));
+        return mix;
+    }
+
+    public String describe() {
+        return String.format("base-url=%s users=%s stage=%s warmup=%s think=%s arrival-rate=%s zipf=%s mix=%s",
+                baseUrl(), userSteps(), stageDuration(), warmup(), thinkTime(),
+                arrivalRate() > 0 ? arrivalRate() + "/s" : "unpaced", zipfExponent(), mix());
+    }
+
+    private String get(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue).trim();
+    }
+
+    private Duration duration(String key, String defaultValue) {
+        String value = get(key, defaultValue).toLowerCase();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Invalid duration for " + key + ": " + value);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.travelbuddyloadtest;
+
+/**
+ * The user actions the load generator issues, each reported separately
+ */
+public enum Operation {
+    AUTOCOMPLETE("autocomplete"),
+    SEARCH("search"),
+    BOOK("book"),
+    LOGIN("login"),
+    REFRESH("refresh");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name used in scenario files (mix.{key}) and report output
+     */
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.travelbuddyloadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pacer
+ *
+ * Hands out evenly spaced start times for a fixed arrival rate shared by all
+ * virtual users. Latency is measured from the slot a request was scheduled
+ * for, not from when a user got round to sending it, so once the server falls
+ * behind the queueing delay shows up in the results instead of being hidden
+ * (coordinated omission).
+ */
+public final class Pacer {
+
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    public Pacer(double ratePerSecond) {
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        restart();
+    }
+
+    /**
+     * Start scheduling from now (called at the beginning of each stage)
+     */
+    public void restart() {
+        nextSlot.set(System.nanoTime());
+    }
+
+    /**
+     * Wait for the next free slot
+     * @return The intended start time of the request, in System.nanoTime() units
+     */
+    public long acquire() throws InterruptedException {
+        long slot = nextSlot.getAndAdd(intervalNanos);
+        long wait = slot - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        return slot;
+    }
+}
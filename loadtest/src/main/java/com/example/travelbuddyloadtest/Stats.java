@@ -0,0 +1,135 @@
+package com.example.travelbuddyloadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stats
+ *
+ * Lock-free latency and outcome recording for all virtual users. Each
+ * operation has an HdrHistogram Recorder (microsecond resolution, 3
+ * significant digits) that the reporter drains once per interval; interval
+ * histograms are accumulated into the current stage's totals.
+ */
+public final class Stats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    public enum Outcome {
+        OK,
+        THROTTLED,  // 429 from the rate limiter
+        ERROR       // any other non-2xx, timeout or I/O failure
+    }
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder[]> outcomes = new EnumMap<>(Operation.class);
+    private final Map<Operation, OperationTotals> stageTotals = new EnumMap<>(Operation.class);
+
+    public Stats() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            LongAdder[] counters = new LongAdder[Outcome.values().length];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new LongAdder();
+            }
+            outcomes.put(operation, counters);
+        }
+        resetStage();
+    }
+
+    /**
+     * Record one completed request
+     * @param latencyNanos Time from the intended start to the response
+     */
+    public void record(Operation operation, long latencyNanos, Outcome outcome) {
+        long micros = Math.max(1, Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        recorders.get(operation).recordValue(micros);
+        outcomes.get(operation)[outcome.ordinal()].increment();
+    }
+
+    /**
+     * Drain everything recorded since the previous call and add it to the stage totals
+     * @return Per-operation totals for just this interval
+     */
+    public synchronized Map<Operation, OperationTotals> drainInterval() {
+        Map<Operation, OperationTotals> interval = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            OperationTotals totals = new OperationTotals(recorders.get(operation).getIntervalHistogram());
+            LongAdder[] counters = outcomes.get(operation);
+            totals.ok = counters[Outcome.OK.ordinal()].sumThenReset();
+            totals.throttled = counters[Outcome.THROTTLED.ordinal()].sumThenReset();
+            totals.errors = counters[Outcome.ERROR.ordinal()].sumThenReset();
+            interval.put(operation, totals);
+            stageTotals.get(operation).add(totals);
+        }
+        return interval;
+    }
+
+    /**
+     * Discard everything recorded so far in this stage (used after warm-up)
+     */
+    public synchronized void resetStage() {
+        drainIfInitialized();
+        for (Operation operation : Operation.values()) {
+            stageTotals.put(operation, new OperationTotals(new Histogram(HIGHEST_TRACKABLE_MICROS, 3)));
+        }
+    }
+
+    public synchronized Map<Operation, OperationTotals> stageTotals() {
+        return new EnumMap<>(stageTotals);
+    }
+
+    private void drainIfInitialized() {
+        if (!stageTotals.isEmpty()) {
+            drainInterval();
+        }
+    }
+
+    // ============================================================================
+    // DATA CLASSES
+    // ============================================================================
+
+    /**
+     * Latency histogram (microseconds) and outcome counts for one operation
+     */
+    public static final class OperationTotals {
+        private final Histogram histogram;
+        private long ok;
+        private long throttled;
+        private long errors;
+
+        OperationTotals(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        void add(OperationTotals other) {
+            histogram.add(other.histogram);
+            ok += other.ok;
+            throttled += other.throttled;
+            errors += other.errors;
+        }
+
+        public Histogram histogram() { return histogram; }
+        public long ok() { return ok; }
+        public long throttled() { return throttled; }
+        public long errors() { return errors; }
+        public long total() { return ok + throttled + errors; }
+
+        public double errorRate() {
+            return total() == 0 ? 0 : (double) errors / total();
+        }
+
+        public double percentileMillis(double percentile) {
+            return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        public double maxMillis() {
+            return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / 1000.0;
+        }
+    }
+}
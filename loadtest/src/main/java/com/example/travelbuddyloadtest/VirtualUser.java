@@ -0,0 +1,258 @@
+package com.example.travelbuddyloadtest;
+
+import com.example.travelbuddyloadtest.Stats.Outcome;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Virtual User
+ *
+ * One closed-loop user: pick an action from the weighted mix, wait for the
+ * response, think, repeat. A user keeps its own session state (JWT, last
+ * search results) so bookings and refreshes follow a realistic sequence:
+ * a booking logs in and searches first if the user hasn't done so yet.
+ */
+final class VirtualUser implements Runnable {
+
+    private final int id;
+    private final LoadTestConfig config;
+    private final ApiClient client;
+    private final Catalog catalog;
+    private final Stats stats;
+    private final Pacer pacer;
+    private final SplittableRandom random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final double meanThinkNanos;
+
+    private volatile boolean running = true;
+    private String token;
+    private JsonNode lastTickets;
+
+    VirtualUser(int id, LoadTestConfig config, ApiClient client, Catalog catalog, Stats stats,
+                Pacer pacer, SplittableRandom random) {
+        this.id = id;
+        this.config = config;
+        this.client = client;
+        this.catalog = catalog;
+        this.stats = stats;
+        this.pacer = pacer;
+        this.random = random;
+        this.meanThinkNanos = config.thinkTime().toNanos();
+
+        Map<Operation, Integer> mix = config.mix();
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += Math.max(0, mix.get(operations[i]));
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Operation mix has no positive weights");
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                long intendedStart = pacer != null ? pacer.acquire() : System.nanoTime();
+                perform(nextOperation(), intendedStart);
+                if (pacer == null) {
+                    think();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ============================================================================
+    // ACTIONS
+    // ============================================================================
+
+    private void perform(Operation operation, long start) throws InterruptedException {
+        switch (operation) {
+            case AUTOCOMPLETE -> autocomplete(start);
+            case SEARCH -> search(start);
+            case BOOK -> book(start);
+            case LOGIN -> login(start);
+            case REFRESH -> refresh(start);
+        }
+    }
+
+    /**
+     * Station search box: a 2-4 character prefix of a popular station name
+     */
+    private void autocomplete(long start) throws InterruptedException {
+        List<Catalog.Mode> modes = catalog.modes();
+        Catalog.Mode mode = modes.get(random.nextInt(modes.size()));
+        String name = catalog.sampleStation(mode, random).name();
+        String prefix = name.substring(0, Math.min(name.length(), 2 + random.nextInt(3)));
+        call(Operation.AUTOCOMPLETE, start, () -> client.get(mode.basePath() + "/search", Map.of("searchTerm", prefix)));
+    }
+
+    private void search(long start) throws InterruptedException {
+        search(start, catalog.sampleRoute(random));
+    }
+
+    private void search(long start, Catalog.Route route) throws InterruptedException {
+        Map<String, Object> criteria = new LinkedHashMap<>();
+        criteria.put("transportType", route.mode().transportType());
+        criteria.put("departureStation", String.valueOf(route.departure().id()));
+        criteria.put("arrivalStation", String.valueOf(route.arrival().id()));
+
+        ApiClient.Response response = call(Operation.SEARCH, start,
+                () -> client.post("/api/search/available-tickets", criteria, null));
+        if (response != null && response.isSuccess() && response.body().isArray() && !response.body().isEmpty()) {
+            lastTickets = response.body();
+        }
+    }
+
+    /**
+     * Book one of the last search results. Only bus booking has an endpoint,
+     * so the user searches bus routes until it has a bus ticket to book.
+     */
+    private void book(long start) throws InterruptedException {
+        if (token == null) {
+            login(start);
+            start = System.nanoTime();
+            if (token == null) {
+                return;
+            }
+        }
+        JsonNode ticket = pickBusTicket();
+        if (ticket == null) {
+            Catalog.Route busRoute = catalog.sampleRoute(Catalog.Mode.BUS, random);
+            if (busRoute == null) {
+                return;
+            }
+            search(start, busRoute);
+            start = System.nanoTime();
+            ticket = pickBusTicket();
+            if (ticket == null) {
+                return;
+            }
+        }
+        JsonNode chosen = ticket;
+        String bearer = token;
+        ApiClient.Response response = call(Operation.BOOK, start, () -> client.post("/api/bookings/bus", chosen, bearer));
+        if (response != null && response.status() == 401) {
+            token = null;
+        }
+    }
+
+    private void login(long start) throws InterruptedException {
+        int account = random.nextInt(config.accounts());
+        Map<String, Object> credentials = new LinkedHashMap<>();
+        credentials.put("usernameOrEmail", config.accountPrefix() + account);
+        credentials.put("password", config.accountPassword());
+
+        ApiClient.Response response = call(Operation.LOGIN, start, () -> client.post("/api/clients/login", credentials, null));
+        if (response != null && response.isSuccess()) {
+            String issued = response.body().path("data").path("token").asText(null);
+            if (issued != null) {
+                token = issued;
+            }
+        }
+    }
+
+    private void refresh(long start) throws InterruptedException {
+        if (token == null) {
+            login(start);
+            return;
+        }
+        String bearer = token;
+        ApiClient.Response response = call(Operation.REFRESH, start, () -> client.post("/api/clients/refresh-token", null, bearer));
+        if (response != null && response.isSuccess()) {
+            token = response.body().path("data").path("token").asText(token);
+        } else if (response != null && response.status() == 401) {
+            token = null;
+        }
+    }
+
+    // ============================================================================
+    // HELPER METHODS
+    // ============================================================================
+
+    @FunctionalInterface
+    private interface Request {
+        ApiClient.Response send() throws IOException, InterruptedException;
+    }
+
+    /**
+     * Issue a request and record its latency from the given start time
+     * @return The response, or null if the request failed without one
+     */
+    private ApiClient.Response call(Operation operation, long start, Request request) throws InterruptedException {
+        ApiClient.Response response = null;
+        Outcome outcome;
+        try {
+            response = request.send();
+            if (response.isSuccess()) {
+                outcome = Outcome.OK;
+            } else if (response.status() == 429) {
+                outcome = Outcome.THROTTLED;
+            } else {
+                outcome = Outcome.ERROR;
+            }
+        } catch (IOException e) {
+            // Connection refused/reset and HttpTimeoutException
+            outcome = Outcome.ERROR;
+        }
+        stats.record(operation, System.nanoTime() - start, outcome);
+        return response;
+    }
+
+    private JsonNode pickBusTicket() {
+        if (lastTickets == null) {
+            return null;
+        }
+        int size = lastTickets.size();
+        int offset = random.nextInt(size);
+        for (int i = 0; i < size; i++) {
+            JsonNode ticket = lastTickets.get((offset + i) % size);
+            if ("bus".equalsIgnoreCase(ticket.path("transportType").asText())) {
+                return ticket;
+            }
+        }
+        return null;
+    }
+
+    private Operation nextOperation() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Exponentially distributed pause with the configured mean, capped at 10x the mean
+     */
+    private void think() throws InterruptedException {
+        if (meanThinkNanos <= 0) {
+            return;
+        }
+        double pause = -meanThinkNanos * Math.log(1.0 - random.nextDouble());
+        TimeUnit.NANOSECONDS.sleep((long) Math.min(pause, meanThinkNanos * 10));
+    }
+
+    @Override
+    public String toString() {
+        return "vu-" + id;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.travelbuddyloadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipf Distribution
+ *
+ * Samples ranks 0..n-1 where rank k is drawn with probability proportional to
+ * 1 / (k+1)^s. Real route demand is heavily skewed (a few city pairs carry
+ * most searches), which matters for anything cached or indexed by route.
+ *
+ * The CDF is precomputed once; sampling is a binary search.
+ */
+public final class ZipfDistribution {
+
+    private final double[] cdf;
+
+    public ZipfDistribution(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one element");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    /**
+     * Draw one rank
+     * @param random Caller-owned random source (one per virtual user)
+     * @return Rank in [0, n)
+     */
+    public int sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+}